@@ -0,0 +1,176 @@
+package gew.filesystem.benchmark;
+
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.common.model.ObjectMetaInfo;
+import gew.filesystem.common.model.ObjectProperty;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared JMH Harness for {@link BasicFileSystemClient} Implementations.
+ * Subclasses start a local stand-in for the backend, build the client and name the remote working directory;
+ * the fixture (a listing directory plus one payload object) is seeded through the client itself.
+ *
+ * @author Jason/GeW
+ * @since 2024-03-01
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-XX:+IgnoreUnrecognizedVMOptions", "--add-opens=java.base/java.lang=ALL-UNNAMED",
+        "--add-opens=java.base/java.nio=ALL-UNNAMED", "--add-opens=java.base/sun.nio.ch=ALL-UNNAMED"})
+public abstract class AbstractClientBenchmark {
+
+    /**
+     * Payload Object Size in Bytes, Used by Download & Upload
+     */
+    @Param({"4096", "4194304"})
+    public int payloadSize;
+
+    /**
+     * Number of Objects in the Listing Directory
+     */
+    @Param({"100"})
+    public int listSize;
+
+    protected BasicFileSystemClient client;
+
+    protected Path scratch;
+
+    private byte[] payload;
+
+    private String listPath;
+
+    private String payloadPath;
+
+    private String uploadPath;
+
+    private File downloadFile;
+
+
+    /**
+     * Start Stand-in Server and Build an Initialized Client
+     *
+     * @param scratch Local Scratch Directory Owned by This Benchmark
+     * @return Initialized Client
+     * @throws Exception Stand-in Start Failure
+     */
+    protected abstract BasicFileSystemClient createClient(Path scratch) throws Exception;
+
+    /**
+     * Remote Working Directory, Expected to Exist (or be Implicit) After {@link #createClient(Path)}
+     *
+     * @return Remote Path Without Trailing Separator
+     */
+    protected abstract String remoteRoot();
+
+    /**
+     * Stop Stand-in Server
+     *
+     * @throws Exception Stop Failure
+     */
+    protected abstract void stopServer() throws Exception;
+
+    /**
+     * Path Passed to list(), Backends Listing by Key Prefix May Need a Trailing Delimiter
+     *
+     * @param directory Remote Directory
+     * @return Path to List
+     */
+    protected String listTarget(String directory) {
+        return directory;
+    }
+
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.scratch = Files.createTempDirectory("fs-benchmark-");
+        this.client = createClient(this.scratch);
+        this.payload = new byte[this.payloadSize];
+        new Random(20240301L).nextBytes(this.payload);
+
+        String root = remoteRoot();
+        String directory = root + "/list";
+        this.listPath = listTarget(directory);
+        this.payloadPath = root + "/payload.bin";
+        this.uploadPath = root + "/upload.bin";
+        this.client.mkdir(directory);
+        byte[] small = new byte[128];
+        for (int i = 0; i < this.listSize; i++) {
+            this.client.upload(String.format("%s/object-%05d.dat", directory, i),
+                    new ByteArrayInputStream(small), FileOperation.OVERWRITE);
+        }
+        this.client.upload(this.payloadPath, new ByteArrayInputStream(this.payload), FileOperation.OVERWRITE);
+        this.downloadFile = this.scratch.resolve("download.bin").toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try {
+            this.client.close();
+            stopServer();
+        } finally {
+            FileUtils.deleteQuietly(this.scratch.toFile());
+        }
+    }
+
+
+    @Benchmark
+    public List<ObjectProperty> list() throws IOException {
+        return this.client.list(this.listPath);
+    }
+
+    @Benchmark
+    public boolean exist() throws IOException {
+        return this.client.exist(this.payloadPath);
+    }
+
+    @Benchmark
+    public Optional<ObjectMetaInfo> getObjectMetaInfo() {
+        return this.client.getObjectMetaInfo(this.payloadPath);
+    }
+
+    @Benchmark
+    public long downloadStream() throws IOException {
+        try (InputStream in = this.client.download(this.payloadPath)) {
+            return IOUtils.consume(in);
+        }
+    }
+
+    @Benchmark
+    public Boolean downloadFile() throws IOException {
+        return this.client.download(this.payloadPath, this.downloadFile, FileOperation.OVERWRITE);
+    }
+
+    @Benchmark
+    public Boolean uploadStream() throws IOException {
+        return this.client.upload(this.uploadPath, new ByteArrayInputStream(this.payload), FileOperation.OVERWRITE);
+    }
+}
@@ -0,0 +1,126 @@
+package gew.filesystem.benchmark;
+
+import gew.filesystem.common.model.CompressMethod;
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.common.util.CompressUtil;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-File Codec Throughput and Ratio on Synthetic Application Logs: GZip at the Default Compress Level
+ * Against Zstd and LZ4 at Several Levels. Each codec prints its compression ratio at tear down.
+ *
+ * @author Jason/GeW
+ * @since 2024-03-28
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressBenchmark {
+
+    private static final String[] LEVELS = {"TRACE", "DEBUG", "INFO", "INFO", "INFO", "WARN", "ERROR"};
+
+    private static final String[] SERVICES = {"gateway", "order", "payment", "inventory", "search"};
+
+    /**
+     * Codec and Level, e.g. ZSTD-3; Bare GZIP Uses the Default Compress Level, LZ4-0 Is the Fast Compressor
+     */
+    @Param({"GZIP", "ZSTD-1", "ZSTD-3", "ZSTD-9", "LZ4-0", "LZ4-9"})
+    public String codec;
+
+    /**
+     * Uncompressed Log Size in MiB
+     */
+    @Param({"32"})
+    public int sizeMb;
+
+    /**
+     * Native Zstd Workers, 0 Compresses on the Calling Thread
+     */
+    @Param({"0"})
+    public int zstdWorkers;
+
+    private Path scratch;
+
+    private Path source;
+
+    private Path target;
+
+    private CompressMethod method;
+
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.scratch = Files.createTempDirectory("fs-compress-benchmark-");
+        this.source = this.scratch.resolve("app.log");
+        writeLog(this.source, this.sizeMb * FileUtils.ONE_MB);
+
+        String[] parts = this.codec.split("-");
+        this.method = CompressMethod.valueOf(parts[0]);
+        if (this.method == CompressMethod.ZSTD) {
+            CompressUtil.setZstdLevel(Integer.parseInt(parts[1]));
+            CompressUtil.setZstdWorkers(this.zstdWorkers);
+        } else if (this.method == CompressMethod.LZ4) {
+            CompressUtil.setLz4Level(Integer.parseInt(parts[1]));
+        }
+        this.target = this.scratch.resolve("app.log." + this.method.name().toLowerCase());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%n%s Ratio: %.2f (%d -> %d Bytes)%n", this.codec,
+                (double) Files.size(this.source) / Files.size(this.target), Files.size(this.source),
+                Files.size(this.target));
+        FileUtils.deleteDirectory(this.scratch.toFile());
+    }
+
+
+    @Benchmark
+    public boolean compress() throws IOException {
+        // Compress Opens the Target With CREATE_NEW, Deleting It Costs Microseconds Against Tens of Milliseconds
+        Files.deleteIfExists(this.target);
+        return CompressUtil.compress(this.source, this.target, this.method, FileOperation.OVERWRITE);
+    }
+
+
+    private static void writeLog(Path file, long size) throws IOException {
+        Random random = new Random(20240328L);
+        long written = 0;
+        long time = 1711584000000L;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (written < size) {
+                time += random.nextInt(50);
+                String line = String.format("%tF %<tT.%<tL %-5s [%s-%d] c.e.%s.Handler - request %08x served in %dms"
+                                + " status=%d bytes=%d%n", time, LEVELS[random.nextInt(LEVELS.length)],
+                        SERVICES[random.nextInt(SERVICES.length)], random.nextInt(16),
+                        SERVICES[random.nextInt(SERVICES.length)], random.nextInt(), random.nextInt(500),
+                        random.nextInt(10) == 0 ? 500 : 200, random.nextInt(65536));
+                writer.write(line);
+                written += line.length();
+            }
+        }
+    }
+}
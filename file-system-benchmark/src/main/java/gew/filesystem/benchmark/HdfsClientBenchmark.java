@@ -0,0 +1,45 @@
+package gew.filesystem.benchmark;
+
+import gew.filesystem.common.service.BasicFileSystemClient;
+import gew.filesystem.hdfs.config.HadoopFsClientConfig;
+import gew.filesystem.hdfs.service.HadoopFileSystemClientImpl;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hdfs.MiniDFSCluster;
+
+import java.nio.file.Path;
+
+/**
+ * Benchmark for {@link HadoopFileSystemClientImpl} Against a Single DataNode MiniDFSCluster
+ *
+ * @author Jason/GeW
+ * @since 2024-03-01
+ */
+public class HdfsClientBenchmark extends AbstractClientBenchmark {
+
+    private MiniDFSCluster cluster;
+
+
+    @Override
+    protected BasicFileSystemClient createClient(Path scratch) throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.set(MiniDFSCluster.HDFS_MINIDFS_BASEDIR, scratch.resolve("hdfs").toString());
+        this.cluster = new MiniDFSCluster.Builder(configuration).numDataNodes(1).build();
+        this.cluster.waitActive();
+
+        HadoopFsClientConfig config = new HadoopFsClientConfig(this.cluster.getURI(), null);
+        config.setReplication(1);
+        HadoopFileSystemClientImpl hdfsClient = new HadoopFileSystemClientImpl();
+        hdfsClient.init(config);
+        return hdfsClient;
+    }
+
+    @Override
+    protected String remoteRoot() {
+        return "/data";
+    }
+
+    @Override
+    protected void stopServer() {
+        this.cluster.shutdown();
+    }
+}
@@ -0,0 +1,35 @@
+package gew.filesystem.benchmark;
+
+import gew.filesystem.common.local.LocalFileSystemClientImpl;
+import gew.filesystem.common.service.BasicFileSystemClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Benchmark for {@link LocalFileSystemClientImpl} on a Temporary Directory
+ *
+ * @author Jason/GeW
+ * @since 2024-03-01
+ */
+public class LocalClientBenchmark extends AbstractClientBenchmark {
+
+    private String root;
+
+
+    @Override
+    protected BasicFileSystemClient createClient(Path scratch) throws Exception {
+        this.root = Files.createDirectories(scratch.resolve("local")).toString();
+        return new LocalFileSystemClientImpl();
+    }
+
+    @Override
+    protected String remoteRoot() {
+        return this.root;
+    }
+
+    @Override
+    protected void stopServer() {
+        // Nothing to Stop
+    }
+}
@@ -0,0 +1,49 @@
+package gew.filesystem.benchmark;
+
+import com.aliyun.oss.OSSClient;
+import com.aliyun.oss.OSSClientBuilder;
+import gew.filesystem.benchmark.support.MockObjectStoreServer;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import gew.filesystem.oss.service.AliOssFileSystemClientImpl;
+
+import java.nio.file.Path;
+
+/**
+ * Benchmark for {@link AliOssFileSystemClientImpl} Against the In-Process Object Store Mock
+ * The OSS SDK falls back to path-style addressing for IP endpoints.
+ *
+ * @author Jason/GeW
+ * @since 2024-03-01
+ */
+public class OssClientBenchmark extends AbstractClientBenchmark {
+
+    private static final String BUCKET = "benchmark";
+
+    private MockObjectStoreServer server;
+
+
+    @Override
+    protected BasicFileSystemClient createClient(Path scratch) throws Exception {
+        this.server = new MockObjectStoreServer().start();
+        OSSClient ossClient = (OSSClient) new OSSClientBuilder().build(this.server.getEndpoint().toString(),
+                "benchmark", "benchmark");
+        AliOssFileSystemClientImpl ossFileSystemClient = new AliOssFileSystemClientImpl(BUCKET);
+        ossFileSystemClient.setOssClient(ossClient);
+        return ossFileSystemClient;
+    }
+
+    @Override
+    protected String remoteRoot() {
+        return "data";
+    }
+
+    @Override
+    protected String listTarget(String directory) {
+        return directory + '/';
+    }
+
+    @Override
+    protected void stopServer() {
+        this.server.close();
+    }
+}
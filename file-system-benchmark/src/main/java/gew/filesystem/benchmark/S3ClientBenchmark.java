@@ -0,0 +1,54 @@
+package gew.filesystem.benchmark;
+
+import gew.filesystem.benchmark.support.MockObjectStoreServer;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import gew.filesystem.s3.service.AwsS3FileSystemClientImpl;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Benchmark for {@link AwsS3FileSystemClientImpl} Against the In-Process Object Store Mock
+ *
+ * @author Jason/GeW
+ * @since 2024-03-01
+ */
+public class S3ClientBenchmark extends AbstractClientBenchmark {
+
+    private static final String BUCKET = "benchmark";
+
+    private MockObjectStoreServer server;
+
+
+    @Override
+    protected BasicFileSystemClient createClient(Path scratch) throws Exception {
+        this.server = new MockObjectStoreServer().start();
+        S3Client s3Client = S3Client.builder()
+                .endpointOverride(this.server.getEndpoint())
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create("benchmark", "benchmark")))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(true)
+                        .chunkedEncodingEnabled(false)
+                        .build())
+                .build();
+        AwsS3FileSystemClientImpl s3FileSystemClient = new AwsS3FileSystemClientImpl(BUCKET);
+        s3FileSystemClient.setS3Client(s3Client);
+        return s3FileSystemClient;
+    }
+
+    @Override
+    protected String remoteRoot() {
+        return "data";
+    }
+
+    @Override
+    protected void stopServer() {
+        this.server.close();
+    }
+}
@@ -0,0 +1,45 @@
+package gew.filesystem.benchmark;
+
+import gew.filesystem.benchmark.support.EmbeddedSftpServer;
+import gew.filesystem.common.config.SftpClientConfig;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import gew.filesystem.common.sftp.SftpSystemClientImpl;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Benchmark for {@link SftpSystemClientImpl} Against an Embedded SSHD Server
+ *
+ * @author Jason/GeW
+ * @since 2024-03-01
+ */
+public class SftpClientBenchmark extends AbstractClientBenchmark {
+
+    private EmbeddedSftpServer server;
+
+
+    @Override
+    protected BasicFileSystemClient createClient(Path scratch) throws Exception {
+        Path root = Files.createDirectories(scratch.resolve("sftp"));
+        Files.createDirectories(root.resolve("data"));
+        this.server = new EmbeddedSftpServer(root, scratch.resolve("sftp.hostkey")).start();
+
+        SftpClientConfig config = new SftpClientConfig("127.0.0.1",
+                EmbeddedSftpServer.USERNAME, EmbeddedSftpServer.PASSWORD);
+        config.setPort(this.server.getPort());
+        SftpSystemClientImpl sftpClient = new SftpSystemClientImpl();
+        sftpClient.init(config);
+        return sftpClient;
+    }
+
+    @Override
+    protected String remoteRoot() {
+        return "/data";
+    }
+
+    @Override
+    protected void stopServer() throws Exception {
+        this.server.close();
+    }
+}
@@ -0,0 +1,66 @@
+package gew.filesystem.benchmark.support;
+
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.sftp.server.SftpSubsystemFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+/**
+ * Embedded Apache MINA SSHD Server with SFTP Subsystem, Rooted at a Local Directory
+ * Accepts any username with the configured password. The generated host key is written to the given file,
+ * which belongs to the caller's scratch space, and removed again on close.
+ *
+ * @author Jason/GeW
+ * @since 2024-03-01
+ */
+public class EmbeddedSftpServer implements AutoCloseable {
+
+    public static final String USERNAME = "benchmark";
+
+    public static final String PASSWORD = "benchmark";
+
+    private final Path root;
+
+    private final Path hostKey;
+
+    private SshServer server;
+
+
+    /**
+     * @param root    Directory Served as the SFTP Root
+     * @param hostKey Host Key File, Outside root so Clients Can Not Read It
+     */
+    public EmbeddedSftpServer(Path root, Path hostKey) {
+        this.root = root;
+        this.hostKey = hostKey;
+    }
+
+    public EmbeddedSftpServer start() throws IOException {
+        this.server = SshServer.setUpDefaultServer();
+        this.server.setHost("127.0.0.1");
+        this.server.setPort(0);
+        this.server.setKeyPairProvider(new SimpleGeneratorHostKeyProvider(this.hostKey));
+        this.server.setPasswordAuthenticator((username, password, session) -> PASSWORD.equals(password));
+        this.server.setSubsystemFactories(Collections.singletonList(new SftpSubsystemFactory()));
+        this.server.setFileSystemFactory(new VirtualFileSystemFactory(this.root));
+        this.server.start();
+        return this;
+    }
+
+    public int getPort() {
+        return this.server.getPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.server != null) {
+            this.server.stop(true);
+        }
+        Files.deleteIfExists(this.hostKey);
+    }
+}
@@ -0,0 +1,321 @@
+package gew.filesystem.benchmark.support;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal In-Process Object Store Speaking the Path-Style Subset of S3 / OSS REST API
+ * Used by the benchmarks: HEAD / GET (with Range) / PUT / DELETE Object, ListObjects V1 & V2, OSS Create Directory.
+ * Not a conformance mock, error bodies and signatures are not checked.
+ *
+ * @author Jason/GeW
+ * @since 2024-03-01
+ */
+public class MockObjectStoreServer implements AutoCloseable {
+
+    private static final DateTimeFormatter ISO_TIME = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    static {
+        // Headers and body go out in separate writes, without TCP_NODELAY every call waits on delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final NavigableMap<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+
+    public MockObjectStoreServer start() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        this.executor = Executors.newFixedThreadPool(16);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+        return this;
+    }
+
+    public URI getEndpoint() {
+        return URI.create("http://127.0.0.1:" + this.server.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        if (this.server != null) {
+            this.server.stop(0);
+        }
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+    }
+
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String rawPath = exchange.getRequestURI().getRawPath();
+            String path = URLDecoder.decode(rawPath.substring(1), StandardCharsets.UTF_8.name());
+            int slash = path.indexOf('/');
+            String bucket = slash < 0 ? path : path.substring(0, slash);
+            String key = slash < 0 ? "" : path.substring(slash + 1);
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String method = exchange.getRequestMethod();
+
+            if (key.isEmpty() && "GET".equals(method)) {
+                listObjects(exchange, bucket, query);
+            } else if ("PUT".equals(method)) {
+                putObject(exchange, bucket, key);
+            } else if ("GET".equals(method) || "HEAD".equals(method)) {
+                getObject(exchange, bucket, key, "HEAD".equals(method));
+            } else if ("POST".equals(method) && query.containsKey("x-oss-dir")) {
+                this.objects.put(bucket + '/' + StringUtils.appendIfMissing(key, "/"), new StoredObject(new byte[0]));
+                exchange.sendResponseHeaders(200, -1);
+            } else if ("DELETE".equals(method)) {
+                this.objects.remove(bucket + '/' + key);
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                exchange.sendResponseHeaders(405, -1);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void putObject(HttpExchange exchange, String bucket, String key) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = IOUtils.toByteArray(in);
+        }
+        Headers headers = exchange.getRequestHeaders();
+        if (headers.containsKey("x-amz-decoded-content-length")) {
+            body = decodeAwsChunked(body);
+        }
+        StoredObject object = new StoredObject(body);
+        this.objects.put(bucket + '/' + key, object);
+        exchange.getResponseHeaders().add("ETag", object.eTag);
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void getObject(HttpExchange exchange, String bucket, String key, boolean head) throws IOException {
+        StoredObject object = this.objects.get(bucket + '/' + key);
+        if (object == null) {
+            if (head) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                sendXml(exchange, 404, "<Error><Code>NoSuchKey</Code><Message>Not Found</Message>"
+                        + "<Key>" + escape(key) + "</Key></Error>");
+            }
+            return;
+        }
+        Headers response = exchange.getResponseHeaders();
+        response.add("ETag", object.eTag);
+        response.add("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(object.lastModified.atZone(ZoneOffset.UTC)));
+        response.add("Content-Type", "application/octet-stream");
+        response.add("Accept-Ranges", "bytes");
+
+        long start = 0;
+        long end = object.data.length - 1L;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        int status = 200;
+        if (StringUtils.startsWith(range, "bytes=") && object.data.length > 0) {
+            String[] bounds = range.substring(6).split("-", 2);
+            start = Long.parseLong(bounds[0]);
+            if (bounds.length > 1 && !bounds[1].isEmpty()) {
+                end = Math.min(end, Long.parseLong(bounds[1]));
+            }
+            response.add("Content-Range", "bytes " + start + "-" + end + "/" + object.data.length);
+            status = 206;
+        }
+        long length = end - start + 1;
+        if (head) {
+            // JDK server drops the connection after a HEAD with explicit length, tell clients not to reuse it
+            response.add("Content-Length", String.valueOf(length));
+            response.add("Connection", "close");
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, length == 0 ? -1 : length);
+        if (length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(object.data, (int) start, (int) length);
+            }
+        }
+    }
+
+    private void listObjects(HttpExchange exchange, String bucket, Map<String, String> query) throws IOException {
+        boolean v2 = "2".equals(query.get("list-type"));
+        String prefix = query.getOrDefault("prefix", "");
+        String delimiter = query.get("delimiter");
+        int maxKeys = Integer.parseInt(query.getOrDefault("max-keys", "1000"));
+        String after = v2 ? StringUtils.defaultIfEmpty(query.get("continuation-token"), query.get("start-after"))
+                : query.get("marker");
+
+        String from = bucket + '/' + prefix;
+        NavigableMap<String, StoredObject> view = this.objects.tailMap(from, true);
+        StringBuilder contents = new StringBuilder();
+        TreeSet<String> commonPrefixes = new TreeSet<>();
+        int count = 0;
+        String lastKey = null;
+        boolean truncated = false;
+        for (Map.Entry<String, StoredObject> entry : view.entrySet()) {
+            if (!entry.getKey().startsWith(from)) {
+                break;
+            }
+            String key = entry.getKey().substring(bucket.length() + 1);
+            if (after != null && key.compareTo(after) <= 0) {
+                continue;
+            }
+            if (count >= maxKeys) {
+                truncated = true;
+                break;
+            }
+            if (StringUtils.isNotEmpty(delimiter)) {
+                int index = key.indexOf(delimiter, prefix.length());
+                if (index >= 0) {
+                    commonPrefixes.add(key.substring(0, index + delimiter.length()));
+                    lastKey = key;
+                    count++;
+                    continue;
+                }
+            }
+            StoredObject object = entry.getValue();
+            contents.append("<Contents><Key>").append(escape(key)).append("</Key>")
+                    .append("<LastModified>").append(ISO_TIME.format(object.lastModified)).append("</LastModified>")
+                    .append("<ETag>").append(object.eTag).append("</ETag>")
+                    .append("<Size>").append(object.data.length).append("</Size>")
+                    .append("<Type>Normal</Type><StorageClass>STANDARD</StorageClass>")
+                    .append("<Owner><ID>benchmark</ID><DisplayName>benchmark</DisplayName></Owner></Contents>");
+            lastKey = key;
+            count++;
+        }
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><ListBucketResult>");
+        xml.append("<Name>").append(escape(bucket)).append("</Name>")
+                .append("<Prefix>").append(escape(prefix)).append("</Prefix>")
+                .append("<MaxKeys>").append(maxKeys).append("</MaxKeys>")
+                .append("<IsTruncated>").append(truncated).append("</IsTruncated>");
+        if (v2) {
+            xml.append("<KeyCount>").append(count).append("</KeyCount>");
+            if (truncated) {
+                xml.append("<NextContinuationToken>").append(escape(lastKey)).append("</NextContinuationToken>");
+            }
+        } else {
+            xml.append("<Marker>").append(escape(StringUtils.defaultString(after))).append("</Marker>");
+            if (truncated) {
+                xml.append("<NextMarker>").append(escape(lastKey)).append("</NextMarker>");
+            }
+        }
+        if (delimiter != null) {
+            xml.append("<Delimiter>").append(escape(delimiter)).append("</Delimiter>");
+        }
+        xml.append(contents);
+        for (String commonPrefix : commonPrefixes) {
+            xml.append("<CommonPrefixes><Prefix>").append(escape(commonPrefix)).append("</Prefix></CommonPrefixes>");
+        }
+        xml.append("</ListBucketResult>");
+        sendXml(exchange, 200, xml.toString());
+    }
+
+
+    private static void sendXml(HttpExchange exchange, int status, String xml) throws IOException {
+        byte[] body = xml.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Strip "aws-chunked" framing: [hex-size;chunk-signature=...\r\n data \r\n]* 0;...\r\n\r\n
+     */
+    private static byte[] decodeAwsChunked(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+        int pos = 0;
+        while (pos < body.length) {
+            int lineEnd = pos;
+            while (lineEnd < body.length - 1 && !(body[lineEnd] == '\r' && body[lineEnd + 1] == '\n')) {
+                lineEnd++;
+            }
+            String header = new String(body, pos, lineEnd - pos, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(StringUtils.substringBefore(header, ";").trim(), 16);
+            if (size == 0) {
+                break;
+            }
+            out.write(body, lineEnd + 2, size);
+            pos = lineEnd + 2 + size + 2;
+        }
+        return out.toByteArray();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws IOException {
+        Map<String, String> query = new HashMap<>();
+        if (StringUtils.isEmpty(rawQuery)) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            String[] kv = pair.split("=", 2);
+            query.put(URLDecoder.decode(kv[0], StandardCharsets.UTF_8.name()),
+                    kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8.name()) : "");
+        }
+        return query;
+    }
+
+    private static String escape(String value) {
+        return value == null ? "" : value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+
+    private static String md5Hex(byte[] data) {
+        try {
+            StringBuilder hex = new StringBuilder(32);
+            for (byte b : MessageDigest.getInstance("MD5").digest(data)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    private static final class StoredObject {
+
+        private final byte[] data;
+
+        private final String eTag;
+
+        private final Instant lastModified;
+
+        private StoredObject(byte[] data) {
+            this.data = data;
+            this.eTag = '"' + md5Hex(data) + '"';
+            this.lastModified = Instant.now();
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package gew.filesystem.common.cache;
+
+import gew.filesystem.common.config.FileSystemConfig;
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.common.model.FileSystemType;
+import gew.filesystem.common.model.ObjectMetaInfo;
+import gew.filesystem.common.model.ObjectProperty;
+import gew.filesystem.common.service.BasicFileSystemClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Caching Decorator for Any {@link BasicFileSystemClient}.
+ * Results of getObjectMetaInfo, exist and list, including negative ones (missing object, empty listing),
+ * are kept in a size bounded LRU with a time-to-live. Uploads, mkdir and deletes made through this
+ * decorator invalidate the written path, everything below it and every cached listing above it;
+ * changes made by other clients are only picked up after the TTL expires.
+ * <p>
+ * exist() and getObjectMetaInfo() answer from each other's entries, so the common "exist then meta info"
+ * sequence costs one remote call. Cached meta info and listings are shared instances / copies respectively,
+ * callers must not mutate the returned ObjectMetaInfo. Exceptions are never cached.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-15
+ */
+public class CachingFileSystemClient implements BasicFileSystemClient {
+
+    private final BasicFileSystemClient client;
+
+    private final int maxEntries;
+
+    private final long ttlNanos;
+
+    private long negativeTtlNanos;
+
+    private final LongSupplier ticker;
+
+    private final Map<CacheKey, CacheEntry> cache;
+
+    /**
+     * Cached Paths With Their Entry Count, Sorted so Everything Below a Path Is One Contiguous Range
+     */
+    private final NavigableMap<String, Integer> paths = new TreeMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Bumped on Every Invalidation, a Load Started Before a Write Must Not Store Its Now Stale Result
+     */
+    private long generation;
+
+
+    /**
+     * @param client     Underlying Client
+     * @param maxEntries Max Cached Entries, Least Recently Used Evicted First
+     * @param ttl        Time to Live of Each Entry, Negative Entries Use the Same TTL Unless Changed
+     */
+    public CachingFileSystemClient(BasicFileSystemClient client, int maxEntries, Duration ttl) {
+        this(client, maxEntries, ttl, System::nanoTime);
+    }
+
+    CachingFileSystemClient(BasicFileSystemClient client, int maxEntries, Duration ttl, LongSupplier ticker) {
+        if (client == null) {
+            throw new IllegalArgumentException("Invalid File System Client");
+        } else if (maxEntries < 1) {
+            throw new IllegalArgumentException("Invalid Max Cache Entries");
+        } else if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Invalid Cache TTL");
+        }
+        this.client = client;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = this.ttlNanos;
+        this.ticker = ticker;
+        this.cache = new LinkedHashMap<CacheKey, CacheEntry>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                if (size() > CachingFileSystemClient.this.maxEntries) {
+                    CachingFileSystemClient.this.remove(eldest.getKey());
+                }
+                return false;
+            }
+        };
+    }
+
+
+    @Override
+    public void init(FileSystemConfig config) {
+        this.client.init(config);
+    }
+
+    @Override
+    public FileSystemType getFileSystemType() {
+        return this.client.getFileSystemType();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<ObjectMetaInfo> getObjectMetaInfo(String path) {
+        CacheEntry meta = lookup(new CacheKey(Kind.META, path));
+        if (meta != null) {
+            this.hits.incrementAndGet();
+            return (Optional<ObjectMetaInfo>) meta.value;
+        }
+        CacheEntry exist = lookup(new CacheKey(Kind.EXIST, path));
+        if (exist != null && Boolean.FALSE.equals(exist.value)) {
+            this.hits.incrementAndGet();
+            return Optional.empty();
+        }
+        this.misses.incrementAndGet();
+        long loadGeneration = currentGeneration();
+        Optional<ObjectMetaInfo> metaInfo = this.client.getObjectMetaInfo(path);
+        store(new CacheKey(Kind.META, path), metaInfo, metaInfo.isPresent(), loadGeneration);
+        return metaInfo;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ObjectProperty> list(String path) throws IOException {
+        CacheEntry entry = lookup(new CacheKey(Kind.LIST, path));
+        if (entry != null) {
+            this.hits.incrementAndGet();
+            return new ArrayList<>((List<ObjectProperty>) entry.value);
+        }
+        this.misses.incrementAndGet();
+        long loadGeneration = currentGeneration();
+        List<ObjectProperty> properties = this.client.list(path);
+        store(new CacheKey(Kind.LIST, path), new ArrayList<>(properties), !properties.isEmpty(), loadGeneration);
+        return properties;
+    }
+
+    /**
+     * Lazy listings are not cached, they exist precisely to avoid holding the whole listing.
+     */
+    @Override
+    public Stream<ObjectProperty> listStream(String path) throws IOException {
+        return this.client.listStream(path);
+    }
+
+    @Override
+    public String mkdir(String path) throws IOException {
+        try {
+            return this.client.mkdir(path);
+        } finally {
+            invalidate(path);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean exist(String path) throws IOException {
+        CacheEntry exist = lookup(new CacheKey(Kind.EXIST, path));
+        if (exist != null) {
+            this.hits.incrementAndGet();
+            return (Boolean) exist.value;
+        }
+        CacheEntry meta = lookup(new CacheKey(Kind.META, path));
+        if (meta != null && ((Optional<ObjectMetaInfo>) meta.value).isPresent()) {
+            this.hits.incrementAndGet();
+            return true;
+        }
+        this.misses.incrementAndGet();
+        long loadGeneration = currentGeneration();
+        boolean found = this.client.exist(path);
+        store(new CacheKey(Kind.EXIST, path), found, found, loadGeneration);
+        return found;
+    }
+
+    @Override
+    public InputStream download(String source) throws IOException {
+        return this.client.download(source);
+    }
+
+    @Override
+    public InputStream download(String source, long offset, long length) throws IOException {
+        return this.client.download(source, offset, length);
+    }
+
+    @Override
+    public Boolean download(String source, File localFile, FileOperation... localFileOperation) throws IOException {
+        return this.client.download(source, localFile, localFileOperation);
+    }
+
+    @Override
+    public Boolean upload(String destination, InputStream in, FileOperation... destFileOperation) throws IOException {
+        try {
+            return this.client.upload(destination, in, destFileOperation);
+        } finally {
+            invalidate(destination);
+        }
+    }
+
+    @Override
+    public String upload(String destination, File localFile) throws IOException {
+        try {
+            return this.client.upload(destination, localFile);
+        } finally {
+            invalidate(destination);
+        }
+    }
+
+    @Override
+    public Boolean delete(String path, FileOperation... deleteFileOperation) throws IOException {
+        try {
+            return this.client.delete(path, deleteFileOperation);
+        } finally {
+            invalidate(path);
+        }
+    }
+
+    @Override
+    public Map<String, Boolean> deleteAll(Collection<String> paths) throws IOException {
+        try {
+            return this.client.deleteAll(paths);
+        } finally {
+            if (paths != null) {
+                paths.forEach(this::invalidate);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        invalidateAll();
+        this.client.close();
+    }
+
+
+    /**
+     * Drop Entries of the Path, of Anything Below It, and Listings of Anything Above It.
+     * Matching is by string prefix, which may drop a few unrelated siblings but never keeps a stale entry.
+     * Paths below are one range of the sorted path index and listings above are looked up one prefix at a time,
+     * so the cost follows the entries dropped and the path length, not the cache size.
+     *
+     * @param path Written Path
+     */
+    public void invalidate(String path) {
+        if (path == null) {
+            return;
+        }
+        synchronized (this.cache) {
+            this.generation++;
+            Iterator<String> below = this.paths.tailMap(path, true).keySet().iterator();
+            while (below.hasNext()) {
+                String cached = below.next();
+                if (!cached.startsWith(path)) {
+                    break;
+                }
+                below.remove();
+                for (Kind kind : Kind.values()) {
+                    this.cache.remove(new CacheKey(kind, cached));
+                }
+            }
+            for (int end = 0; end < path.length(); end++) {
+                remove(new CacheKey(Kind.LIST, path.substring(0, end)));
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (this.cache) {
+            this.generation++;
+            this.cache.clear();
+            this.paths.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (this.cache) {
+            return this.cache.size();
+        }
+    }
+
+    /**
+     * @return Distinct Paths in the Invalidation Index, at Most size()
+     */
+    int indexedPaths() {
+        synchronized (this.cache) {
+            return this.paths.size();
+        }
+    }
+
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    public BasicFileSystemClient getClient() {
+        return client;
+    }
+
+    /**
+     * @param negativeTtl Time to Live of Negative Entries (Missing Object, Empty Listing)
+     */
+    public void setNegativeTtl(Duration negativeTtl) {
+        if (negativeTtl == null || negativeTtl.isNegative()) {
+            throw new IllegalArgumentException("Invalid Negative Cache TTL");
+        }
+        this.negativeTtlNanos = negativeTtl.toNanos();
+    }
+
+
+    private CacheEntry lookup(CacheKey key) {
+        synchronized (this.cache) {
+            CacheEntry entry = this.cache.get(key);
+            if (entry == null) {
+                return null;
+            } else if (this.ticker.getAsLong() - entry.expireAt >= 0) {
+                remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private long currentGeneration() {
+        synchronized (this.cache) {
+            return this.generation;
+        }
+    }
+
+    private void store(CacheKey key, Object value, boolean positive, long loadGeneration) {
+        long ttl = positive ? this.ttlNanos : this.negativeTtlNanos;
+        if (ttl <= 0) {
+            return;
+        }
+        synchronized (this.cache) {
+            if (this.generation != loadGeneration) {
+                return;
+            }
+            if (this.cache.put(key, new CacheEntry(value, this.ticker.getAsLong() + ttl)) == null
+                    && key.path != null) {
+                this.paths.merge(key.path, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Remove One Entry and Keep the Path Index in Step, Caller Holds the Cache Lock
+     */
+    private void remove(CacheKey key) {
+        if (this.cache.remove(key) != null && key.path != null) {
+            this.paths.computeIfPresent(key.path, (path, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+
+    private enum Kind {
+
+        META,
+
+        EXIST,
+
+        LIST
+    }
+
+    private static final class CacheKey {
+
+        private final Kind kind;
+
+        private final String path;
+
+        private CacheKey(Kind kind, String path) {
+            this.kind = kind;
+            this.path = path;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return this.kind == that.kind && Objects.equals(this.path, that.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, path);
+        }
+    }
+
+    private static final class CacheEntry {
+
+        private final Object value;
+
+        private final long expireAt;
+
+        private CacheEntry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
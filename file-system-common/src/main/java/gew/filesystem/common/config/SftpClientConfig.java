@@ -33,6 +33,49 @@ public class SftpClientConfig implements FileSystemConfig {
 
     private boolean keepAlive;
 
+    /**
+     * SSH Sessions Pooled Channels Are Spread Across
+     */
+    private int poolSessions = 1;
+
+    /**
+     * Concurrency Cap, Max Channels in Use at Once
+     */
+    private int poolMaxTotal = 8;
+
+    /**
+     * Max Connected Channels Kept Idle Between Calls
+     */
+    private int poolMaxIdle = 8;
+
+    private boolean poolValidateOnBorrow = true;
+
+    /**
+     * Max Milliseconds to Wait for a Free Channel, Non-Positive Waits Forever
+     */
+    private long poolMaxWait = 30000L;
+
+    /**
+     * Read Requests Kept in Flight per Channel While Downloading, Each Asks for up to 32 KiB
+     */
+    private int bulkRequests = 64;
+
+    /**
+     * Files of at Least This Many Bytes Are Downloaded to a Local File in Concurrent Ranges, Non-Positive Disables
+     */
+    private long rangeThreshold = 64L * 1024 * 1024;
+
+    /**
+     * Max Ranges a Large File Is Split Into, Each Read over Its Own Pooled Channel; Only Channels Free at the
+     * Time Are Used, so a Busy Pool Gives Fewer Ranges Instead of Waiting
+     */
+    private int rangeParallelism = 4;
+
+    /**
+     * Directories Read or Removed and Files Transferred at Once by Recursive Operations, Capped by poolMaxTotal
+     */
+    private int treeParallelism = 4;
+
 
     public enum AuthMode {
 
@@ -0,0 +1,311 @@
+package gew.filesystem.common.local;
+
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.common.model.FileSystemType;
+import gew.filesystem.common.model.ObjectMetaInfo;
+import gew.filesystem.common.model.ObjectProperty;
+import gew.filesystem.common.service.AsyncFileSystemClient;
+import gew.filesystem.common.service.ExecutorAsyncFileSystemClient;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local Async File System Client.
+ * File to file transfers run on {@link AsynchronousFileChannel} opened with the client's bounded pool; on Linux
+ * that channel performs ordinary blocking reads and writes on the pool threads, so the pool size caps concurrent
+ * transfers. Metadata calls and stream transfers run the blocking {@link LocalFileSystemClientImpl} on the same
+ * pool.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-08
+ */
+@Slf4j
+public class LocalAsyncFileSystemClientImpl implements AsyncFileSystemClient {
+
+    private static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    private final ExecutorService executor;
+
+    private final ExecutorAsyncFileSystemClient blockingClient;
+
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+
+    public LocalAsyncFileSystemClientImpl() {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public LocalAsyncFileSystemClientImpl(int threads) {
+        this(new LocalFileSystemClientImpl(), threads);
+    }
+
+    public LocalAsyncFileSystemClientImpl(LocalFileSystemClientImpl client, int threads) {
+        if (client == null) {
+            throw new IllegalArgumentException("Invalid Local File System Client");
+        } else if (threads < 1) {
+            throw new IllegalArgumentException("Invalid Thread Number");
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "fs-async-local-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.blockingClient = new ExecutorAsyncFileSystemClient(client, this.executor);
+    }
+
+
+    @Override
+    public FileSystemType getFileSystemType() {
+        return FileSystemType.LOCAL;
+    }
+
+    @Override
+    public CompletableFuture<Optional<ObjectMetaInfo>> getObjectMetaInfo(String path) {
+        return this.blockingClient.getObjectMetaInfo(path);
+    }
+
+    @Override
+    public CompletableFuture<List<ObjectProperty>> list(String path) {
+        return this.blockingClient.list(path);
+    }
+
+    @Override
+    public CompletableFuture<String> mkdir(String path) {
+        return this.blockingClient.mkdir(path);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exist(String path) {
+        return this.blockingClient.exist(path);
+    }
+
+    @Override
+    public CompletableFuture<InputStream> download(String source) {
+        return this.blockingClient.download(source);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> download(String source, File localFile, FileOperation... localFileOperation) {
+        if (StringUtils.isBlank(source)) {
+            return failed(new IllegalArgumentException("Invalid Source Path"));
+        } else if (localFile == null) {
+            return failed(new IllegalArgumentException("Invalid Local File"));
+        }
+        boolean append = localFileOperation != null && localFileOperation.length > 0
+                && FileOperation.APPEND.equals(localFileOperation[0]);
+        Path target = localFile.toPath();
+        return copy(Paths.get(source), target, append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)
+                .thenApply(bytes -> {
+                    log.debug("Download [{}] to Local File [{}] Success, {} Bytes Saved", source, localFile, bytes);
+                    return true;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> upload(String destination, InputStream in, FileOperation... destFileOperation) {
+        return this.blockingClient.upload(destination, in, destFileOperation);
+    }
+
+    @Override
+    public CompletableFuture<String> upload(String destination, File localFile) {
+        if (StringUtils.isBlank(destination)) {
+            return failed(new IllegalArgumentException("Invalid Destination Path"));
+        } else if (localFile == null) {
+            return failed(new IllegalArgumentException("Invalid Local File"));
+        }
+        Path target = Paths.get(destination);
+        return copy(localFile.toPath(), target, StandardOpenOption.CREATE_NEW)
+                .thenApply(bytes -> {
+                    log.debug("Upload Local File to [{}]: Success", localFile.getName());
+                    return target.toString();
+                });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(String path, FileOperation... deleteFileOperation) {
+        return this.blockingClient.delete(path, deleteFileOperation);
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                this.executor.shutdownNow();
+            }
+        } catch (InterruptedException ie) {
+            this.executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.debug("Local Async File System Client Has Been Closed");
+    }
+
+
+    /**
+     * Copy Source into Target Through a Read/Write Completion Chain
+     *
+     * @param source Source File
+     * @param target Target File, Parent Directories Created on Demand
+     * @param mode   APPEND, TRUNCATE_EXISTING or CREATE_NEW
+     * @return Future of Bytes Copied
+     */
+    private CompletableFuture<Long> copy(Path source, Path target, StandardOpenOption mode) {
+        AsynchronousFileChannel in = null;
+        AsynchronousFileChannel out = null;
+        try {
+            if (target.getParent() != null && mode != StandardOpenOption.CREATE_NEW) {
+                Files.createDirectories(target.getParent());
+            }
+            in = AsynchronousFileChannel.open(source,
+                    Collections.singleton(StandardOpenOption.READ), this.executor);
+            Set<OpenOption> options = new HashSet<>();
+            options.add(StandardOpenOption.WRITE);
+            if (mode == StandardOpenOption.CREATE_NEW) {
+                options.add(StandardOpenOption.CREATE_NEW);
+            } else {
+                options.add(StandardOpenOption.CREATE);
+                if (mode == StandardOpenOption.TRUNCATE_EXISTING) {
+                    options.add(StandardOpenOption.TRUNCATE_EXISTING);
+                }
+            }
+            out = AsynchronousFileChannel.open(target, options, this.executor);
+            long offset = mode == StandardOpenOption.APPEND ? out.size() : 0L;
+            ChannelCopy channelCopy = new ChannelCopy(in, out, offset, ByteBuffer.allocateDirect(this.bufferSize));
+            channelCopy.readNext();
+            return channelCopy.future;
+
+        } catch (IOException | RuntimeException err) {
+            closeQuietly(in);
+            closeQuietly(out);
+            return failed(err);
+        }
+    }
+
+    private static void closeQuietly(AsynchronousFileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ioe) {
+                log.debug("Close Async File Channel Failed: {}", ioe.getMessage());
+            }
+        }
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable err) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(err instanceof CompletionException ? err : new CompletionException(err));
+        return future;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        if (bufferSize < 4096) {
+            throw new IllegalArgumentException("Invalid Buffer Size, Minimum 4096 Bytes");
+        }
+        this.bufferSize = bufferSize;
+    }
+
+
+    /**
+     * Single Copy State: Each Completed Read Issues a Write of the Same Buffer, Each Completed Write Issues the
+     * Next Read, so at Most One I/O Is Outstanding per Copy and No Thread Waits in Between.
+     */
+    private static final class ChannelCopy {
+
+        private final AsynchronousFileChannel in;
+
+        private final AsynchronousFileChannel out;
+
+        private final ByteBuffer buffer;
+
+        private final long writeOffset;
+
+        private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        private long position;
+
+        private ChannelCopy(AsynchronousFileChannel in, AsynchronousFileChannel out, long writeOffset,
+                            ByteBuffer buffer) {
+            this.in = in;
+            this.out = out;
+            this.buffer = buffer;
+            this.writeOffset = writeOffset;
+        }
+
+        private void readNext() {
+            this.buffer.clear();
+            this.in.read(this.buffer, this.position, null, new CompletionHandler<Integer, Void>() {
+                @Override
+                public void completed(Integer read, Void attachment) {
+                    if (read < 0) {
+                        finish(null);
+                    } else {
+                        buffer.flip();
+                        writeNext();
+                    }
+                }
+
+                @Override
+                public void failed(Throwable err, Void attachment) {
+                    finish(err);
+                }
+            });
+        }
+
+        private void writeNext() {
+            this.out.write(this.buffer, this.writeOffset + this.position, null, new CompletionHandler<Integer, Void>() {
+                @Override
+                public void completed(Integer written, Void attachment) {
+                    position += written;
+                    if (buffer.hasRemaining()) {
+                        writeNext();
+                    } else {
+                        readNext();
+                    }
+                }
+
+                @Override
+                public void failed(Throwable err, Void attachment) {
+                    finish(err);
+                }
+            });
+        }
+
+        private void finish(Throwable err) {
+            closeQuietly(this.in);
+            closeQuietly(this.out);
+            if (err == null) {
+                this.future.complete(this.position);
+            } else {
+                this.future.completeExceptionally(new CompletionException(err));
+            }
+        }
+    }
+}
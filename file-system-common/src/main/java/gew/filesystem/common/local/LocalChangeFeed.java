@@ -0,0 +1,348 @@
+package gew.filesystem.common.local;
+
+import gew.filesystem.common.model.ChangeEvent;
+import gew.filesystem.common.model.ObjectProperty;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Change Feed for a Local Directory Tree, Driven by {@link WatchService} Instead of Repeated Listings.
+ * <p>
+ * Every directory down to maxDepth is registered; raw events only mark paths dirty, and once the tree has been
+ * quiet for the debounce interval (or at the latest after ten intervals of constant churn) each dirty path is
+ * statted once and compared with a snapshot of the last known state. That coalesces bursts into one event per
+ * path: a file written in many chunks is one CREATED, a temp file created and removed within the window is
+ * nothing. New directories are registered and scanned, since files can land in them before the watch exists.
+ * When the watch service overflows, the whole tree is rescanned and diffed against the snapshot instead.
+ * <p>
+ * The snapshot holds one {@link ObjectProperty} per entry, so memory grows with the watched tree.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-31
+ */
+@Slf4j
+public class LocalChangeFeed implements Closeable {
+
+    private static final long MAX_DELAY_FACTOR = 10;
+
+    private static final AtomicInteger FEED_SEQUENCE = new AtomicInteger();
+
+    private final Path root;
+
+    private final int maxDepth;
+
+    private final long debounceMillis;
+
+    /**
+     * The Client's List Pool, Asked for on Every Walk: setListParallelism Replaces the Pool While the Feed Runs
+     */
+    private final Supplier<ForkJoinPool> pool;
+
+    private final Consumer<List<ChangeEvent>> listener;
+
+    private final WatchService watcher;
+
+    private final Map<WatchKey, Path> keys = new HashMap<>();
+
+    private final NavigableMap<String, ObjectProperty> snapshot = new TreeMap<>();
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+
+    LocalChangeFeed(Path root, int maxDepth, Duration debounce, Supplier<ForkJoinPool> pool,
+                    Consumer<List<ChangeEvent>> listener) throws IOException {
+        this.root = root;
+        this.maxDepth = maxDepth;
+        this.debounceMillis = Math.max(1L, debounce.toMillis());
+        this.pool = pool;
+        this.listener = listener;
+        this.watcher = root.getFileSystem().newWatchService();
+        try {
+            register(this.root);
+            for (ObjectProperty property : walk(this.root, this.maxDepth)) {
+                this.snapshot.put(property.getName(), property);
+                registerIfOpened(property);
+            }
+        } catch (IOException | RuntimeException err) {
+            this.watcher.close();
+            throw err;
+        }
+        this.thread = new Thread(this::run, "fs-watch-" + FEED_SEQUENCE.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.start();
+        log.debug("Watch [{}] Started: {} Entries, {} Directories Registered", root, this.snapshot.size(),
+                this.keys.size());
+    }
+
+
+    /**
+     * @return Watched Root Directory
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop Watching, Events Not Yet Delivered Are Dropped
+     */
+    @Override
+    public void close() throws IOException {
+        this.running = false;
+        this.watcher.close();
+        this.thread.interrupt();
+    }
+
+
+    private void run() {
+        Set<Path> dirty = new LinkedHashSet<>();
+        boolean rescan = false;
+        long firstEvent = 0;
+        long lastEvent = 0;
+        try {
+            while (this.running) {
+                long now = System.currentTimeMillis();
+                long wait = dirty.isEmpty() && !rescan ? this.debounceMillis * MAX_DELAY_FACTOR
+                        : Math.max(1L, Math.min(lastEvent + this.debounceMillis,
+                        firstEvent + this.debounceMillis * MAX_DELAY_FACTOR) - now);
+                WatchKey key = this.watcher.poll(wait, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    rescan |= drain(key, dirty);
+                    now = System.currentTimeMillis();
+                    firstEvent = firstEvent == 0 ? now : firstEvent;
+                    lastEvent = now;
+                    continue;
+                }
+                if (dirty.isEmpty() && !rescan) {
+                    continue;
+                }
+                List<ChangeEvent> events = rescan ? rescan() : resolve(dirty);
+                dirty.clear();
+                rescan = false;
+                firstEvent = 0;
+                if (!events.isEmpty()) {
+                    deliver(events);
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException stop) {
+            // Closed
+        } catch (RuntimeException err) {
+            log.error("Watch [{}] Stopped: {}", this.root, err.getMessage(), err);
+        } finally {
+            this.running = false;
+        }
+    }
+
+    /**
+     * @return True When the Key Overflowed and Only a Rescan Can Tell What Changed
+     */
+    private boolean drain(WatchKey key, Set<Path> dirty) {
+        boolean overflow = false;
+        Path directory = this.keys.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                overflow = true;
+            } else {
+                dirty.add(directory.resolve((Path) event.context()));
+            }
+        }
+        if (!key.reset()) {
+            // Directory Deleted or Unmounted, Its Own Delete Event Arrives Through the Parent
+            this.keys.remove(key);
+        }
+        return overflow;
+    }
+
+    private List<ChangeEvent> resolve(Set<Path> dirty) {
+        List<ChangeEvent> events = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Path path : dirty) {
+            String name = path.toString();
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (NoSuchFileException nsfe) {
+                attributes = null;
+            } catch (IOException ioe) {
+                // Unreadable Is Not Gone, Keep the Known State
+                log.debug("Stat [{}] Failed: {}", path, ioe.getMessage());
+                continue;
+            }
+            ObjectProperty known = this.snapshot.get(name);
+            if (attributes == null) {
+                if (known != null) {
+                    removeSubtree(name, events, now);
+                }
+            } else if (known == null) {
+                if (depth(path) <= this.maxDepth) {
+                    ObjectProperty property = LocalTreeWalker.toObjectProperty(path, attributes);
+                    this.snapshot.put(name, property);
+                    events.add(new ChangeEvent(ChangeEvent.Type.CREATED, property, now));
+                    if (registerIfOpened(property)) {
+                        scanNewDirectory(path, events, now);
+                    }
+                }
+            } else if (!known.getDirectory() && changed(known, attributes)) {
+                ObjectProperty property = LocalTreeWalker.toObjectProperty(path, attributes);
+                this.snapshot.put(name, property);
+                events.add(new ChangeEvent(ChangeEvent.Type.MODIFIED, property, now));
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Entries Created in a New Directory Before Its Watch Was Registered Would Otherwise Never Be Reported
+     */
+    private void scanNewDirectory(Path directory, List<ChangeEvent> events, long now) {
+        try {
+            for (ObjectProperty property : walk(directory, this.maxDepth - depth(directory))) {
+                if (this.snapshot.putIfAbsent(property.getName(), property) == null) {
+                    events.add(new ChangeEvent(ChangeEvent.Type.CREATED, property, now));
+                }
+                registerIfOpened(property);
+            }
+        } catch (IOException ioe) {
+            // Already Gone Again, the Parent's Delete Event Follows
+            log.debug("Scan New Directory [{}] Failed: {}", directory, ioe.getMessage());
+        }
+    }
+
+    /**
+     * Full Walk Diffed Against the Snapshot, for When Events Were Lost
+     */
+    private List<ChangeEvent> rescan() {
+        List<ChangeEvent> events = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        List<ObjectProperty> current;
+        try {
+            current = walk(this.root, this.maxDepth);
+        } catch (IOException ioe) {
+            log.warn("Rescan [{}] After Overflow Failed: {}", this.root, ioe.getMessage());
+            return events;
+        }
+        Set<String> seen = new HashSet<>();
+        for (ObjectProperty property : current) {
+            seen.add(property.getName());
+            ObjectProperty known = this.snapshot.put(property.getName(), property);
+            if (known == null) {
+                events.add(new ChangeEvent(ChangeEvent.Type.CREATED, property, now));
+                registerIfOpened(property);
+            } else if (!property.getDirectory() && (!Objects.equals(known.getSize(), property.getSize())
+                    || !Objects.equals(known.getLastModified(), property.getLastModified()))) {
+                events.add(new ChangeEvent(ChangeEvent.Type.MODIFIED, property, now));
+            }
+        }
+        Iterator<ObjectProperty> iterator = this.snapshot.values().iterator();
+        while (iterator.hasNext()) {
+            ObjectProperty known = iterator.next();
+            if (!seen.contains(known.getName())) {
+                iterator.remove();
+                events.add(new ChangeEvent(ChangeEvent.Type.DELETED, known, now));
+            }
+        }
+        log.debug("Rescan [{}] After Overflow Found {} Changes", this.root, events.size());
+        return events;
+    }
+
+    private void removeSubtree(String name, List<ChangeEvent> events, long now) {
+        events.add(new ChangeEvent(ChangeEvent.Type.DELETED, this.snapshot.remove(name), now));
+        // Separator Sorts Right After the Prefix and (Separator + 1) Right After the Whole Subtree
+        char separator = File.separatorChar;
+        Iterator<ObjectProperty> subtree = this.snapshot.subMap(name + separator, name + (char) (separator + 1))
+                .values().iterator();
+        while (subtree.hasNext()) {
+            events.add(new ChangeEvent(ChangeEvent.Type.DELETED, subtree.next(), now));
+            subtree.remove();
+        }
+    }
+
+    /**
+     * A Pool Shut Down by setListParallelism Between Fetching and Using It Is Replaced Already, Walk Once More
+     */
+    private List<ObjectProperty> walk(Path directory, int depth) throws IOException {
+        try {
+            return LocalTreeWalker.walk(directory, depth, this.pool.get());
+        } catch (RejectedExecutionException ree) {
+            return LocalTreeWalker.walk(directory, depth, this.pool.get());
+        }
+    }
+
+    private void deliver(List<ChangeEvent> events) {
+        try {
+            this.listener.accept(events);
+        } catch (RuntimeException err) {
+            log.warn("Watch [{}] Listener Failed on {} Events: {}", this.root, events.size(), err.getMessage());
+        }
+    }
+
+    /**
+     * Register a Listed Directory Unless It Sits at maxDepth, Whose Content Is Not Reported
+     *
+     * @return True When Registered
+     */
+    private boolean registerIfOpened(ObjectProperty property) {
+        Path path = this.root.getFileSystem().getPath(property.getName());
+        if (!property.getDirectory() || depth(path) >= this.maxDepth || Files.isSymbolicLink(path)) {
+            return false;
+        }
+        try {
+            register(path);
+            return true;
+        } catch (IOException ioe) {
+            log.debug("Register Watch on [{}] Failed: {}", path, ioe.getMessage());
+            return false;
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        WatchKey key = directory.register(this.watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        this.keys.put(key, directory);
+    }
+
+    private int depth(Path path) {
+        return this.root.relativize(path).getNameCount();
+    }
+
+    private static boolean changed(ObjectProperty known, BasicFileAttributes attributes) {
+        return !Objects.equals(known.getSize(), attributes.size())
+                || !Objects.equals(known.getLastModified(), attributes.lastModifiedTime().toMillis());
+    }
+}
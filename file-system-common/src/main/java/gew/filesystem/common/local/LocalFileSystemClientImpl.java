@@ -1,5 +1,7 @@
 package gew.filesystem.common.local;
 
+import gew.filesystem.common.model.ChangeEvent;
+import gew.filesystem.common.model.DeleteResult;
 import gew.filesystem.common.model.FileOperation;
 import gew.filesystem.common.model.FileSystemType;
 import gew.filesystem.common.model.ObjectMetaInfo;
@@ -8,28 +10,42 @@ import gew.filesystem.common.model.ObjectType;
 import gew.filesystem.common.service.BasicFileSystemClient;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.FileVisitResult;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
-import java.util.stream.Collectors;
 
 /**
  * Local File System Client Based on Java 8 NIO and Apache Commons-io
+ * <p>
+ * File to file copies (download to a local file, upload of a {@link FileInputStream}) go through
+ * {@link FileChannel#transferTo}, so the kernel moves the bytes (sendfile / copy_file_range) without a user space
+ * copy. Any other upload stream is copied through a per-thread direct buffer in large chunks. {@link #list(String)}
+ * walks the tree in parallel on a daemon {@link ForkJoinPool}, statting each entry once, see {@link LocalTreeWalker}.
  *
  * @author Jason/GeW
  * @since  2019-03-24
@@ -37,8 +53,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class LocalFileSystemClientImpl implements BasicFileSystemClient {
 
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private static final AtomicInteger LIST_POOL_SEQUENCE = new AtomicInteger();
+
     private int maxDepth = 10;
 
+    private int listParallelism = Runtime.getRuntime().availableProcessors();
+
+    private ForkJoinPool listPool;
+
 
     public LocalFileSystemClientImpl() {
         // Default Constructor
@@ -86,17 +110,21 @@ public class LocalFileSystemClientImpl implements BasicFileSystemClient {
         if (StringUtils.isBlank(path)) {
             return new ArrayList<>(0);
         }
-        Path objectPath = Paths.get(path);
-        try (Stream<Path> paths = Files.walk(objectPath, this.maxDepth)) {
-            List<ObjectProperty> properties = paths
-                    .filter(p -> !p.equals(objectPath))
-                    .map(p -> Files.isDirectory(p) ? new ObjectProperty(p.toString(), true)
-                            : new ObjectProperty(p.toString(), false, p.toFile().length()))
-                    .collect(Collectors.toList());
-            log.debug("List Path [{}] Found {} Items with Max Depth [{}]",
-                    path, properties.size(), this.maxDepth);
-            return properties;
+        List<ObjectProperty> properties = LocalTreeWalker.walk(Paths.get(path), this.maxDepth, listPool());
+        log.debug("List Path [{}] Found {} Items with Max Depth [{}]", path, properties.size(), this.maxDepth);
+        return properties;
+    }
+
+    @Override
+    public Stream<ObjectProperty> listStream(String path) throws IOException {
+        if (StringUtils.isBlank(path)) {
+            return Stream.empty();
         }
+        Path objectPath = Paths.get(path);
+        return Files.walk(objectPath, this.maxDepth)
+                .filter(p -> !p.equals(objectPath))
+                .map(LocalFileSystemClientImpl::toObjectProperty)
+                .filter(Objects::nonNull);
     }
 
 
@@ -130,6 +158,19 @@ public class LocalFileSystemClientImpl implements BasicFileSystemClient {
         return inputStream;
     }
 
+    @Override
+    public InputStream download(String source, long offset, long length) throws IOException {
+        if (StringUtils.isBlank(source)) {
+            throw new IllegalArgumentException("Invalid Source Path");
+        } else if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("Invalid Range");
+        }
+        FileChannel channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ);
+        channel.position(offset);
+        log.debug("Open InputStream for Downloading File on Path [{}] From Offset {} Success", source, offset);
+        return new BoundedInputStream(Channels.newInputStream(channel), length);
+    }
+
     @Override
     public Boolean download(String source, File localFile, FileOperation... localFileOperation) throws IOException {
         if (StringUtils.isBlank(source)) {
@@ -140,9 +181,10 @@ public class LocalFileSystemClientImpl implements BasicFileSystemClient {
         boolean status;
         boolean append = localFileOperation != null && localFileOperation.length > 0
                 && FileOperation.APPEND.equals(localFileOperation[0]);
-        File src = new File(source);
-        try (OutputStream outputStream = FileUtils.openOutputStream(localFile, append)) {
-            long bytes = FileUtils.copyFile(src, outputStream);
+        FileUtils.forceMkdirParent(localFile);
+        try (FileChannel in = FileChannel.open(Paths.get(source), StandardOpenOption.READ);
+             FileChannel out = openTarget(localFile.toPath(), append)) {
+            long bytes = transfer(in, out);
             log.debug("Download [{}] to Local File [{}] Success, {} Bytes Saved", source, localFile, bytes);
             status = true;
 
@@ -168,8 +210,11 @@ public class LocalFileSystemClientImpl implements BasicFileSystemClient {
         }
         boolean append = destFileOperation != null && destFileOperation.length > 0
                 && FileOperation.APPEND.equals(destFileOperation[0]);
-        try (OutputStream outputStream = FileUtils.openOutputStream(new File(destination), append)) {
-            long bytes = IOUtils.copyLarge(in, outputStream);
+        File target = new File(destination);
+        FileUtils.forceMkdirParent(target);
+        try (FileChannel out = openTarget(target.toPath(), append)) {
+            long bytes = in instanceof FileInputStream ? transfer(((FileInputStream) in).getChannel(), out)
+                    : copy(in, out);
             log.debug("Upload InputStream to Local File [{}] Success, {} Bytes Saved", destination, bytes);
             return true;
 
@@ -205,26 +250,129 @@ public class LocalFileSystemClientImpl implements BasicFileSystemClient {
                 && FileOperation.DELETE_RECURSIVE.equals(deleteFileOperation[0]);
         Path localPath = Paths.get(path);
         if (recursive && Files.isDirectory(localPath)) {
-            Files.walkFileTree(localPath, new SimpleFileVisitor<Path>() {
-
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                    Files.delete(file);
-                    return FileVisitResult.CONTINUE;
-                }
-
-                @Override
-                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-                    Files.delete(dir);
-                    return FileVisitResult.CONTINUE;
-                }
-            });
+            deleteRecursive(path);
             return true;
         } else {
             return Files.deleteIfExists(Paths.get(path));
         }
     }
 
+    /**
+     * Remove a Directory Tree, Emptying Independent Subtrees Concurrently on the List Pool, See
+     * {@link LocalTreeDeleter}
+     *
+     * @param path Directory, File or Link; a Missing Path Removes Nothing
+     * @return Files, Directories and Bytes Removed
+     * @throws IOException First Entry That Could Not Be Listed or Removed, the Rest of the Tree Is Still Attempted
+     */
+    public DeleteResult deleteRecursive(String path) throws IOException {
+        if (StringUtils.isBlank(path)) {
+            throw new IllegalArgumentException("Invalid Path");
+        }
+        long start = System.currentTimeMillis();
+        DeleteResult result = LocalTreeDeleter.delete(Paths.get(path), listPool());
+        log.debug("Delete [{}] Recursively: {} Files, {} Directories, {} Bytes Freed in {}ms", path,
+                result.getFiles(), result.getDirectories(), result.getBytes(), System.currentTimeMillis() - start);
+        return result;
+    }
+
+
+    private static FileChannel openTarget(Path path, boolean append) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Kernel Side Copy From the Source Channel's Position to Its End, Leaving the Source Positioned at the End
+     */
+    private static long transfer(FileChannel in, FileChannel out) throws IOException {
+        long start = in.position();
+        long position = start;
+        long size = in.size();
+        while (position < size) {
+            long n = in.transferTo(position, size - position, out);
+            if (n <= 0) {
+                // Source Truncated While Copying
+                break;
+            }
+            position += n;
+        }
+        in.position(position);
+        return position - start;
+    }
+
+    /**
+     * Generic Streams Can Only Be Read Into a Byte Array, Which Is Written as a Wrapped Heap Buffer. The Channel
+     * Stages It Through the JDK's Own Per-Thread Cached Direct Buffer, Bounded by the Size of This One
+     */
+    private static long copy(InputStream in, FileChannel out) throws IOException {
+        byte[] array = new byte[STREAM_BUFFER_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(array);
+        long bytes = 0;
+        int n;
+        while ((n = in.read(array)) >= 0) {
+            buffer.clear().limit(n);
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            bytes += n;
+        }
+        return bytes;
+    }
+
+    /**
+     * Same Attributes as {@link #list(String)}: Links Are Not Followed, so a Dangling One Is Still Listed
+     *
+     * @return Null When the Entry Was Removed While Walking
+     */
+    private static ObjectProperty toObjectProperty(Path path) {
+        try {
+            return LocalTreeWalker.toObjectProperty(path,
+                    Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS));
+        } catch (NoSuchFileException nsfe) {
+            return null;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * Watch a Directory Tree Down to maxDepth Instead of Polling {@link #list(String)}, See {@link LocalChangeFeed}
+     *
+     * @param path     Directory to Watch
+     * @param debounce Quiet Period Before a Batch of Coalesced Events Is Delivered
+     * @param listener Receives Each Batch on the Feed's Thread, Must Not Block for Long
+     * @return Running Feed, Close It to Stop Watching
+     * @throws IOException Initial Scan or Watch Registration Failed
+     */
+    public LocalChangeFeed watch(String path, Duration debounce, Consumer<List<ChangeEvent>> listener)
+            throws IOException {
+        if (StringUtils.isBlank(path)) {
+            throw new IllegalArgumentException("Invalid Path");
+        } else if (debounce == null || debounce.isNegative()) {
+            throw new IllegalArgumentException("Invalid Debounce Duration");
+        } else if (listener == null) {
+            throw new IllegalArgumentException("Invalid Listener");
+        }
+        Path directory = Paths.get(path);
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Path [" + path + "] Is Not a Directory");
+        }
+        return new LocalChangeFeed(directory, this.maxDepth, debounce, this::listPool, listener);
+    }
+
+    private synchronized ForkJoinPool listPool() {
+        if (this.listPool == null) {
+            String prefix = "fs-list-" + LIST_POOL_SEQUENCE.incrementAndGet() + "-";
+            this.listPool = new ForkJoinPool(this.listParallelism, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(prefix + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return this.listPool;
+    }
 
     public int getMaxDepth() {
         return maxDepth;
@@ -236,4 +384,24 @@ public class LocalFileSystemClientImpl implements BasicFileSystemClient {
         }
         this.maxDepth = maxDepth;
     }
+
+    public int getListParallelism() {
+        return listParallelism;
+    }
+
+    /**
+     * @param listParallelism Threads Walking Directories in {@link #list(String)} and Recursive Deletes, Defaults
+     *                        to the CPU Count.
+     *                        Local disks, NVMe above all, serve many concurrent stats faster than one.
+     */
+    public synchronized void setListParallelism(int listParallelism) {
+        if (listParallelism < 1) {
+            throw new IllegalArgumentException("Invalid List Parallelism");
+        }
+        this.listParallelism = listParallelism;
+        if (this.listPool != null) {
+            this.listPool.shutdown();
+            this.listPool = null;
+        }
+    }
 }
@@ -0,0 +1,130 @@
+package gew.filesystem.common.local;
+
+import gew.filesystem.common.model.DeleteResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel Recursive Delete, the Counterpart of {@link LocalTreeWalker}.
+ * <p>
+ * Each directory is one {@link RecursiveTask}: it unlinks its own files while listing them and forks one task per
+ * subdirectory, so independent subtrees are emptied concurrently; once every subtree has joined, the directory
+ * itself is removed, which makes directory removal bottom-up. Links are unlinked, never followed. On a failure the
+ * remaining subtrees still run to completion before the first error is thrown, so no task outlives the call.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-30
+ */
+final class LocalTreeDeleter {
+
+    private LocalTreeDeleter() {
+        // Utility Class
+    }
+
+    /**
+     * @param root Directory, File or Link to Remove; a Missing Path Removes Nothing
+     * @param pool Pool the Directory Tasks Run On
+     * @return Files, Directories and Bytes Removed
+     * @throws IOException First Entry That Could Not Be Listed or Removed
+     */
+    static DeleteResult delete(Path root, ForkJoinPool pool) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(root, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException nsfe) {
+            return new DeleteResult(0, 0, 0);
+        }
+        if (!attributes.isDirectory()) {
+            Files.delete(root);
+            return new DeleteResult(1, 0, attributes.size());
+        }
+        try {
+            Counts counts = pool.invoke(new DeleteTask(root));
+            return new DeleteResult(counts.files, counts.directories, counts.bytes);
+        } catch (UncheckedIOException uioe) {
+            throw uioe.getCause();
+        }
+    }
+
+
+    private static final class DeleteTask extends RecursiveTask<Counts> {
+
+        private static final long serialVersionUID = 20240330L;
+
+        private final transient Path directory;
+
+        private DeleteTask(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected Counts compute() {
+            Counts counts = new Counts();
+            List<DeleteTask> subtrees = new ArrayList<>();
+            UncheckedIOException error = null;
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+                for (Path child : stream) {
+                    BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class,
+                            LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        subtrees.add((DeleteTask) new DeleteTask(child).fork());
+                    } else {
+                        Files.delete(child);
+                        counts.files++;
+                        counts.bytes += attributes.size();
+                    }
+                }
+            } catch (IOException ioe) {
+                error = new UncheckedIOException(ioe);
+            }
+            for (DeleteTask subtree : subtrees) {
+                try {
+                    counts.add(subtree.join());
+                } catch (UncheckedIOException uioe) {
+                    if (error == null) {
+                        error = uioe;
+                    } else {
+                        error.addSuppressed(uioe);
+                    }
+                }
+            }
+            if (error != null) {
+                throw error;
+            }
+            try {
+                Files.delete(this.directory);
+                counts.directories++;
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+            return counts;
+        }
+    }
+
+
+    private static final class Counts {
+
+        private long files;
+
+        private long directories;
+
+        private long bytes;
+
+        private void add(Counts other) {
+            this.files += other.files;
+            this.directories += other.directories;
+            this.bytes += other.bytes;
+        }
+    }
+}
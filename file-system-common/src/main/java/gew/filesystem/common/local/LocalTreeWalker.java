@@ -0,0 +1,120 @@
+package gew.filesystem.common.local;
+
+import gew.filesystem.common.model.ObjectProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel Directory Walk That Stats Every Entry Exactly Once.
+ * <p>
+ * Each directory is one {@link RecursiveTask}: it reads the {@link BasicFileAttributes} of its children while
+ * listing them and forks one task per subdirectory, so large subtrees spread over the pool by work stealing while
+ * small directories cost one fork. Results keep the pre-order of {@code Files.walk} (a directory, then its
+ * subtree) and the same depth semantics: entries down to maxDepth are reported, directories at maxDepth are not
+ * opened. Links are not followed, but a link to a directory is still reported as a directory.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-29
+ */
+final class LocalTreeWalker {
+
+    private LocalTreeWalker() {
+        // Utility Class
+    }
+
+    /**
+     * @param root     Directory to Walk, Not Part of the Result; a Regular File Yields Nothing
+     * @param maxDepth Max Depth Below root, at Least 1
+     * @param pool     Pool the Directory Tasks Run On
+     * @return Entries in Pre-Order
+     * @throws IOException root Missing, or a Directory Could Not Be Read
+     */
+    static List<ObjectProperty> walk(Path root, int maxDepth, ForkJoinPool pool) throws IOException {
+        if (!Files.readAttributes(root, BasicFileAttributes.class).isDirectory()) {
+            return new ArrayList<>(0);
+        }
+        try {
+            return pool.invoke(new DirectoryTask(root, 0, maxDepth));
+        } catch (UncheckedIOException uioe) {
+            throw uioe.getCause();
+        }
+    }
+
+    /**
+     * @param attributes Attributes Read Without Following Links
+     */
+    static ObjectProperty toObjectProperty(Path path, BasicFileAttributes attributes) {
+        boolean directory = attributes.isDirectory() || attributes.isSymbolicLink() && Files.isDirectory(path);
+        ObjectProperty property = directory ? new ObjectProperty(path.toString(), true)
+                : new ObjectProperty(path.toString(), false, attributes.size());
+        property.setLastModified(attributes.lastModifiedTime().toMillis());
+        return property;
+    }
+
+
+    private static final class DirectoryTask extends RecursiveTask<List<ObjectProperty>> {
+
+        private static final long serialVersionUID = 20240329L;
+
+        private final transient Path directory;
+
+        private final int depth;
+
+        private final int maxDepth;
+
+        private DirectoryTask(Path directory, int depth, int maxDepth) {
+            this.directory = directory;
+            this.depth = depth;
+            this.maxDepth = maxDepth;
+        }
+
+        @Override
+        protected List<ObjectProperty> compute() {
+            List<ObjectProperty> children = new ArrayList<>();
+            List<DirectoryTask> subtrees = new ArrayList<>();
+            boolean descend = this.depth + 1 < this.maxDepth;
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+                for (Path child : stream) {
+                    BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class,
+                            LinkOption.NOFOLLOW_LINKS);
+                    children.add(toObjectProperty(child, attributes));
+                    // Only Real Directories Are Opened, Links Are Reported But Never Followed
+                    subtrees.add(descend && attributes.isDirectory()
+                            ? (DirectoryTask) new DirectoryTask(child, this.depth + 1, this.maxDepth).fork()
+                            : null);
+                }
+            } catch (IOException ioe) {
+                cancelAll(subtrees);
+                throw new UncheckedIOException(ioe);
+            }
+            List<ObjectProperty> results = new ArrayList<>(children.size());
+            for (int i = 0; i < children.size(); i++) {
+                results.add(children.get(i));
+                DirectoryTask subtree = subtrees.get(i);
+                if (subtree != null) {
+                    try {
+                        results.addAll(subtree.join());
+                    } catch (RuntimeException err) {
+                        cancelAll(subtrees);
+                        throw err;
+                    }
+                }
+            }
+            return results;
+        }
+
+        private static void cancelAll(List<DirectoryTask> subtrees) {
+            subtrees.stream().filter(t -> t != null).forEach(t -> t.cancel(false));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package gew.filesystem.common.metrics;
+
+/**
+ * Client Operations Tracked by {@link InstrumentedFileSystemClient}
+ *
+ * @author Jason/GeW
+ * @since  2024-03-18
+ */
+public enum ClientOperation {
+
+    GET_META_INFO,
+
+    LIST,
+
+    LIST_STREAM,
+
+    MKDIR,
+
+    EXIST,
+
+    DOWNLOAD,
+
+    UPLOAD,
+
+    DELETE,
+
+    DELETE_ALL,
+
+}
@@ -0,0 +1,201 @@
+package gew.filesystem.common.metrics;
+
+import gew.filesystem.common.model.FileSystemType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default {@link MetricsSink}, Keeps Lock-Free Counters and a {@link LatencyHistogram} per File System Type
+ * and Operation in Memory. Values are cumulative since creation or the last {@link #reset()}.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-18
+ */
+public class InMemoryMetricsRegistry implements MetricsSink {
+
+    private final ConcurrentMap<FileSystemType, Map<ClientOperation, OperationStats>> registry =
+            new ConcurrentHashMap<>();
+
+
+    @Override
+    public void recordCall(FileSystemType type, ClientOperation operation, long elapsedNanos, boolean success) {
+        OperationStats stats = stats(type, operation);
+        stats.latency.record(elapsedNanos);
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    @Override
+    public void recordBytes(FileSystemType type, ClientOperation operation, long bytes, long elapsedNanos) {
+        OperationStats stats = stats(type, operation);
+        stats.bytes.add(bytes);
+        stats.transferNanos.add(Math.max(0L, elapsedNanos));
+    }
+
+    /**
+     * @param type      File System Type
+     * @param operation Operation
+     * @return Snapshot of the Operation, Empty If Never Recorded
+     */
+    public Optional<OperationSnapshot> get(FileSystemType type, ClientOperation operation) {
+        Map<ClientOperation, OperationStats> operations = this.registry.get(type);
+        if (operations == null) {
+            return Optional.empty();
+        }
+        OperationStats stats;
+        synchronized (operations) {
+            stats = operations.get(operation);
+        }
+        return stats == null ? Optional.empty() : Optional.of(stats.snapshot(type, operation));
+    }
+
+    /**
+     * @return Snapshot of Every Recorded Type and Operation
+     */
+    public Map<FileSystemType, Map<ClientOperation, OperationSnapshot>> snapshot() {
+        Map<FileSystemType, Map<ClientOperation, OperationSnapshot>> snapshot = new EnumMap<>(FileSystemType.class);
+        this.registry.forEach((type, operations) -> {
+            Map<ClientOperation, OperationSnapshot> values = new EnumMap<>(ClientOperation.class);
+            synchronized (operations) {
+                operations.forEach((operation, stats) -> values.put(operation, stats.snapshot(type, operation)));
+            }
+            snapshot.put(type, values);
+        });
+        return snapshot;
+    }
+
+    public void reset() {
+        this.registry.clear();
+    }
+
+
+    private OperationStats stats(FileSystemType type, ClientOperation operation) {
+        Map<ClientOperation, OperationStats> operations =
+                this.registry.computeIfAbsent(type, t -> new EnumMap<>(ClientOperation.class));
+        synchronized (operations) {
+            return operations.computeIfAbsent(operation, o -> new OperationStats());
+        }
+    }
+
+
+    private static final class OperationStats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder bytes = new LongAdder();
+
+        private final LongAdder transferNanos = new LongAdder();
+
+        private OperationSnapshot snapshot(FileSystemType type, ClientOperation operation) {
+            return new OperationSnapshot(type, operation, latency.getCount(), errors.sum(), bytes.sum(),
+                    transferNanos.sum(), latency.getValueAtQuantile(0.5), latency.getValueAtQuantile(0.99),
+                    latency.getMax(), latency.getMean());
+        }
+    }
+
+    /**
+     * Immutable Point-in-Time View of One Operation, Latencies in Nanoseconds
+     */
+    public static final class OperationSnapshot {
+
+        private final FileSystemType type;
+
+        private final ClientOperation operation;
+
+        private final long count;
+
+        private final long errors;
+
+        private final long bytes;
+
+        private final long transferNanos;
+
+        private final long p50;
+
+        private final long p99;
+
+        private final long max;
+
+        private final double mean;
+
+        private OperationSnapshot(FileSystemType type, ClientOperation operation, long count, long errors,
+                                  long bytes, long transferNanos, long p50, long p99, long max, double mean) {
+            this.type = type;
+            this.operation = operation;
+            this.count = count;
+            this.errors = errors;
+            this.bytes = bytes;
+            this.transferNanos = transferNanos;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+            this.mean = mean;
+        }
+
+        public FileSystemType getType() {
+            return type;
+        }
+
+        public ClientOperation getOperation() {
+            return operation;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        /**
+         * @return Bytes per Second Over the Summed Transfer Time, 0 When Nothing Was Transferred
+         */
+        public double getThroughput() {
+            return transferNanos <= 0 ? 0.0 : bytes * 1_000_000_000.0 / transferNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "OperationSnapshot{" +
+                    "type=" + type +
+                    ", operation=" + operation +
+                    ", count=" + count +
+                    ", errors=" + errors +
+                    ", bytes=" + bytes +
+                    ", p50=" + p50 +
+                    ", p99=" + p99 +
+                    ", max=" + max +
+                    ", throughput=" + String.format("%.1f", getThroughput()) +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package gew.filesystem.common.metrics;
+
+import gew.filesystem.common.config.FileSystemConfig;
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.common.model.FileSystemType;
+import gew.filesystem.common.model.ObjectMetaInfo;
+import gew.filesystem.common.model.ObjectProperty;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.io.input.ProxyInputStream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Metrics Decorator for Any {@link BasicFileSystemClient}.
+ * Every call is timed and reported to a {@link MetricsSink} under the wrapped client's {@link FileSystemType}
+ * and a {@link ClientOperation}; calls that throw are reported as errors and the exception is rethrown as is.
+ * Uploads and downloads additionally report the bytes moved: stream uploads count what the client read,
+ * stream downloads count what the caller read and are reported when the returned stream is closed.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-18
+ */
+public class InstrumentedFileSystemClient implements BasicFileSystemClient {
+
+    private final BasicFileSystemClient client;
+
+    private final MetricsSink sink;
+
+    private final LongSupplier ticker;
+
+
+    /**
+     * @param client Underlying Client
+     * @param sink   Metrics Destination, e.g. {@link InMemoryMetricsRegistry}
+     */
+    public InstrumentedFileSystemClient(BasicFileSystemClient client, MetricsSink sink) {
+        this(client, sink, System::nanoTime);
+    }
+
+    InstrumentedFileSystemClient(BasicFileSystemClient client, MetricsSink sink, LongSupplier ticker) {
+        if (client == null) {
+            throw new IllegalArgumentException("Invalid File System Client");
+        } else if (sink == null) {
+            throw new IllegalArgumentException("Invalid Metrics Sink");
+        }
+        this.client = client;
+        this.sink = sink;
+        this.ticker = ticker;
+    }
+
+
+    @Override
+    public void init(FileSystemConfig config) {
+        this.client.init(config);
+    }
+
+    @Override
+    public FileSystemType getFileSystemType() {
+        return this.client.getFileSystemType();
+    }
+
+    @Override
+    public Optional<ObjectMetaInfo> getObjectMetaInfo(String path) {
+        long start = this.ticker.getAsLong();
+        boolean success = false;
+        try {
+            Optional<ObjectMetaInfo> metaInfo = this.client.getObjectMetaInfo(path);
+            success = true;
+            return metaInfo;
+        } finally {
+            recordCall(ClientOperation.GET_META_INFO, start, success);
+        }
+    }
+
+    @Override
+    public List<ObjectProperty> list(String path) throws IOException {
+        return timed(ClientOperation.LIST, () -> this.client.list(path));
+    }
+
+    /**
+     * Only the call opening the stream is timed, consuming it is up to the caller.
+     */
+    @Override
+    public Stream<ObjectProperty> listStream(String path) throws IOException {
+        return timed(ClientOperation.LIST_STREAM, () -> this.client.listStream(path));
+    }
+
+    @Override
+    public String mkdir(String path) throws IOException {
+        return timed(ClientOperation.MKDIR, () -> this.client.mkdir(path));
+    }
+
+    @Override
+    public boolean exist(String path) throws IOException {
+        return timed(ClientOperation.EXIST, () -> this.client.exist(path));
+    }
+
+    @Override
+    public InputStream download(String source) throws IOException {
+        long start = this.ticker.getAsLong();
+        InputStream in = timed(ClientOperation.DOWNLOAD, () -> this.client.download(source));
+        return in == null ? null : new MeteredInputStream(in, start);
+    }
+
+    @Override
+    public InputStream download(String source, long offset, long length) throws IOException {
+        long start = this.ticker.getAsLong();
+        InputStream in = timed(ClientOperation.DOWNLOAD, () -> this.client.download(source, offset, length));
+        return in == null ? null : new MeteredInputStream(in, start);
+    }
+
+    @Override
+    public Boolean download(String source, File localFile, FileOperation... localFileOperation) throws IOException {
+        // Only an Append Keeps the Old Content, an Overwrite Replaces It
+        boolean append = localFileOperation != null && localFileOperation.length > 0
+                && FileOperation.APPEND.equals(localFileOperation[0]);
+        long before = append && localFile != null && localFile.isFile() ? localFile.length() : 0L;
+        long start = this.ticker.getAsLong();
+        Boolean status = timed(ClientOperation.DOWNLOAD,
+                () -> this.client.download(source, localFile, localFileOperation));
+        if (Boolean.TRUE.equals(status)) {
+            long after = localFile.length();
+            recordBytes(ClientOperation.DOWNLOAD, after >= before ? after - before : after, start);
+        }
+        return status;
+    }
+
+    @Override
+    public Boolean upload(String destination, InputStream in, FileOperation... destFileOperation) throws IOException {
+        CountingInputStream counting = in == null ? null : new CountingInputStream(in);
+        long start = this.ticker.getAsLong();
+        Boolean status = timed(ClientOperation.UPLOAD,
+                () -> this.client.upload(destination, counting, destFileOperation));
+        if (counting != null && Boolean.TRUE.equals(status)) {
+            recordBytes(ClientOperation.UPLOAD, counting.getByteCount(), start);
+        }
+        return status;
+    }
+
+    @Override
+    public String upload(String destination, File localFile) throws IOException {
+        long start = this.ticker.getAsLong();
+        String path = timed(ClientOperation.UPLOAD, () -> this.client.upload(destination, localFile));
+        if (localFile != null) {
+            recordBytes(ClientOperation.UPLOAD, localFile.length(), start);
+        }
+        return path;
+    }
+
+    @Override
+    public Boolean delete(String path, FileOperation... deleteFileOperation) throws IOException {
+        return timed(ClientOperation.DELETE, () -> this.client.delete(path, deleteFileOperation));
+    }
+
+    @Override
+    public Map<String, Boolean> deleteAll(Collection<String> paths) throws IOException {
+        return timed(ClientOperation.DELETE_ALL, () -> this.client.deleteAll(paths));
+    }
+
+    @Override
+    public void close() {
+        this.client.close();
+    }
+
+
+    public BasicFileSystemClient getClient() {
+        return client;
+    }
+
+    public MetricsSink getSink() {
+        return sink;
+    }
+
+
+    private <T> T timed(ClientOperation operation, IOCall<T> call) throws IOException {
+        long start = this.ticker.getAsLong();
+        boolean success = false;
+        try {
+            T result = call.call();
+            success = true;
+            return result;
+        } finally {
+            recordCall(operation, start, success);
+        }
+    }
+
+    private void recordCall(ClientOperation operation, long start, boolean success) {
+        this.sink.recordCall(getFileSystemType(), operation, this.ticker.getAsLong() - start, success);
+    }
+
+    private void recordBytes(ClientOperation operation, long bytes, long start) {
+        this.sink.recordBytes(getFileSystemType(), operation, bytes, this.ticker.getAsLong() - start);
+    }
+
+
+    @FunctionalInterface
+    private interface IOCall<T> {
+
+        T call() throws IOException;
+    }
+
+    /**
+     * Counts Bytes Read by the Caller, Reported Once on Close
+     */
+    private final class MeteredInputStream extends ProxyInputStream {
+
+        private final long start;
+
+        private long count;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private MeteredInputStream(InputStream in, long start) {
+            super(in);
+            this.start = start;
+        }
+
+        @Override
+        protected synchronized void afterRead(int n) {
+            if (n > 0) {
+                this.count += n;
+            }
+        }
+
+        @Override
+        public synchronized long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            this.count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (this.closed.compareAndSet(false, true)) {
+                    recordBytes(ClientOperation.DOWNLOAD, this.count, this.start);
+                }
+            }
+        }
+    }
+}
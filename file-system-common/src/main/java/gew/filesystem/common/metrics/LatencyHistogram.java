@@ -0,0 +1,98 @@
+package gew.filesystem.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-Free Log-Linear Latency Histogram.
+ * Values are bucketed by power of two, each power split into {@link #SUB_BUCKETS} linear sub buckets,
+ * so any recorded value is reported within 1/16 (~6%) of its true value with a fixed 1K-slot footprint.
+ * Max is tracked exactly.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-18
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+
+    public void record(long value) {
+        long v = Math.max(0L, value);
+        this.counts.incrementAndGet(index(v));
+        this.count.incrementAndGet();
+        this.sum.addAndGet(v);
+        this.max.accumulateAndGet(v, Math::max);
+    }
+
+    public long getCount() {
+        return this.count.get();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public double getMean() {
+        long n = this.count.get();
+        return n == 0 ? 0.0 : (double) this.sum.get() / n;
+    }
+
+    /**
+     * Value at Quantile
+     *
+     * @param quantile Quantile in [0, 1], e.g. 0.99
+     * @return Upper Bound of the Bucket Holding the Quantile, Capped at Max; 0 When Empty
+     */
+    public long getValueAtQuantile(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0) {
+            throw new IllegalArgumentException("Invalid Quantile [0, 1]");
+        }
+        long total = this.count.get();
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), this.max.get());
+            }
+        }
+        return this.max.get();
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + subBucket) << shift;
+        long upper = lower + (1L << shift) - 1;
+        return upper < lower ? Long.MAX_VALUE : upper;
+    }
+}
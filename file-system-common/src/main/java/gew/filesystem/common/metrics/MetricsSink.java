@@ -0,0 +1,33 @@
+package gew.filesystem.common.metrics;
+
+import gew.filesystem.common.model.FileSystemType;
+
+/**
+ * Destination of Client Metrics. Implementations must be thread safe and cheap, they are called inline
+ * on every client operation; bridge to Micrometer, Dropwizard etc. by implementing this interface.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-18
+ */
+public interface MetricsSink {
+
+    /**
+     * Record One Completed Call
+     *
+     * @param type         File System Type
+     * @param operation    Operation
+     * @param elapsedNanos Call Latency in Nanoseconds
+     * @param success      False When the Call Threw
+     */
+    void recordCall(FileSystemType type, ClientOperation operation, long elapsedNanos, boolean success);
+
+    /**
+     * Record Bytes Moved by One Transfer
+     *
+     * @param type         File System Type
+     * @param operation    DOWNLOAD or UPLOAD
+     * @param bytes        Bytes Transferred
+     * @param elapsedNanos Transfer Duration in Nanoseconds, for Streamed Downloads Until the Stream Is Closed
+     */
+    void recordBytes(FileSystemType type, ClientOperation operation, long bytes, long elapsedNanos);
+}
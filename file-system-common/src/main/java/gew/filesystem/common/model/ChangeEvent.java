@@ -0,0 +1,63 @@
+package gew.filesystem.common.model;
+
+import java.io.Serializable;
+
+/**
+ * One Coalesced Change Reported by a Change Feed
+ *
+ * @author Jason/GeW
+ * @since  2024-03-31
+ */
+public class ChangeEvent implements Serializable {
+
+    public enum Type {
+
+        CREATED,
+
+        MODIFIED,
+
+        DELETED,
+    }
+
+    private final Type type;
+
+    private final ObjectProperty property;
+
+    private final long timestamp;
+
+    private static final long serialVersionUID = 20240331L;
+
+
+    public ChangeEvent(Type type, ObjectProperty property, long timestamp) {
+        this.type = type;
+        this.property = property;
+        this.timestamp = timestamp;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return Current Property, the Last Known One for a Deletion
+     */
+    public ObjectProperty getProperty() {
+        return property;
+    }
+
+    /**
+     * @return Detection Time in Epoch Milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" +
+                "type=" + type +
+                ", name='" + property.getName() + '\'' +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
@@ -16,4 +16,10 @@ public enum CompressMethod {
 
     _7Z,
 
+    ZSTD,
+
+    LZ4,
+
+    TAR_ZSTD,
+
 }
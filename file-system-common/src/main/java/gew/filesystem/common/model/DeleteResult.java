@@ -0,0 +1,54 @@
+package gew.filesystem.common.model;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of a Recursive Delete: What Was Removed and How Much Space It Held
+ *
+ * @author Jason/GeW
+ * @since  2024-03-30
+ */
+public class DeleteResult implements Serializable {
+
+    private final long files;
+
+    private final long directories;
+
+    private final long bytes;
+
+    private static final long serialVersionUID = 20240330L;
+
+
+    public DeleteResult(long files, long directories, long bytes) {
+        this.files = files;
+        this.directories = directories;
+        this.bytes = bytes;
+    }
+
+    /**
+     * @return Files Removed, Links and Other Non-Directories Included
+     */
+    public long getFiles() {
+        return files;
+    }
+
+    public long getDirectories() {
+        return directories;
+    }
+
+    /**
+     * @return Sum of the Removed Files' Sizes, Not Counting Directory Blocks
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "DeleteResult{" +
+                "files=" + files +
+                ", directories=" + directories +
+                ", bytes=" + bytes +
+                '}';
+    }
+}
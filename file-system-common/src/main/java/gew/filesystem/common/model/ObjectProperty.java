@@ -16,6 +16,16 @@ public class ObjectProperty implements Serializable {
 
     private Long size;
 
+    /**
+     * Last Modified Time in Epoch Milliseconds, Null When the File System Does Not Report It
+     */
+    private Long lastModified;
+
+    /**
+     * Object ETag / Checksum, Only Set by Object Stores
+     */
+    private String eTag;
+
     private static final long serialVersionUID = 20190324L;
 
 
@@ -54,12 +64,38 @@ public class ObjectProperty implements Serializable {
         isDirectory = directory;
     }
 
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public Long getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public void setETag(String eTag) {
+        this.eTag = eTag;
+    }
+
     @Override
     public String toString() {
         return "ObjectProperty{" +
                 "name='" + name + '\'' +
                 ", isDirectory=" + isDirectory +
                 ", size=" + size +
+                ", lastModified=" + lastModified +
+                (eTag == null ? "" : ", eTag='" + eTag + '\'') +
                 '}';
     }
 }
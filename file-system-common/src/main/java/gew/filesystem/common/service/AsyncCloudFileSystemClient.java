@@ -0,0 +1,127 @@
+package gew.filesystem.common.service;
+
+import gew.filesystem.common.config.FileSystemConfig;
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.common.model.MetaDataPair;
+import gew.filesystem.common.model.ObjectMetaInfo;
+import gew.filesystem.common.model.ObjectProperty;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous Companion of {@link CloudFileSystemClient} for FS Services such as AWS S3, Aliyun OSS etc.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-08
+ */
+public interface AsyncCloudFileSystemClient extends AsyncFileSystemClient {
+
+    /**
+     * Cloud File System Client Initialization
+     *
+     * @param config        Corresponding File System Client Config
+     * @throws RuntimeException Invalid Config or Client Init Error
+     */
+    void init(final FileSystemConfig config) throws RuntimeException;
+
+    /**
+     * Get object meta info from specific bucket
+     *
+     * @param bucket        Bucket
+     * @param path          Object Key
+     * @return              Future of ObjectMetaInfo if exists
+     */
+    CompletableFuture<Optional<ObjectMetaInfo>> getObjectMetaInfo(final String bucket, final String path);
+
+    /**
+     * List path on specific bucket
+     *
+     * @param bucket        Bucket
+     * @param path          Object Key
+     * @return              Future of List of objects
+     */
+    CompletableFuture<List<ObjectProperty>> list(final String bucket, final String path);
+
+    /**
+     * Make a new directory in specific bucket
+     *
+     * @param bucket        Bucket
+     * @param path          Object Key
+     * @return              Future of Complete path
+     */
+    CompletableFuture<String> mkdir(final String bucket, final String path);
+
+    /**
+     * Check object or path existence in specific bucket
+     *
+     * @param bucket        Bucket
+     * @param path          Object Key
+     * @return              Future of true / false
+     */
+    CompletableFuture<Boolean> exist(final String bucket, final String path);
+
+    /**
+     * Download object from specific bucket
+     *
+     * @param bucket        Bucket
+     * @param source        Object Key
+     * @return              Future of InputStream
+     */
+    CompletableFuture<InputStream> download(final String bucket, final String source);
+
+    /**
+     * Download object from specific bucket
+     *
+     * @param bucket        Bucket
+     * @param source        Remote Path
+     * @param localFile     Local Destination File
+     * @param operations    Local File Operations, Such As Append
+     * @return              Future of true / false
+     */
+    CompletableFuture<Boolean> download(final String bucket, final String source, File localFile,
+                                        FileOperation... operations);
+
+    /**
+     * Upload object to specific bucket
+     *
+     * @param bucket        Bucket
+     * @param destination   Destination Path
+     * @param localFile     File Object
+     * @param metaDataPairs Meta Info
+     * @return              Future of Complete Path
+     */
+    CompletableFuture<String> upload(final String bucket, final String destination, File localFile,
+                                     MetaDataPair... metaDataPairs);
+
+    /**
+     * Upload object to specific bucket
+     *
+     * @param bucket        Bucket
+     * @param destination   Destination Path
+     * @param in            FileInputStream
+     * @param metaDataPairs Meta Info
+     * @return              Future of true / false
+     */
+    CompletableFuture<Boolean> upload(final String bucket, final String destination, InputStream in,
+                                      MetaDataPair... metaDataPairs);
+
+    /**
+     * Delete object from specific bucket
+     *
+     * @param bucket        Bucket
+     * @param path          Destination Path
+     * @param fileOperations recursive or not
+     * @return              Future of true / false
+     */
+    CompletableFuture<Boolean> delete(final String bucket, final String path, FileOperation... fileOperations);
+
+    /**
+     * Close / Destroy Cloud File System Client
+     */
+    void close();
+
+}
@@ -0,0 +1,130 @@
+package gew.filesystem.common.service;
+
+
+import gew.filesystem.common.config.FileSystemConfig;
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.common.model.FileSystemType;
+import gew.filesystem.common.model.ObjectMetaInfo;
+import gew.filesystem.common.model.ObjectProperty;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous Companion of {@link BasicFileSystemClient}.
+ * Every operation returns immediately with a CompletableFuture, failures (including IOException) are
+ * delivered through the future as CompletionException instead of being thrown by the caller thread.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-08
+ */
+public interface AsyncFileSystemClient {
+
+    /**
+     * Default Initialize Method. Not mandatory for all clients.
+     *
+     * @param config Corresponding File System Client Config
+     */
+    default void init(final FileSystemConfig config) {/* Default Initial Method */}
+
+    /**
+     * Get File System Type/Name.
+     *
+     * @return FileSystemType
+     * @see FileSystemType
+     */
+    FileSystemType getFileSystemType();
+
+    /**
+     * Get Object/File/Directory Meta Info.
+     *
+     * @param path Remote Path
+     * @return Future of ObjectMetaInfo
+     * @see ObjectMetaInfo
+     */
+    CompletableFuture<Optional<ObjectMetaInfo>> getObjectMetaInfo(final String path);
+
+    /**
+     * List Remote Object/File/Directory in Directory/Path.
+     *
+     * @param path Remote Path
+     * @return Future of Object Properties
+     * @see ObjectProperty
+     */
+    CompletableFuture<List<ObjectProperty>> list(final String path);
+
+    /**
+     * Create Directory in Path.
+     *
+     * @param path Remote Path
+     * @return Future of Remote Directory Path
+     */
+    CompletableFuture<String> mkdir(final String path);
+
+    /**
+     * Check Object/File/Directory Existence.
+     *
+     * @param path Remote Path
+     * @return Future of Boolean Exist
+     */
+    CompletableFuture<Boolean> exist(final String path);
+
+    /**
+     * Download Object/File as InputStream, not suggest for downloading large size object/file.
+     *
+     * @param source Remote Path
+     * @return Future of InputStream, caller is responsible for closing it
+     */
+    CompletableFuture<InputStream> download(final String source);
+
+    /**
+     * Download Object/File to Local Path.
+     *
+     * @param source Remote Path
+     * @param localFile Local Destination File
+     * @param localFileOperation FileOperation, optional but only the first element will be accepted
+     * @see FileOperation
+     * @return Future of Boolean Download Success or Not
+     */
+    CompletableFuture<Boolean> download(final String source, File localFile, FileOperation... localFileOperation);
+
+    /**
+     * Upload Object/File as InputStream to Remote Destination.
+     * The stream is consumed asynchronously, it must not be closed before the future completes.
+     *
+     * @param destination Remote Path
+     * @param in Object/File in InputStream
+     * @param destFileOperation FileOperation, optional but only the first element will be accepted
+     * @see FileOperation
+     * @return Future of Boolean Upload Success or Not
+     */
+    CompletableFuture<Boolean> upload(final String destination, InputStream in, FileOperation... destFileOperation);
+
+    /**
+     * Upload Local Object/File to Remote Destination.
+     *
+     * @param destination Remote Path
+     * @param localFile Local Object/File
+     * @return Future of Destination Path
+     */
+    CompletableFuture<String> upload(final String destination, File localFile);
+
+    /**
+     * Delete Object/File/Directory in Path.
+     *
+     * @param path Remote Path
+     * @param deleteFileOperation Delete Operations. If delete a directory, must use DELETE_RECURSIVE
+     * @see FileOperation
+     * @return Future of Boolean Delete Success or Not
+     */
+    CompletableFuture<Boolean> delete(final String path, FileOperation... deleteFileOperation);
+
+    /**
+     * Default Close Method. Not mandatory for all clients.
+     */
+    default void close() {/* Default Close Method */}
+
+}
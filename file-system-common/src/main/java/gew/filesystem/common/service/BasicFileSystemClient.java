@@ -6,12 +6,19 @@ import gew.filesystem.common.model.FileSystemType;
 import gew.filesystem.common.model.ObjectMetaInfo;
 import gew.filesystem.common.model.ObjectProperty;
 import gew.filesystem.common.config.FileSystemConfig;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.InputStream;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Basic File System Client. Support common file operations such as ls, mkdir, download, upload etc.
@@ -55,6 +62,22 @@ public interface BasicFileSystemClient {
      */
     List<ObjectProperty> list(final String path) throws IOException;
 
+    /**
+     * Lazily List Remote Object/File/Directory in Directory/Path, Same Entries as {@link #list(String)}.
+     * Pages (continuation tokens, markers, directory batches) are fetched only as the stream is consumed,
+     * so memory stays constant regardless of listing size. The stream must be closed after use,
+     * errors while fetching later pages surface as {@link java.io.UncheckedIOException}.
+     * Clients without a paginated listing fall back to {@link #list(String)}.
+     *
+     * @param path Remote Path
+     * @return Lazy Stream of Object Properties
+     * @see ObjectProperty
+     * @throws IOException Throw IOException When the First Page Can Not Be Fetched
+     */
+    default Stream<ObjectProperty> listStream(final String path) throws IOException {
+        return list(path).stream();
+    }
+
     /**
      * Create Directory in Path.
      *
@@ -81,6 +104,33 @@ public interface BasicFileSystemClient {
      */
     InputStream download(final String source) throws IOException;
 
+    /**
+     * Download a Byte Range of an Object/File as InputStream.
+     * The default implementation skips through a full download, clients with native range reads override it.
+     *
+     * @param source Remote Path
+     * @param offset Position of the First Byte
+     * @param length Max Bytes to Read, the Stream Ends Early at the End of the Object/File
+     * @return InputStream of the Range
+     * @throws IOException Throw IOException When Encounter Corresponding Error
+     */
+    default InputStream download(final String source, long offset, long length) throws IOException {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("Invalid Range");
+        }
+        InputStream in = download(source);
+        if (in == null) {
+            return null;
+        }
+        try {
+            IOUtils.skip(in, offset);
+        } catch (IOException ioe) {
+            in.close();
+            throw ioe;
+        }
+        return new BoundedInputStream(in, length);
+    }
+
     /**
      * Download Object/File to Local Path, not suggest for downloading large size file.
      * @param source Remote Path
@@ -125,6 +175,31 @@ public interface BasicFileSystemClient {
      */
     Boolean delete(final String path, FileOperation... deleteFileOperation) throws IOException;
 
+    /**
+     * Delete Multiple Objects/Files (Not Directories) in One Call.
+     * Clients with a native bulk operation override this; the default deletes one path at a time.
+     * A failure on one path is reported as false for that path and does not abort the others.
+     *
+     * @param paths Remote Paths
+     * @return Per-Path Delete Result in Input Order
+     * @throws IOException Throw IOException When the Backend Can Not Be Reached At All
+     */
+    default Map<String, Boolean> deleteAll(final Collection<String> paths) throws IOException {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        if (paths == null) {
+            return results;
+        }
+        for (String path : paths) {
+            try {
+                results.put(path, delete(path));
+            } catch (IOException | RuntimeException err) {
+                LoggerFactory.getLogger(getClass()).warn("Delete [{}] Failed: {}", path, err.getMessage());
+                results.put(path, false);
+            }
+        }
+        return results;
+    }
+
     /**
      * Default Close Method. Not mandatory for all clients.
      */
@@ -5,12 +5,17 @@ import gew.filesystem.common.model.MetaDataPair;
 import gew.filesystem.common.model.ObjectMetaInfo;
 import gew.filesystem.common.model.ObjectProperty;
 import gew.filesystem.common.config.FileSystemConfig;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Cloud File System Client for FS Services such as AWS S3, Aliyun OSS etc.
@@ -48,6 +53,19 @@ public interface CloudFileSystemClient extends BasicFileSystemClient {
      */
     List<ObjectProperty> list(final String bucket, final String path) throws IOException;
 
+    /**
+     * Lazily list path on specific bucket, following continuation tokens / markers as the stream is consumed
+     *
+     * @param bucket        Bucket
+     * @param path          Object Key
+     * @return              Lazy stream of objects, must be closed after use
+     * @throws IOException  Exception from client
+     * @see BasicFileSystemClient#listStream(String)
+     */
+    default Stream<ObjectProperty> listStream(final String bucket, final String path) throws IOException {
+        return list(bucket, path).stream();
+    }
+
     /**
      * Make a new directory in specific bucket
      *
@@ -128,6 +146,32 @@ public interface CloudFileSystemClient extends BasicFileSystemClient {
     */
     Boolean delete(final String bucket, final String path, FileOperation... fileOperations) throws IOException;
 
+    /**
+     * Delete multiple objects from specific bucket
+     *
+     * @param bucket        Bucket
+     * @param paths         Object Keys
+     * @return              Per-key success in input order, a failed key does not abort the others
+     * @throws IOException  Exception from client
+     * @see BasicFileSystemClient#deleteAll(Collection)
+     */
+    default Map<String, Boolean> deleteAll(final String bucket, final Collection<String> paths) throws IOException {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        if (paths == null) {
+            return results;
+        }
+        for (String path : paths) {
+            try {
+                results.put(path, delete(bucket, path));
+            } catch (IOException | RuntimeException err) {
+                LoggerFactory.getLogger(getClass()).warn("Delete Object [{}] in Bucket [{}] Failed: {}", path, bucket,
+                        err.getMessage());
+                results.put(path, false);
+            }
+        }
+        return results;
+    }
+
     /**
      * Close / Destroy Cloud File System Client
      */
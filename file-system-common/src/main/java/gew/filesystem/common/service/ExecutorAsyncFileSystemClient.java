@@ -0,0 +1,198 @@
+package gew.filesystem.common.service;
+
+import gew.filesystem.common.config.FileSystemConfig;
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.common.model.FileSystemType;
+import gew.filesystem.common.model.ObjectMetaInfo;
+import gew.filesystem.common.model.ObjectProperty;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Async Adapter over Any Blocking {@link BasicFileSystemClient}, Running Calls on a Bounded Executor.
+ * Intended for clients without a native non-blocking transport (SFTP, HDFS, OSS); the thread count caps
+ * the number of in-flight remote calls and the queue caps the backlog, submissions beyond that fail
+ * fast with RejectedExecutionException through the returned future.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-08
+ */
+@Slf4j
+public class ExecutorAsyncFileSystemClient implements AsyncFileSystemClient {
+
+    private static final AtomicInteger POOL_SEQUENCE = new AtomicInteger();
+
+    private final BasicFileSystemClient client;
+
+    private final ExecutorService executor;
+
+    private final boolean ownExecutor;
+
+
+    /**
+     * Create Adapter with Its Own Bounded Executor
+     *
+     * @param client        Blocking Client, Must Be Safe for Concurrent Use
+     * @param threads       Max Concurrent Calls
+     * @param queueCapacity Max Queued Calls Waiting for a Thread
+     */
+    public ExecutorAsyncFileSystemClient(BasicFileSystemClient client, int threads, int queueCapacity) {
+        if (client == null) {
+            throw new IllegalArgumentException("Invalid File System Client");
+        } else if (threads < 1) {
+            throw new IllegalArgumentException("Invalid Thread Number");
+        } else if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Invalid Queue Capacity");
+        }
+        this.client = client;
+        String prefix = String.format("fs-async-%s-%d-", client.getFileSystemType().name().toLowerCase(),
+                POOL_SEQUENCE.incrementAndGet());
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+        this.ownExecutor = true;
+    }
+
+    /**
+     * Create Adapter on a Caller Managed Executor, Which Will Not Be Shut Down by {@link #close()}
+     *
+     * @param client   Blocking Client, Must Be Safe for Concurrent Use
+     * @param executor Executor Running the Blocking Calls
+     */
+    public ExecutorAsyncFileSystemClient(BasicFileSystemClient client, ExecutorService executor) {
+        if (client == null) {
+            throw new IllegalArgumentException("Invalid File System Client");
+        } else if (executor == null) {
+            throw new IllegalArgumentException("Invalid Executor");
+        }
+        this.client = client;
+        this.executor = executor;
+        this.ownExecutor = false;
+    }
+
+
+    @Override
+    public void init(FileSystemConfig config) {
+        this.client.init(config);
+    }
+
+    @Override
+    public FileSystemType getFileSystemType() {
+        return this.client.getFileSystemType();
+    }
+
+    @Override
+    public CompletableFuture<Optional<ObjectMetaInfo>> getObjectMetaInfo(String path) {
+        return submit(() -> this.client.getObjectMetaInfo(path));
+    }
+
+    @Override
+    public CompletableFuture<List<ObjectProperty>> list(String path) {
+        return submit(() -> this.client.list(path));
+    }
+
+    @Override
+    public CompletableFuture<String> mkdir(String path) {
+        return submit(() -> this.client.mkdir(path));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exist(String path) {
+        return submit(() -> this.client.exist(path));
+    }
+
+    @Override
+    public CompletableFuture<InputStream> download(String source) {
+        return submit(() -> this.client.download(source));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> download(String source, File localFile, FileOperation... localFileOperation) {
+        return submit(() -> this.client.download(source, localFile, localFileOperation));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> upload(String destination, InputStream in, FileOperation... destFileOperation) {
+        return submit(() -> this.client.upload(destination, in, destFileOperation));
+    }
+
+    @Override
+    public CompletableFuture<String> upload(String destination, File localFile) {
+        return submit(() -> this.client.upload(destination, localFile));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(String path, FileOperation... deleteFileOperation) {
+        return submit(() -> this.client.delete(path, deleteFileOperation));
+    }
+
+    @Override
+    public void close() {
+        if (this.ownExecutor) {
+            this.executor.shutdown();
+            try {
+                if (!this.executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    log.warn("Async {} Client Executor Did Not Terminate in Time", getFileSystemType());
+                    this.executor.shutdownNow();
+                }
+            } catch (InterruptedException ie) {
+                this.executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        this.client.close();
+        log.debug("Async {} Client Has Been Closed", getFileSystemType());
+    }
+
+    /**
+     * Underlying Blocking Client
+     *
+     * @return BasicFileSystemClient
+     */
+    public BasicFileSystemClient getClient() {
+        return client;
+    }
+
+    private <T> CompletableFuture<T> submit(BlockingCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            this.executor.execute(() -> {
+                try {
+                    future.complete(call.call());
+                } catch (Throwable err) {
+                    future.completeExceptionally(err instanceof CompletionException ? err
+                            : new CompletionException(err));
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            future.completeExceptionally(ree);
+        }
+        return future;
+    }
+
+
+    @FunctionalInterface
+    private interface BlockingCall<T> {
+
+        T call() throws IOException;
+    }
+}
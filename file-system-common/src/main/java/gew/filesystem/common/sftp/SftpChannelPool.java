@@ -0,0 +1,283 @@
+package gew.filesystem.common.sftp;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of Connected {@link ChannelSftp} Spread Across Several SSH Sessions.
+ * <p>
+ * A borrowed channel is either a validated idle one or a new channel opened on the least loaded session,
+ * sessions being created and connected lazily, so the second concurrent caller gets its own TCP connection
+ * instead of being multiplexed behind the first. The number of borrowed channels is capped by a fair semaphore,
+ * at most maxIdle channels are kept open between calls. Validation on borrow is a local state check
+ * (channel and session still connected), it costs no round trip.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-19
+ */
+@Slf4j
+public class SftpChannelPool {
+
+    private final SessionFactory sessionFactory;
+
+    private final Session[] sessions;
+
+    private final int[] openChannels;
+
+    private final int maxIdle;
+
+    private final boolean validateOnBorrow;
+
+    private final long maxWaitMillis;
+
+    private final Semaphore permits;
+
+    private final Deque<ChannelSftp> idle = new ArrayDeque<>();
+
+    private final Map<ChannelSftp, Integer> owners = new IdentityHashMap<>();
+
+
+    /**
+     * @param sessionFactory   Creates a Connected Session for the Given Slot
+     * @param sessionCount     Number of SSH Sessions Channels Are Spread Across
+     * @param maxTotal         Max Channels Borrowed at Once
+     * @param maxIdle          Max Idle Channels Kept Open
+     * @param validateOnBorrow Discard Idle Channels Whose Channel or Session Got Disconnected
+     * @param maxWaitMillis    Max Time to Wait for a Free Channel, Non-Positive Waits Forever
+     */
+    public SftpChannelPool(SessionFactory sessionFactory, int sessionCount, int maxTotal, int maxIdle,
+                           boolean validateOnBorrow, long maxWaitMillis) {
+        if (sessionFactory == null) {
+            throw new IllegalArgumentException("Invalid SFTP Session Factory");
+        } else if (sessionCount < 1) {
+            throw new IllegalArgumentException("Invalid SFTP Pool Session Count");
+        } else if (maxTotal < 1) {
+            throw new IllegalArgumentException("Invalid SFTP Pool Max Total Channels");
+        } else if (maxIdle < 0) {
+            throw new IllegalArgumentException("Invalid SFTP Pool Max Idle Channels");
+        }
+        this.sessionFactory = sessionFactory;
+        this.sessions = new Session[sessionCount];
+        this.openChannels = new int[sessionCount];
+        this.maxIdle = maxIdle;
+        this.validateOnBorrow = validateOnBorrow;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxTotal, true);
+    }
+
+
+    /**
+     * Borrow a Connected Channel, Must Be Given Back via {@link #release} or {@link #invalidate}
+     *
+     * @return Connected SFTP Channel
+     * @throws IOException Wait Timeout, Interrupted, or Channel / Session Could Not Be Opened
+     */
+    public ChannelSftp borrow() throws IOException {
+        acquire();
+        try {
+            ChannelSftp channel = pollIdle();
+            return channel != null ? channel : open();
+        } catch (IOException | RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Borrow a Channel Only if a Permit Is Free Right Now, Never Waits
+     *
+     * @return Connected SFTP Channel, Null When Every Permit Is Taken
+     * @throws IOException Channel / Session Could Not Be Opened
+     */
+    public ChannelSftp tryBorrow() throws IOException {
+        if (!this.permits.tryAcquire()) {
+            return null;
+        }
+        try {
+            ChannelSftp channel = pollIdle();
+            return channel != null ? channel : open();
+        } catch (IOException | RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Give Back a Healthy Channel, Kept Idle for Reuse Unless the Idle Limit Is Reached
+     */
+    public void release(ChannelSftp channel) {
+        if (channel == null) {
+            return;
+        }
+        boolean keep;
+        synchronized (this) {
+            keep = this.owners.containsKey(channel) && this.idle.size() < this.maxIdle && channel.isConnected();
+            if (keep) {
+                this.idle.push(channel);
+            }
+        }
+        if (!keep) {
+            destroy(channel);
+        }
+        this.permits.release();
+    }
+
+    /**
+     * Give Back a Channel That Failed at Transport Level, It Is Disconnected and Never Reused
+     */
+    public void invalidate(ChannelSftp channel) {
+        if (channel == null) {
+            return;
+        }
+        destroy(channel);
+        this.permits.release();
+    }
+
+    /**
+     * Disconnect Idle Channels and All Sessions. The Pool Stays Usable, Later Borrows Reconnect.
+     */
+    public void close() {
+        Session[] toClose;
+        synchronized (this.sessions) {
+            synchronized (this) {
+                for (ChannelSftp channel : this.idle) {
+                    channel.disconnect();
+                }
+                this.idle.clear();
+                this.owners.clear();
+                toClose = this.sessions.clone();
+                for (int i = 0; i < this.sessions.length; i++) {
+                    this.sessions[i] = null;
+                    this.openChannels[i] = 0;
+                }
+            }
+        }
+        for (Session session : toClose) {
+            if (session != null && session.isConnected()) {
+                session.disconnect();
+            }
+        }
+    }
+
+    public synchronized int getIdleCount() {
+        return this.idle.size();
+    }
+
+    public int getAvailablePermits() {
+        return this.permits.availablePermits();
+    }
+
+
+    private void acquire() throws IOException {
+        try {
+            if (this.maxWaitMillis <= 0) {
+                this.permits.acquire();
+            } else if (!this.permits.tryAcquire(this.maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Borrow SFTP Channel Timeout After " + this.maxWaitMillis + " ms");
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Borrow SFTP Channel Interrupted", ie);
+        }
+    }
+
+    private ChannelSftp pollIdle() {
+        while (true) {
+            ChannelSftp channel;
+            synchronized (this) {
+                channel = this.idle.poll();
+            }
+            if (channel == null) {
+                return null;
+            } else if (!this.validateOnBorrow || isValid(channel)) {
+                return channel;
+            }
+            log.debug("Discard Stale SFTP Channel on Borrow");
+            destroy(channel);
+        }
+    }
+
+    private boolean isValid(ChannelSftp channel) {
+        Integer slot;
+        Session session;
+        synchronized (this) {
+            slot = this.owners.get(channel);
+            session = slot == null ? null : this.sessions[slot];
+        }
+        return session != null && session.isConnected() && channel.isConnected() && !channel.isClosed();
+    }
+
+    private ChannelSftp open() throws IOException {
+        int slot;
+        synchronized (this) {
+            slot = 0;
+            for (int i = 1; i < this.openChannels.length; i++) {
+                if (this.openChannels[i] < this.openChannels[slot]) {
+                    slot = i;
+                }
+            }
+            this.openChannels[slot]++;
+        }
+        ChannelSftp channel = null;
+        try {
+            Session session = session(slot);
+            channel = (ChannelSftp) session.openChannel("sftp");
+            channel.connect();
+            synchronized (this) {
+                this.owners.put(channel, slot);
+            }
+            log.debug("Opened SFTP Channel on Session #{}", slot);
+            return channel;
+        } catch (JSchException | IOException | RuntimeException e) {
+            synchronized (this) {
+                this.openChannels[slot]--;
+            }
+            if (channel != null) {
+                channel.disconnect();
+            }
+            log.error("Open SFTP Channel on Session #{} Failed: {}", slot, e.getMessage());
+            throw new IOException("Open SFTP Channel Failed: " + e.getMessage(), e);
+        }
+    }
+
+    private Session session(int slot) throws JSchException, IOException {
+        synchronized (this.sessions) {
+            Session session = this.sessions[slot];
+            if (session == null || !session.isConnected()) {
+                session = this.sessionFactory.create(slot);
+                this.sessions[slot] = session;
+            }
+            return session;
+        }
+    }
+
+    private void destroy(ChannelSftp channel) {
+        synchronized (this) {
+            Integer slot = this.owners.remove(channel);
+            if (slot != null && this.openChannels[slot] > 0) {
+                this.openChannels[slot]--;
+            }
+        }
+        channel.disconnect();
+    }
+
+
+    /**
+     * Creates the Connected SSH Session of a Pool Slot, Called Again When That Session Got Disconnected
+     */
+    @FunctionalInterface
+    public interface SessionFactory {
+
+        Session create(int slot) throws JSchException, IOException;
+    }
+}
@@ -6,6 +6,7 @@ import com.jcraft.jsch.SftpATTRS;
 import com.jcraft.jsch.ChannelSftp;
 import com.jcraft.jsch.SftpException;
 import com.jcraft.jsch.JSchException;
+import gew.filesystem.common.model.DeleteResult;
 import gew.filesystem.common.model.FileOperation;
 import gew.filesystem.common.model.FileSystemType;
 import gew.filesystem.common.model.ObjectMetaInfo;
@@ -14,22 +15,55 @@ import gew.filesystem.common.model.ObjectType;
 import gew.filesystem.common.config.FileSystemConfig;
 import gew.filesystem.common.config.SftpClientConfig;
 import gew.filesystem.common.service.BasicFileSystemClient;
+import gew.filesystem.common.util.BatchUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.input.ProxyInputStream;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ArrayList;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
- * SFTP Client Implementation V1 Based on Jsch
+ * SFTP Client Implementation V1 Based on Jsch.
+ * Channels are borrowed from an {@link SftpChannelPool} spread across one or more sessions,
+ * sized by the pool settings of {@link SftpClientConfig}.
+ * <p>
+ * Reads keep bulkRequests read requests in flight per channel, so a download is not bound to one round trip per
+ * 32 KiB. A file of at least rangeThreshold bytes downloaded to a local file is additionally split into up to
+ * rangeParallelism ranges, each fetched over its own pooled channel from its skip offset and written in place
+ * with positional writes, which multiplies the window again on high-latency links. Range channels are only taken
+ * if free right away; when the pool is busy the file is read over fewer ranges, or the single pipelined channel.
+ * <p>
+ * Recursive list and delete fan directory reads and removals out over treeParallelism pooled channels on a daemon
+ * {@link ForkJoinPool}, see {@link SftpTreeWalker} and {@link SftpTreeDeleter}; directory upload and download
+ * create every directory once, then move the files concurrently.
  *
  * @author Jason/GeW
  * @since  2019-03-24
@@ -37,6 +71,10 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SftpSystemClientImpl implements BasicFileSystemClient {
 
+    private static final int RANGE_BUFFER_SIZE = 256 * 1024;
+
+    private static final AtomicInteger TREE_POOL_SEQUENCE = new AtomicInteger();
+
     private JSch sshClient;
 
     private volatile Session sftpSession;
@@ -45,6 +83,12 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
 
     private Integer timeout;
 
+    private SftpClientConfig clientConfig;
+
+    private SftpChannelPool channelPool;
+
+    private ForkJoinPool treePool;
+
 
     public SftpSystemClientImpl() {
         // Default Constructor
@@ -67,8 +111,15 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
             log.debug("JSch-SSH Client Has Initialized");
             return;
         }
+        if (sftpClientConfig.getBulkRequests() < 1) {
+            throw new IllegalArgumentException("Invalid SFTP Bulk Requests");
+        }
         this.sshClient = new JSch();
         this.timeout = sftpClientConfig.getTimeout();
+        this.clientConfig = sftpClientConfig;
+        this.channelPool = new SftpChannelPool(this::openSession, sftpClientConfig.getPoolSessions(),
+                sftpClientConfig.getPoolMaxTotal(), sftpClientConfig.getPoolMaxIdle(),
+                sftpClientConfig.isPoolValidateOnBorrow(), sftpClientConfig.getPoolMaxWait());
         if (sftpClientConfig.getKnownHostsFile() != null
                 && Files.exists(Paths.get(sftpClientConfig.getKnownHostsFile()))) {
             try {
@@ -79,12 +130,7 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
         }
         if (SftpClientConfig.AuthMode.CREDENTIALS.equals(sftpClientConfig.getAuthMode())) {
             try {
-                this.sftpSession = sshClient.getSession(sftpClientConfig.getUsername(),
-                        sftpClientConfig.getHost(), sftpClientConfig.getPort());
-                this.sftpSession.setPassword(sftpClientConfig.getPassword());
-                if (sftpClientConfig.getKnownHostsFile() == null) {
-                    this.sftpSession.setConfig("StrictHostKeyChecking", "no");
-                }
+                this.sftpSession = newSession(sftpClientConfig);
                 log.debug("Initialized SFTP Client to [{}] with CREDENTIAL Mode", sftpClientConfig.getHost());
 
             } catch (JSchException je) {
@@ -95,11 +141,7 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
         } else if (SftpClientConfig.AuthMode.PUBLIC_KEY.equals(sftpClientConfig.getAuthMode())) {
             try {
                 this.sshClient.addIdentity(sftpClientConfig.getPrivateKeyPath());
-                this.sftpSession = sshClient.getSession(sftpClientConfig.getUsername(),
-                        sftpClientConfig.getHost(), sftpClientConfig.getPort());
-                if (sftpClientConfig.getKnownHostsFile() == null) {
-                    this.sftpSession.setConfig("StrictHostKeyChecking", "no");
-                }
+                this.sftpSession = newSession(sftpClientConfig);
                 log.debug("Initialized SFTP Client to [{}] with Public-Key Mode", sftpClientConfig.getHost());
 
             } catch (JSchException je) {
@@ -140,8 +182,7 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
         checkParameter(path);
         ChannelSftp sftpChannel = null;
         try {
-            sftpChannel = openChannel();
-            sftpChannel.connect();
+            sftpChannel = this.channelPool.borrow();
             SftpATTRS attributes = sftpChannel.lstat(path);
             if (attributes == null) {
                 return Optional.empty();
@@ -168,9 +209,6 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
                 metaInfo.getMetaDataValueType().put("flags", Integer.class);
                 return Optional.of(metaInfo);
             }
-        } catch (JSchException je) {
-            throw new RuntimeException(je);
-
         } catch (SftpException se) {
             log.warn("Read Object Meta Info on Path [{}] Failed: {}", path, se.getMessage());
             return Optional.empty();
@@ -179,7 +217,7 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
             throw new IllegalStateException("SFTP GetObjectMetaInfo Exception: " + ioe.getMessage(), ioe.getCause());
 
         } finally {
-            disconnectChannel(sftpChannel);
+            this.channelPool.release(sftpChannel);
         }
 
     }
@@ -190,8 +228,7 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
         checkParameter(path);
         ChannelSftp sftpChannel = null;
         try {
-            sftpChannel = openChannel();
-            sftpChannel.connect();
+            sftpChannel = this.channelPool.borrow();
             List<ChannelSftp.LsEntry> items = sftpChannel.ls(path);
 
             if (items == null) {
@@ -199,8 +236,7 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
             } else {
                 List<ObjectProperty> objects = items.stream()
                         .filter(e -> !e.getFilename().equals(".") && !e.getFilename().equals(".."))
-                        .map(e -> e.getAttrs().isDir() ? new ObjectProperty(e.getFilename(), true, null)
-                                : new ObjectProperty(e.getFilename(), false, e.getAttrs().getSize()))
+                        .map(e -> toObjectProperty(e.getFilename(), e.getAttrs()))
                         .collect(Collectors.toList());
                 log.debug("List Path [{}] Found {} Items", path, objects.size());
                 return objects;
@@ -209,11 +245,8 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
             log.warn("List Path [{}] Failed: {}", path, err.getMessage());
             return new ArrayList<>(0);
 
-        } catch (JSchException je) {
-            throw new RuntimeException(je);
-
         } finally {
-            disconnectChannel(sftpChannel);
+            this.channelPool.release(sftpChannel);
         }
     }
 
@@ -222,20 +255,16 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
         checkParameter(path);
         ChannelSftp sftpChannel = null;
         try {
-            sftpChannel = openChannel();
-            sftpChannel.connect();
+            sftpChannel = this.channelPool.borrow();
             sftpChannel.mkdir(path);
             return path;
 
-        } catch (JSchException je) {
-            throw new RuntimeException(je);
-
         } catch (SftpException err) {
             log.error("Make Directory [{}] on SFTP Failed: {}", path, err.getMessage());
             throw new IOException("Mkdir Failed: " + err.getMessage(), err);
 
         } finally {
-            disconnectChannel(sftpChannel);
+            this.channelPool.release(sftpChannel);
         }
     }
 
@@ -244,43 +273,67 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
         checkParameter(path);
         ChannelSftp sftpChannel = null;
         try {
-            sftpChannel = openChannel();
-            sftpChannel.connect();
+            sftpChannel = this.channelPool.borrow();
             SftpATTRS attributes = sftpChannel.lstat(path);
             return attributes != null;
 
-        } catch (JSchException je) {
-            throw new RuntimeException(je);
-
         } catch (SftpException e) {
             log.warn("Check Object [{}] Existence on SFTP Exception: {}", path, e.getMessage());
             return false;
 
         } finally {
-            disconnectChannel(sftpChannel);
+            this.channelPool.release(sftpChannel);
         }
     }
 
     @Override
     public InputStream download(String source) throws IOException {
         checkParameter(source);
-        ChannelSftp sftpChannel;
+        ChannelSftp sftpChannel = borrowForRead();
         try {
-            sftpChannel = openChannel();
-            sftpChannel.connect();
             InputStream inputStream = sftpChannel.get(source);
-            if (inputStream != null) {
-                log.debug("Prepare Object Downloading From SFTP [{}] Success", source);
+            if (inputStream == null) {
+                this.channelPool.release(sftpChannel);
+                return null;
             }
-            return inputStream;
+            log.debug("Prepare Object Downloading From SFTP [{}] Success", source);
+            return new PooledChannelInputStream(inputStream, sftpChannel);
 
-        } catch (JSchException je) {
-            throw new RuntimeException(je);
+        } catch (SftpException err) {
+            this.channelPool.release(sftpChannel);
+            log.error("Download Object From SFTP [{}] Exception: {}", source, err.getMessage());
+            throw new IOException(err);
+
+        } catch (RuntimeException err) {
+            this.channelPool.invalidate(sftpChannel);
+            throw err;
+        }
+    }
+
+    @Override
+    public InputStream download(String source, long offset, long length) throws IOException {
+        checkParameter(source);
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("Invalid Range");
+        }
+        ChannelSftp sftpChannel = borrowForRead();
+        try {
+            InputStream inputStream = sftpChannel.get(source, null, offset);
+            if (inputStream == null) {
+                this.channelPool.release(sftpChannel);
+                return null;
+            }
+            log.debug("Prepare Object Downloading From SFTP [{}] at Offset {} Success", source, offset);
+            return new BoundedInputStream(new PooledChannelInputStream(inputStream, sftpChannel), length);
 
         } catch (SftpException err) {
+            this.channelPool.release(sftpChannel);
             log.error("Download Object From SFTP [{}] Exception: {}", source, err.getMessage());
             throw new IOException(err);
 
+        } catch (RuntimeException err) {
+            this.channelPool.invalidate(sftpChannel);
+            throw err;
         }
     }
 
@@ -290,25 +343,34 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
         if (localFile == null) {
             throw new IllegalArgumentException("Invalid Local File");
         }
+        int mode = isAppend(localFileOperation);
         ChannelSftp sftpChannel = null;
         try {
-            sftpChannel = openChannel();
-            sftpChannel.connect();
-            sftpChannel.get(source, localFile.getAbsolutePath(), null, isAppend(localFileOperation));
+            sftpChannel = borrowForRead();
+            if (mode == ChannelSftp.OVERWRITE && this.clientConfig.getRangeThreshold() > 0
+                    && this.clientConfig.getRangeParallelism() > 1) {
+                SftpATTRS attributes = sftpChannel.stat(source);
+                if (attributes.isReg() && attributes.getSize() >= this.clientConfig.getRangeThreshold()) {
+                    List<ChannelSftp> channels = borrowRangeChannels(sftpChannel);
+                    if (channels.size() > 1) {
+                        // The Ranges Own the Channels Now, Including the One Held Here
+                        sftpChannel = null;
+                        return downloadRanges(source, localFile, attributes.getSize(), channels);
+                    }
+                }
+            }
+            sftpChannel.get(source, localFile.getAbsolutePath(), null, mode);
             log.debug("Download Object From SFTP [{}], Save to [{}] Success",
                     source, localFile.getAbsolutePath());
             return true;
 
-        } catch (JSchException je) {
-            throw new RuntimeException(je);
-
         } catch (SftpException err) {
             log.error("Download Object From SFTP [{}], Save to [{}] Exception: {}",
                     source, localFile.getAbsolutePath(), err.getMessage());
             throw new IOException(err);
 
         } finally {
-            disconnectChannel(sftpChannel);
+            this.channelPool.release(sftpChannel);
         }
     }
 
@@ -320,21 +382,17 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
         }
         ChannelSftp sftpChannel = null;
         try {
-            sftpChannel = openChannel();
-            sftpChannel.connect();
+            sftpChannel = this.channelPool.borrow();
             sftpChannel.put(in, destination, isAppend(destFileOperation));
             log.debug("Upload File to SFTP Path [{}] Success", destination);
             return true;
 
-        } catch (JSchException je) {
-            throw new RuntimeException(je);
-
         } catch (SftpException err) {
             log.error("Upload File to SFTP Path [{}] Exception: {}", destination, err.getMessage());
             throw new IOException(err);
 
         } finally {
-            disconnectChannel(sftpChannel);
+            this.channelPool.release(sftpChannel);
         }
     }
 
@@ -346,46 +404,37 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
         }
         ChannelSftp sftpChannel = null;
         try {
-            sftpChannel = openChannel();
-            sftpChannel.connect();
+            sftpChannel = this.channelPool.borrow();
             sftpChannel.put(localFile.getAbsolutePath(), destination);
             log.debug("Upload File [{}] to SFTP Path [{}] Success", localFile.getName(), destination);
             return destination;
 
-        } catch (JSchException je) {
-            throw new RuntimeException(je);
-
         } catch (SftpException err) {
             log.error("Upload File [{}] to SFTP Path [{}] Exception: {}",
                     localFile.getName(), destination, err.getMessage());
             throw new IOException(err);
 
         } finally {
-            disconnectChannel(sftpChannel);
+            this.channelPool.release(sftpChannel);
         }
     }
 
     @Override
     public Boolean delete(String path, FileOperation... deleteFileOperation) throws IOException {
         checkParameter(path);
+        boolean recursive = deleteFileOperation != null && deleteFileOperation.length > 0
+                && FileOperation.DELETE_RECURSIVE.equals(deleteFileOperation[0]);
+        if (recursive) {
+            DeleteResult result = deleteRecursive(path);
+            return result.getFiles() + result.getDirectories() > 0;
+        }
         ChannelSftp sftpChannel = null;
         try {
-            sftpChannel = openChannel();
-            sftpChannel.connect();
-            boolean recursive = deleteFileOperation != null && deleteFileOperation.length > 0
-                    && FileOperation.DELETE_RECURSIVE.equals(deleteFileOperation[0]);
-            if (recursive) {
-                sftpChannel.rmdir(path);
-                log.debug("Delete Directory [{}] on SFTP Success", path);
-            } else {
-                sftpChannel.rm(path);
-                log.debug("Delete File [{}]  on SFTP Success", path);
-            }
+            sftpChannel = this.channelPool.borrow();
+            sftpChannel.rm(path);
+            log.debug("Delete File [{}]  on SFTP Success", path);
             return true;
 
-        } catch (JSchException je) {
-            throw new RuntimeException(je);
-
         } catch (SftpException err) {
             if (err.id == 2 || err.getMessage().equalsIgnoreCase("No such file")) {
                 return false;
@@ -395,12 +444,221 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
             }
 
         } finally {
-            disconnectChannel(sftpChannel);
+            this.channelPool.release(sftpChannel);
+        }
+    }
+
+    /**
+     * Delete files over a single pooled SFTP channel instead of borrowing one per path.
+     */
+    @Override
+    public Map<String, Boolean> deleteAll(Collection<String> paths) throws IOException {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        if (paths == null || paths.isEmpty()) {
+            return results;
+        }
+        if (this.sshClient == null || this.sftpSession == null) {
+            throw new IllegalStateException("SFTP Client Has Not Been Initialized!");
+        }
+        ChannelSftp sftpChannel = null;
+        try {
+            sftpChannel = this.channelPool.borrow();
+            for (String path : paths) {
+                if (StringUtils.isBlank(path)) {
+                    results.put(path, false);
+                    continue;
+                }
+                try {
+                    sftpChannel.rm(path);
+                    results.put(path, true);
+                } catch (SftpException err) {
+                    if (err.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                        log.warn("Delete Object [{}] on SFTP Exception: {}", path, err.getMessage());
+                    }
+                    results.put(path, false);
+                }
+            }
+            log.debug("Delete {} File(s) on SFTP with One Channel", results.size());
+            return results;
+
+        } finally {
+            this.channelPool.release(sftpChannel);
+        }
+    }
+
+    /**
+     * Walk a Remote Tree, Reading Sibling Directories Concurrently on Several Pooled Channels, See
+     * {@link SftpTreeWalker}
+     *
+     * @param path Remote Directory
+     * @return Every Entry Below path in Pre-Order, Named by Its '/' Separated Path Relative to path
+     * @throws IOException path Missing, or a Directory Could Not Be Read
+     */
+    public List<ObjectProperty> listRecursive(String path) throws IOException {
+        checkParameter(path);
+        List<ObjectProperty> properties = SftpTreeWalker.walk(this.channelPool, path, treePool());
+        log.debug("List Path [{}] Recursively Found {} Items", path, properties.size());
+        return properties;
+    }
+
+    /**
+     * Remove a Remote Tree, Emptying Directories and Batches of Files Concurrently on Several Pooled Channels, See
+     * {@link SftpTreeDeleter}
+     *
+     * @param path Remote Directory, File or Link; a Missing Path Removes Nothing
+     * @return Files, Directories and Bytes Removed
+     * @throws IOException First Entry That Could Not Be Listed or Removed, the Rest of the Tree Is Still Attempted
+     */
+    public DeleteResult deleteRecursive(String path) throws IOException {
+        checkParameter(path);
+        long start = System.currentTimeMillis();
+        DeleteResult result = SftpTreeDeleter.delete(this.channelPool, path, treePool());
+        log.debug("Delete [{}] on SFTP Recursively: {} Files, {} Directories, {} Bytes Freed in {}ms", path,
+                result.getFiles(), result.getDirectories(), result.getBytes(), System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Create a Directory and Its Missing Parents on One Channel, Existing Directories Are Left Alone
+     *
+     * @param path Remote Directory
+     * @return path
+     * @throws IOException A Parent Is Not a Directory or Could Not Be Created
+     */
+    public String mkdirs(String path) throws IOException {
+        checkParameter(path);
+        ChannelSftp sftpChannel = null;
+        try {
+            sftpChannel = this.channelPool.borrow();
+            mkdirs(sftpChannel, path);
+            return path;
+
+        } catch (SftpException err) {
+            log.error("Make Directories [{}] on SFTP Failed: {}", path, err.getMessage());
+            throw new IOException("Mkdirs Failed: " + err.getMessage(), err);
+
+        } finally {
+            this.channelPool.release(sftpChannel);
+        }
+    }
+
+    /**
+     * Mirror a Local Directory Tree Under remoteDir: Every Remote Directory Is Created Once Up Front on One Channel,
+     * Then the Files Are Uploaded Concurrently, Each on Its Own Pooled Channel, With No Per-File Existence Check.
+     * <p>
+     * All or nothing, unlike {@link gew.filesystem.common.transfer.TransferManager} which records a failed file
+     * and carries on: the first failure cancels the queued uploads, interrupts the running ones and waits for them
+     * to stop before it is thrown. Files uploaded by then stay on the server, a retry simply overwrites them.
+     *
+     * @param localDir  Local Source Directory
+     * @param remoteDir Remote Target Directory, Created With Its Parents If Missing
+     * @return Number of Files Uploaded
+     * @throws IOException First Directory or File That Failed, No Upload Is Running Anymore When Thrown
+     */
+    public int uploadDirectory(File localDir, String remoteDir) throws IOException {
+        checkParameter(remoteDir);
+        if (localDir == null || !localDir.isDirectory()) {
+            throw new IllegalArgumentException("Invalid Local Directory");
+        }
+        Path root = localDir.toPath();
+        List<String> directories = new ArrayList<>();
+        List<Callable<Long>> uploads = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (!dir.equals(root)) {
+                    directories.add(remotePath(remoteDir, root.relativize(dir)));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()) {
+                    String destination = remotePath(remoteDir, root.relativize(file));
+                    uploads.add(() -> {
+                        upload(destination, file.toFile());
+                        return attrs.size();
+                    });
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        long start = System.currentTimeMillis();
+        ChannelSftp sftpChannel = null;
+        try {
+            sftpChannel = this.channelPool.borrow();
+            mkdirs(sftpChannel, remoteDir);
+            for (String directory : directories) {
+                if (stat(sftpChannel, directory) == null) {
+                    sftpChannel.mkdir(directory);
+                }
+            }
+        } catch (SftpException err) {
+            log.error("Prepare Directories Under [{}] on SFTP Failed: {}", remoteDir, err.getMessage());
+            throw new IOException("Upload Directory Failed: " + err.getMessage(), err);
+
+        } finally {
+            this.channelPool.release(sftpChannel);
         }
+        long bytes = BatchUtil.invokeAll(uploads, treeParallelism(), "fs-sftp-upload-").stream()
+                .mapToLong(Long::longValue).sum();
+        log.debug("Upload Directory [{}] to SFTP [{}]: {} Directories, {} Files, {} Bytes in {}ms", localDir,
+                remoteDir, directories.size(), uploads.size(), bytes, System.currentTimeMillis() - start);
+        return uploads.size();
+    }
+
+    /**
+     * Mirror a Remote Tree Under localDir: the Tree Is Walked in Parallel ({@link #listRecursive}), Local
+     * Directories Are Created Once, Then the Files Are Downloaded Concurrently on Pooled Channels.
+     * <p>
+     * All or nothing like {@link #uploadDirectory}: the first failure cancels the remaining downloads and waits
+     * for the running ones to stop before it is thrown, files already downloaded are left in place.
+     *
+     * @param remoteDir Remote Source Directory
+     * @param localDir  Local Target Directory, Created If Missing
+     * @return Number of Files Downloaded
+     * @throws IOException Walk Failed, or the First File That Failed, No Download Is Running Anymore When Thrown
+     */
+    public int downloadDirectory(String remoteDir, File localDir) throws IOException {
+        checkParameter(remoteDir);
+        if (localDir == null) {
+            throw new IllegalArgumentException("Invalid Local Directory");
+        }
+        long start = System.currentTimeMillis();
+        List<ObjectProperty> properties = listRecursive(remoteDir);
+        Files.createDirectories(localDir.toPath());
+        List<Callable<Long>> downloads = new ArrayList<>();
+        for (ObjectProperty property : properties) {
+            File target = new File(localDir, property.getName());
+            if (property.getDirectory()) {
+                Files.createDirectories(target.toPath());
+            } else {
+                String source = SftpTreeWalker.resolve(remoteDir, property.getName());
+                downloads.add(() -> {
+                    download(source, target);
+                    return target.length();
+                });
+            }
+        }
+        long bytes = BatchUtil.invokeAll(downloads, treeParallelism(), "fs-sftp-download-").stream()
+                .mapToLong(Long::longValue).sum();
+        log.debug("Download Directory SFTP [{}] to [{}]: {} Files, {} Bytes in {}ms", remoteDir, localDir,
+                downloads.size(), bytes, System.currentTimeMillis() - start);
+        return downloads.size();
     }
 
     @Override
     public void close() {
+        synchronized (this) {
+            if (this.treePool != null) {
+                this.treePool.shutdown();
+                this.treePool = null;
+            }
+        }
+        if (this.channelPool != null) {
+            this.channelPool.close();
+        }
         if (sftpSession != null && sftpSession.isConnected()) {
             sftpSession.disconnect();
         }
@@ -415,25 +673,206 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
         }
     }
 
-    private ChannelSftp openChannel() throws IOException {
-        if (this.sftpSession.isConnected()) {
+    /**
+     * Session of a Channel Pool Slot: Slot 0 Is the Primary Session, Others Are Opened with the Same Config
+     */
+    private Session openSession(int slot) throws JSchException, IOException {
+        Session session = slot == 0 ? this.sftpSession : newSession(this.clientConfig);
+        if (!session.isConnected()) {
+            boolean connected = connect(session);
+            log.debug("Connect SFTP Session #{}: {}", slot, connected ? "Success" : "Failed");
+        }
+        return session;
+    }
+
+    private Session newSession(SftpClientConfig config) throws JSchException {
+        Session session = this.sshClient.getSession(config.getUsername(), config.getHost(), config.getPort());
+        if (SftpClientConfig.AuthMode.CREDENTIALS.equals(config.getAuthMode())) {
+            session.setPassword(config.getPassword());
+        }
+        if (config.getKnownHostsFile() == null) {
+            session.setConfig("StrictHostKeyChecking", "no");
+        }
+        return session;
+    }
+
+    static ObjectProperty toObjectProperty(String name, SftpATTRS attributes) {
+        ObjectProperty property = attributes.isDir() ? new ObjectProperty(name, true, null)
+                : new ObjectProperty(name, false, attributes.getSize());
+        property.setLastModified(attributes.getMTime() * 1000L);
+        return property;
+    }
+
+    /**
+     * Stat From the Deepest Path Up Until an Existing Directory, Then Create the Missing Ones Top Down
+     */
+    private static void mkdirs(ChannelSftp sftpChannel, String path) throws SftpException {
+        Deque<String> missing = new ArrayDeque<>();
+        String directory = path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        while (!directory.isEmpty()) {
+            SftpATTRS attributes = stat(sftpChannel, directory);
+            if (attributes != null && !attributes.isDir()) {
+                throw new SftpException(ChannelSftp.SSH_FX_FAILURE, "Not a Directory: " + directory);
+            } else if (attributes != null) {
+                break;
+            }
+            missing.push(directory);
+            int separator = directory.lastIndexOf('/');
+            directory = separator > 0 ? directory.substring(0, separator) : "";
+        }
+        for (String dir : missing) {
+            sftpChannel.mkdir(dir);
+        }
+    }
+
+    /**
+     * @return Attributes, Null When the Path Does Not Exist
+     */
+    private static SftpATTRS stat(ChannelSftp sftpChannel, String path) throws SftpException {
+        try {
+            return sftpChannel.stat(path);
+        } catch (SftpException se) {
+            if (se.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                return null;
+            }
+            throw se;
+        }
+    }
+
+    private static String remotePath(String remoteDir, Path relative) {
+        return SftpTreeWalker.resolve(remoteDir, relative.toString().replace(File.separatorChar, '/'));
+    }
+
+    private int treeParallelism() {
+        return Math.max(1, Math.min(this.clientConfig.getTreeParallelism(), this.clientConfig.getPoolMaxTotal()));
+    }
+
+    private synchronized ForkJoinPool treePool() {
+        if (this.treePool == null) {
+            String prefix = "fs-sftp-tree-" + TREE_POOL_SEQUENCE.incrementAndGet() + "-";
+            this.treePool = new ForkJoinPool(treeParallelism(), pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(prefix + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return this.treePool;
+    }
+
+    /**
+     * Channels for a Ranged Download: the One Already Held Plus Whatever the Pool Can Lend Without Waiting, up to
+     * rangeParallelism. Concurrent downloads (directory mirrors, transfer workers) must not queue on the pool for
+     * range channels while the holders stream their ranges, so a busy pool simply yields fewer ranges.
+     */
+    private List<ChannelSftp> borrowRangeChannels(ChannelSftp held) {
+        List<ChannelSftp> channels = new ArrayList<>(this.clientConfig.getRangeParallelism());
+        channels.add(held);
+        try {
+            while (channels.size() < this.clientConfig.getRangeParallelism()) {
+                ChannelSftp extra = withBulkRequests(this.channelPool.tryBorrow());
+                if (extra == null) {
+                    break;
+                }
+                channels.add(extra);
+            }
+        } catch (IOException | RuntimeException err) {
+            log.debug("Open Extra SFTP Range Channel Failed, Continue with {}: {}", channels.size(), err.getMessage());
+        }
+        return channels;
+    }
+
+    /**
+     * Split the File Into One Range per Channel, Read Concurrently, Each Written at Its Own Position of the Local
+     * File. Every channel is given back, including those of ranges that never ran.
+     */
+    private Boolean downloadRanges(String source, File localFile, long size, List<ChannelSftp> channels)
+            throws IOException {
+        List<AtomicReference<ChannelSftp>> owned = channels.stream()
+                .map(AtomicReference::new).collect(Collectors.toList());
+        long rangeSize = (size + channels.size() - 1) / channels.size();
+        long start = System.currentTimeMillis();
+        try (FileChannel target = FileChannel.open(localFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            List<Callable<Long>> tasks = new ArrayList<>(channels.size());
+            for (int i = 0; i < owned.size() && i * rangeSize < size; i++) {
+                AtomicReference<ChannelSftp> channel = owned.get(i);
+                long position = i * rangeSize;
+                long length = Math.min(rangeSize, size - position);
+                tasks.add(() -> downloadRange(channel.getAndSet(null), source, target, position, length));
+            }
+            BatchUtil.invokeAll(tasks, tasks.size(), "fs-sftp-range-");
+        } catch (IOException | RuntimeException err) {
+            Files.deleteIfExists(localFile.toPath());
+            log.error("Download Object From SFTP [{}] in Ranges, Save to [{}] Exception: {}",
+                    source, localFile.getAbsolutePath(), err.getMessage());
+            throw err;
+        } finally {
+            owned.forEach(channel -> this.channelPool.release(channel.getAndSet(null)));
+        }
+        log.debug("Download Object From SFTP [{}] in {} Ranges, Save to [{}] Success: {} Bytes in {} ms", source,
+                channels.size(), localFile.getAbsolutePath(), size, System.currentTimeMillis() - start);
+        return true;
+    }
+
+    /**
+     * Read One Range on a Channel Owned by the Caller, Which Is Released, or Invalidated on a Transport Failure
+     */
+    private long downloadRange(ChannelSftp sftpChannel, String source, FileChannel target, long offset, long length)
+            throws IOException {
+        try {
+            InputStream in = sftpChannel.get(source, null, offset);
+            if (in == null) {
+                throw new IOException("Open Range at Offset " + offset + " Failed");
+            }
             try {
-                return (ChannelSftp) this.sftpSession.openChannel("sftp");
-            } catch (JSchException e) {
-                log.error("Open SFTP Channel Failed: {}", e.getMessage());
-                throw new IOException(e);
+                byte[] buffer = new byte[RANGE_BUFFER_SIZE];
+                long position = offset;
+                long remaining = length;
+                while (remaining > 0) {
+                    int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if (read < 0) {
+                        throw new IOException("Range at Offset " + offset + " Ended " + remaining + " Bytes Early");
+                    }
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        position += target.write(chunk, position);
+                    }
+                    remaining -= read;
+                }
+            } finally {
+                // Closing Drains the Read Requests Still in Flight Past the Range End
+                in.close();
             }
-        } else {
-            boolean connected = connect(this.sftpSession);
-            log.debug("Connect SFTP Session: {}", connected ? "Success" : "Failed");
-            return openChannel();
+            this.channelPool.release(sftpChannel);
+            return length;
+
+        } catch (SftpException err) {
+            this.channelPool.release(sftpChannel);
+            throw new IOException(err);
+
+        } catch (IOException | RuntimeException err) {
+            // The Channel May Still Have Read Responses Pending
+            this.channelPool.invalidate(sftpChannel);
+            throw err;
         }
     }
 
-    private void disconnectChannel(ChannelSftp channelSftp) {
-        if (channelSftp != null) {
-            channelSftp.disconnect();
+    private ChannelSftp borrowForRead() throws IOException {
+        return withBulkRequests(this.channelPool.borrow());
+    }
+
+    private ChannelSftp withBulkRequests(ChannelSftp sftpChannel) {
+        if (sftpChannel == null) {
+            return null;
         }
+        try {
+            sftpChannel.setBulkRequests(this.clientConfig.getBulkRequests());
+        } catch (JSchException je) {
+            this.channelPool.release(sftpChannel);
+            throw new IllegalStateException("Set SFTP Bulk Requests Failed: " + je.getMessage(), je);
+        }
+        return sftpChannel;
     }
 
     private int isAppend(FileOperation... operations) {
@@ -442,6 +881,33 @@ public class SftpSystemClientImpl implements BasicFileSystemClient {
     }
 
 
+    /**
+     * Gives the Channel Back to the Pool Once the Download Stream Is Closed
+     */
+    private final class PooledChannelInputStream extends ProxyInputStream {
+
+        private final ChannelSftp channel;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PooledChannelInputStream(InputStream in, ChannelSftp channel) {
+            super(in);
+            this.channel = channel;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (this.released.compareAndSet(false, true)) {
+                    channelPool.release(this.channel);
+                }
+            }
+        }
+    }
+
+
     public void setSshClient(JSch sshClient) {
         this.sshClient = sshClient;
     }
@@ -0,0 +1,195 @@
+package gew.filesystem.common.sftp;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.SftpATTRS;
+import com.jcraft.jsch.SftpException;
+import gew.filesystem.common.model.DeleteResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel Recursive Delete of a Remote SFTP Tree, the Counterpart of {@link SftpTreeWalker}.
+ * <p>
+ * Each directory is one {@link RecursiveTask}: it reads the directory on a borrowed channel, gives it back, then
+ * forks one task per subdirectory and one task per batch of files, each batch removing its files on a single
+ * channel of its own. Once everything below has joined, the directory itself is removed, so removal is bottom-up.
+ * Like the walker, no task holds a channel while waiting. On a failure the remaining tasks still run to completion
+ * before the first error is thrown.
+ *
+ * @author Jason/GeW
+ * @since  2024-04-01
+ */
+final class SftpTreeDeleter {
+
+    /**
+     * Files Removed per Borrowed Channel, Large Directories Are Spread Over Several Channels
+     */
+    private static final int FILE_BATCH = 128;
+
+    private SftpTreeDeleter() {
+        // Utility Class
+    }
+
+    /**
+     * @param channels Pool the Reads and Removals Borrow From
+     * @param root     Remote Directory, File or Link to Remove; a Missing Path Removes Nothing
+     * @param pool     Pool the Directory Tasks Run On
+     * @return Files, Directories and Bytes Removed
+     * @throws IOException First Entry That Could Not Be Listed or Removed
+     */
+    static DeleteResult delete(SftpChannelPool channels, String root, ForkJoinPool pool) throws IOException {
+        SftpATTRS attributes;
+        ChannelSftp channel = channels.borrow();
+        try {
+            try {
+                attributes = channel.lstat(root);
+            } catch (SftpException se) {
+                if (se.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                    return new DeleteResult(0, 0, 0);
+                }
+                throw se;
+            }
+            if (!attributes.isDir()) {
+                channel.rm(root);
+                return new DeleteResult(1, 0, attributes.getSize());
+            }
+        } catch (SftpException se) {
+            throw new IOException("Delete [" + root + "] Failed: " + se.getMessage(), se);
+        } finally {
+            channels.release(channel);
+        }
+        try {
+            Counts counts = pool.invoke(new DeleteTask(channels, root));
+            return new DeleteResult(counts.files, counts.directories, counts.bytes);
+        } catch (UncheckedIOException uioe) {
+            throw uioe.getCause();
+        }
+    }
+
+
+    private static final class DeleteTask extends RecursiveTask<Counts> {
+
+        private static final long serialVersionUID = 20240401L;
+
+        private final transient SftpChannelPool channels;
+
+        private final String directory;
+
+        private DeleteTask(SftpChannelPool channels, String directory) {
+            this.channels = channels;
+            this.directory = directory;
+        }
+
+        @Override
+        protected Counts compute() {
+            List<ForkJoinTask<Counts>> subtasks = new ArrayList<>();
+            List<ChannelSftp.LsEntry> files = new ArrayList<>();
+            for (ChannelSftp.LsEntry entry : SftpTreeWalker.readDirectory(this.channels, this.directory)) {
+                if (entry.getAttrs().isDir()) {
+                    subtasks.add(new DeleteTask(this.channels,
+                            SftpTreeWalker.resolve(this.directory, entry.getFilename())).fork());
+                } else {
+                    files.add(entry);
+                }
+            }
+            for (int from = 0; from < files.size(); from += FILE_BATCH) {
+                List<ChannelSftp.LsEntry> batch = files.subList(from, Math.min(from + FILE_BATCH, files.size()));
+                subtasks.add(new FileBatchTask(this.channels, this.directory, batch).fork());
+            }
+            Counts counts = new Counts();
+            UncheckedIOException error = null;
+            for (ForkJoinTask<Counts> subtask : subtasks) {
+                try {
+                    counts.add(subtask.join());
+                } catch (UncheckedIOException uioe) {
+                    if (error == null) {
+                        error = uioe;
+                    } else {
+                        error.addSuppressed(uioe);
+                    }
+                }
+            }
+            if (error != null) {
+                throw error;
+            }
+            ChannelSftp channel = null;
+            try {
+                channel = this.channels.borrow();
+                channel.rmdir(this.directory);
+                counts.directories++;
+                return counts;
+            } catch (SftpException se) {
+                throw new UncheckedIOException(new IOException("Remove Directory [" + this.directory + "] Failed: "
+                        + se.getMessage(), se));
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            } finally {
+                this.channels.release(channel);
+            }
+        }
+    }
+
+
+    private static final class FileBatchTask extends RecursiveTask<Counts> {
+
+        private static final long serialVersionUID = 20240401L;
+
+        private final transient SftpChannelPool channels;
+
+        private final String directory;
+
+        private final transient List<ChannelSftp.LsEntry> files;
+
+        private FileBatchTask(SftpChannelPool channels, String directory, List<ChannelSftp.LsEntry> files) {
+            this.channels = channels;
+            this.directory = directory;
+            this.files = files;
+        }
+
+        @Override
+        protected Counts compute() {
+            Counts counts = new Counts();
+            ChannelSftp channel = null;
+            String path = this.directory;
+            try {
+                channel = this.channels.borrow();
+                for (ChannelSftp.LsEntry file : this.files) {
+                    path = SftpTreeWalker.resolve(this.directory, file.getFilename());
+                    channel.rm(path);
+                    counts.files++;
+                    counts.bytes += file.getAttrs().getSize();
+                }
+                return counts;
+            } catch (SftpException se) {
+                throw new UncheckedIOException(new IOException("Remove [" + path + "] Failed: " + se.getMessage(),
+                        se));
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            } finally {
+                this.channels.release(channel);
+            }
+        }
+    }
+
+
+    private static final class Counts {
+
+        private long files;
+
+        private long directories;
+
+        private long bytes;
+
+        private void add(Counts other) {
+            this.files += other.files;
+            this.directories += other.directories;
+            this.bytes += other.bytes;
+        }
+    }
+}
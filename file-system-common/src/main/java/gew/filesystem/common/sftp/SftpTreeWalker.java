@@ -0,0 +1,124 @@
+package gew.filesystem.common.sftp;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.SftpException;
+import gew.filesystem.common.model.ObjectProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel Walk of a Remote SFTP Tree Over Pooled Channels.
+ * <p>
+ * Each directory is one {@link RecursiveTask}: it borrows a channel for a single READDIR (whose entries already
+ * carry their attributes, so nothing is statted again), gives the channel back and forks one task per
+ * subdirectory, so sibling directories are read concurrently on as many channels as the pool lends. A task never
+ * holds a channel while it waits for its subtrees, hence a walk cannot starve the pool it borrows from. Results are
+ * in pre-order (a directory, then its subtree), named by their path relative to the root with '/' separators.
+ * Links are reported as they are and never followed.
+ *
+ * @author Jason/GeW
+ * @since  2024-04-01
+ */
+final class SftpTreeWalker {
+
+    private SftpTreeWalker() {
+        // Utility Class
+    }
+
+    /**
+     * @param channels Pool the Directory Reads Borrow From
+     * @param root     Remote Directory to Walk, Not Part of the Result
+     * @param pool     Pool the Directory Tasks Run On
+     * @return Entries in Pre-Order, Named Relative to root
+     * @throws IOException root Missing, or a Directory Could Not Be Read
+     */
+    static List<ObjectProperty> walk(SftpChannelPool channels, String root, ForkJoinPool pool) throws IOException {
+        try {
+            return pool.invoke(new DirectoryTask(channels, root, ""));
+        } catch (UncheckedIOException uioe) {
+            throw uioe.getCause();
+        }
+    }
+
+    /**
+     * Read One Directory, Without the Self and Parent Entries
+     */
+    @SuppressWarnings("unchecked")
+    static List<ChannelSftp.LsEntry> readDirectory(SftpChannelPool channels, String directory) {
+        ChannelSftp channel = null;
+        try {
+            channel = channels.borrow();
+            List<ChannelSftp.LsEntry> entries = new ArrayList<>();
+            for (ChannelSftp.LsEntry entry : (List<ChannelSftp.LsEntry>) channel.ls(directory)) {
+                if (!entry.getFilename().equals(".") && !entry.getFilename().equals("..")) {
+                    entries.add(entry);
+                }
+            }
+            return entries;
+        } catch (SftpException se) {
+            throw new UncheckedIOException(new IOException("List [" + directory + "] Failed: " + se.getMessage(), se));
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        } finally {
+            channels.release(channel);
+        }
+    }
+
+    static String resolve(String directory, String name) {
+        if (directory.isEmpty() || name.isEmpty()) {
+            return directory.isEmpty() ? name : directory;
+        }
+        return directory.endsWith("/") ? directory + name : directory + "/" + name;
+    }
+
+
+    private static final class DirectoryTask extends RecursiveTask<List<ObjectProperty>> {
+
+        private static final long serialVersionUID = 20240401L;
+
+        private final transient SftpChannelPool channels;
+
+        private final String root;
+
+        private final String relative;
+
+        private DirectoryTask(SftpChannelPool channels, String root, String relative) {
+            this.channels = channels;
+            this.root = root;
+            this.relative = relative;
+        }
+
+        @Override
+        protected List<ObjectProperty> compute() {
+            List<ChannelSftp.LsEntry> entries = readDirectory(this.channels, resolve(this.root, this.relative));
+            List<ObjectProperty> children = new ArrayList<>(entries.size());
+            List<DirectoryTask> subtrees = new ArrayList<>(entries.size());
+            for (ChannelSftp.LsEntry entry : entries) {
+                String name = resolve(this.relative, entry.getFilename());
+                children.add(SftpSystemClientImpl.toObjectProperty(name, entry.getAttrs()));
+                subtrees.add(entry.getAttrs().isDir()
+                        ? (DirectoryTask) new DirectoryTask(this.channels, this.root, name).fork()
+                        : null);
+            }
+            List<ObjectProperty> results = new ArrayList<>(children.size());
+            for (int i = 0; i < children.size(); i++) {
+                results.add(children.get(i));
+                DirectoryTask subtree = subtrees.get(i);
+                if (subtree != null) {
+                    try {
+                        results.addAll(subtree.join());
+                    } catch (RuntimeException err) {
+                        subtrees.stream().filter(t -> t != null).forEach(t -> t.cancel(false));
+                        throw err;
+                    }
+                }
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package gew.filesystem.common.transfer;
+
+import gew.filesystem.common.model.FileSystemType;
+import gew.filesystem.common.model.ObjectProperty;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import gew.filesystem.common.util.CopyUtil;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * One End of a Sync: a Local Directory or a Remote Directory / Key Prefix.
+ * <p>
+ * {@link #entries()} yields every file under the root in ascending order of its '/' separated relative path,
+ * which is what lets {@link TransferManager} diff two sides with a single merge pass. Tree-shaped file systems
+ * are walked depth first with one sorted directory listing held at a time (sub-directories sort as "name/",
+ * so the walk order equals the order of the full paths); S3 is listed flat, its keys already come back sorted.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-23
+ */
+abstract class SyncSide {
+
+    private static final Comparator<Node> NODE_ORDER = Comparator.comparing(n -> n.key);
+
+
+    static SyncSide local(Path root) {
+        return new Local(root);
+    }
+
+    static SyncSide of(BasicFileSystemClient client, String prefix) {
+        String root = TransferManager.trimSlash(TransferManager.normalizeSeparator(prefix, client));
+        if (client.getFileSystemType() == FileSystemType.LOCAL) {
+            return new Local(new File(root).toPath());
+        }
+        return new Remote(client, root);
+    }
+
+
+    /**
+     * @return Files in Strictly Ascending Relative Path Order, Listing Errors Surface as UncheckedIOException
+     * @throws IOException The Root Can Not Be Listed
+     */
+    abstract Stream<Entry> entries() throws IOException;
+
+    /**
+     * @return Full Local Path or Remote Path / Key of a Relative Path
+     */
+    abstract String locate(String relative);
+
+    /**
+     * Runs on the Caller Thread Before the Copy Is Submitted, Creating the Parent Directories Remotely If Needed
+     */
+    abstract void prepare(String relative) throws IOException;
+
+    /**
+     * @return Bytes Copied
+     */
+    abstract long copyFrom(SyncSide source, Entry entry) throws IOException;
+
+    abstract void delete(String relative) throws IOException;
+
+
+    /**
+     * Drop-In Ordering Check: a Listing That Is Not Sorted Would Turn Into Bogus Copies and Deletes
+     */
+    private static Stream<Entry> sorted(Iterator<Entry> iterator, String root) {
+        Iterator<Entry> checked = new Iterator<Entry>() {
+
+            private String previous;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Entry next() {
+                Entry entry = iterator.next();
+                if (this.previous != null && this.previous.compareTo(entry.path) >= 0) {
+                    throw new UncheckedIOException(new IOException("Listing of [" + root + "] Is Not Sorted: ["
+                            + entry.path + "] After [" + this.previous + "]"));
+                }
+                this.previous = entry.path;
+                return entry;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(checked,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+
+    static final class Entry {
+
+        private final String path;
+
+        private final long size;
+
+        private final Long lastModified;
+
+        private final String eTag;
+
+        private final FileSystemType type;
+
+        Entry(String path, long size, Long lastModified, String eTag, FileSystemType type) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.eTag = normalizeETag(eTag);
+            this.type = type;
+        }
+
+        String getPath() {
+            return path;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        /**
+         * New or Changed: Different Size, Different ETag When Both Sides Are the Same Store and Neither ETag Is a
+         * Multipart One, Otherwise a Newer Source or an Unknown Modification Time.
+         * Stores format ETags differently and a multipart ETag ("md5-N") never equals a single part MD5, so
+         * comparing those would re-copy unchanged objects on every run.
+         */
+        boolean changedFrom(Entry target) {
+            if (target == null || this.size != target.size) {
+                return true;
+            } else if (this.type == target.type && comparable(this.eTag) && comparable(target.eTag)) {
+                return !this.eTag.equals(target.eTag);
+            } else if (this.lastModified == null || target.lastModified == null) {
+                return true;
+            }
+            return this.lastModified > target.lastModified;
+        }
+
+        private static boolean comparable(String eTag) {
+            return eTag != null && !eTag.isEmpty() && eTag.indexOf('-') < 0;
+        }
+
+        /**
+         * S3 Returns ETags Quoted, Other Stores Bare or Upper Case
+         */
+        private static String normalizeETag(String eTag) {
+            if (eTag == null) {
+                return null;
+            }
+            String bare = eTag.trim();
+            if (bare.startsWith("W/")) {
+                bare = bare.substring(2);
+            }
+            if (bare.length() >= 2 && bare.startsWith("\"") && bare.endsWith("\"")) {
+                bare = bare.substring(1, bare.length() - 1);
+            }
+            return bare.toLowerCase(Locale.ROOT);
+        }
+    }
+
+
+    private static final class Node {
+
+        private final String key;
+
+        private final String path;
+
+        private final Entry entry;
+
+        private Node(String path, Entry entry) {
+            this.key = entry == null ? path + "/" : path;
+            this.path = path;
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * Depth First Walk Holding One Sorted Listing per Level of the Current Branch
+     */
+    private abstract static class TreeIterator implements Iterator<Entry> {
+
+        private final Deque<Iterator<Node>> stack = new ArrayDeque<>();
+
+        private Entry next;
+
+        private TreeIterator(List<Node> root) {
+            this.stack.push(root.iterator());
+        }
+
+        abstract List<Node> children(String directory) throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            while (this.next == null && !this.stack.isEmpty()) {
+                Iterator<Node> level = this.stack.peek();
+                if (!level.hasNext()) {
+                    this.stack.pop();
+                    continue;
+                }
+                Node node = level.next();
+                if (node.entry != null) {
+                    this.next = node.entry;
+                } else {
+                    try {
+                        this.stack.push(children(node.path).iterator());
+                    } catch (IOException ioe) {
+                        throw new UncheckedIOException(ioe);
+                    }
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Entry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry entry = this.next;
+            this.next = null;
+            return entry;
+        }
+    }
+
+    private static List<Node> sortNodes(List<Node> nodes) {
+        nodes.sort(NODE_ORDER);
+        List<Node> unique = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            if (unique.isEmpty() || !unique.get(unique.size() - 1).key.equals(node.key)) {
+                unique.add(node);
+            }
+        }
+        return unique;
+    }
+
+    private static String child(String directory, String name) {
+        return directory.isEmpty() ? name : directory + "/" + name;
+    }
+
+
+    private static final class Local extends SyncSide {
+
+        private final Path root;
+
+        private Local(Path root) {
+            this.root = root;
+        }
+
+        @Override
+        Stream<Entry> entries() throws IOException {
+            if (!Files.isDirectory(this.root)) {
+                return Stream.empty();
+            }
+            return sorted(new TreeIterator(children("")) {
+                @Override
+                List<Node> children(String directory) throws IOException {
+                    return Local.this.children(directory);
+                }
+            }, this.root.toString());
+        }
+
+        private List<Node> children(String directory) throws IOException {
+            List<Node> nodes = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(resolve(directory))) {
+                for (Path path : stream) {
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                    String relative = child(directory, path.getFileName().toString());
+                    if (attrs.isDirectory()) {
+                        nodes.add(new Node(relative, null));
+                    } else if (attrs.isRegularFile()) {
+                        nodes.add(new Node(relative, new Entry(relative, attrs.size(),
+                                attrs.lastModifiedTime().toMillis(), null, FileSystemType.LOCAL)));
+                    }
+                }
+            }
+            return sortNodes(nodes);
+        }
+
+        private Path resolve(String relative) {
+            return relative.isEmpty() ? this.root : this.root.resolve(relative.replace('/', File.separatorChar));
+        }
+
+        @Override
+        String locate(String relative) {
+            return resolve(relative).toString();
+        }
+
+        @Override
+        void prepare(String relative) {
+            // Parent directories are created by the copy itself
+        }
+
+        @Override
+        long copyFrom(SyncSide source, Entry entry) throws IOException {
+            File target = TransferManager.localTarget(this.root.toAbsolutePath().normalize(), entry.path);
+            if (target == null) {
+                throw new IOException("Path [" + entry.path + "] Is Outside of [" + this.root + "]");
+            }
+            FileUtils.forceMkdirParent(target);
+            if (source instanceof Local) {
+                Files.copy(((Local) source).resolve(entry.path), target.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+            } else {
+                Remote remote = (Remote) source;
+                if (!Boolean.TRUE.equals(remote.client.download(remote.locate(entry.path), target))) {
+                    throw new IOException("Download Returned False");
+                }
+            }
+            return target.length();
+        }
+
+        @Override
+        void delete(String relative) throws IOException {
+            Files.deleteIfExists(resolve(relative));
+        }
+    }
+
+
+    private static final class Remote extends SyncSide {
+
+        private final BasicFileSystemClient client;
+
+        private final String root;
+
+        private final Set<String> directories = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        private Remote(BasicFileSystemClient client, String root) {
+            this.client = client;
+            this.root = root;
+        }
+
+        @Override
+        Stream<Entry> entries() throws IOException {
+            FileSystemType type = this.client.getFileSystemType();
+            if (type == FileSystemType.S3) {
+                return flatEntries();
+            } else if (TransferManager.needsDirectories(type) && !this.client.exist(this.root)) {
+                return Stream.empty();
+            }
+            return sorted(new TreeIterator(children("")) {
+                @Override
+                List<Node> children(String directory) throws IOException {
+                    return Remote.this.children(directory);
+                }
+            }, this.root);
+        }
+
+        /**
+         * S3 Lists Every Key Under the Prefix in One Sorted Pass, Directory Markers Are Skipped
+         */
+        private Stream<Entry> flatEntries() throws IOException {
+            String base = this.root + "/";
+            Stream<ObjectProperty> stream = this.client.listStream(base);
+            Iterator<Entry> entries = stream
+                    .filter(p -> !Boolean.TRUE.equals(p.getDirectory()) && p.getName() != null
+                            && p.getName().startsWith(base) && p.getName().length() > base.length())
+                    .map(p -> toEntry(p.getName().substring(base.length()), p))
+                    .iterator();
+            return sorted(entries, this.root).onClose(stream::close);
+        }
+
+        private List<Node> children(String directory) throws IOException {
+            String dir = locate(directory);
+            List<Node> nodes = new ArrayList<>();
+            try (Stream<ObjectProperty> stream = this.client.listStream(dir + "/")) {
+                Iterator<ObjectProperty> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    ObjectProperty property = iterator.next();
+                    String path = TransferManager.resolve(dir,
+                            TransferManager.normalizeSeparator(property.getName(), this.client));
+                    if (path == null) {
+                        continue;
+                    }
+                    String name = TransferManager.trimSlash(TransferManager.relative(dir, path));
+                    if (name.isEmpty() || name.contains("/")) {
+                        continue;
+                    }
+                    String relative = child(directory, name);
+                    nodes.add(Boolean.TRUE.equals(property.getDirectory()) ? new Node(relative, null)
+                            : new Node(relative, toEntry(relative, property)));
+                }
+            } catch (UncheckedIOException uioe) {
+                throw uioe.getCause();
+            }
+            return sortNodes(nodes);
+        }
+
+        private Entry toEntry(String relative, ObjectProperty property) {
+            return new Entry(relative, property.getSize() == null ? -1L : property.getSize(),
+                    property.getLastModified(), property.getETag(), this.client.getFileSystemType());
+        }
+
+        @Override
+        String locate(String relative) {
+            return relative.isEmpty() ? this.root : this.root + "/" + relative;
+        }
+
+        @Override
+        void prepare(String relative) throws IOException {
+            if (!TransferManager.needsDirectories(this.client.getFileSystemType())) {
+                return;
+            }
+            int slash = -1;
+            ensureDirectory("");
+            while ((slash = relative.indexOf('/', slash + 1)) > 0) {
+                ensureDirectory(relative.substring(0, slash));
+            }
+        }
+
+        private void ensureDirectory(String relative) throws IOException {
+            String dir = locate(relative);
+            if (!this.directories.add(dir)) {
+                return;
+            }
+            try {
+                if (!this.client.exist(dir)) {
+                    this.client.mkdir(dir);
+                }
+            } catch (IOException | RuntimeException err) {
+                this.directories.remove(dir);
+                throw err;
+            }
+        }
+
+        @Override
+        long copyFrom(SyncSide source, Entry entry) throws IOException {
+            String destination = locate(entry.path);
+            if (source instanceof Local) {
+                File file = new File(source.locate(entry.path));
+                long size = file.length();
+                if (this.client.upload(destination, file) == null) {
+                    throw new IOException("Upload Returned No Destination");
+                }
+                return size;
+            }
+            Remote remote = (Remote) source;
+            return CopyUtil.copy(remote.client, remote.locate(entry.path), this.client, destination);
+        }
+
+        @Override
+        void delete(String relative) throws IOException {
+            if (!Boolean.TRUE.equals(this.client.delete(locate(relative)))) {
+                throw new IOException("Delete Returned False");
+            }
+        }
+    }
+}
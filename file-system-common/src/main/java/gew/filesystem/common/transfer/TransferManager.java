@@ -0,0 +1,469 @@
+package gew.filesystem.common.transfer;
+
+import gew.filesystem.common.model.FileSystemType;
+import gew.filesystem.common.model.ObjectProperty;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Parallel Directory Transfers Between the Local File System and Any {@link BasicFileSystemClient}.
+ * <p>
+ * The source tree is walked lazily on the caller thread, which feeds file transfers to N worker threads
+ * through a bounded backlog: once workers + queueCapacity transfers are outstanding the walk blocks,
+ * so memory stays flat however large the tree is. A failed file (or an unreadable directory) is recorded
+ * in the {@link TransferResult} and the transfer carries on; the calls only throw for invalid arguments
+ * or interruption. The client must be safe for concurrent use.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-22
+ */
+@Slf4j
+public class TransferManager implements AutoCloseable {
+
+    private static final AtomicInteger POOL_SEQUENCE = new AtomicInteger();
+
+    private final ExecutorService executor;
+
+    private final int maxOutstanding;
+
+
+    /**
+     * @param workers       Concurrent File Transfers
+     * @param queueCapacity Max Files Queued Ahead of the Workers
+     */
+    public TransferManager(int workers, int queueCapacity) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Invalid Worker Number");
+        } else if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Invalid Queue Capacity");
+        }
+        String prefix = "fs-transfer-" + POOL_SEQUENCE.incrementAndGet() + "-";
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+        this.maxOutstanding = workers + queueCapacity;
+    }
+
+
+    /**
+     * Upload Every Regular File Under localDir to remotePrefix + Relative Path ('/' Separated).
+     * Remote directories are created first for clients that need them (everything but S3 / OSS).
+     *
+     * @param localDir     Local Source Directory
+     * @param client       Destination Client
+     * @param remotePrefix Remote Directory or Key Prefix, Empty for the Root
+     * @return Per-File Results
+     * @throws IOException Interrupted While Waiting for Workers
+     */
+    public TransferResult uploadDirectory(File localDir, BasicFileSystemClient client, String remotePrefix)
+            throws IOException {
+        if (localDir == null || !localDir.isDirectory()) {
+            throw new IllegalArgumentException("Invalid Local Directory");
+        } else if (client == null) {
+            throw new IllegalArgumentException("Invalid File System Client");
+        }
+        String prefix = normalizePrefix(remotePrefix);
+        boolean needsDirectories = needsDirectories(client.getFileSystemType());
+        Path root = localDir.toPath();
+        TransferResult result = new TransferResult();
+        Batch batch = new Batch();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (needsDirectories) {
+                        String remoteDir = remotePath(prefix, root.relativize(dir));
+                        if (StringUtils.isNotEmpty(remoteDir) && !createDirectory(client, remoteDir, result)) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (attrs.isRegularFile()) {
+                        String remote = remotePath(prefix, root.relativize(file));
+                        batch.submit(() -> uploadFile(client, file.toFile(), remote, result));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    log.warn("Walk Local Path [{}] Failed: {}", file, exc.getMessage());
+                    result.failure(file.toString(), null, exc);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } finally {
+            batch.await();
+        }
+        log.info("Upload Directory [{}] to [{}] on {}: {}", localDir, prefix, client.getFileSystemType(), result);
+        return result;
+    }
+
+    /**
+     * Download Every File Under remotePrefix into localDir, Keeping the Relative Layout.
+     * Remote directories are listed one at a time with listStream, depth first. A listing that already returns
+     * keys below its subdirectories (a flat S3 / OSS listing) covers the whole subtree, so its directory markers
+     * are not listed again; nothing is remembered across listings.
+     *
+     * @param client       Source Client
+     * @param remotePrefix Remote Directory or Key Prefix
+     * @param localDir     Local Target Directory, Created If Missing
+     * @return Per-File Results
+     * @throws IOException Local Directory Cannot Be Created, or Interrupted While Waiting for Workers
+     */
+    public TransferResult downloadDirectory(BasicFileSystemClient client, String remotePrefix, File localDir)
+            throws IOException {
+        if (client == null) {
+            throw new IllegalArgumentException("Invalid File System Client");
+        } else if (localDir == null) {
+            throw new IllegalArgumentException("Invalid Local Directory");
+        } else if (StringUtils.isBlank(remotePrefix)) {
+            throw new IllegalArgumentException("Invalid Remote Prefix");
+        }
+        FileUtils.forceMkdir(localDir);
+        Path localRoot = localDir.toPath().toAbsolutePath().normalize();
+        String root = trimSlash(normalizeSeparator(remotePrefix, client));
+        TransferResult result = new TransferResult();
+        Batch batch = new Batch();
+        Deque<String> directories = new ArrayDeque<>();
+        directories.push(root);
+        try {
+            while (!directories.isEmpty()) {
+                String dir = directories.pop();
+                // Subdirectories of This Listing, Only Descended Into When the Listing Was Not Already Flat
+                List<String> subdirectories = new ArrayList<>();
+                boolean flat = false;
+                try (Stream<ObjectProperty> stream = client.listStream(dir.endsWith("/") ? dir : dir + "/")) {
+                    Iterator<ObjectProperty> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        ObjectProperty property = iterator.next();
+                        String path = resolve(dir, normalizeSeparator(property.getName(), client));
+                        if (path == null) {
+                            continue;
+                        }
+                        if (Boolean.TRUE.equals(property.getDirectory())) {
+                            subdirectories.add(trimSlash(path));
+                        } else {
+                            flat |= relative(dir, path).contains("/");
+                            File target = localTarget(localRoot, relative(root, path));
+                            if (target == null) {
+                                log.warn("Skip Remote [{}]: Resolves Outside of [{}]", path, localDir);
+                                result.failure(path, null,
+                                        new IOException("Remote Path Is Outside of the Local Directory"));
+                            } else {
+                                batch.submit(() -> downloadFile(client, path, target, result));
+                            }
+                        }
+                    }
+                } catch (IOException | UncheckedIOException err) {
+                    log.warn("List Remote Directory [{}] Failed: {}", dir, err.getMessage());
+                    result.failure(dir, null, err instanceof UncheckedIOException
+                            ? ((UncheckedIOException) err).getCause() : (IOException) err);
+                }
+                if (!flat) {
+                    subdirectories.forEach(directories::push);
+                }
+            }
+        } finally {
+            batch.await();
+        }
+        log.info("Download Directory [{}] on {} to [{}]: {}", root, client.getFileSystemType(), localDir, result);
+        return result;
+    }
+
+    /**
+     * Make remotePrefix Mirror localDir: Copy New or Changed Files, Optionally Delete Target Files With No Source.
+     *
+     * @param localDir         Local Source Directory
+     * @param client           Destination Client
+     * @param remotePrefix     Remote Directory or Key Prefix
+     * @param deleteExtraneous Delete Target Files Missing From the Source
+     * @return Copied Files, Plus Skipped and Deleted Counts
+     * @throws IOException A Listing Failed or Was Not Sorted, or Interrupted While Waiting for Workers
+     * @see #sync(BasicFileSystemClient, String, BasicFileSystemClient, String, boolean)
+     */
+    public TransferResult sync(File localDir, BasicFileSystemClient client, String remotePrefix,
+                               boolean deleteExtraneous) throws IOException {
+        if (localDir == null || !localDir.isDirectory()) {
+            throw new IllegalArgumentException("Invalid Local Directory");
+        } else if (client == null) {
+            throw new IllegalArgumentException("Invalid File System Client");
+        } else if (StringUtils.isBlank(remotePrefix)) {
+            throw new IllegalArgumentException("Invalid Remote Prefix");
+        }
+        return sync(SyncSide.local(localDir.toPath()), SyncSide.of(client, remotePrefix), deleteExtraneous);
+    }
+
+    /**
+     * Make targetPrefix Mirror sourcePrefix, Either Side May Be Any Client (a Local Client Syncs a Local Tree).
+     * <p>
+     * Both sides are listed in sorted relative path order and merged in one pass, so memory is bounded by one
+     * directory listing per level rather than by the tree size. A file is copied when it is missing from the
+     * target, the sizes differ, the ETags differ (when both sides report one), or, without ETags, the source is
+     * newer or either time is unknown. Copies run on the workers as the merge goes; a failed file is recorded and
+     * the sync carries on, but a failed or unsorted listing aborts it. Deletes are only issued once both listings
+     * have been read to the end, so an aborted sync never removes anything. Empty target directories are left.
+     *
+     * @param source           Source Client
+     * @param sourcePrefix     Source Directory or Key Prefix
+     * @param target           Target Client
+     * @param targetPrefix     Target Directory or Key Prefix
+     * @param deleteExtraneous Delete Target Files Missing From the Source
+     * @return Copied Files, Plus Skipped and Deleted Counts
+     * @throws IOException A Listing Failed or Was Not Sorted, or Interrupted While Waiting for Workers
+     */
+    public TransferResult sync(BasicFileSystemClient source, String sourcePrefix, BasicFileSystemClient target,
+                               String targetPrefix, boolean deleteExtraneous) throws IOException {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Invalid File System Client");
+        } else if (StringUtils.isAnyBlank(sourcePrefix, targetPrefix)) {
+            throw new IllegalArgumentException("Invalid Remote Prefix");
+        }
+        return sync(SyncSide.of(source, sourcePrefix), SyncSide.of(target, targetPrefix), deleteExtraneous);
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+
+    private TransferResult sync(SyncSide source, SyncSide target, boolean deleteExtraneous) throws IOException {
+        TransferResult result = new TransferResult();
+        Batch batch = new Batch();
+        List<String> extraneous = new ArrayList<>();
+        try (Stream<SyncSide.Entry> sourceStream = source.entries();
+             Stream<SyncSide.Entry> targetStream = target.entries()) {
+            Iterator<SyncSide.Entry> sourceEntries = sourceStream.iterator();
+            Iterator<SyncSide.Entry> targetEntries = targetStream.iterator();
+            SyncSide.Entry from = sourceEntries.hasNext() ? sourceEntries.next() : null;
+            SyncSide.Entry to = targetEntries.hasNext() ? targetEntries.next() : null;
+            while (from != null || to != null) {
+                int order = from == null ? 1 : to == null ? -1 : from.getPath().compareTo(to.getPath());
+                if (order <= 0) {
+                    if (from.changedFrom(order == 0 ? to : null)) {
+                        submitCopy(batch, source, target, from, result);
+                    } else {
+                        result.skipped();
+                    }
+                    from = sourceEntries.hasNext() ? sourceEntries.next() : null;
+                }
+                if (order >= 0) {
+                    if (order > 0 && deleteExtraneous) {
+                        extraneous.add(to.getPath());
+                    }
+                    to = targetEntries.hasNext() ? targetEntries.next() : null;
+                }
+            }
+            for (String path : extraneous) {
+                batch.submit(() -> deleteFile(target, path, result));
+            }
+        } catch (UncheckedIOException uioe) {
+            throw uioe.getCause();
+        } finally {
+            batch.await();
+        }
+        log.info("Sync [{}] to [{}]: {}", source.locate(""), target.locate(""), result);
+        return result;
+    }
+
+    private static void submitCopy(Batch batch, SyncSide source, SyncSide target, SyncSide.Entry entry,
+                                   TransferResult result) throws IOException {
+        String from = source.locate(entry.getPath());
+        String to = target.locate(entry.getPath());
+        try {
+            target.prepare(entry.getPath());
+        } catch (Exception err) {
+            log.warn("Prepare Sync Target [{}] Failed: {}", to, err.getMessage());
+            result.failure(from, to, err);
+            return;
+        }
+        batch.submit(() -> {
+            try {
+                result.success(from, to, target.copyFrom(source, entry));
+            } catch (Exception err) {
+                log.warn("Sync [{}] to [{}] Failed: {}", from, to, err.getMessage());
+                result.failure(from, to, err);
+            }
+        });
+    }
+
+    private static void deleteFile(SyncSide target, String relative, TransferResult result) {
+        try {
+            target.delete(relative);
+            result.deleted();
+        } catch (Exception err) {
+            log.warn("Delete Extraneous [{}] Failed: {}", target.locate(relative), err.getMessage());
+            result.failure(null, target.locate(relative), err);
+        }
+    }
+
+    private static void uploadFile(BasicFileSystemClient client, File file, String remote, TransferResult result) {
+        try {
+            long size = file.length();
+            if (client.upload(remote, file) == null) {
+                result.failure(file.getPath(), remote, new IOException("Upload Returned No Destination"));
+            } else {
+                result.success(file.getPath(), remote, size);
+            }
+        } catch (Exception err) {
+            log.warn("Upload [{}] to [{}] Failed: {}", file, remote, err.getMessage());
+            result.failure(file.getPath(), remote, err);
+        }
+    }
+
+    private static void downloadFile(BasicFileSystemClient client, String remote, File target,
+                                     TransferResult result) {
+        try {
+            FileUtils.forceMkdirParent(target);
+            if (Boolean.TRUE.equals(client.download(remote, target))) {
+                result.success(remote, target.getPath(), target.length());
+            } else {
+                result.failure(remote, target.getPath(), new IOException("Download Returned False"));
+            }
+        } catch (Exception err) {
+            log.warn("Download [{}] to [{}] Failed: {}", remote, target, err.getMessage());
+            result.failure(remote, target.getPath(), err);
+        }
+    }
+
+    private static boolean createDirectory(BasicFileSystemClient client, String remoteDir, TransferResult result) {
+        try {
+            if (!client.exist(remoteDir)) {
+                client.mkdir(remoteDir);
+            }
+            return true;
+        } catch (Exception err) {
+            log.warn("Create Remote Directory [{}] Failed: {}", remoteDir, err.getMessage());
+            result.failure(null, remoteDir, err);
+            return false;
+        }
+    }
+
+    static boolean needsDirectories(FileSystemType type) {
+        return type != FileSystemType.S3 && type != FileSystemType.OSS;
+    }
+
+    private static String normalizePrefix(String prefix) {
+        if (StringUtils.isEmpty(prefix)) {
+            return "";
+        }
+        return prefix.endsWith("/") ? prefix : prefix + "/";
+    }
+
+    private static String remotePath(String prefix, Path relative) {
+        String path = relative.toString().replace(File.separatorChar, '/');
+        return path.isEmpty() ? trimSlash(prefix) : prefix + path;
+    }
+
+    static String normalizeSeparator(String path, BasicFileSystemClient client) {
+        return path != null && client.getFileSystemType() == FileSystemType.LOCAL
+                ? path.replace(File.separatorChar, '/') : path;
+    }
+
+    static String trimSlash(String path) {
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    /**
+     * Listings Return Either Full Paths / Keys (Local, S3, OSS) or Bare Names (SFTP, HDFS)
+     */
+    static String resolve(String dir, String name) {
+        if (StringUtils.isEmpty(name)) {
+            return null;
+        }
+        String base = dir.isEmpty() || dir.endsWith("/") ? dir : dir + "/";
+        if (name.startsWith(base) && name.length() > base.length()) {
+            return name;
+        }
+        return trimSlash(name).equals(dir) ? null : base + name;
+    }
+
+    /**
+     * Remote Names Are Untrusted: a Key Such as "a/../../x" Must Not Escape the Local Directory
+     *
+     * @param localRoot Absolute, Normalized Local Directory
+     * @return Local File, Null When relative Resolves Outside of localRoot
+     */
+    static File localTarget(Path localRoot, String relative) {
+        Path target = localRoot.resolve(relative.replace('/', File.separatorChar)).normalize();
+        return target.startsWith(localRoot) && !target.equals(localRoot) ? target.toFile() : null;
+    }
+
+    static String relative(String root, String path) {
+        String base = root.isEmpty() || root.endsWith("/") ? root : root + "/";
+        return path.startsWith(base) ? path.substring(base.length()) : path;
+    }
+
+
+    /**
+     * Transfers of One Call: Submission Blocks While maxOutstanding Are in Flight, await Waits for All
+     */
+    private final class Batch {
+
+        private final Semaphore permits = new Semaphore(maxOutstanding);
+
+        private void submit(Runnable transfer) throws IOException {
+            acquire(1);
+            try {
+                executor.execute(() -> {
+                    try {
+                        transfer.run();
+                    } finally {
+                        this.permits.release();
+                    }
+                });
+            } catch (RuntimeException err) {
+                this.permits.release();
+                throw err;
+            }
+        }
+
+        private void await() throws IOException {
+            acquire(maxOutstanding);
+            this.permits.release(maxOutstanding);
+        }
+
+        private void acquire(int count) throws IOException {
+            try {
+                this.permits.acquire(count);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Directory Transfer Interrupted", ie);
+            }
+        }
+    }
+}
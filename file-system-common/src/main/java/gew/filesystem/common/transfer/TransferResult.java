@@ -0,0 +1,154 @@
+package gew.filesystem.common.transfer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of a Directory Transfer or Sync, One Entry per File Copied (or per Directory That Could Not Be Walked)
+ *
+ * @author Jason/GeW
+ * @since  2024-03-22
+ */
+public class TransferResult {
+
+    private final List<FileTransfer> transfers = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicInteger succeeded = new AtomicInteger();
+
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    private final AtomicInteger deleted = new AtomicInteger();
+
+
+    void success(String source, String destination, long size) {
+        this.transfers.add(new FileTransfer(source, destination, size, null));
+        this.succeeded.incrementAndGet();
+        this.bytes.addAndGet(size);
+    }
+
+    void failure(String source, String destination, Exception error) {
+        this.transfers.add(new FileTransfer(source, destination, 0L, error));
+        this.failed.incrementAndGet();
+    }
+
+    void skipped() {
+        this.skipped.incrementAndGet();
+    }
+
+    void deleted() {
+        this.deleted.incrementAndGet();
+    }
+
+    public int getSucceeded() {
+        return succeeded.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * @return Files a Sync Left Alone Because the Target Was Already Up to Date
+     */
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * @return Extraneous Target Files Removed by a Sync
+     */
+    public int getDeleted() {
+        return deleted.get();
+    }
+
+    public boolean isSuccess() {
+        return failed.get() == 0;
+    }
+
+    /**
+     * @return Snapshot of Every File Transfer, in Completion Order
+     */
+    public List<FileTransfer> getTransfers() {
+        synchronized (this.transfers) {
+            return new ArrayList<>(this.transfers);
+        }
+    }
+
+    public List<FileTransfer> getFailures() {
+        synchronized (this.transfers) {
+            return this.transfers.stream().filter(t -> !t.isSuccess()).collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TransferResult{" +
+                "succeeded=" + succeeded +
+                ", failed=" + failed +
+                ", bytes=" + bytes +
+                ", skipped=" + skipped +
+                ", deleted=" + deleted +
+                '}';
+    }
+
+
+    public static final class FileTransfer {
+
+        private final String source;
+
+        private final String destination;
+
+        private final long bytes;
+
+        private final Exception error;
+
+        private FileTransfer(String source, String destination, long bytes, Exception error) {
+            this.source = source;
+            this.destination = destination;
+            this.bytes = bytes;
+            this.error = error;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public String getDestination() {
+            return destination;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public Exception getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            return "FileTransfer{" +
+                    "source='" + source + '\'' +
+                    ", destination='" + destination + '\'' +
+                    ", bytes=" + bytes +
+                    (error == null ? "" : ", error=" + error.getMessage()) +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package gew.filesystem.common.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Helpers for Splitting Bulk Operations into Batches and Running Them on a Bounded, Per-Call Pool
+ *
+ * @author Jason/GeW
+ * @since  2024-03-14
+ */
+public final class BatchUtil {
+
+    private BatchUtil() {
+        // Utility Class
+    }
+
+    /**
+     * Split Items into Consecutive Batches
+     *
+     * @param items     Items, Order Is Preserved
+     * @param batchSize Max Items per Batch
+     * @param <T>       Item Type
+     * @return Batches, Views of the Given List
+     */
+    public static <T> List<List<T>> partition(List<T> items, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Invalid Batch Size");
+        }
+        if (items == null || items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<List<T>> batches = new ArrayList<>((items.size() + batchSize - 1) / batchSize);
+        for (int from = 0; from < items.size(); from += batchSize) {
+            batches.add(items.subList(from, Math.min(items.size(), from + batchSize)));
+        }
+        return batches;
+    }
+
+    /**
+     * Run Tasks with at Most {@code parallelism} in Flight, Results Returned in Task Order.
+     * A single task, or parallelism 1, runs on the caller thread without creating a pool.
+     * On the first failure, in completion order, the queued tasks are dropped and the running ones interrupted, and the call waits for
+     * them to stop before it throws, so no task is still running once the caller sees the failure. Work that
+     * completed before then is not rolled back.
+     *
+     * @param tasks        Tasks
+     * @param parallelism  Max Concurrent Tasks
+     * @param threadPrefix Worker Thread Name Prefix
+     * @param <T>          Result Type
+     * @return Task Results
+     * @throws IOException First Task Failure, Remaining Tasks Are Cancelled and Have Stopped
+     */
+    public static <T> List<T> invokeAll(List<Callable<T>> tasks, int parallelism, String threadPrefix)
+            throws IOException {
+        if (tasks == null || tasks.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<T> results = new ArrayList<>(tasks.size());
+        if (tasks.size() == 1 || parallelism <= 1) {
+            for (Callable<T> task : tasks) {
+                results.add(call(task));
+            }
+            return results;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()), runnable -> {
+            Thread thread = new Thread(runnable, threadPrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+            List<Future<T>> futures = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                futures.add(completion.submit(task));
+            }
+            // Completion Order, a Failure Is Seen as Soon as It Happens Rather Than After the Tasks Before It
+            for (int i = 0; i < futures.size(); i++) {
+                completion.take().get();
+            }
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch Operation Interrupted", ie);
+        } catch (ExecutionException ee) {
+            throw rethrow(ee.getCause());
+        } finally {
+            shutdown(executor);
+        }
+    }
+
+    /**
+     * Interrupt the Workers and Wait for Them to Exit, Even if the Caller Was Interrupted; a Second Interrupt
+     * While Waiting Stops the Wait
+     */
+    private static void shutdown(ExecutorService executor) {
+        executor.shutdownNow();
+        boolean interrupted = Thread.interrupted();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ie) {
+            interrupted = true;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static <T> T call(Callable<T> task) throws IOException {
+        try {
+            return task.call();
+        } catch (Exception err) {
+            throw rethrow(err);
+        }
+    }
+
+    private static IOException rethrow(Throwable err) {
+        if (err instanceof IOException) {
+            return (IOException) err;
+        } else if (err instanceof RuntimeException) {
+            throw (RuntimeException) err;
+        } else if (err instanceof Error) {
+            throw (Error) err;
+        }
+        return new IOException(err.getMessage(), err);
+    }
+}
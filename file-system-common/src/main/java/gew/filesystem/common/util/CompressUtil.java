@@ -3,7 +3,16 @@ package gew.filesystem.common.util;
 import gew.filesystem.common.model.CompressMethod;
 import gew.filesystem.common.model.FileOperation;
 import gew.filesystem.common.model.ObjectProperty;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
 import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+import net.jpountz.xxhash.XXHashFactory;
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
 import org.apache.commons.compress.archivers.ArchiveOutputStream;
@@ -12,33 +21,53 @@ import org.apache.commons.compress.archivers.sevenz.SevenZFile;
 import org.apache.commons.compress.archivers.sevenz.SevenZFileOptions;
 import org.apache.commons.compress.archivers.sevenz.SevenZOutputFile;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.compressors.CompressorInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.compress.parallel.FileBasedScatterGatherBackingStore;
+import org.apache.commons.compress.parallel.ScatterGatherBackingStore;
+import org.apache.commons.compress.parallel.ScatterGatherBackingStoreSupplier;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.Deflater;
@@ -67,6 +96,26 @@ public class CompressUtil {
 
     private static Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
 
+    private static int GZIP_PARALLELISM = 1;
+
+    private static int GZIP_BLOCK_SIZE = ParallelGzipOutputStream.DEFAULT_BLOCK_SIZE;
+
+    private static int ZIP_PARALLELISM = 1;
+
+    private static boolean ZIP_SCATTER_IN_MEMORY = false;
+
+    private static Path ZIP_SCATTER_DIR = null;
+
+    private static int ZSTD_LEVEL = Zstd.defaultCompressionLevel();
+
+    private static int ZSTD_WORKERS = 0;
+
+    private static int LZ4_LEVEL = 0;
+
+    private static final AtomicInteger ZIP_POOL_SEQUENCE = new AtomicInteger();
+
+    private static final AtomicInteger COMPRESS_SEQUENCE = new AtomicInteger();
+
 
     private CompressUtil() {
         // Static Class, Private Constructor
@@ -93,6 +142,74 @@ public class CompressUtil {
         return objects;
     }
 
+    /**
+     * List a ZIP Stored on Any File System, Fetching Only the End of Central Directory and the Central Directory
+     *
+     * @param client File System Client Holding the Archive
+     * @param path   Archive Path / Key
+     * @return Entries in Central Directory Order
+     */
+    public static List<ObjectProperty> listPath(BasicFileSystemClient client, String path) throws IOException {
+        checkRemoteParameter(client, path);
+        return RemoteZipFile.open(client, path).entries().stream()
+                .map(entry -> {
+                    ObjectProperty property = new ObjectProperty(entry.getName(), entry.isDirectory(),
+                            entry.getSize());
+                    property.setLastModified(entry.getLastModified());
+                    return property;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Open One Entry of a ZIP Stored on Any File System, Fetching Only the Directory and That Entry's Bytes
+     *
+     * @param client    File System Client Holding the Archive
+     * @param path      Archive Path / Key
+     * @param entryName Entry Name as Listed by {@link #listPath(BasicFileSystemClient, String)}
+     * @return Uncompressed Content, CRC Checked at EOF, Must Be Closed by the Caller
+     * @throws IOException Entry Not Found, Unsupported Compression or Read Failed
+     */
+    public static InputStream openEntry(BasicFileSystemClient client, String path, String entryName)
+            throws IOException {
+        checkRemoteParameter(client, path);
+        if (StringUtils.isBlank(entryName)) {
+            throw new IllegalArgumentException("Invalid Entry Name");
+        }
+        RemoteZipFile zip = RemoteZipFile.open(client, path);
+        RemoteZipFile.Entry entry = zip.getEntry(entryName);
+        if (entry == null) {
+            throw new IOException("Entry [" + entryName + "] Not Found in [" + path + "]");
+        } else if (entry.isDirectory()) {
+            throw new IOException("Entry [" + entryName + "] Is a Directory");
+        }
+        return zip.openStream(entry);
+    }
+
+    /**
+     * Extract One Entry of a ZIP Stored on Any File System
+     *
+     * @param dest Target File, or an Existing Directory to Extract Into Under the Entry's File Name
+     * @see #openEntry(BasicFileSystemClient, String, String)
+     */
+    public static boolean unZipEntry(BasicFileSystemClient client, String path, String entryName, Path dest)
+            throws IOException {
+        if (dest == null) {
+            throw new IllegalArgumentException("Invalid Destination Path");
+        }
+        try (InputStream in = openEntry(client, path, entryName)) {
+            Path target = Files.isDirectory(dest)
+                    ? dest.resolve(Paths.get(entryName).getFileName().toString())
+                    : dest;
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            long bytes = Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            log.debug("Extract [{}] From [{}] to [{}]: {} Bytes", entryName, path, target, bytes);
+        }
+        return true;
+    }
+
 
     public static boolean zip(final Path src, final Path dest, FileOperation... operations) throws IOException {
         checkParameter(dest);
@@ -115,19 +232,25 @@ public class CompressUtil {
     public static boolean tarAndGzip(final Path src, final Path dest, FileOperation... operations) throws IOException {
         checkParameter(dest);
         String suffix = AUTO_SUFFIX && !dest.toString().toLowerCase().endsWith(".tar.gz") ? ".tar.gz" : "";
-        Path temp = Paths.get(dest + ".tmp");
-        boolean tarStatus = compress(src, temp, CompressMethod.TAR, operations);
-        if (tarStatus) {
-            boolean gzipStatus = gzip(temp, Paths.get(dest + suffix), operations);
-            if (gzipStatus) {
-                Files.delete(temp);
-                return true;
-            } else {
-                return false;
-            }
-        } else {
-            return false;
-        }
+        return compress(src, Paths.get(dest + suffix), CompressMethod.TAR_GZIP, operations);
+    }
+
+    public static boolean zstd(final Path src, final Path dest, FileOperation... operations) throws IOException {
+        checkParameter(dest);
+        String suffix = AUTO_SUFFIX && !dest.toString().toLowerCase().endsWith(".zst") ? ".zst" : "";
+        return compress(src, Paths.get(dest + suffix), CompressMethod.ZSTD, operations);
+    }
+
+    public static boolean lz4(final Path src, final Path dest, FileOperation... operations) throws IOException {
+        checkParameter(dest);
+        String suffix = AUTO_SUFFIX && !dest.toString().toLowerCase().endsWith(".lz4") ? ".lz4" : "";
+        return compress(src, Paths.get(dest + suffix), CompressMethod.LZ4, operations);
+    }
+
+    public static boolean tarAndZstd(final Path src, final Path dest, FileOperation... operations) throws IOException {
+        checkParameter(dest);
+        String suffix = AUTO_SUFFIX && !dest.toString().toLowerCase().endsWith(".tar.zst") ? ".tar.zst" : "";
+        return compress(src, Paths.get(dest + suffix), CompressMethod.TAR_ZSTD, operations);
     }
 
     public static boolean sevenZ(final Path src, final Path dest, FileOperation... operations) throws IOException {
@@ -158,26 +281,24 @@ public class CompressUtil {
         }
         boolean status = false;
         switch (method) {
-            case ZIP: {
-                try (ZipArchiveOutputStream archive = new ZipArchiveOutputStream(
-                        Files.newOutputStream(dest, openOption))) {
-                    archive.setLevel(DEFAULT_COMPRESS_LVL);
+            case _7Z: {
+                try (SevenZOutputFile szo = new SevenZOutputFile(dest.toFile())) {
                     if (Files.isDirectory(src)) {
-                        status = compressDir(src, Paths.get(src.getFileName().toString()), archive, CompressMethod.ZIP);
+                        status = compress7zDir(src, Paths.get(src.getFileName().toString()), szo);
                     } else {
-                        status = compressFile(src, src.getFileName(), archive, CompressMethod.ZIP, false);
+                        status = compress7zFile(src, src.getFileName(), szo, false);
                     }
+                    szo.closeArchiveEntry();
                     return status;
 
-                } catch (Exception err) {
+                }  catch (Exception err) {
                     deleteOnFail(dest, !destExistence, DELETE_ON_FAILED, !status);
                     throw err;
                 }
             }
-            case GZIP: {
-                try (GzipCompressorOutputStream archive = new GzipCompressorOutputStream(
-                        Files.newOutputStream(dest, openOption))) {
-                    status = compressGzip(src, dest, archive);
+            default: {
+                try (OutputStream out = Files.newOutputStream(dest, openOption)) {
+                    status = writeArchive(src, out, method);
                     return status;
 
                 } catch (Exception err) {
@@ -185,34 +306,113 @@ public class CompressUtil {
                     throw err;
                 }
             }
-            case TAR: {
-                try (TarArchiveOutputStream archive = new TarArchiveOutputStream(
-                        Files.newOutputStream(dest, openOption))) {
-                    if (Files.isDirectory(src)) {
-                        status = compressDir(src, Paths.get(src.getFileName().toString()), archive, CompressMethod.TAR);
-                    } else {
-                        status = compressFile(src, src.getFileName(), archive, CompressMethod.TAR, false);
-                    }
-                    return status;
+        }
+    }
 
-                } catch (Exception err) {
-                    deleteOnFail(dest, !destExistence, DELETE_ON_FAILED, !status);
-                    throw err;
+    /**
+     * Compress Straight Into a Remote Destination, No Archive Is Written to Local Disk.
+     * <p>
+     * The archive is written by a compressor thread into a bounded ring of buffers that the caller thread
+     * uploads from with {@code client.upload(destination, in)}, so compression and transfer overlap and at most
+     * {@link CopyUtil#DEFAULT_BUFFER_COUNT} x {@link CopyUtil#DEFAULT_BUFFER_SIZE} bytes are buffered. A failed
+     * compression fails the upload instead of leaving a truncated archive. 7z needs a seekable target and
+     * is not supported.
+     *
+     * @param src         Local File or Directory
+     * @param client      Destination Client
+     * @param destination Remote Path / Key of the Archive, Overwritten
+     * @param method      Any Method but 7z
+     * @return Upload Result
+     * @throws IOException Compression or Upload Failed
+     */
+    public static boolean compress(final Path src, final BasicFileSystemClient client, final String destination,
+                                   final CompressMethod method) throws IOException {
+        checkParameter(src);
+        if (client == null) {
+            throw new IllegalArgumentException("Invalid File System Client");
+        } else if (StringUtils.isBlank(destination)) {
+            throw new IllegalArgumentException("Invalid Destination");
+        } else if (method == null || method == CompressMethod._7Z) {
+            throw new IllegalArgumentException("Unsupported Compress Method");
+        } else if (!Files.exists(src)) {
+            throw new IllegalArgumentException("Invalid Source File Path");
+        }
+        RingBufferPipe pipe = new RingBufferPipe(CopyUtil.DEFAULT_BUFFER_SIZE, CopyUtil.DEFAULT_BUFFER_COUNT);
+        Thread compressor = new Thread(() -> {
+            try {
+                // The Archive Stream Must Not Close the Pipe: on Failure That Would Look Like a Complete Archive
+                writeArchive(src, CloseShieldOutputStream.wrap(pipe.sink()), method);
+                pipe.sink().close();
+            } catch (Exception err) {
+                log.warn("{} [{}] for Upload Failed: {}", method, src.getFileName(), err.getMessage());
+                pipe.fail(err);
+            }
+        }, "fs-compress-" + COMPRESS_SEQUENCE.incrementAndGet());
+        compressor.setDaemon(true);
+        compressor.start();
+        try (InputStream in = pipe.source()) {
+            Boolean uploaded = client.upload(destination, in);
+            if (pipe.getError() != null) {
+                throw pipe.getError();
+            }
+            log.debug("{} [{}] to [{}] on {} Finished: {}", method, src.getFileName(), destination,
+                    client.getFileSystemType(), uploaded);
+            return Boolean.TRUE.equals(uploaded);
+
+        } catch (IOException | RuntimeException err) {
+            IOException compressError = pipe.getError();
+            if (compressError != null && err != compressError) {
+                compressError.addSuppressed(err);
+                throw compressError;
+            }
+            throw err;
+        } finally {
+            compressor.interrupt();
+        }
+    }
+
+    /**
+     * Write an Archive of src Into out With Any Method but 7z, Closing out
+     */
+    private static boolean writeArchive(Path src, OutputStream out, CompressMethod method) throws IOException {
+        switch (method) {
+            case ZIP: {
+                try (ZipArchiveOutputStream archive = new ZipArchiveOutputStream(out)) {
+                    archive.setLevel(DEFAULT_COMPRESS_LVL);
+                    if (ZIP_PARALLELISM > 1) {
+                        return compressZipParallel(src, archive);
+                    } else if (Files.isDirectory(src)) {
+                        return compressDir(src, Paths.get(src.getFileName().toString()), archive, CompressMethod.ZIP);
+                    }
+                    return compressFile(src, src.getFileName(), archive, CompressMethod.ZIP, false);
                 }
             }
-            case _7Z: {
-                try (SevenZOutputFile szo = new SevenZOutputFile(dest.toFile())) {
+            case GZIP: {
+                try (OutputStream archive = gzipStream(out)) {
+                    return compressStream(src, archive);
+                }
+            }
+            case ZSTD: {
+                try (OutputStream archive = zstdStream(out)) {
+                    return compressStream(src, archive);
+                }
+            }
+            case LZ4: {
+                try (OutputStream archive = lz4Stream(out)) {
+                    return compressStream(src, archive);
+                }
+            }
+            case TAR:
+            case TAR_GZIP:
+            case TAR_ZSTD: {
+                // Compressed Tars Are One Pass: Entries Stream Straight Into the Compressor, No Intermediate Tar
+                OutputStream stream = method == CompressMethod.TAR_GZIP ? gzipStream(out)
+                        : method == CompressMethod.TAR_ZSTD ? zstdStream(out) : out;
+                try (TarArchiveOutputStream archive = new TarArchiveOutputStream(stream)) {
                     if (Files.isDirectory(src)) {
-                        status = compress7zDir(src, Paths.get(src.getFileName().toString()), szo);
-                    } else {
-                        status = compress7zFile(src, src.getFileName(), szo, false);
+                        return compressDir(src, Paths.get(src.getFileName().toString()), archive, CompressMethod.TAR);
                     }
-                    szo.closeArchiveEntry();
-                    return status;
-
-                }  catch (Exception err) {
-                    deleteOnFail(dest, !destExistence, DELETE_ON_FAILED, !status);
-                    throw err;
+                    return compressFile(src, src.getFileName(), archive, CompressMethod.TAR, false);
                 }
             }
             default:
@@ -286,16 +486,120 @@ public class CompressUtil {
         return true;
     }
 
-    private static boolean compressGzip(Path src, Path entryPath, GzipCompressorOutputStream gos) throws IOException {
-        if (entryPath == null) {
-            throw new IllegalArgumentException("Invalid Entry File Path");
+    /**
+     * Scatter/Gather Zip: Entries Are Deflated Concurrently by ZIP_PARALLELISM Workers, Each Into Its Own Scatter
+     * Store (In Memory or a Temp File), Then Copied Into the Archive Without Being Deflated Again.
+     * Entry names and empty directory entries follow {@link #compressDir}.
+     */
+    private static boolean compressZipParallel(Path src, ZipArchiveOutputStream archive) throws IOException {
+        String prefix = "fs-zip-" + ZIP_POOL_SEQUENCE.incrementAndGet() + "-";
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(ZIP_PARALLELISM, runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScatterGatherBackingStoreSupplier supplier = ZIP_SCATTER_IN_MEMORY ? InMemoryScatterStore::new
+                : () -> new FileBasedScatterGatherBackingStore(ZIP_SCATTER_DIR == null
+                ? Files.createTempFile("fs-zip-scatter", ".tmp")
+                : Files.createTempFile(ZIP_SCATTER_DIR, "fs-zip-scatter", ".tmp"));
+        try {
+            ParallelScatterZipCreator creator = new ParallelScatterZipCreator(executor, supplier,
+                    DEFAULT_COMPRESS_LVL);
+            Path base = Files.isDirectory(src) ? src : src.getParent();
+            String root = Files.isDirectory(src) ? src.getFileName().toString() + "/" : "";
+            Files.walkFileTree(src, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    try (DirectoryStream<Path> children = Files.newDirectoryStream(dir)) {
+                        if (!children.iterator().hasNext()) {
+                            ZipArchiveEntry entry = new ZipArchiveEntry(entryName(root, base, dir) + "/");
+                            entry.setTime(attrs.lastModifiedTime().toMillis());
+                            entry.setMethod(ZipEntry.STORED);
+                            creator.addArchiveEntry(entry, () -> new ByteArrayInputStream(new byte[0]));
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    ZipArchiveEntry entry = new ZipArchiveEntry(entryName(root, base, file));
+                    entry.setTime(attrs.lastModifiedTime().toMillis());
+                    entry.setMethod(ZipEntry.DEFLATED);
+                    creator.addArchiveEntry(entry, () -> {
+                        try {
+                            return new BufferedInputStream(Files.newInputStream(file));
+                        } catch (IOException ioe) {
+                            throw new UncheckedIOException(ioe);
+                        }
+                    });
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            creator.writeTo(archive);
+            log.debug("Parallel Zip [{}] Success: {}", src.getFileName(), creator.getStatisticsMessage());
+            return true;
+
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Parallel Zip Interrupted");
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause() instanceof UncheckedIOException ? ee.getCause().getCause() : ee.getCause();
+            throw cause instanceof IOException ? (IOException) cause
+                    : new IOException("Parallel Zip Failed: " + cause.getMessage(), cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String entryName(String root, Path base, Path path) {
+        String name = root + base.relativize(path).toString().replace(File.separatorChar, '/');
+        return name.endsWith("/") ? name.substring(0, name.length() - 1) : name;
+    }
+
+    /**
+     * GZip Writer for Compression: Single Threaded, or Block-Parallel When GZip Parallelism Is Above 1.
+     * The parallel stream deflates at the default compress level, the single threaded one at zlib's default.
+     */
+    private static OutputStream gzipStream(OutputStream out) throws IOException {
+        if (GZIP_PARALLELISM > 1) {
+            return new ParallelGzipOutputStream(out, DEFAULT_COMPRESS_LVL, GZIP_PARALLELISM, GZIP_BLOCK_SIZE);
+        }
+        return new GzipCompressorOutputStream(out);
+    }
+
+    /**
+     * Zstd Writer at the Zstd Level, Multi-Threaded in the Native Library When Zstd Workers Is Above 0
+     */
+    private static OutputStream zstdStream(OutputStream out) throws IOException {
+        ZstdOutputStream zstd = new ZstdOutputStream(out, ZSTD_LEVEL);
+        if (ZSTD_WORKERS > 0) {
+            zstd.setWorkers(ZSTD_WORKERS);
         }
+        return zstd;
+    }
+
+    /**
+     * LZ4 Frame Writer, Fast Compressor at Level 0, High Compression (HC) Compressor at Levels 1 to 17
+     */
+    private static OutputStream lz4Stream(OutputStream out) throws IOException {
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        LZ4Compressor compressor = LZ4_LEVEL == 0 ? factory.fastCompressor() : factory.highCompressor(LZ4_LEVEL);
+        return new LZ4FrameOutputStream(out, LZ4FrameOutputStream.BLOCKSIZE.SIZE_4MB, -1L, compressor,
+                XXHashFactory.fastestInstance().hash32(), LZ4FrameOutputStream.FLG.Bits.BLOCK_INDEPENDENCE);
+    }
+
+    /**
+     * Copy a Single File Into a Stream Compressor (GZip, Zstd, LZ4)
+     */
+    private static boolean compressStream(Path src, OutputStream gos) throws IOException {
         if (Files.isDirectory(src)) {
             throw new IllegalArgumentException("Source Path is a Directory");
         } else {
             try (BufferedInputStream bis = new BufferedInputStream(Files.newInputStream(src, StandardOpenOption.READ))) {
                 long bytes = IOUtils.copyLarge(bis, gos);
-                log.debug("GZip File [{}] Success {} Bytes copied", src.getFileName().toString(), bytes);
+                log.debug("Compress File [{}] Success {} Bytes copied", src.getFileName().toString(), bytes);
             }
         }
         return true;
@@ -356,6 +660,24 @@ public class CompressUtil {
         return decompress(src, dest, CompressMethod.GZIP, operations);
     }
 
+    public static boolean unTarAndGzip(final Path src, final Path dest, FileOperation... operations)
+            throws IOException {
+        return decompress(src, dest, CompressMethod.TAR_GZIP, operations);
+    }
+
+    public static boolean unZstd(final Path src, final Path dest, FileOperation... operations) throws IOException {
+        return decompress(src, dest, CompressMethod.ZSTD, operations);
+    }
+
+    public static boolean unLz4(final Path src, final Path dest, FileOperation... operations) throws IOException {
+        return decompress(src, dest, CompressMethod.LZ4, operations);
+    }
+
+    public static boolean unTarAndZstd(final Path src, final Path dest, FileOperation... operations)
+            throws IOException {
+        return decompress(src, dest, CompressMethod.TAR_ZSTD, operations);
+    }
+
     public static boolean unSevenZ(final Path src, final Path dest, FileOperation... operations) throws IOException {
         return decompress(src, dest, CompressMethod._7Z, operations);
     }
@@ -403,6 +725,45 @@ public class CompressUtil {
                 }
                 break;
             }
+            case TAR_GZIP: {
+                try (TarArchiveInputStream archive = new TarArchiveInputStream(new GzipCompressorInputStream(
+                        new BufferedInputStream(Files.newInputStream(src, StandardOpenOption.READ))))) {
+                    status = extractTar(dest, archive);
+
+                } catch (Exception err) {
+                    log.error("Decompress Tar GZip File [{}] to [{}] Failed: {}", src.getFileName(), dest.toString(),
+                            err.getMessage());
+                    throw err;
+                }
+                break;
+            }
+            case ZSTD:
+            case LZ4: {
+                InputStream in = new BufferedInputStream(Files.newInputStream(src, StandardOpenOption.READ));
+                try (InputStream archive = method == CompressMethod.ZSTD ? new ZstdInputStream(in)
+                        : new LZ4FrameInputStream(in)) {
+                    status = decompressStream(dest, archive);
+
+                } catch (Exception err) {
+                    in.close();
+                    log.error("Decompress {} File [{}] to [{}] Failed: {}", method, src.getFileName(),
+                            dest.toString(), err.getMessage());
+                    throw err;
+                }
+                break;
+            }
+            case TAR_ZSTD: {
+                try (TarArchiveInputStream archive = new TarArchiveInputStream(new ZstdInputStream(
+                        new BufferedInputStream(Files.newInputStream(src, StandardOpenOption.READ))))) {
+                    status = extractTar(dest, archive);
+
+                } catch (Exception err) {
+                    log.error("Decompress Tar Zstd File [{}] to [{}] Failed: {}", src.getFileName(), dest.toString(),
+                            err.getMessage());
+                    throw err;
+                }
+                break;
+            }
             case _7Z: {
                 try (SevenZFile sevenZFile = new SevenZFile(src.toFile(), SevenZFileOptions.DEFAULT)) {
                     status = decompress7z(src, dest, sevenZFile, Files.isDirectory(dest));
@@ -455,7 +816,43 @@ public class CompressUtil {
     }
 
 
+    /**
+     * Extract a Tar Stream Into the Directory dest, Entries Resolving Outside of dest Are Rejected
+     */
+    private static boolean extractTar(Path dest, TarArchiveInputStream tis) throws IOException {
+        if (!Files.isDirectory(dest)) {
+            throw new IllegalArgumentException("Destination Path is Not a Directory");
+        }
+        Path root = dest.toAbsolutePath().normalize();
+        TarArchiveEntry entry;
+        while ((entry = tis.getNextEntry()) != null) {
+            Path target = root.resolve(entry.getName()).normalize();
+            if (!target.startsWith(root)) {
+                throw new IOException("Tar Entry [" + entry.getName() + "] Is Outside of the Destination");
+            }
+            if (entry.isDirectory()) {
+                Files.createDirectories(target);
+            } else if (entry.isFile()) {
+                Files.createDirectories(target.getParent());
+                try (OutputStream os = Files.newOutputStream(target)) {
+                    long bytes = IOUtils.copyLarge(tis, os);
+                    log.debug("Decompressed File [{}] Success, {} Bytes Copied", entry.getName(), bytes);
+                }
+            } else {
+                log.warn("Skip Tar Entry [{}], Not a Regular File or Directory", entry.getName());
+            }
+        }
+        return true;
+    }
+
     public static boolean decompressGzip(Path dest, CompressorInputStream ais) throws IOException {
+        return decompressStream(dest, ais);
+    }
+
+    /**
+     * Copy a Single-File Decompressor Stream (GZip, Zstd, LZ4) Into the Regular File dest
+     */
+    private static boolean decompressStream(Path dest, InputStream ais) throws IOException {
         if (ais == null) {
             throw new IllegalArgumentException("Invalid Archive InputStream");
         }
@@ -464,7 +861,7 @@ public class CompressUtil {
         }
         try (OutputStream os = Files.newOutputStream(dest, StandardOpenOption.CREATE)) {
             long bytes = IOUtils.copyLarge(ais, os);
-            log.debug("Decompressed GZip File [{}] Success, {} Bytes Copied", dest.getFileName(), bytes);
+            log.debug("Decompressed File [{}] Success, {} Bytes Copied", dest.getFileName(), bytes);
         }
         return true;
     }
@@ -526,6 +923,14 @@ public class CompressUtil {
         }
     }
 
+    private static void checkRemoteParameter(BasicFileSystemClient client, String path) {
+        if (client == null) {
+            throw new IllegalArgumentException("Invalid File System Client");
+        } else if (StringUtils.isBlank(path)) {
+            throw new IllegalArgumentException("Invalid Path");
+        }
+    }
+
     private static List<ObjectProperty> listPath(final Path path) throws IOException {
         try (Stream<Path> paths = Files.walk(path, 1)) {
             return paths.filter(p -> !p.equals(path))
@@ -598,6 +1003,110 @@ public class CompressUtil {
         DEFAULT_COMPRESS_LVL = defaultCompressLvl;
     }
 
+    public static int getGzipParallelism() {
+        return GZIP_PARALLELISM;
+    }
+
+    /**
+     * @param gzipParallelism Deflate Threads for GZip Compression, 1 Keeps the Single Threaded Stream
+     */
+    public static void setGzipParallelism(int gzipParallelism) {
+        if (gzipParallelism < 1) {
+            throw new IllegalArgumentException("Invalid GZip Parallelism");
+        }
+        GZIP_PARALLELISM = gzipParallelism;
+    }
+
+    public static int getGzipBlockSize() {
+        return GZIP_BLOCK_SIZE;
+    }
+
+    public static void setGzipBlockSize(int gzipBlockSize) {
+        if (gzipBlockSize < ParallelGzipOutputStream.DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Invalid GZip Block Size");
+        }
+        GZIP_BLOCK_SIZE = gzipBlockSize;
+    }
+
+    public static int getZipParallelism() {
+        return ZIP_PARALLELISM;
+    }
+
+    /**
+     * @param zipParallelism Deflate Workers for Zip Compression, 1 Keeps the Sequential Archive Stream
+     */
+    public static void setZipParallelism(int zipParallelism) {
+        if (zipParallelism < 1) {
+            throw new IllegalArgumentException("Invalid Zip Parallelism");
+        }
+        ZIP_PARALLELISM = zipParallelism;
+    }
+
+    public static boolean isZipScatterInMemory() {
+        return ZIP_SCATTER_IN_MEMORY;
+    }
+
+    /**
+     * @param zipScatterInMemory Hold Deflated Entries in Memory Until Gathered, Instead of in Temp Files.
+     *                           Faster, but Needs Heap for the Whole Compressed Archive.
+     */
+    public static void setZipScatterInMemory(boolean zipScatterInMemory) {
+        ZIP_SCATTER_IN_MEMORY = zipScatterInMemory;
+    }
+
+    public static Path getZipScatterDir() {
+        return ZIP_SCATTER_DIR;
+    }
+
+    /**
+     * @param zipScatterDir Directory for Scatter Temp Files, Null for the System Temp Directory
+     */
+    public static void setZipScatterDir(Path zipScatterDir) {
+        ZIP_SCATTER_DIR = zipScatterDir;
+    }
+
+    public static int getZstdLevel() {
+        return ZSTD_LEVEL;
+    }
+
+    /**
+     * @param zstdLevel Zstd Level, Negative Levels Trade Ratio for Speed, Default 3
+     */
+    public static void setZstdLevel(int zstdLevel) {
+        if (zstdLevel < Zstd.minCompressionLevel() || zstdLevel > Zstd.maxCompressionLevel()) {
+            throw new IllegalArgumentException("Invalid Zstd Level");
+        }
+        ZSTD_LEVEL = zstdLevel;
+    }
+
+    public static int getZstdWorkers() {
+        return ZSTD_WORKERS;
+    }
+
+    /**
+     * @param zstdWorkers Native Zstd Worker Threads, 0 Compresses on the Calling Thread
+     */
+    public static void setZstdWorkers(int zstdWorkers) {
+        if (zstdWorkers < 0) {
+            throw new IllegalArgumentException("Invalid Zstd Workers");
+        }
+        ZSTD_WORKERS = zstdWorkers;
+    }
+
+    public static int getLz4Level() {
+        return LZ4_LEVEL;
+    }
+
+    /**
+     * @param lz4Level 0 for the Fast Compressor, 1 to 17 for the High Compression Compressor
+     */
+    public static void setLz4Level(int lz4Level) {
+        if (lz4Level < 0 || lz4Level > 17) {
+            throw new IllegalArgumentException("Invalid LZ4 Level");
+        }
+        LZ4_LEVEL = lz4Level;
+    }
+
     public static boolean isOverwriteProtect() {
         return OVERWRITE_PROTECT;
     }
@@ -605,4 +1114,33 @@ public class CompressUtil {
     public static void setOverwriteProtect(boolean overwriteProtect) {
         OVERWRITE_PROTECT = overwriteProtect;
     }
+
+
+    /**
+     * Scatter Store Backed by a Growing Byte Array, Read Back Without Copying
+     */
+    private static final class InMemoryScatterStore implements ScatterGatherBackingStore {
+
+        private final UnsynchronizedByteArrayOutputStream buffer = UnsynchronizedByteArrayOutputStream.builder().get();
+
+        @Override
+        public InputStream getInputStream() {
+            return this.buffer.toInputStream();
+        }
+
+        @Override
+        public void writeOut(byte[] data, int offset, int length) {
+            this.buffer.write(data, offset, length);
+        }
+
+        @Override
+        public void closeForWriting() {
+            // Nothing to Flush
+        }
+
+        @Override
+        public void close() {
+            this.buffer.reset();
+        }
+    }
 }
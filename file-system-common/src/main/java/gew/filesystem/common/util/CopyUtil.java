@@ -0,0 +1,107 @@
+package gew.filesystem.common.util;
+
+import gew.filesystem.common.service.BasicFileSystemClient;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streaming Copy Between Any Two {@link BasicFileSystemClient}s, Nothing Touches Local Disk.
+ * <p>
+ * A pump thread reads {@code src.download(srcPath)} into a bounded ring of reusable buffers while the caller
+ * thread feeds the ring to {@code dst.upload(dstPath, in)}, so the read of one buffer overlaps the write of the
+ * previous ones and memory is capped at bufferCount x bufferSize whatever the object size. A read failure
+ * fails the upload (the destination sees an IOException instead of a short stream), an upload failure stops
+ * the pump.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-24
+ */
+@Slf4j
+public final class CopyUtil {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    public static final int DEFAULT_BUFFER_COUNT = 4;
+
+    private static final AtomicInteger PUMP_SEQUENCE = new AtomicInteger();
+
+    private CopyUtil() {
+        // Utility Class
+    }
+
+    /**
+     * Copy with {@link #DEFAULT_BUFFER_COUNT} Buffers of {@link #DEFAULT_BUFFER_SIZE} Bytes
+     *
+     * @see #copy(BasicFileSystemClient, String, BasicFileSystemClient, String, int, int)
+     */
+    public static long copy(BasicFileSystemClient src, String srcPath, BasicFileSystemClient dst, String dstPath)
+            throws IOException {
+        return copy(src, srcPath, dst, dstPath, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_COUNT);
+    }
+
+    /**
+     * @param src         Source Client
+     * @param srcPath     Source Path / Key
+     * @param dst         Destination Client
+     * @param dstPath     Destination Path / Key, Overwritten
+     * @param bufferSize  Bytes per Ring Buffer
+     * @param bufferCount Ring Buffers, at Least 2 for Reads and Writes to Overlap
+     * @return Bytes Copied
+     * @throws IOException Read or Upload Failed, or the Destination Reported Failure
+     */
+    public static long copy(BasicFileSystemClient src, String srcPath, BasicFileSystemClient dst, String dstPath,
+                            int bufferSize, int bufferCount) throws IOException {
+        if (src == null || dst == null) {
+            throw new IllegalArgumentException("Invalid File System Client");
+        } else if (StringUtils.isAnyBlank(srcPath, dstPath)) {
+            throw new IllegalArgumentException("Invalid Path");
+        } else if (bufferSize < 1 || bufferCount < 1) {
+            throw new IllegalArgumentException("Invalid Buffer Size or Count");
+        }
+        RingBufferPipe pipe = new RingBufferPipe(bufferSize, bufferCount);
+        Thread pump = new Thread(() -> pump(pipe, src, srcPath), "fs-copy-" + PUMP_SEQUENCE.incrementAndGet());
+        pump.setDaemon(true);
+        pump.start();
+        long start = System.currentTimeMillis();
+        try (CountingInputStream in = new CountingInputStream(pipe.source())) {
+            Boolean uploaded = dst.upload(dstPath, in);
+            if (pipe.getError() != null) {
+                throw pipe.getError();
+            } else if (!Boolean.TRUE.equals(uploaded)) {
+                throw new IOException("Upload to [" + dstPath + "] Returned False");
+            }
+            log.debug("Copy [{}] on {} to [{}] on {}: {} Bytes in {}ms", srcPath, src.getFileSystemType(),
+                    dstPath, dst.getFileSystemType(), in.getByteCount(), System.currentTimeMillis() - start);
+            return in.getByteCount();
+
+        } catch (IOException | RuntimeException err) {
+            // Prefer the read failure, the upload error is usually just its echo
+            IOException readError = pipe.getError();
+            if (readError != null && err != readError) {
+                readError.addSuppressed(err);
+                throw readError;
+            }
+            throw err;
+        } finally {
+            pump.interrupt();
+        }
+    }
+
+    private static void pump(RingBufferPipe pipe, BasicFileSystemClient src, String srcPath) {
+        try (InputStream in = src.download(srcPath)) {
+            if (in == null) {
+                throw new IOException("Download [" + srcPath + "] Returned No Stream");
+            }
+            pipe.transferFrom(in);
+            pipe.sink().close();
+        } catch (IOException | RuntimeException err) {
+            log.warn("Read [{}] for Copy Failed: {}", srcPath, err.getMessage());
+            pipe.fail(err);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package gew.filesystem.common.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator over a Paginated Remote Listing, Holding at Most One Page in Memory.
+ * Subclasses fetch the next page (following their continuation token / marker) in {@link #nextPage()};
+ * a fetch failure while iterating surfaces as {@link UncheckedIOException}.
+ *
+ * @param <T> Element Type
+ * @author Jason/GeW
+ * @since  2024-03-12
+ */
+public abstract class PagedIterator<T> implements Iterator<T> {
+
+    private Iterator<T> page = Collections.emptyIterator();
+
+    private boolean exhausted;
+
+
+    /**
+     * Fetch the Next Page
+     *
+     * @return Next Page Elements, Null When There Are No More Pages (an Empty Page Does Not End the Listing)
+     * @throws IOException Page Fetch Failure
+     */
+    protected abstract List<T> nextPage() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        while (!this.page.hasNext() && !this.exhausted) {
+            List<T> next;
+            try {
+                next = nextPage();
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+            if (next == null) {
+                this.exhausted = true;
+            } else {
+                this.page = next.iterator();
+            }
+        }
+        return this.page.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.page.next();
+    }
+
+    /**
+     * Sequential Stream over This Iterator, the First Page Is Fetched Eagerly so an Unreachable Backend
+     * Fails Here With IOException Rather Than on First Consumption
+     *
+     * @return Lazy Ordered Stream
+     * @throws IOException First Page Fetch Failure
+     */
+    public Stream<T> stream() throws IOException {
+        try {
+            hasNext();
+        } catch (UncheckedIOException uioe) {
+            throw uioe.getCause();
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+}
@@ -0,0 +1,324 @@
+package gew.filesystem.common.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Block-Parallel GZIP Writer in the Style of pigz, Producing One Standard Single-Member GZIP Stream.
+ * <p>
+ * Input is cut into blockSize blocks that are deflated concurrently, each primed with the last 32 KiB of the
+ * block before it as the preset dictionary so matches still reach across block boundaries. Every block but
+ * the last ends with a sync flush (byte aligned, not final), so the raw deflate outputs concatenate into one
+ * valid stream. Each worker also computes its block's CRC32, and the caller thread folds them together with
+ * crc32_combine while writing blocks out in order. At most 2 x threads blocks are in flight, so memory stays
+ * bounded whatever the input size.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-25
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    public static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private static final AtomicInteger POOL_SEQUENCE = new AtomicInteger();
+
+    private final OutputStream out;
+
+    private final int level;
+
+    private final int blockSize;
+
+    private final int maxInFlight;
+
+    private final ExecutorService executor;
+
+    private final Deque<Future<Block>> pending = new ArrayDeque<>();
+
+    private byte[] block;
+
+    private int blockLength;
+
+    private byte[] previous;
+
+    private long crc;
+
+    private long size;
+
+    private boolean headerWritten;
+
+    private boolean closed;
+
+
+    public ParallelGzipOutputStream(OutputStream out, int level, int threads) {
+        this(out, level, threads, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param out       Target Stream, Closed With This Stream
+     * @param level     Deflate Level, -1 for the Default
+     * @param threads   Deflate Worker Threads
+     * @param blockSize Uncompressed Bytes per Block, at Least 32 KiB
+     */
+    public ParallelGzipOutputStream(OutputStream out, int level, int threads, int blockSize) {
+        if (out == null) {
+            throw new IllegalArgumentException("Invalid Output Stream");
+        } else if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid Compress Level");
+        } else if (threads < 1) {
+            throw new IllegalArgumentException("Invalid Thread Number");
+        } else if (blockSize < DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Block Size Must Be at Least " + DICTIONARY_SIZE + " Bytes");
+        }
+        this.out = out;
+        this.level = level;
+        this.blockSize = blockSize;
+        this.maxInFlight = threads * 2;
+        String prefix = "fs-gzip-" + POOL_SEQUENCE.incrementAndGet() + "-";
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.block = new byte[blockSize];
+    }
+
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (this.blockLength == this.blockSize) {
+                submit(false);
+            }
+            int n = Math.min(len, this.blockSize - this.blockLength);
+            System.arraycopy(b, off, this.block, this.blockLength, n);
+            this.blockLength += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Writes Out Blocks Already Deflated, the Partial Current Block Is Kept to Preserve the Ratio
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        while (!this.pending.isEmpty() && this.pending.peekFirst().isDone()) {
+            drainOne();
+        }
+        this.out.flush();
+    }
+
+    /**
+     * Deflates the Last Block and Writes the Trailer, Leaving the Target Stream Open
+     */
+    public void finish() throws IOException {
+        ensureOpen();
+        try {
+            submit(true);
+            while (!this.pending.isEmpty()) {
+                drainOne();
+            }
+            writeTrailer();
+        } finally {
+            this.closed = true;
+            this.executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!this.closed) {
+                finish();
+            }
+        } finally {
+            this.out.close();
+        }
+    }
+
+
+    private void submit(boolean last) throws IOException {
+        if (!this.headerWritten) {
+            writeHeader();
+        }
+        byte[] input = this.block;
+        int length = this.blockLength;
+        byte[] dictionary = this.previous;
+        this.pending.addLast(this.executor.submit(() -> deflate(input, length, dictionary, last)));
+        this.previous = input;
+        if (!last) {
+            this.block = new byte[this.blockSize];
+            this.blockLength = 0;
+        }
+        while (this.pending.size() > this.maxInFlight) {
+            drainOne();
+        }
+    }
+
+    private Block deflate(byte[] input, int length, byte[] dictionary, boolean last) {
+        Deflater deflater = new Deflater(this.level, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary, dictionary.length - DICTIONARY_SIZE, DICTIONARY_SIZE);
+            }
+            deflater.setInput(input, 0, length);
+            byte[] output = new byte[length + (length >> 3) + 64];
+            int written = 0;
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    output = grow(output, written);
+                    written += deflater.deflate(output, written, output.length - written);
+                }
+            } else {
+                do {
+                    output = grow(output, written);
+                    written += deflater.deflate(output, written, output.length - written, Deflater.SYNC_FLUSH);
+                } while (written == output.length);
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(input, 0, length);
+            return new Block(output, written, checksum.getValue(), length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] grow(byte[] buffer, int used) {
+        return used < buffer.length ? buffer : Arrays.copyOf(buffer, buffer.length * 2);
+    }
+
+    private void drainOne() throws IOException {
+        Block done;
+        try {
+            done = this.pending.removeFirst().get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Parallel GZip Interrupted");
+        } catch (ExecutionException ee) {
+            throw new IOException("Deflate Block Failed: " + ee.getCause().getMessage(), ee.getCause());
+        }
+        this.out.write(done.data, 0, done.length);
+        this.crc = crc32Combine(this.crc, done.crc, done.inputLength);
+        this.size += done.inputLength;
+    }
+
+    private void writeHeader() throws IOException {
+        int xfl = this.level == Deflater.BEST_COMPRESSION ? 2 : this.level == Deflater.BEST_SPEED ? 4 : 0;
+        // ID1 ID2 CM FLG MTIME(4) XFL OS(Unknown)
+        this.out.write(new byte[] {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, (byte) xfl, (byte) 0xff});
+        this.headerWritten = true;
+    }
+
+    private void writeTrailer() throws IOException {
+        byte[] trailer = new byte[8];
+        writeIntLE(trailer, 0, this.crc);
+        writeIntLE(trailer, 4, this.size);
+        this.out.write(trailer);
+        this.out.flush();
+    }
+
+    private static void writeIntLE(byte[] buffer, int offset, long value) {
+        for (int i = 0; i < 4; i++) {
+            buffer[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream Closed");
+        }
+    }
+
+
+    /**
+     * CRC32 of A + B From crc(A), crc(B) and len(B), the GF(2) Matrix Method of zlib's crc32_combine
+     */
+    static long crc32Combine(long crc1, long crc2, long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+        long[] even = new long[32];
+        long[] odd = new long[32];
+        odd[0] = 0xedb88320L;
+        long row = 1;
+        for (int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        gf2MatrixSquare(even, odd);
+        gf2MatrixSquare(odd, even);
+        do {
+            gf2MatrixSquare(even, odd);
+            if ((length2 & 1) != 0) {
+                crc1 = gf2MatrixTimes(even, crc1);
+            }
+            length2 >>= 1;
+            if (length2 == 0) {
+                break;
+            }
+            gf2MatrixSquare(odd, even);
+            if ((length2 & 1) != 0) {
+                crc1 = gf2MatrixTimes(odd, crc1);
+            }
+            length2 >>= 1;
+        } while (length2 != 0);
+        return crc1 ^ crc2;
+    }
+
+    private static long gf2MatrixTimes(long[] matrix, long vector) {
+        long sum = 0;
+        for (int i = 0; vector != 0; i++, vector >>>= 1) {
+            if ((vector & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(long[] square, long[] matrix) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = gf2MatrixTimes(matrix, matrix[n]);
+        }
+    }
+
+
+    private static final class Block {
+
+        private final byte[] data;
+
+        private final int length;
+
+        private final long crc;
+
+        private final int inputLength;
+
+        private Block(byte[] data, int length, long crc, int inputLength) {
+            this.data = data;
+            this.length = length;
+            this.crc = crc;
+            this.inputLength = inputLength;
+        }
+    }
+}
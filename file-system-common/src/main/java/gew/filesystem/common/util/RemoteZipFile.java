@@ -0,0 +1,411 @@
+package gew.filesystem.common.util;
+
+import gew.filesystem.common.model.ObjectMetaInfo;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Random-Access Reader for a ZIP Stored on Any {@link BasicFileSystemClient}, Using Ranged Downloads Only.
+ * <p>
+ * Opening reads the tail of the object (at most the 22 byte end of central directory record plus a 64 KiB
+ * comment) to find the central directory, following the Zip64 locator when any field overflowed, then fetches
+ * the whole central directory in one more ranged read. Opening an entry costs two ranged reads: its 30 byte
+ * local header (the name and extra lengths there may differ from the central copy) and its compressed bytes.
+ * Nothing else of the archive is ever transferred.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-27
+ */
+final class RemoteZipFile {
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+
+    private static final int EOCD_LENGTH = 22;
+
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private static final int ZIP64_LOCATOR_LENGTH = 20;
+
+    private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+
+    private static final int ZIP64_EOCD_LENGTH = 56;
+
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+
+    private static final int CENTRAL_HEADER_LENGTH = 46;
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+    private static final int LOCAL_HEADER_LENGTH = 30;
+
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private static final int ZIP64_MAGIC_SHORT = 0xFFFF;
+
+    private static final int FLAG_ENCRYPTED = 1;
+
+    private final BasicFileSystemClient client;
+
+    private final String path;
+
+    private final Map<String, Entry> entries;
+
+
+    private RemoteZipFile(BasicFileSystemClient client, String path, Map<String, Entry> entries) {
+        this.client = client;
+        this.path = path;
+        this.entries = entries;
+    }
+
+    /**
+     * Locate and Parse the Central Directory
+     *
+     * @throws IOException Size Unknown, Not a ZIP, or a Ranged Read Failed
+     */
+    static RemoteZipFile open(BasicFileSystemClient client, String path) throws IOException {
+        long size = client.getObjectMetaInfo(path)
+                .map(ObjectMetaInfo::getSize)
+                .orElseThrow(() -> new IOException("Unable to Get Size of [" + path + "]"));
+        if (size < EOCD_LENGTH) {
+            throw new IOException("[" + path + "] Is Too Short to Be a ZIP File");
+        }
+        int tailLength = (int) Math.min(size, EOCD_LENGTH + MAX_COMMENT_LENGTH);
+        long tailOffset = size - tailLength;
+        byte[] tail = read(client, path, tailOffset, tailLength);
+        int eocd = findEndOfCentralDirectory(tail);
+        if (eocd < 0) {
+            throw new IOException("End of Central Directory Not Found in [" + path + "]");
+        }
+        long entryCount = readShort(tail, eocd + 10);
+        long directorySize = readInt(tail, eocd + 12);
+        long directoryOffset = readInt(tail, eocd + 16);
+
+        if (entryCount == ZIP64_MAGIC_SHORT || directorySize == ZIP64_MAGIC || directoryOffset == ZIP64_MAGIC) {
+            byte[] locator = eocd >= ZIP64_LOCATOR_LENGTH
+                    ? slice(tail, eocd - ZIP64_LOCATOR_LENGTH, ZIP64_LOCATOR_LENGTH)
+                    : read(client, path, tailOffset + eocd - ZIP64_LOCATOR_LENGTH, ZIP64_LOCATOR_LENGTH);
+            if (readInt(locator, 0) == ZIP64_LOCATOR_SIGNATURE) {
+                long zip64Offset = readLong(locator, 8);
+                byte[] zip64 = read(client, path, zip64Offset, ZIP64_EOCD_LENGTH);
+                if (readInt(zip64, 0) != ZIP64_EOCD_SIGNATURE) {
+                    throw new IOException("Corrupted Zip64 End of Central Directory in [" + path + "]");
+                }
+                entryCount = readLong(zip64, 32);
+                directorySize = readLong(zip64, 40);
+                directoryOffset = readLong(zip64, 48);
+            }
+        }
+        if (directorySize > Integer.MAX_VALUE - 8 || directoryOffset + directorySize > size) {
+            throw new IOException("Invalid Central Directory in [" + path + "]");
+        }
+        // Small Archives: the Central Directory Is Usually Already in the Tail
+        byte[] directory = directoryOffset >= tailOffset
+                ? slice(tail, (int) (directoryOffset - tailOffset), (int) directorySize)
+                : read(client, path, directoryOffset, (int) directorySize);
+        return new RemoteZipFile(client, path, parseCentralDirectory(path, directory, entryCount));
+    }
+
+
+    List<Entry> entries() {
+        return Collections.unmodifiableList(new ArrayList<>(this.entries.values()));
+    }
+
+    /**
+     * @return Entry, Null If Absent
+     */
+    Entry getEntry(String name) {
+        return this.entries.get(name);
+    }
+
+    /**
+     * @return Uncompressed Entry Content, Verified Against the Stored CRC and Size at EOF
+     */
+    InputStream openStream(Entry entry) throws IOException {
+        if ((entry.flags & FLAG_ENCRYPTED) != 0) {
+            throw new IOException("Encrypted Entry [" + entry.name + "] Is Not Supported");
+        } else if (entry.method != ZipEntry.STORED && entry.method != ZipEntry.DEFLATED) {
+            throw new IOException("Unsupported Compression Method " + entry.method + " for [" + entry.name + "]");
+        }
+        byte[] header = read(this.client, this.path, entry.localHeaderOffset, LOCAL_HEADER_LENGTH);
+        if (readInt(header, 0) != LOCAL_HEADER_SIGNATURE) {
+            throw new IOException("Corrupted Local Header for [" + entry.name + "] in [" + this.path + "]");
+        }
+        long dataOffset = entry.localHeaderOffset + LOCAL_HEADER_LENGTH
+                + readShort(header, 26) + readShort(header, 28);
+        InputStream raw = this.client.download(this.path, dataOffset, entry.compressedSize);
+        if (raw == null) {
+            throw new IOException("Download [" + this.path + "] Returned No Stream");
+        }
+        if (entry.method == ZipEntry.STORED) {
+            return new VerifyingInputStream(raw, entry);
+        }
+        // Raw Inflate May Ask for One Byte Past the Data, the Same Dummy Byte java.util.zip.ZipFile Feeds It
+        Inflater inflater = new Inflater(true);
+        InputStream inflated = new InflaterInputStream(
+                new SequenceInputStream(raw, new ByteArrayInputStream(new byte[1])), inflater, 64 * 1024) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+        return new VerifyingInputStream(inflated, entry);
+    }
+
+
+    private static Map<String, Entry> parseCentralDirectory(String path, byte[] directory, long entryCount)
+            throws IOException {
+        Map<String, Entry> parsed = new LinkedHashMap<>();
+        int position = 0;
+        for (long i = 0; i < entryCount; i++) {
+            if (position + CENTRAL_HEADER_LENGTH > directory.length
+                    || readInt(directory, position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new IOException("Corrupted Central Directory in [" + path + "] at Entry " + i);
+            }
+            int flags = readShort(directory, position + 8);
+            int method = readShort(directory, position + 10);
+            long dosTime = readInt(directory, position + 12);
+            long crc = readInt(directory, position + 16);
+            long compressedSize = readInt(directory, position + 20);
+            long size = readInt(directory, position + 24);
+            int nameLength = readShort(directory, position + 28);
+            int extraLength = readShort(directory, position + 30);
+            int commentLength = readShort(directory, position + 32);
+            long localHeaderOffset = readInt(directory, position + 42);
+            int nameStart = position + CENTRAL_HEADER_LENGTH;
+            int extraStart = nameStart + nameLength;
+            if (extraStart + extraLength + commentLength > directory.length) {
+                throw new IOException("Corrupted Central Directory in [" + path + "] at Entry " + i);
+            }
+            // Names Are Decoded as UTF-8 With or Without the Language Flag, the Same Default as java.util.zip
+            String name = new String(directory, nameStart, nameLength, StandardCharsets.UTF_8);
+
+            // Zip64 Extra Field Holds Only the Overflowed Values, in This Fixed Order
+            int extra = extraStart;
+            while (extra + 4 <= extraStart + extraLength) {
+                int id = readShort(directory, extra);
+                int length = readShort(directory, extra + 2);
+                if (id == ZIP64_EXTRA_ID) {
+                    int value = extra + 4;
+                    if (size == ZIP64_MAGIC) {
+                        size = readLong(directory, value);
+                        value += 8;
+                    }
+                    if (compressedSize == ZIP64_MAGIC) {
+                        compressedSize = readLong(directory, value);
+                        value += 8;
+                    }
+                    if (localHeaderOffset == ZIP64_MAGIC) {
+                        localHeaderOffset = readLong(directory, value);
+                    }
+                    break;
+                }
+                extra += 4 + length;
+            }
+            parsed.put(name, new Entry(name, flags, method, crc, compressedSize, size, localHeaderOffset,
+                    dosToJavaTime(dosTime)));
+            position = extraStart + extraLength + commentLength;
+        }
+        return parsed;
+    }
+
+    private static int findEndOfCentralDirectory(byte[] tail) {
+        for (int i = tail.length - EOCD_LENGTH; i >= 0; i--) {
+            if (readInt(tail, i) == EOCD_SIGNATURE && i + EOCD_LENGTH + readShort(tail, i + 20) <= tail.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] read(BasicFileSystemClient client, String path, long offset, int length)
+            throws IOException {
+        try (InputStream in = client.download(path, offset, length)) {
+            if (in == null) {
+                throw new IOException("Download [" + path + "] Returned No Stream");
+            }
+            byte[] buffer = new byte[length];
+            IOUtils.readFully(in, buffer);
+            return buffer;
+        }
+    }
+
+    private static byte[] slice(byte[] buffer, int offset, int length) {
+        byte[] part = new byte[length];
+        System.arraycopy(buffer, offset, part, 0, length);
+        return part;
+    }
+
+    private static int readShort(byte[] buffer, int offset) {
+        return (buffer[offset] & 0xFF) | (buffer[offset + 1] & 0xFF) << 8;
+    }
+
+    private static long readInt(byte[] buffer, int offset) {
+        return readShort(buffer, offset) | (long) readShort(buffer, offset + 2) << 16;
+    }
+
+    private static long readLong(byte[] buffer, int offset) {
+        return readInt(buffer, offset) | readInt(buffer, offset + 4) << 32;
+    }
+
+    private static long dosToJavaTime(long dosTime) {
+        LocalDateTime time = LocalDateTime.of((int) ((dosTime >> 25) & 0x7f) + 1980,
+                (int) Math.max(1, Math.min(12, (dosTime >> 21) & 0x0f)),
+                (int) Math.max(1, (dosTime >> 16) & 0x1f),
+                (int) Math.min(23, (dosTime >> 11) & 0x1f),
+                (int) Math.min(59, (dosTime >> 5) & 0x3f),
+                (int) Math.min(59, (dosTime << 1) & 0x3e));
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+
+    static final class Entry {
+
+        private final String name;
+
+        private final int flags;
+
+        private final int method;
+
+        private final long crc;
+
+        private final long compressedSize;
+
+        private final long size;
+
+        private final long localHeaderOffset;
+
+        private final long lastModified;
+
+        private Entry(String name, int flags, int method, long crc, long compressedSize, long size,
+                      long localHeaderOffset, long lastModified) {
+            this.name = name;
+            this.flags = flags;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+            this.lastModified = lastModified;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        long getCompressedSize() {
+            return compressedSize;
+        }
+
+        long getLastModified() {
+            return lastModified;
+        }
+    }
+
+
+    /**
+     * Fails the Read at EOF When the Content Does Not Match the Central Directory, a Truncated Range Included
+     */
+    private static final class VerifyingInputStream extends FilterInputStream {
+
+        private final Entry entry;
+
+        private final CRC32 checksum = new CRC32();
+
+        private long count;
+
+        private boolean verified;
+
+        private VerifyingInputStream(InputStream in, Entry entry) {
+            super(in);
+            this.entry = entry;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (this.count >= this.entry.size) {
+                verify();
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, this.entry.size - this.count));
+            if (n < 0) {
+                verify();
+                return -1;
+            }
+            this.checksum.update(b, off, n);
+            this.count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void verify() throws IOException {
+            if (this.verified) {
+                return;
+            }
+            this.verified = true;
+            if (this.count != this.entry.size) {
+                throw new IOException("Entry [" + this.entry.name + "] Truncated: " + this.count + " of "
+                        + this.entry.size + " Bytes");
+            } else if (this.checksum.getValue() != this.entry.crc) {
+                throw new IOException("CRC Mismatch for Entry [" + this.entry.name + "]");
+            }
+        }
+    }
+}
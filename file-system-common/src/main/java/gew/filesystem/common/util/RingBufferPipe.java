@@ -0,0 +1,279 @@
+package gew.filesystem.common.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded Pipe Between One Producer Thread and One Consumer Thread Over a Fixed Ring of Reusable Buffers.
+ * <p>
+ * Buffers cycle between a free queue (producer side) and a filled queue (consumer side), so memory is capped at
+ * bufferCount x bufferSize and nothing is allocated per write. The producer either closes {@link #sink()} to end
+ * the stream cleanly or calls {@link #fail(Throwable)}, which makes the consumer's next read throw, so a failed
+ * producer can never look like a short but complete stream. Closing {@link #source()} early makes the producer's
+ * next write throw instead of blocking forever on a full ring.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-26
+ */
+final class RingBufferPipe {
+
+    private static final Chunk END = new Chunk(new byte[0]);
+
+    private static final long POLL_MILLIS = 100L;
+
+    private final BlockingQueue<Chunk> free;
+
+    private final BlockingQueue<Chunk> filled;
+
+    private final Sink sink = new Sink();
+
+    private final Source source = new Source();
+
+    private volatile IOException error;
+
+    private volatile boolean sourceClosed;
+
+
+    RingBufferPipe(int bufferSize, int bufferCount) {
+        if (bufferSize < 1 || bufferCount < 1) {
+            throw new IllegalArgumentException("Invalid Buffer Size or Count");
+        }
+        this.free = new ArrayBlockingQueue<>(bufferCount);
+        // One Extra Slot, the End Marker Always Fits
+        this.filled = new ArrayBlockingQueue<>(bufferCount + 1);
+        for (int i = 0; i < bufferCount; i++) {
+            this.free.add(new Chunk(new byte[bufferSize]));
+        }
+    }
+
+
+    /**
+     * @return Producer End, Single Threaded
+     */
+    OutputStream sink() {
+        return this.sink;
+    }
+
+    /**
+     * @return Consumer End, Single Threaded
+     */
+    InputStream source() {
+        return this.source;
+    }
+
+    /**
+     * Fill the Ring Straight From in Until EOF, Without an Intermediate Buffer
+     *
+     * @return Bytes Transferred
+     */
+    long transferFrom(InputStream in) throws IOException {
+        return this.sink.transferFrom(in);
+    }
+
+    /**
+     * End the Stream With an Error, Ignored Once the Stream Has Ended
+     */
+    void fail(Throwable err) {
+        this.sink.end(err instanceof IOException ? (IOException) err
+                : new IOException(err.getMessage(), err));
+    }
+
+    /**
+     * @return Producer Failure, Null If None
+     */
+    IOException getError() {
+        return this.error;
+    }
+
+
+    private final class Sink extends OutputStream {
+
+        private Chunk current;
+
+        private boolean ended;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                Chunk chunk = acquire();
+                int n = Math.min(len, chunk.data.length - chunk.length);
+                System.arraycopy(b, off, chunk.data, chunk.length, n);
+                chunk.length += n;
+                off += n;
+                len -= n;
+                if (chunk.length == chunk.data.length) {
+                    publish();
+                }
+            }
+        }
+
+        private long transferFrom(InputStream in) throws IOException {
+            long total = 0;
+            int n;
+            do {
+                Chunk chunk = acquire();
+                n = in.read(chunk.data, chunk.length, chunk.data.length - chunk.length);
+                if (n > 0) {
+                    chunk.length += n;
+                    total += n;
+                    if (chunk.length == chunk.data.length) {
+                        publish();
+                    }
+                }
+            } while (n >= 0);
+            return total;
+        }
+
+        /**
+         * Partially Filled Buffers Are Held Back Until Full or Closed, Flushing Every Write Would Waste the Ring
+         */
+        @Override
+        public void flush() {
+            // Nothing to Flush
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.current != null && this.current.length > 0) {
+                publish();
+            }
+            end(null);
+        }
+
+        private Chunk acquire() throws IOException {
+            if (this.ended) {
+                throw new IOException("Pipe Closed");
+            }
+            if (this.current == null) {
+                try {
+                    Chunk chunk;
+                    while ((chunk = free.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                        checkSource();
+                    }
+                    chunk.length = 0;
+                    chunk.position = 0;
+                    this.current = chunk;
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Pipe Write Interrupted");
+                }
+            }
+            return this.current;
+        }
+
+        private void publish() throws IOException {
+            checkSource();
+            Chunk chunk = this.current;
+            this.current = null;
+            if (!filled.offer(chunk)) {
+                // Never Happens: At Most bufferCount Chunks Circulate and One Slot Is Spare
+                throw new IOException("Pipe Overflow");
+            }
+        }
+
+        private void checkSource() throws IOException {
+            if (sourceClosed) {
+                throw new IOException("Pipe Reader Closed");
+            }
+        }
+
+        private synchronized void end(IOException err) {
+            if (this.ended) {
+                return;
+            }
+            this.ended = true;
+            error = err;
+            filled.offer(END);
+        }
+    }
+
+
+    private final class Source extends InputStream {
+
+        private Chunk current;
+
+        private boolean ended;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!advance()) {
+                return -1;
+            }
+            int n = Math.min(len, this.current.length - this.current.position);
+            System.arraycopy(this.current.data, this.current.position, b, off, n);
+            this.current.position += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return this.current == null ? 0 : this.current.length - this.current.position;
+        }
+
+        private boolean advance() throws IOException {
+            if (this.current != null && this.current.position < this.current.length) {
+                return true;
+            }
+            if (this.current != null) {
+                free.offer(this.current);
+                this.current = null;
+            }
+            if (this.ended) {
+                return false;
+            }
+            try {
+                Chunk chunk = filled.take();
+                if (chunk == END) {
+                    this.ended = true;
+                    if (error != null) {
+                        throw new IOException("Pipe Writer Failed: " + error.getMessage(), error);
+                    }
+                    return false;
+                }
+                this.current = chunk;
+                return true;
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Pipe Read Interrupted");
+            }
+        }
+
+        @Override
+        public void close() {
+            sourceClosed = true;
+        }
+    }
+
+
+    private static final class Chunk {
+
+        private final byte[] data;
+
+        private int length;
+
+        private int position;
+
+        private Chunk(byte[] data) {
+            this.data = data;
+        }
+    }
+}
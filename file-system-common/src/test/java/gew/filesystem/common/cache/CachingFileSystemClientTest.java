@@ -0,0 +1,153 @@
+package gew.filesystem.common.cache;
+
+import gew.filesystem.common.DefaultMock;
+import gew.filesystem.common.model.ObjectMetaInfo;
+import gew.filesystem.common.model.ObjectProperty;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+class CachingFileSystemClientTest extends DefaultMock {
+
+    @Mock
+    private BasicFileSystemClient delegate;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CachingFileSystemClient client;
+
+
+    @BeforeEach
+    void setUp() {
+        this.clock.set(0L);
+        this.client = new CachingFileSystemClient(this.delegate, 3, Duration.ofSeconds(10), this.clock::get);
+    }
+
+    @Test
+    void invalidArgumentTest() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new CachingFileSystemClient(null, 1, Duration.ofSeconds(1)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new CachingFileSystemClient(this.delegate, 0, Duration.ofSeconds(1)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new CachingFileSystemClient(this.delegate, 1, Duration.ZERO));
+    }
+
+    @Test
+    void existThenMetaInfoTest() throws IOException {
+        ObjectMetaInfo metaInfo = new ObjectMetaInfo();
+        metaInfo.setSize(3L);
+        Mockito.when(delegate.getObjectMetaInfo("a/b.txt")).thenReturn(Optional.of(metaInfo));
+        Mockito.when(delegate.exist("a/missing.txt")).thenReturn(false);
+
+        Assertions.assertEquals(Optional.of(metaInfo), client.getObjectMetaInfo("a/b.txt"));
+        Assertions.assertTrue(client.exist("a/b.txt"));
+        Assertions.assertEquals(Optional.of(metaInfo), client.getObjectMetaInfo("a/b.txt"));
+        Mockito.verify(delegate, Mockito.times(1)).getObjectMetaInfo("a/b.txt");
+        Mockito.verify(delegate, Mockito.never()).exist("a/b.txt");
+
+        // Negative lookups are cached and answer both calls
+        Assertions.assertFalse(client.exist("a/missing.txt"));
+        Assertions.assertFalse(client.exist("a/missing.txt"));
+        Assertions.assertFalse(client.getObjectMetaInfo("a/missing.txt").isPresent());
+        Mockito.verify(delegate, Mockito.times(1)).exist("a/missing.txt");
+        Mockito.verify(delegate, Mockito.never()).getObjectMetaInfo("a/missing.txt");
+        Assertions.assertEquals(4, client.getHitCount());
+        Assertions.assertEquals(2, client.getMissCount());
+    }
+
+    @Test
+    void ttlAndLruTest() throws IOException {
+        Mockito.when(delegate.exist(Mockito.anyString())).thenReturn(true);
+        client.exist("a");
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        client.exist("a");
+        Mockito.verify(delegate, Mockito.times(2)).exist("a");
+
+        client.exist("b");
+        client.exist("c");
+        client.exist("a");
+        client.exist("d");
+        Assertions.assertEquals(3, client.size());
+        client.exist("b");
+        Mockito.verify(delegate, Mockito.times(2)).exist("b");
+        client.exist("a");
+        Mockito.verify(delegate, Mockito.times(2)).exist("a");
+
+        client.setNegativeTtl(Duration.ZERO);
+        Mockito.when(delegate.exist("e")).thenReturn(false);
+        client.exist("e");
+        client.exist("e");
+        Mockito.verify(delegate, Mockito.times(2)).exist("e");
+    }
+
+    @Test
+    void writeInvalidationTest() throws IOException {
+        Mockito.when(delegate.exist("dir/file.txt")).thenReturn(false, true);
+        Mockito.when(delegate.list("dir/")).thenReturn(Collections.emptyList(),
+                Collections.singletonList(new ObjectProperty("dir/file.txt", false, 1L)));
+        Mockito.when(delegate.list("other/")).thenReturn(Collections.emptyList());
+
+        Assertions.assertFalse(client.exist("dir/file.txt"));
+        Assertions.assertTrue(client.list("dir/").isEmpty());
+        Assertions.assertTrue(client.list("other/").isEmpty());
+
+        client.upload("dir/file.txt", new ByteArrayInputStream(new byte[1]));
+        Assertions.assertTrue(client.exist("dir/file.txt"));
+        Assertions.assertEquals(1, client.list("dir/").size());
+        Assertions.assertTrue(client.list("other/").isEmpty());
+        Mockito.verify(delegate, Mockito.times(1)).list("other/");
+
+        client.delete("dir/");
+        Assertions.assertEquals(1, client.size());
+    }
+
+    @Test
+    void prefixInvalidationTest() throws IOException {
+        this.client = new CachingFileSystemClient(this.delegate, 8, Duration.ofSeconds(10), this.clock::get);
+        Mockito.when(delegate.exist(Mockito.anyString())).thenReturn(true);
+        Mockito.when(delegate.list(Mockito.anyString())).thenReturn(Collections.emptyList());
+        client.list("");
+        client.list("a/");
+        client.list("a/b/");
+        client.list("ab/");
+        client.exist("a/b/c.txt");
+        client.exist("a/b/c.txt/d");
+        client.exist("a/c.txt");
+        client.exist("b.txt");
+
+        // Below a/b/ and listings above it go, the sibling a/c.txt and unrelated paths stay
+        client.invalidate("a/b/");
+        Assertions.assertEquals(3, client.size());
+        client.list("ab/");
+        client.exist("a/c.txt");
+        client.exist("b.txt");
+        Mockito.verify(delegate, Mockito.times(1)).list("ab/");
+        Mockito.verify(delegate, Mockito.times(1)).exist("a/c.txt");
+        Mockito.verify(delegate, Mockito.times(1)).exist("b.txt");
+
+        // Entries evicted by the LRU leave the path index too
+        for (int i = 0; i < 1000; i++) {
+            client.exist("x/" + i);
+        }
+        Assertions.assertEquals(8, client.size());
+        Assertions.assertEquals(8, client.indexedPaths());
+        client.invalidate("x/");
+        Assertions.assertEquals(0, client.size());
+        Assertions.assertEquals(0, client.indexedPaths());
+        client.invalidateAll();
+        client.exist("b.txt");
+        Assertions.assertEquals(1, client.size());
+    }
+}
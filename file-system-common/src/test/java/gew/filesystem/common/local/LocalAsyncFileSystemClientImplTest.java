@@ -0,0 +1,107 @@
+package gew.filesystem.common.local;
+
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.common.model.FileSystemType;
+import gew.filesystem.common.model.ObjectMetaInfo;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+
+class LocalAsyncFileSystemClientImplTest {
+
+    private LocalAsyncFileSystemClientImpl client;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        this.client = new LocalAsyncFileSystemClientImpl(2);
+        this.client.setBufferSize(4096);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.client.close();
+    }
+
+    @Test
+    void invalidArgumentTest() {
+        Assertions.assertEquals(FileSystemType.LOCAL, client.getFileSystemType());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> client.setBufferSize(1));
+        CompletionException err = Assertions.assertThrows(CompletionException.class,
+                () -> client.download("  ", new File("x")).join());
+        Assertions.assertTrue(err.getCause() instanceof IllegalArgumentException);
+        err = Assertions.assertThrows(CompletionException.class, () -> client.mkdir("  ").join());
+        Assertions.assertTrue(err.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void downloadAndUploadFileTest() throws Exception {
+        byte[] content = new byte[4096 * 3 + 17];
+        new Random(7).nextBytes(content);
+        Path source = Files.write(tempDir.resolve("source.bin"), content);
+
+        File target = tempDir.resolve("nested/target.bin").toFile();
+        Assertions.assertTrue(client.download(source.toString(), target).join());
+        Assertions.assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+
+        Assertions.assertTrue(client.download(source.toString(), target, FileOperation.APPEND).join());
+        Assertions.assertEquals(content.length * 2L, target.length());
+
+        Assertions.assertTrue(client.download(source.toString(), target, FileOperation.OVERWRITE).join());
+        Assertions.assertEquals(content.length, target.length());
+
+        String uploaded = tempDir.resolve("uploaded.bin").toString();
+        Assertions.assertEquals(uploaded, client.upload(uploaded, source.toFile()).join());
+        Assertions.assertArrayEquals(content, Files.readAllBytes(tempDir.resolve("uploaded.bin")));
+        CompletionException err = Assertions.assertThrows(CompletionException.class,
+                () -> client.upload(uploaded, source.toFile()).join());
+        Assertions.assertTrue(err.getCause() instanceof FileAlreadyExistsException);
+    }
+
+    @Test
+    void concurrentOperationTest() throws Exception {
+        List<CompletableFuture<Boolean>> uploads = IntStream.range(0, 32)
+                .mapToObj(i -> client.upload(tempDir.resolve("file-" + i + ".txt").toString(),
+                        new ByteArrayInputStream(("content-" + i).getBytes())))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(uploads.toArray(new CompletableFuture[0])).join();
+
+        List<Boolean> exists = IntStream.range(0, 32)
+                .mapToObj(i -> client.exist(tempDir.resolve("file-" + i + ".txt").toString()))
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+        Assertions.assertFalse(exists.contains(false));
+        Assertions.assertEquals(32, client.list(tempDir.toString()).join().size());
+
+        Optional<ObjectMetaInfo> metaInfo = client.getObjectMetaInfo(tempDir.resolve("file-3.txt").toString()).join();
+        Assertions.assertTrue(metaInfo.isPresent());
+        Assertions.assertEquals(Long.valueOf("content-3".length()), metaInfo.get().getSize());
+
+        Assertions.assertTrue(client.delete(tempDir.resolve("file-3.txt").toString()).join());
+        Assertions.assertFalse(client.exist(tempDir.resolve("file-3.txt").toString()).join());
+        try (InputStream in = client.download(tempDir.resolve("file-4.txt").toString()).join()) {
+            Assertions.assertEquals("content-4", IOUtils.toString(in, StandardCharsets.UTF_8));
+        }
+    }
+}
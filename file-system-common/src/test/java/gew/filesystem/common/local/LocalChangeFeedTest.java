@@ -0,0 +1,109 @@
+package gew.filesystem.common.local;
+
+import gew.filesystem.common.model.ChangeEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+
+class LocalChangeFeedTest {
+
+    @TempDir
+    Path tempDir;
+
+
+    @Test
+    void coalescedEventsTest() throws Exception {
+        Path drop = Files.createDirectories(tempDir.resolve("drop"));
+        Path existing = Files.write(drop.resolve("existing.csv"), new byte[10]);
+        BlockingQueue<List<ChangeEvent>> batches = new LinkedBlockingQueue<>();
+        LocalFileSystemClientImpl client = new LocalFileSystemClientImpl();
+
+        try (LocalChangeFeed feed = client.watch(tempDir.toString(), Duration.ofMillis(100), batches::add)) {
+            Assertions.assertTrue(feed.isRunning());
+
+            // Many Writes to One File and a Short-Lived Temp File Collapse Into a Single CREATED
+            Path incoming = drop.resolve("incoming.csv");
+            for (int i = 0; i < 5; i++) {
+                Files.write(incoming, new byte[100 * (i + 1)]);
+            }
+            Files.delete(Files.write(drop.resolve("incoming.csv.tmp"), new byte[1]));
+            Map<String, ChangeEvent.Type> events = await(batches, 1);
+            Assertions.assertEquals(1, events.size(), events.toString());
+            Assertions.assertEquals(ChangeEvent.Type.CREATED, events.get(incoming.toString()));
+
+            Files.write(existing, new byte[20]);
+            Assertions.assertEquals(ChangeEvent.Type.MODIFIED, await(batches, 1).get(existing.toString()));
+
+            // A New Directory Is Registered and Scanned, Its Files Reported Even If Written Before the Watch
+            Path nested = Files.createDirectories(drop.resolve("batch-1/part-0"));
+            Files.write(nested.resolve("rows.csv"), new byte[5]);
+            events = await(batches, 3);
+            Assertions.assertEquals(ChangeEvent.Type.CREATED, events.get(nested.resolve("rows.csv").toString()));
+            Files.write(nested.resolve("more.csv"), new byte[5]);
+            Assertions.assertEquals(ChangeEvent.Type.CREATED,
+                    await(batches, 1).get(nested.resolve("more.csv").toString()));
+
+            // Deleting a Directory Reports Everything Below It
+            client.deleteRecursive(drop.resolve("batch-1").toString());
+            events = await(batches, 4);
+            Assertions.assertTrue(events.values().stream().allMatch(t -> t == ChangeEvent.Type.DELETED));
+            Assertions.assertTrue(events.containsKey(nested.resolve("more.csv").toString()));
+        }
+    }
+
+    @Test
+    void listPoolReplacedTest() throws Exception {
+        BlockingQueue<List<ChangeEvent>> batches = new LinkedBlockingQueue<>();
+        LocalFileSystemClientImpl client = new LocalFileSystemClientImpl();
+        try (LocalChangeFeed feed = client.watch(tempDir.toString(), Duration.ofMillis(100), batches::add)) {
+            // The Pool the Feed Started With Is Shut Down, New Directories Are Still Scanned on the New One
+            client.setListParallelism(2);
+            Path nested = Files.createDirectories(tempDir.resolve("after/part-0"));
+            Files.write(nested.resolve("rows.csv"), new byte[5]);
+            Map<String, ChangeEvent.Type> events = await(batches, 3);
+            Assertions.assertEquals(ChangeEvent.Type.CREATED, events.get(nested.resolve("rows.csv").toString()));
+            Assertions.assertTrue(feed.isRunning());
+        }
+    }
+
+    @Test
+    void invalidWatchTest() {
+        LocalFileSystemClientImpl client = new LocalFileSystemClientImpl();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> client.watch(tempDir.resolve("missing").toString(), Duration.ofMillis(100), b -> { }));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> client.watch(tempDir.toString(), null, b -> { }));
+    }
+
+
+    /**
+     * Collect Batches Until at Least count Distinct Paths Changed
+     */
+    private static Map<String, ChangeEvent.Type> await(BlockingQueue<List<ChangeEvent>> batches, int count)
+            throws InterruptedException, IOException {
+        List<ChangeEvent> events = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (events.stream().map(e -> e.getProperty().getName()).distinct().count() < count) {
+            List<ChangeEvent> batch = batches.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+            if (batch == null) {
+                throw new IOException("Timed Out Waiting for Events, Got " + events);
+            }
+            events.addAll(batch);
+        }
+        return events.stream().collect(Collectors.toMap(e -> e.getProperty().getName(), ChangeEvent::getType,
+                (first, last) -> last));
+    }
+}
@@ -1,6 +1,7 @@
 package gew.filesystem.common.local;
 
 
+import gew.filesystem.common.model.DeleteResult;
 import gew.filesystem.common.model.FileOperation;
 import gew.filesystem.common.model.FileSystemType;
 import gew.filesystem.common.model.ObjectMetaInfo;
@@ -10,13 +11,27 @@ import gew.filesystem.common.service.BasicFileSystemClient;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 public class LocalFileSystemClientImplTest {
@@ -83,6 +98,71 @@ public class LocalFileSystemClientImplTest {
         }
     }
 
+    @Test
+    void listStreamTest(@TempDir Path tempDir) throws IOException {
+        Files.createDirectories(tempDir.resolve("a/b"));
+        Files.write(tempDir.resolve("a/b/c.txt"), new byte[3]);
+        Files.write(tempDir.resolve("d.txt"), new byte[5]);
+        try (Stream<ObjectProperty> stream = fileSystemClient.listStream(tempDir.toString())) {
+            Map<String, Boolean> entries = stream.collect(Collectors.toMap(
+                    p -> tempDir.relativize(Paths.get(p.getName())).toString().replace(File.separatorChar, '/'),
+                    ObjectProperty::getDirectory));
+            Assertions.assertEquals(4, entries.size());
+            Assertions.assertTrue(entries.get("a/b"));
+            Assertions.assertFalse(entries.get("a/b/c.txt"));
+        }
+        Assertions.assertEquals(0, fileSystemClient.listStream("  ").count());
+        Assertions.assertEquals(4, fileSystemClient.list(tempDir.toString()).size());
+    }
+
+    @Test
+    void parallelListTest(@TempDir Path tempDir) throws IOException {
+        for (int i = 0; i < 60; i++) {
+            Path file = tempDir.resolve("d" + (i % 3)).resolve("e" + (i % 5)).resolve("f" + i + ".log");
+            Files.createDirectories(file.getParent());
+            Files.write(file, new byte[i]);
+        }
+        LocalFileSystemClientImpl client = new LocalFileSystemClientImpl();
+        client.setListParallelism(4);
+        List<ObjectProperty> properties = client.list(tempDir.toString());
+        Map<String, Long> expected;
+        try (Stream<Path> walk = Files.walk(tempDir)) {
+            expected = walk.filter(p -> !p.equals(tempDir)).collect(Collectors.toMap(Path::toString,
+                    p -> Files.isDirectory(p) ? -1L : p.toFile().length()));
+        }
+        Assertions.assertEquals(expected.size(), properties.size());
+        List<String> names = properties.stream().map(ObjectProperty::getName).collect(Collectors.toList());
+        for (ObjectProperty property : properties) {
+            Assertions.assertEquals(expected.get(property.getName()),
+                    property.getDirectory() ? -1L : property.getSize());
+            Assertions.assertNotNull(property.getLastModified());
+            // Pre-Order: Every Entry Comes After Its Parent Directory
+            String parent = Paths.get(property.getName()).getParent().toString();
+            Assertions.assertTrue(parent.equals(tempDir.toString())
+                    || names.indexOf(parent) < names.indexOf(property.getName()));
+        }
+
+        client.setMaxDepth(2);
+        Assertions.assertEquals(18, client.list(tempDir.toString()).size());
+        Assertions.assertTrue(client.list(tempDir.resolve("d0/e0/f0.log").toString()).isEmpty());
+        Assertions.assertThrows(IOException.class, () -> client.list(tempDir.resolve("missing").toString()));
+    }
+
+    @Test
+    void danglingLinkListStreamTest(@TempDir Path tempDir) throws IOException {
+        Files.write(tempDir.resolve("data.csv"), new byte[3]);
+        Files.createSymbolicLink(tempDir.resolve("dangling"), tempDir.resolve("missing"));
+        LocalFileSystemClientImpl client = new LocalFileSystemClientImpl();
+        List<String> streamed;
+        try (Stream<ObjectProperty> stream = client.listStream(tempDir.toString())) {
+            streamed = stream.map(ObjectProperty::getName).sorted().collect(Collectors.toList());
+        }
+        List<String> listed = client.list(tempDir.toString()).stream().map(ObjectProperty::getName).sorted()
+                .collect(Collectors.toList());
+        Assertions.assertEquals(2, streamed.size());
+        Assertions.assertEquals(listed, streamed);
+    }
+
     @Test
     void downloadTest() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> fileSystemClient.download("  "));
@@ -91,6 +171,35 @@ public class LocalFileSystemClientImplTest {
     }
 
 
+    @Test
+    void channelTransferTest(@TempDir Path tempDir) throws IOException {
+        byte[] head = new byte[3 * 1024 * 1024 + 7];
+        new Random(20).nextBytes(head);
+        byte[] tail = "Appended Tail".getBytes(StandardCharsets.UTF_8);
+        Path source = Files.write(tempDir.resolve("source.bin"), head);
+        Files.write(tempDir.resolve("tail.txt"), tail);
+
+        File target = tempDir.resolve("nested/target.bin").toFile();
+        Assertions.assertTrue(fileSystemClient.download(source.toString(), target));
+        Assertions.assertTrue(fileSystemClient.download(tempDir.resolve("tail.txt").toString(), target,
+                FileOperation.APPEND));
+        byte[] merged = Files.readAllBytes(target.toPath());
+        Assertions.assertEquals(head.length + tail.length, merged.length);
+        Assertions.assertArrayEquals(tail, Arrays.copyOfRange(merged, head.length, merged.length));
+
+        // FileInputStream Goes Through transferTo From Its Current Position, Other Streams Through the Buffer
+        try (FileInputStream in = new FileInputStream(source.toFile())) {
+            Assertions.assertEquals(7, in.skip(7));
+            Assertions.assertTrue(fileSystemClient.upload(tempDir.resolve("skipped.bin").toString(), in));
+            Assertions.assertEquals(-1, in.read());
+        }
+        Assertions.assertArrayEquals(Arrays.copyOfRange(head, 7, head.length),
+                Files.readAllBytes(tempDir.resolve("skipped.bin")));
+        Assertions.assertTrue(fileSystemClient.upload(tempDir.resolve("streamed.bin").toString(),
+                new ByteArrayInputStream(head)));
+        Assertions.assertArrayEquals(head, Files.readAllBytes(tempDir.resolve("streamed.bin")));
+    }
+
     @Test
     void deleteTest() {
         String path = "test.txt";
@@ -104,6 +213,32 @@ public class LocalFileSystemClientImplTest {
         }
     }
 
+    @Test
+    void parallelDeleteTest(@TempDir Path tempDir) throws IOException {
+        Path workspace = tempDir.resolve("workspace");
+        long bytes = 0;
+        for (int i = 0; i < 90; i++) {
+            Path file = workspace.resolve("t" + (i % 3)).resolve("s" + (i % 6)).resolve("f" + i + ".tmp");
+            Files.createDirectories(file.getParent());
+            Files.write(file, new byte[i * 10]);
+            bytes += i * 10;
+        }
+        Files.createDirectories(workspace.resolve("empty/inner"));
+        Path link = Files.createSymbolicLink(workspace.resolve("link"), tempDir);
+        long linkSize = Files.readAttributes(link, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).size();
+
+        LocalFileSystemClientImpl client = new LocalFileSystemClientImpl();
+        client.setListParallelism(4);
+        DeleteResult result = client.deleteRecursive(workspace.toString());
+        Assertions.assertEquals(91, result.getFiles());
+        // workspace, t0-t2, s0-s5 (Two Under Each t), empty and empty/inner
+        Assertions.assertEquals(1 + 3 + 6 + 2, result.getDirectories());
+        Assertions.assertEquals(bytes + linkSize, result.getBytes());
+        Assertions.assertFalse(Files.exists(workspace));
+        Assertions.assertTrue(Files.exists(tempDir), "The Link Target Must Survive");
+        Assertions.assertEquals(0, client.deleteRecursive(workspace.toString()).getFiles());
+    }
+
     @Test
     void tmpTest() {
         String tmpdir = System.getProperty("java.io.tmpdir");
@@ -0,0 +1,126 @@
+package gew.filesystem.common.metrics;
+
+import gew.filesystem.common.DefaultMock;
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.common.model.FileSystemType;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+class InstrumentedFileSystemClientTest extends DefaultMock {
+
+    @Mock
+    private BasicFileSystemClient delegate;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private InMemoryMetricsRegistry registry;
+
+    private InstrumentedFileSystemClient client;
+
+
+    @BeforeEach
+    void setUp() {
+        this.clock.set(0L);
+        this.registry = new InMemoryMetricsRegistry();
+        this.client = new InstrumentedFileSystemClient(this.delegate, this.registry,
+                () -> this.clock.getAndAdd(1_000_000L));
+        Mockito.when(delegate.getFileSystemType()).thenReturn(FileSystemType.S3);
+    }
+
+    @Test
+    void callAndErrorTest() throws IOException {
+        Mockito.when(delegate.list("a/")).thenReturn(Collections.emptyList())
+                .thenThrow(new IOException("Boom"));
+        client.list("a/");
+        Assertions.assertThrows(IOException.class, () -> client.list("a/"));
+
+        InMemoryMetricsRegistry.OperationSnapshot snapshot =
+                registry.get(FileSystemType.S3, ClientOperation.LIST).orElseThrow(IllegalStateException::new);
+        Assertions.assertEquals(2, snapshot.getCount());
+        Assertions.assertEquals(1, snapshot.getErrors());
+        Assertions.assertTrue(snapshot.getP50() >= 1_000_000L && snapshot.getMax() <= 1_100_000L);
+        Assertions.assertFalse(registry.get(FileSystemType.S3, ClientOperation.UPLOAD).isPresent());
+        Assertions.assertFalse(registry.get(FileSystemType.OSS, ClientOperation.LIST).isPresent());
+    }
+
+    @Test
+    void transferBytesTest() throws IOException {
+        Mockito.when(delegate.upload(Mockito.eq("up.bin"), Mockito.any(InputStream.class))).thenAnswer(inv -> {
+            IOUtils.toByteArray(inv.getArgument(1, InputStream.class));
+            return true;
+        });
+        Mockito.when(delegate.download("down.bin")).thenReturn(new ByteArrayInputStream(new byte[2048]));
+
+        client.upload("up.bin", new ByteArrayInputStream(new byte[4096]));
+        try (InputStream in = client.download("down.bin")) {
+            Assertions.assertEquals(2048, IOUtils.toByteArray(in).length);
+        }
+
+        InMemoryMetricsRegistry.OperationSnapshot upload =
+                registry.get(FileSystemType.S3, ClientOperation.UPLOAD).orElseThrow(IllegalStateException::new);
+        Assertions.assertEquals(4096, upload.getBytes());
+        Assertions.assertTrue(upload.getThroughput() > 0);
+        InMemoryMetricsRegistry.OperationSnapshot download =
+                registry.get(FileSystemType.S3, ClientOperation.DOWNLOAD).orElseThrow(IllegalStateException::new);
+        Assertions.assertEquals(2048, download.getBytes());
+        Assertions.assertEquals(1, download.getCount());
+    }
+
+    @Test
+    void fileDownloadBytesTest(@TempDir Path tempDir) throws IOException {
+        File target = Files.write(tempDir.resolve("down.bin"), new byte[100]).toFile();
+        Mockito.when(delegate.download(Mockito.eq("over.bin"), Mockito.any(File.class))).thenAnswer(inv -> {
+            Files.write(target.toPath(), new byte[150]);
+            return true;
+        });
+        Mockito.when(delegate.download(Mockito.eq("tail.bin"), Mockito.any(File.class),
+                Mockito.eq(FileOperation.APPEND))).thenAnswer(inv -> {
+            Files.write(target.toPath(), new byte[30], StandardOpenOption.APPEND);
+            return true;
+        });
+
+        client.download("over.bin", target);
+        InMemoryMetricsRegistry.OperationSnapshot download =
+                registry.get(FileSystemType.S3, ClientOperation.DOWNLOAD).orElseThrow(IllegalStateException::new);
+        Assertions.assertEquals(150, download.getBytes());
+
+        client.download("tail.bin", target, FileOperation.APPEND);
+        download = registry.get(FileSystemType.S3, ClientOperation.DOWNLOAD).orElseThrow(IllegalStateException::new);
+        Assertions.assertEquals(180, download.getBytes());
+    }
+
+    @Test
+    void histogramTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.getValueAtQuantile(0.99));
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        Assertions.assertEquals(1000, histogram.getCount());
+        Assertions.assertEquals(1_000_000L, histogram.getMax());
+        Assertions.assertEquals(500_000.0, histogram.getValueAtQuantile(0.5), 500_000 / 16.0);
+        Assertions.assertEquals(990_000.0, histogram.getValueAtQuantile(0.99), 990_000 / 16.0);
+        Assertions.assertEquals(1_000_000L, histogram.getValueAtQuantile(1.0));
+        for (long value : new long[] {0, 15, 16, 17, 1023, 1024, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.index(value);
+            Assertions.assertTrue(LatencyHistogram.upperBound(index) >= value);
+        }
+    }
+}
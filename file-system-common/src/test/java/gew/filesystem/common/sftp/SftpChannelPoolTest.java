@@ -0,0 +1,70 @@
+package gew.filesystem.common.sftp;
+
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+
+class SftpChannelPoolTest {
+
+    private final List<Session> sessions = new ArrayList<>();
+
+
+    @Test
+    void invalidArgumentTest() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new SftpChannelPool(null, 1, 1, 1, true, 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new SftpChannelPool(this::newSession, 0, 1, 1, true, 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new SftpChannelPool(this::newSession, 1, 0, 1, true, 0));
+    }
+
+    @Test
+    void spreadAndCapTest() throws IOException {
+        SftpChannelPool pool = new SftpChannelPool(this::newSession, 2, 2, 1, true, 50);
+
+        ChannelSftp first = pool.borrow();
+        ChannelSftp second = pool.borrow();
+        Assertions.assertEquals(2, sessions.size());
+        Assertions.assertNotSame(first, second);
+        Assertions.assertThrows(IOException.class, pool::borrow);
+        Assertions.assertNull(pool.tryBorrow());
+
+        pool.release(first);
+        pool.release(second);
+        Assertions.assertEquals(1, pool.getIdleCount());
+        Assertions.assertEquals(2, pool.getAvailablePermits());
+        Mockito.verify(second, Mockito.times(1)).disconnect();
+
+        Assertions.assertSame(first, pool.tryBorrow());
+        pool.invalidate(first);
+        Mockito.verify(first, Mockito.times(1)).disconnect();
+        Assertions.assertEquals(0, pool.getIdleCount());
+
+        pool.close();
+        for (Session session : sessions) {
+            Mockito.verify(session, Mockito.times(1)).disconnect();
+        }
+    }
+
+
+    private Session newSession(int slot) throws JSchException {
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.isConnected()).thenReturn(true);
+        Mockito.when(session.openChannel("sftp")).thenAnswer(inv -> {
+            ChannelSftp channel = Mockito.mock(ChannelSftp.class);
+            Mockito.when(channel.isConnected()).thenReturn(true);
+            return channel;
+        });
+        this.sessions.add(session);
+        return session;
+    }
+}
@@ -8,6 +8,7 @@ import com.jcraft.jsch.SftpATTRS;
 import com.jcraft.jsch.SftpException;
 import gew.filesystem.common.DefaultMock;
 import gew.filesystem.common.config.SftpClientConfig;
+import gew.filesystem.common.model.DeleteResult;
 import gew.filesystem.common.model.FileOperation;
 import gew.filesystem.common.model.ObjectMetaInfo;
 import gew.filesystem.common.model.ObjectProperty;
@@ -15,17 +16,33 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 
 class SftpSystemClientImplTest extends DefaultMock {
@@ -191,6 +208,160 @@ class SftpSystemClientImplTest extends DefaultMock {
         }
     }
 
+    @Test
+    public void deleteAllTest() throws Exception {
+        Mockito.when(this.channel.isConnected()).thenReturn(true);
+        Mockito.doThrow(new SftpException(ChannelSftp.SSH_FX_NO_SUCH_FILE, "No such file"))
+                .when(this.channel).rm("/tmp/missing.txt");
+        Map<String, Boolean> results = client.deleteAll(Arrays.asList("/tmp/a.txt", "/tmp/missing.txt", "/tmp/b.txt"));
+
+        Assertions.assertEquals(Arrays.asList("/tmp/a.txt", "/tmp/missing.txt", "/tmp/b.txt"),
+                new ArrayList<>(results.keySet()));
+        Assertions.assertEquals(Arrays.asList(true, false, true), new ArrayList<>(results.values()));
+        Mockito.verify(this.session, Mockito.times(1)).openChannel("sftp");
+        Mockito.verify(this.channel, Mockito.never()).disconnect();
+        Assertions.assertTrue(client.deleteAll(Collections.emptyList()).isEmpty());
+        client.close();
+        Mockito.verify(this.channel, Mockito.times(1)).disconnect();
+    }
+
+    @Test
+    public void pooledChannelTest() throws Exception {
+        Mockito.when(this.channel.isConnected()).thenReturn(true);
+        Mockito.when(this.channel.lstat(Mockito.anyString())).thenReturn(fileAttrs);
+        Mockito.when(this.channel.get(Mockito.anyString())).thenReturn(new ByteArrayInputStream(new byte[8]));
+        Assertions.assertTrue(client.exist("/tmp/a.txt"));
+        Assertions.assertTrue(client.exist("/tmp/b.txt"));
+        try (InputStream in = client.download("/tmp/a.txt")) {
+            Assertions.assertEquals(8, in.skip(8));
+        }
+        Assertions.assertTrue(client.exist("/tmp/c.txt"));
+        Mockito.verify(this.session, Mockito.times(1)).openChannel("sftp");
+        Mockito.verify(this.channel, Mockito.times(1)).connect();
+
+        // A channel dropped while idle fails validation and is replaced
+        Mockito.when(this.channel.isConnected()).thenReturn(false, true);
+        Assertions.assertTrue(client.exist("/tmp/d.txt"));
+        Mockito.verify(this.session, Mockito.times(2)).openChannel("sftp");
+    }
+
+    @Test
+    public void rangeDownloadTest(@TempDir Path tempDir) throws Exception {
+        byte[] data = new byte[10_000];
+        new Random(24L).nextBytes(data);
+        List<Long> offsets = new CopyOnWriteArrayList<>();
+        Mockito.when(fileAttrs.isReg()).thenReturn(true);
+        Mockito.when(fileAttrs.getSize()).thenReturn((long) data.length);
+        Mockito.when(this.session.openChannel("sftp")).thenAnswer(inv -> {
+            ChannelSftp rangeChannel = Mockito.mock(ChannelSftp.class);
+            Mockito.when(rangeChannel.isConnected()).thenReturn(true);
+            Mockito.when(rangeChannel.stat(Mockito.anyString())).thenReturn(fileAttrs);
+            Mockito.when(rangeChannel.get(Mockito.anyString(), Mockito.isNull(), Mockito.anyLong())).thenAnswer(get -> {
+                long offset = get.getArgument(2);
+                offsets.add(offset);
+                return new ByteArrayInputStream(data, (int) offset, data.length - (int) offset);
+            });
+            return rangeChannel;
+        });
+        SftpClientConfig config = new SftpClientConfig("127.0.0.1", "user", "pass");
+        config.setRangeThreshold(4096);
+        config.setRangeParallelism(4);
+        SftpSystemClientImpl rangeClient = new SftpSystemClientImpl();
+        rangeClient.init(config);
+        rangeClient.setSftpSession(this.session);
+
+        File target = tempDir.resolve("large.bin").toFile();
+        Files.write(target.toPath(), new byte[20_000]);
+        Assertions.assertTrue(rangeClient.download("/tmp/large.bin", target));
+        Assertions.assertArrayEquals(data, Files.readAllBytes(target.toPath()));
+        Collections.sort(offsets);
+        Assertions.assertEquals(Arrays.asList(0L, 2500L, 5000L, 7500L), offsets);
+
+        // Smaller Than the Threshold or Appending: One Plain Transfer
+        Mockito.when(fileAttrs.getSize()).thenReturn(100L);
+        Assertions.assertTrue(rangeClient.download("/tmp/small.bin", target));
+        Assertions.assertTrue(rangeClient.download("/tmp/large.bin", target, FileOperation.APPEND));
+        Assertions.assertEquals(4, offsets.size());
+        rangeClient.close();
+
+        // A Busy Pool Gives Fewer Ranges Instead of Waiting, Down to the Single Pipelined Channel
+        Mockito.when(fileAttrs.getSize()).thenReturn((long) data.length);
+        offsets.clear();
+        config.setPoolMaxTotal(2);
+        rangeClient = new SftpSystemClientImpl();
+        rangeClient.init(config);
+        rangeClient.setSftpSession(this.session);
+        Assertions.assertTrue(rangeClient.download("/tmp/large.bin", target));
+        Assertions.assertArrayEquals(data, Files.readAllBytes(target.toPath()));
+        Collections.sort(offsets);
+        Assertions.assertEquals(Arrays.asList(0L, 5000L), offsets);
+        rangeClient.close();
+
+        offsets.clear();
+        config.setPoolMaxTotal(1);
+        rangeClient = new SftpSystemClientImpl();
+        rangeClient.init(config);
+        rangeClient.setSftpSession(this.session);
+        Assertions.assertTrue(rangeClient.download("/tmp/large.bin", target));
+        Assertions.assertTrue(offsets.isEmpty());
+        rangeClient.close();
+    }
+
+    @Test
+    public void recursiveTreeTest(@TempDir Path tempDir) throws Exception {
+        // In-Memory Remote Tree: Path to Size, -1 for Directories
+        NavigableMap<String, Long> tree = new ConcurrentSkipListMap<>();
+        tree.put("/data", -1L);
+        tree.put("/data/a.csv", 10L);
+        tree.put("/data/empty", -1L);
+        tree.put("/data/sub", -1L);
+        tree.put("/data/sub/b.csv", 20L);
+        tree.put("/data/sub/deep", -1L);
+        tree.put("/data/sub/deep/c.csv", 30L);
+        Map<String, ChannelSftp.LsEntry> entries = new HashMap<>();
+        for (Map.Entry<String, Long> node : tree.entrySet()) {
+            SftpATTRS attrs = Mockito.mock(SftpATTRS.class);
+            Mockito.when(attrs.isDir()).thenReturn(node.getValue() < 0);
+            Mockito.when(attrs.getSize()).thenReturn(Math.max(0L, node.getValue()));
+            ChannelSftp.LsEntry entry = Mockito.mock(ChannelSftp.LsEntry.class);
+            Mockito.when(entry.getFilename()).thenReturn(node.getKey().substring(node.getKey().lastIndexOf('/') + 1));
+            Mockito.when(entry.getAttrs()).thenReturn(attrs);
+            entries.put(node.getKey(), entry);
+        }
+        Mockito.when(dirAttrs.isDir()).thenReturn(true);
+        Mockito.when(fileAttrs.isReg()).thenReturn(true);
+        Mockito.when(fileAttrs.getSize()).thenReturn(10L);
+        List<ChannelSftp> channels = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            channels.add(treeChannel(tree, entries));
+        }
+        Mockito.when(this.session.openChannel("sftp")).thenReturn(channels.get(0),
+                channels.subList(1, channels.size()).toArray(new ChannelSftp[0]));
+
+        List<String> names = client.listRecursive("/data").stream().map(ObjectProperty::getName)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(Arrays.asList("a.csv", "empty", "sub", "sub/b.csv", "sub/deep", "sub/deep/c.csv"),
+                names);
+
+        File local = tempDir.resolve("mirror").toFile();
+        Assertions.assertEquals(3, client.downloadDirectory("/data", local));
+        Assertions.assertEquals(30L, new File(local, "sub/deep/c.csv").length());
+        Assertions.assertTrue(new File(local, "empty").isDirectory());
+
+        Assertions.assertEquals(3, client.uploadDirectory(local, "/copy/x"));
+        Assertions.assertEquals(Long.valueOf(-1L), tree.get("/copy"));
+        Assertions.assertEquals(Long.valueOf(-1L), tree.get("/copy/x/empty"));
+        Assertions.assertEquals(Long.valueOf(30L), tree.get("/copy/x/sub/deep/c.csv"));
+        Assertions.assertThrows(IOException.class, () -> client.mkdirs("/copy/x/a.csv/nested"));
+
+        DeleteResult result = client.deleteRecursive("/data");
+        Assertions.assertEquals(3, result.getFiles());
+        Assertions.assertEquals(4, result.getDirectories());
+        Assertions.assertEquals(60, result.getBytes());
+        Assertions.assertTrue(tree.subMap("/data", true, "/data/\uffff", true).isEmpty());
+        Assertions.assertFalse(client.delete("/data", FileOperation.DELETE_RECURSIVE));
+    }
+
     @AfterEach
     public void tearDown() {
         if (client != null) {
@@ -198,6 +369,47 @@ class SftpSystemClientImplTest extends DefaultMock {
         }
     }
 
+    /**
+     * Channel Serving the In-Memory Tree; rmdir Fails on a Non-Empty Directory Like a Real Server
+     */
+    @SuppressWarnings("unchecked")
+    private ChannelSftp treeChannel(NavigableMap<String, Long> tree, Map<String, ChannelSftp.LsEntry> entries)
+            throws Exception {
+        ChannelSftp treeChannel = Mockito.mock(ChannelSftp.class);
+        Mockito.when(treeChannel.isConnected()).thenReturn(true);
+        Mockito.when(treeChannel.ls(Mockito.anyString())).thenAnswer(inv -> {
+            String dir = inv.getArgument(0);
+            Vector<ChannelSftp.LsEntry> children = new Vector<>();
+            tree.subMap(dir + "/", false, dir + "/\uffff", true).keySet().stream()
+                    .filter(path -> path.lastIndexOf('/') == dir.length())
+                    .forEach(path -> children.add(entries.get(path)));
+            return children;
+        });
+        Mockito.when(treeChannel.stat(Mockito.anyString())).thenAnswer(inv -> {
+            Long size = tree.get((String) inv.getArgument(0));
+            if (size == null) {
+                throw new SftpException(ChannelSftp.SSH_FX_NO_SUCH_FILE, "No such file");
+            }
+            return size < 0 ? dirAttrs : fileAttrs;
+        });
+        Mockito.when(treeChannel.lstat(Mockito.anyString())).thenAnswer(inv -> treeChannel.stat(inv.getArgument(0)));
+        Mockito.doAnswer(inv -> tree.put(inv.getArgument(0), -1L)).when(treeChannel).mkdir(Mockito.anyString());
+        Mockito.doAnswer(inv -> tree.remove((String) inv.getArgument(0))).when(treeChannel).rm(Mockito.anyString());
+        Mockito.doAnswer(inv -> {
+            String dir = inv.getArgument(0);
+            if (!tree.subMap(dir + "/", false, dir + "/\uffff", true).isEmpty()) {
+                throw new SftpException(ChannelSftp.SSH_FX_FAILURE, "Directory not empty");
+            }
+            return tree.remove(dir);
+        }).when(treeChannel).rmdir(Mockito.anyString());
+        Mockito.doAnswer(inv -> Files.write(Paths.get((String) inv.getArgument(1)),
+                new byte[tree.get((String) inv.getArgument(0)).intValue()]))
+                .when(treeChannel).get(Mockito.anyString(), Mockito.anyString(), Mockito.isNull(), Mockito.anyInt());
+        Mockito.doAnswer(inv -> tree.put(inv.getArgument(1), new File((String) inv.getArgument(0)).length()))
+                .when(treeChannel).put(Mockito.anyString(), Mockito.anyString());
+        return treeChannel;
+    }
+
     private String getPropertiesFile() {
         URL url = Thread.currentThread().getContextClassLoader().getResource("pom.properties");
         String path = Objects.requireNonNull(url, "Invalid Url").getPath();
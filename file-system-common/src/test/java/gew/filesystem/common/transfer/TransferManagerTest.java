@@ -0,0 +1,240 @@
+package gew.filesystem.common.transfer;
+
+import gew.filesystem.common.DefaultMock;
+import gew.filesystem.common.local.LocalFileSystemClientImpl;
+import gew.filesystem.common.model.FileSystemType;
+import gew.filesystem.common.model.ObjectProperty;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+
+class TransferManagerTest extends DefaultMock {
+
+    @Mock
+    private BasicFileSystemClient remote;
+
+    @TempDir
+    Path tempDir;
+
+    private TransferManager manager;
+
+
+    @BeforeEach
+    void setUp() {
+        this.manager = new TransferManager(4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.manager.close();
+    }
+
+    @Test
+    void localRoundTripTest() throws IOException {
+        Path source = tempDir.resolve("source");
+        for (int i = 0; i < 20; i++) {
+            Path file = source.resolve("d" + (i % 3)).resolve("sub").resolve("f" + i + ".txt");
+            Files.createDirectories(file.getParent());
+            Files.write(file, ("file-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        LocalFileSystemClientImpl local = new LocalFileSystemClientImpl();
+        String remoteDir = tempDir.resolve("remote").toString();
+
+        TransferResult upload = manager.uploadDirectory(source.toFile(), local, remoteDir);
+        Assertions.assertTrue(upload.isSuccess(), upload.getFailures().toString());
+        Assertions.assertEquals(20, upload.getSucceeded());
+        Assertions.assertEquals("file-7",
+                new String(Files.readAllBytes(tempDir.resolve("remote/d1/sub/f7.txt")), StandardCharsets.UTF_8));
+
+        File target = tempDir.resolve("restore").toFile();
+        TransferResult download = manager.downloadDirectory(local, remoteDir, target);
+        Assertions.assertTrue(download.isSuccess(), download.getFailures().toString());
+        Assertions.assertEquals(20, download.getSucceeded());
+        Assertions.assertEquals(upload.getBytes(), download.getBytes());
+        Assertions.assertEquals("file-19", new String(Files.readAllBytes(target.toPath().resolve("d1/sub/f19.txt")),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void partialFailureTest() throws IOException {
+        Path source = tempDir.resolve("objects");
+        Files.createDirectories(source.resolve("nested"));
+        Files.write(source.resolve("a.txt"), new byte[3]);
+        Files.write(source.resolve("bad.txt"), new byte[5]);
+        Files.write(source.resolve("nested/c.txt"), new byte[7]);
+        Mockito.when(remote.getFileSystemType()).thenReturn(FileSystemType.S3);
+        Mockito.when(remote.upload(Mockito.anyString(), Mockito.any(File.class)))
+                .thenAnswer(inv -> inv.getArgument(0));
+        Mockito.when(remote.upload(Mockito.eq("backup/bad.txt"), Mockito.any(File.class)))
+                .thenThrow(new IOException("Access Denied"));
+
+        TransferResult result = manager.uploadDirectory(source.toFile(), remote, "backup");
+        Assertions.assertEquals(2, result.getSucceeded());
+        Assertions.assertEquals(1, result.getFailed());
+        Assertions.assertEquals(10, result.getBytes());
+        Assertions.assertEquals("backup/bad.txt", result.getFailures().get(0).getDestination());
+        Mockito.verify(remote).upload(Mockito.eq("backup/nested/c.txt"), Mockito.any(File.class));
+        Mockito.verify(remote, Mockito.never()).mkdir(Mockito.anyString());
+
+        // Flat key listing with a directory marker, the marker's contents must not be fetched twice
+        Mockito.when(remote.listStream("backup/")).thenAnswer(inv -> Stream.of(
+                new ObjectProperty("backup/a.txt", false, 3L),
+                new ObjectProperty("backup/nested/", true),
+                new ObjectProperty("backup/nested/c.txt", false, 7L)));
+        Mockito.when(remote.listStream("backup/nested/")).thenAnswer(inv -> Stream.of(
+                new ObjectProperty("backup/nested/c.txt", false, 7L)));
+        Mockito.when(remote.download(Mockito.anyString(), Mockito.any(File.class))).thenAnswer(inv -> {
+            File file = inv.getArgument(1);
+            Files.write(file.toPath(), Arrays.copyOf(new byte[0], 1));
+            return true;
+        });
+        TransferResult download = manager.downloadDirectory(remote, "backup/", tempDir.resolve("restore").toFile());
+        Assertions.assertEquals(2, download.getSucceeded());
+        Assertions.assertTrue(tempDir.resolve("restore/nested/c.txt").toFile().isFile());
+        Mockito.verify(remote, Mockito.times(1)).download(Mockito.eq("backup/nested/c.txt"), Mockito.any(File.class));
+    }
+
+    @Test
+    void remoteKeyTraversalTest() throws IOException {
+        Mockito.when(remote.getFileSystemType()).thenReturn(FileSystemType.S3);
+        Mockito.when(remote.listStream("backup/")).thenAnswer(inv -> Stream.of(
+                new ObjectProperty("backup/../../escaped.txt", false, 1L),
+                new ObjectProperty("backup/ok.txt", false, 1L)));
+        Mockito.when(remote.download(Mockito.anyString(), Mockito.any(File.class))).thenAnswer(inv -> {
+            Files.write(((File) inv.getArgument(1)).toPath(), new byte[1]);
+            return true;
+        });
+        Path restore = tempDir.resolve("a/b/restore");
+
+        TransferResult download = manager.downloadDirectory(remote, "backup", restore.toFile());
+        Assertions.assertEquals(1, download.getSucceeded());
+        Assertions.assertEquals(1, download.getFailed());
+        Assertions.assertEquals("backup/../../escaped.txt", download.getFailures().get(0).getSource());
+        Assertions.assertTrue(Files.isRegularFile(restore.resolve("ok.txt")));
+        Assertions.assertFalse(Files.exists(tempDir.resolve("a/escaped.txt")));
+
+        // Sync into a local tree rejects the same key
+        LocalFileSystemClientImpl local = new LocalFileSystemClientImpl();
+        Path mirror = Files.createDirectories(tempDir.resolve("a/b/mirror"));
+        TransferResult sync = manager.sync(remote, "backup", local, mirror.toString(), false);
+        Assertions.assertEquals(1, sync.getSucceeded());
+        Assertions.assertEquals(1, sync.getFailed());
+        Assertions.assertTrue(Files.isRegularFile(mirror.resolve("ok.txt")));
+        Assertions.assertFalse(Files.exists(tempDir.resolve("a/escaped.txt")));
+        Mockito.verify(remote, Mockito.never()).download(Mockito.eq("backup/../../escaped.txt"),
+                Mockito.any(File.class));
+    }
+
+    @Test
+    void localSyncTest() throws IOException {
+        Path source = tempDir.resolve("source");
+        for (String name : Arrays.asList("a.txt", "a/b.txt", "a/c/d.txt", "a.b/e.txt", "z.txt")) {
+            Files.createDirectories(source.resolve(name).getParent());
+            Files.write(source.resolve(name), name.getBytes(StandardCharsets.UTF_8));
+        }
+        LocalFileSystemClientImpl local = new LocalFileSystemClientImpl();
+        String mirror = tempDir.resolve("mirror").toString();
+
+        TransferResult first = manager.sync(source.toFile(), local, mirror, true);
+        Assertions.assertTrue(first.isSuccess(), first.getFailures().toString());
+        Assertions.assertEquals(5, first.getSucceeded());
+        TransferResult second = manager.sync(source.toFile(), local, mirror, true);
+        Assertions.assertEquals(0, second.getSucceeded());
+        Assertions.assertEquals(5, second.getSkipped());
+
+        Files.write(source.resolve("a/b.txt"), "changed".getBytes(StandardCharsets.UTF_8));
+        Files.write(source.resolve("a/new.txt"), new byte[1]);
+        Files.delete(source.resolve("a.b/e.txt"));
+        TransferResult third = manager.sync(source.toFile(), local, mirror, true);
+        Assertions.assertTrue(third.isSuccess(), third.getFailures().toString());
+        Assertions.assertEquals(2, third.getSucceeded());
+        Assertions.assertEquals(3, third.getSkipped());
+        Assertions.assertEquals(1, third.getDeleted());
+        Assertions.assertEquals("changed", new String(Files.readAllBytes(tempDir.resolve("mirror/a/b.txt")),
+                StandardCharsets.UTF_8));
+        Assertions.assertFalse(tempDir.resolve("mirror/a.b/e.txt").toFile().exists());
+    }
+
+    @Test
+    void remoteSyncTest() throws IOException {
+        Path source = tempDir.resolve("source");
+        Files.createDirectories(source.resolve("dir"));
+        Files.write(source.resolve("dir/same.txt"), new byte[4]);
+        Files.write(source.resolve("dir/resized.txt"), new byte[6]);
+        Files.write(source.resolve("new.txt"), new byte[2]);
+        long now = System.currentTimeMillis() + 60_000L;
+        Mockito.when(remote.getFileSystemType()).thenReturn(FileSystemType.S3);
+        Mockito.when(remote.upload(Mockito.anyString(), Mockito.any(File.class)))
+                .thenAnswer(inv -> inv.getArgument(0));
+        Mockito.when(remote.delete(Mockito.anyString())).thenReturn(true);
+        Mockito.when(remote.listStream("mirror/")).thenAnswer(inv -> Stream.of(
+                property("mirror/dir/", true, 0L, now),
+                property("mirror/dir/resized.txt", false, 5L, now),
+                property("mirror/dir/same.txt", false, 4L, now),
+                property("mirror/old.txt", false, 9L, now)));
+
+        TransferResult result = manager.sync(source.toFile(), remote, "mirror/", true);
+        Assertions.assertTrue(result.isSuccess(), result.getFailures().toString());
+        Assertions.assertEquals(2, result.getSucceeded());
+        Assertions.assertEquals(1, result.getSkipped());
+        Assertions.assertEquals(1, result.getDeleted());
+        Mockito.verify(remote).upload(Mockito.eq("mirror/dir/resized.txt"), Mockito.any(File.class));
+        Mockito.verify(remote).upload(Mockito.eq("mirror/new.txt"), Mockito.any(File.class));
+        Mockito.verify(remote, Mockito.never()).upload(Mockito.eq("mirror/dir/same.txt"), Mockito.any(File.class));
+        Mockito.verify(remote).delete("mirror/old.txt");
+
+        // An unsorted listing must abort before anything is deleted
+        Mockito.when(remote.listStream("mirror/")).thenAnswer(inv -> Stream.of(
+                property("mirror/b.txt", false, 1L, now),
+                property("mirror/a.txt", false, 1L, now)));
+        Assertions.assertThrows(IOException.class, () -> manager.sync(source.toFile(), remote, "mirror", true));
+        Mockito.verify(remote, Mockito.times(1)).delete(Mockito.anyString());
+    }
+
+    @Test
+    void eTagComparisonTest() {
+        long older = 1_000L;
+        long newer = 2_000L;
+        SyncSide.Entry s3 = new SyncSide.Entry("a.bin", 8L, older, "\"9E107D9D372BB6826BD81D3542A419D6\"",
+                FileSystemType.S3);
+        // Same Store, Quoted vs Bare and Upper vs Lower Case Still Match, Regardless of Times
+        Assertions.assertFalse(s3.changedFrom(new SyncSide.Entry("a.bin", 8L, newer,
+                "9e107d9d372bb6826bd81d3542a419d6", FileSystemType.S3)));
+        Assertions.assertTrue(s3.changedFrom(new SyncSide.Entry("a.bin", 8L, newer,
+                "\"e4d909c290d0fb1ca068ffaddf22cbd0\"", FileSystemType.S3)));
+
+        // Cross Store: ETags Are Ignored, an Older Source Is Up to Date
+        Assertions.assertFalse(s3.changedFrom(new SyncSide.Entry("a.bin", 8L, newer,
+                "E4D909C290D0FB1CA068FFADDF22CBD0", FileSystemType.OSS)));
+        Assertions.assertTrue(new SyncSide.Entry("a.bin", 8L, newer, "\"9e107d9d372bb6826bd81d3542a419d6\"",
+                FileSystemType.S3).changedFrom(new SyncSide.Entry("a.bin", 8L, older,
+                "9E107D9D372BB6826BD81D3542A419D6", FileSystemType.OSS)));
+
+        // Multipart ETag on Either Side: Fall Back to Size and Modification Time
+        SyncSide.Entry multipart = new SyncSide.Entry("a.bin", 8L, older,
+                "\"d41d8cd98f00b204e9800998ecf8427e-3\"", FileSystemType.S3);
+        Assertions.assertFalse(multipart.changedFrom(new SyncSide.Entry("a.bin", 8L, newer,
+                "\"9e107d9d372bb6826bd81d3542a419d6\"", FileSystemType.S3)));
+        Assertions.assertTrue(s3.changedFrom(new SyncSide.Entry("a.bin", 9L, newer, null, FileSystemType.LOCAL)));
+    }
+
+    private static ObjectProperty property(String name, boolean directory, long size, long lastModified) {
+        ObjectProperty property = new ObjectProperty(name, directory, size);
+        property.setLastModified(lastModified);
+        return property;
+    }
+}
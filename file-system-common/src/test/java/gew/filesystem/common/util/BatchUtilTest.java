@@ -0,0 +1,57 @@
+package gew.filesystem.common.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+class BatchUtilTest {
+
+    @Test
+    void partitionTest() {
+        Assertions.assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)),
+                BatchUtil.partition(Arrays.asList(1, 2, 3, 4, 5), 2));
+        Assertions.assertTrue(BatchUtil.partition(null, 2).isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BatchUtil.partition(Arrays.asList(1), 0));
+    }
+
+    @Test
+    void invokeAllTest() throws IOException {
+        List<Callable<Integer>> tasks = Arrays.asList(() -> 1, () -> 2, () -> 3);
+        Assertions.assertEquals(Arrays.asList(1, 2, 3), BatchUtil.invokeAll(tasks, 2, "batch-test-"));
+        Assertions.assertEquals(Arrays.asList(1, 2, 3), BatchUtil.invokeAll(tasks, 1, "batch-test-"));
+    }
+
+    @Test
+    void failureStopsRunningTasksTest() {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean stopped = new AtomicBoolean();
+        List<Callable<Integer>> tasks = Arrays.asList(
+                () -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(60_000);
+                        return 1;
+                    } finally {
+                        stopped.set(true);
+                    }
+                },
+                () -> {
+                    started.await();
+                    throw new IOException("Failed");
+                });
+
+        IOException err = Assertions.assertThrows(IOException.class,
+                () -> BatchUtil.invokeAll(tasks, 2, "batch-test-"));
+        Assertions.assertEquals("Failed", err.getMessage());
+        // The sleeping task was interrupted and had finished before the failure reached the caller
+        Assertions.assertTrue(stopped.get());
+        Assertions.assertFalse(Thread.currentThread().isInterrupted());
+    }
+}
@@ -0,0 +1,164 @@
+package gew.filesystem.common.util;
+
+import gew.filesystem.common.model.CompressMethod;
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+
+class CompressUtilParallelTest {
+
+    @TempDir
+    Path tempDir;
+
+
+    @AfterEach
+    void tearDown() {
+        CompressUtil.setZipParallelism(1);
+        CompressUtil.setZipScatterInMemory(false);
+        CompressUtil.setZipScatterDir(null);
+        CompressUtil.setGzipParallelism(1);
+        CompressUtil.setZstdLevel(3);
+        CompressUtil.setZstdWorkers(0);
+        CompressUtil.setLz4Level(0);
+    }
+
+    @Test
+    void parallelZipTest() throws IOException {
+        Path logs = tempDir.resolve("logs");
+        Files.createDirectories(logs.resolve("empty"));
+        for (int i = 0; i < 40; i++) {
+            Path file = logs.resolve("app-" + (i % 4)).resolve("app-" + i + ".log");
+            Files.createDirectories(file.getParent());
+            Files.write(file, repeat("log line " + i + "\n", 500));
+        }
+        CompressUtil.setZipParallelism(4);
+        for (boolean inMemory : new boolean[] {true, false}) {
+            CompressUtil.setZipScatterInMemory(inMemory);
+            CompressUtil.setZipScatterDir(inMemory ? null : tempDir);
+            Path archive = tempDir.resolve("logs-" + inMemory + ".zip");
+            Assertions.assertTrue(CompressUtil.compress(logs, archive, CompressMethod.ZIP, FileOperation.OVERWRITE));
+
+            try (ZipFile zip = new ZipFile(archive.toFile())) {
+                Assertions.assertEquals(41, zip.size());
+                Assertions.assertTrue(zip.getEntry("logs/empty/").isDirectory());
+                ZipEntry entry = zip.getEntry("logs/app-3/app-7.log");
+                Assertions.assertEquals(ZipEntry.DEFLATED, entry.getMethod());
+                try (InputStream in = zip.getInputStream(entry)) {
+                    Assertions.assertArrayEquals(repeat("log line 7\n", 500), IOUtils.toByteArray(in));
+                }
+            }
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            Assertions.assertEquals(0, files.filter(p -> p.getFileName().toString().startsWith("fs-zip-scatter"))
+                    .count());
+        }
+    }
+
+    @Test
+    void tarGzipRoundTripTest() throws IOException {
+        Path data = tempDir.resolve("export");
+        for (int i = 0; i < 12; i++) {
+            Path file = data.resolve("part-" + (i % 3)).resolve("rows-" + i + ".csv");
+            Files.createDirectories(file.getParent());
+            Files.write(file, repeat("row," + i + "\n", 2000));
+        }
+        CompressUtil.setGzipParallelism(3);
+        Path archive = tempDir.resolve("export.tar.gz");
+        Assertions.assertTrue(CompressUtil.tarAndGzip(data, archive, FileOperation.OVERWRITE));
+        Assertions.assertFalse(Files.exists(tempDir.resolve("export.tar.gz.tmp")));
+
+        Path restore = tempDir.resolve("restore");
+        Files.createDirectories(restore);
+        Assertions.assertTrue(CompressUtil.unTarAndGzip(archive, restore));
+        Assertions.assertArrayEquals(repeat("row,8\n", 2000),
+                Files.readAllBytes(restore.resolve("export/part-2/rows-8.csv")));
+    }
+
+    @Test
+    void zstdAndLz4RoundTripTest() throws IOException {
+        Path data = tempDir.resolve("logs");
+        Files.createDirectories(data.resolve("app"));
+        byte[] content = repeat("2024-03-28 INFO request served in 12ms\n", 50000);
+        Files.write(data.resolve("app/app.log"), content);
+
+        CompressUtil.setZstdLevel(1);
+        CompressUtil.setZstdWorkers(2);
+        Path zst = tempDir.resolve("app.log.zst");
+        Assertions.assertTrue(CompressUtil.zstd(data.resolve("app/app.log"), zst, FileOperation.OVERWRITE));
+        Assertions.assertTrue(Files.size(zst) < content.length / 20);
+        Path zstOut = tempDir.resolve("zstd.out");
+        Assertions.assertTrue(CompressUtil.unZstd(zst, zstOut));
+        Assertions.assertArrayEquals(content, Files.readAllBytes(zstOut));
+
+        for (int level : new int[] {0, 9}) {
+            CompressUtil.setLz4Level(level);
+            Path lz4 = tempDir.resolve("app-" + level + ".log.lz4");
+            Assertions.assertTrue(CompressUtil.lz4(data.resolve("app/app.log"), lz4, FileOperation.OVERWRITE));
+            Path lz4Out = tempDir.resolve("lz4-" + level + ".out");
+            Assertions.assertTrue(CompressUtil.unLz4(lz4, lz4Out));
+            Assertions.assertArrayEquals(content, Files.readAllBytes(lz4Out));
+        }
+
+        Path tarZst = tempDir.resolve("logs.tar.zst");
+        Assertions.assertTrue(CompressUtil.tarAndZstd(data, tarZst, FileOperation.OVERWRITE));
+        Path restore = tempDir.resolve("restore");
+        Files.createDirectories(restore);
+        Assertions.assertTrue(CompressUtil.unTarAndZstd(tarZst, restore));
+        Assertions.assertArrayEquals(content, Files.readAllBytes(restore.resolve("logs/app/app.log")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CompressUtil.setZstdLevel(99));
+    }
+
+    @Test
+    void compressToRemoteTest() throws IOException {
+        Path data = tempDir.resolve("export");
+        Files.createDirectories(data.resolve("part-0"));
+        Files.write(data.resolve("part-0/rows.csv"), repeat("row,1\n", 300000));
+        BasicFileSystemClient remote = Mockito.mock(BasicFileSystemClient.class);
+        ByteArrayOutputStream uploaded = new ByteArrayOutputStream();
+        Mockito.when(remote.upload(Mockito.anyString(), Mockito.any(InputStream.class))).thenAnswer(inv -> {
+            IOUtils.copy((InputStream) inv.getArgument(1), uploaded);
+            return true;
+        });
+        CompressUtil.setGzipParallelism(2);
+
+        Assertions.assertTrue(CompressUtil.compress(data, remote, "backup/export.tar.gz", CompressMethod.TAR_GZIP));
+        try (TarArchiveInputStream tar = new TarArchiveInputStream(new GzipCompressorInputStream(
+                new ByteArrayInputStream(uploaded.toByteArray())))) {
+            Assertions.assertEquals("export/part-0/rows.csv", tar.getNextEntry().getName());
+            Assertions.assertArrayEquals(repeat("row,1\n", 300000), IOUtils.toByteArray(tar));
+        }
+
+        // GZip of a directory fails in the compressor, the upload must fail rather than store a partial archive
+        Assertions.assertThrows(IOException.class,
+                () -> CompressUtil.compress(data, remote, "backup/export.gz", CompressMethod.GZIP));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> CompressUtil.compress(data, remote, "backup/export.7z", CompressMethod._7Z));
+    }
+
+    private static byte[] repeat(String line, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(line);
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,72 @@
+package gew.filesystem.common.util;
+
+import gew.filesystem.common.DefaultMock;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+class CopyUtilTest extends DefaultMock {
+
+    @Mock
+    private BasicFileSystemClient source;
+
+    @Mock
+    private BasicFileSystemClient destination;
+
+
+    @Test
+    void streamingCopyTest() throws IOException {
+        byte[] content = new byte[100 * 1024 + 13];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i % 251);
+        }
+        Mockito.when(source.download("drop/in.bin")).thenReturn(new ByteArrayInputStream(content));
+        AtomicReference<byte[]> received = new AtomicReference<>();
+        Mockito.when(destination.upload(Mockito.eq("bucket/out.bin"), Mockito.any(InputStream.class)))
+                .thenAnswer(inv -> {
+                    received.set(IOUtils.toByteArray((InputStream) inv.getArgument(1)));
+                    return true;
+                });
+
+        Assertions.assertEquals(content.length,
+                CopyUtil.copy(source, "drop/in.bin", destination, "bucket/out.bin", 4096, 3));
+        Assertions.assertArrayEquals(content, received.get());
+    }
+
+    @Test
+    void failedCopyTest() throws IOException {
+        InputStream broken = new SequenceInputStream(new ByteArrayInputStream(new byte[10000]), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection Reset");
+            }
+        });
+        Mockito.when(source.download("drop/in.bin")).thenReturn(broken);
+        Mockito.when(destination.upload(Mockito.anyString(), Mockito.any(InputStream.class)))
+                .thenAnswer(inv -> {
+                    IOUtils.toByteArray((InputStream) inv.getArgument(1));
+                    return true;
+                });
+        IOException error = Assertions.assertThrows(IOException.class,
+                () -> CopyUtil.copy(source, "drop/in.bin", destination, "out.bin", 1024, 2));
+        Assertions.assertEquals("Connection Reset", error.getMessage());
+
+        // Upload giving up early must not leave the pump blocked on a full ring
+        Mockito.when(source.download("drop/big.bin")).thenReturn(new ByteArrayInputStream(new byte[1 << 20]));
+        Mockito.when(destination.upload(Mockito.eq("out.bin"), Mockito.any(InputStream.class)))
+                .thenThrow(new IOException("Access Denied"));
+        error = Assertions.assertThrows(IOException.class,
+                () -> CopyUtil.copy(source, "drop/big.bin", destination, "out.bin", 1024, 2));
+        Assertions.assertEquals("Access Denied", error.getMessage());
+    }
+}
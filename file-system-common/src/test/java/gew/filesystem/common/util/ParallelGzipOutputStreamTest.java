@@ -0,0 +1,62 @@
+package gew.filesystem.common.util;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+
+class ParallelGzipOutputStreamTest {
+
+    @Test
+    void roundTripTest() throws IOException {
+        // Repetitive text with some noise, spanning several blocks plus a partial one
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(42);
+        while (text.length() < 600 * 1024) {
+            text.append("line ").append(random.nextInt(1000)).append(" of the nightly export\n");
+        }
+        byte[] content = text.toString().getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+        try (ParallelGzipOutputStream gzip = new ParallelGzipOutputStream(parallel, Deflater.DEFAULT_COMPRESSION,
+                4, 64 * 1024)) {
+            for (int off = 0; off < content.length; off += 10000) {
+                gzip.write(content, off, Math.min(10000, content.length - off));
+            }
+        }
+        Assertions.assertArrayEquals(content, gunzip(parallel.toByteArray()));
+        Assertions.assertTrue(parallel.size() < content.length / 4);
+
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        new ParallelGzipOutputStream(empty, Deflater.BEST_SPEED, 2).close();
+        Assertions.assertEquals(0, gunzip(empty.toByteArray()).length);
+    }
+
+    @Test
+    void crc32CombineTest() {
+        byte[] data = "pigz-style parallel gzip".getBytes(StandardCharsets.UTF_8);
+        CRC32 whole = new CRC32();
+        whole.update(data, 0, data.length);
+        CRC32 head = new CRC32();
+        head.update(data, 0, 9);
+        CRC32 tail = new CRC32();
+        tail.update(data, 9, data.length - 9);
+        Assertions.assertEquals(whole.getValue(),
+                ParallelGzipOutputStream.crc32Combine(head.getValue(), tail.getValue(), data.length - 9));
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package gew.filesystem.common.util;
+
+import gew.filesystem.common.DefaultMock;
+import gew.filesystem.common.model.ObjectMetaInfo;
+import gew.filesystem.common.model.ObjectProperty;
+import gew.filesystem.common.service.BasicFileSystemClient;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+
+class RemoteZipFileTest extends DefaultMock {
+
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+
+    @Mock
+    private BasicFileSystemClient client;
+
+    @TempDir
+    Path tempDir;
+
+
+    @Test
+    void rangedListAndExtractTest() throws IOException {
+        byte[] blob = new byte[2 * 1024 * 1024];
+        new Random(7).nextBytes(blob);
+        byte[] manifest = "Manifest-Version: 1.0\nCreated-By: Test\n\n".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(archive)) {
+            zos.putNextEntry(new ZipEntry("data/"));
+            zos.closeEntry();
+            zos.putNextEntry(new ZipEntry("data/blob.bin"));
+            zos.write(blob);
+            zos.closeEntry();
+            zos.putNextEntry(new ZipEntry(MANIFEST));
+            zos.write(manifest);
+            zos.closeEntry();
+            zos.setComment("Remote Zip Test");
+        }
+        AtomicLong fetched = serve("bucket/big.zip", archive.toByteArray());
+
+        List<ObjectProperty> entries = CompressUtil.listPath(client, "bucket/big.zip");
+        Assertions.assertEquals(3, entries.size());
+        Assertions.assertTrue(entries.get(0).getDirectory());
+        Assertions.assertEquals(blob.length, entries.get(1).getSize());
+        Assertions.assertEquals(MANIFEST, entries.get(2).getName());
+        Assertions.assertNotNull(entries.get(2).getLastModified());
+
+        fetched.set(0);
+        Assertions.assertTrue(CompressUtil.unZipEntry(client, "bucket/big.zip", MANIFEST, tempDir));
+        Assertions.assertArrayEquals(manifest, Files.readAllBytes(tempDir.resolve("MANIFEST.MF")));
+        Assertions.assertTrue(fetched.get() < 80 * 1024, "Fetched " + fetched.get() + " Bytes");
+
+        try (InputStream in = CompressUtil.openEntry(client, "bucket/big.zip", "data/blob.bin")) {
+            Assertions.assertArrayEquals(blob, IOUtils.toByteArray(in));
+        }
+        Assertions.assertThrows(IOException.class,
+                () -> CompressUtil.openEntry(client, "bucket/big.zip", "missing.txt"));
+    }
+
+    @Test
+    void zip64Test() throws IOException {
+        byte[] content = "Zip64 Forced Entry".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(archive)) {
+            zos.setUseZip64(Zip64Mode.Always);
+            ZipArchiveEntry entry = new ZipArchiveEntry("zip64.txt");
+            zos.putArchiveEntry(entry);
+            zos.write(content);
+            zos.closeArchiveEntry();
+        }
+        serve("bucket/zip64.zip", archive.toByteArray());
+
+        List<ObjectProperty> entries = CompressUtil.listPath(client, "bucket/zip64.zip");
+        Assertions.assertEquals(1, entries.size());
+        Assertions.assertEquals(content.length, entries.get(0).getSize());
+        try (InputStream in = CompressUtil.openEntry(client, "bucket/zip64.zip", "zip64.txt")) {
+            Assertions.assertArrayEquals(content, IOUtils.toByteArray(in));
+        }
+    }
+
+
+    private AtomicLong serve(String path, byte[] archive) throws IOException {
+        ObjectMetaInfo metaInfo = new ObjectMetaInfo();
+        metaInfo.setSize((long) archive.length);
+        Mockito.when(client.getObjectMetaInfo(path)).thenReturn(Optional.of(metaInfo));
+        AtomicLong fetched = new AtomicLong();
+        Mockito.when(client.download(Mockito.eq(path), Mockito.anyLong(), Mockito.anyLong())).thenAnswer(inv -> {
+            int offset = (int) (long) inv.getArgument(1);
+            int length = (int) Math.min((long) inv.getArgument(2), archive.length - offset);
+            fetched.addAndGet(length);
+            return new ByteArrayInputStream(archive, offset, length);
+        });
+        return fetched;
+    }
+}
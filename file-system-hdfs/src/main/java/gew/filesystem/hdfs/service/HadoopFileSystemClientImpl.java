@@ -7,15 +7,20 @@ import gew.filesystem.common.model.ObjectMetaInfo;
 import gew.filesystem.common.model.ObjectProperty;
 import gew.filesystem.common.model.ObjectType;
 import gew.filesystem.common.service.BasicFileSystemClient;
+import gew.filesystem.common.util.BatchUtil;
+import gew.filesystem.common.util.PagedIterator;
 import gew.filesystem.hdfs.config.HadoopFsClientConfig;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 
 import java.io.BufferedInputStream;
 import java.io.File;
@@ -26,9 +31,14 @@ import java.io.OutputStream;
 import java.net.URI;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -46,6 +56,11 @@ public class HadoopFileSystemClientImpl implements BasicFileSystemClient {
 
     private boolean existenceCheck;
 
+    /**
+     * Max Concurrent Delete RPCs in deleteAll
+     */
+    private int deleteParallelism = 8;
+
 
 
     public HadoopFileSystemClientImpl() {
@@ -156,13 +171,33 @@ public class HadoopFileSystemClientImpl implements BasicFileSystemClient {
         }
         try (Stream<FileStatus> fStream = Stream.of(fileStatus)) {
             List<ObjectProperty> objects = fStream
-                    .map(f -> new ObjectProperty(f.getPath().getName(), f.isDirectory(), f.getLen()))
+                    .map(HadoopFileSystemClientImpl::toObjectProperty)
                     .collect(Collectors.toList());
             log.debug("List Path [{}] Found {} Items", path, objects.size());
             return objects;
         }
     }
 
+    /**
+     * Lazily list path through {@link FileSystem#listStatusIterator(Path)}, which HDFS serves in batches
+     * of dfs.ls.limit entries instead of materializing the whole directory on the NameNode response.
+     */
+    @Override
+    public Stream<ObjectProperty> listStream(String path) throws IOException {
+        checkParameter(path);
+        RemoteIterator<FileStatus> statusIterator = fileSystem.listStatusIterator(new Path(path));
+        PagedIterator<ObjectProperty> iterator = new PagedIterator<ObjectProperty>() {
+            @Override
+            protected List<ObjectProperty> nextPage() throws IOException {
+                if (!statusIterator.hasNext()) {
+                    return null;
+                }
+                return Collections.singletonList(toObjectProperty(statusIterator.next()));
+            }
+        };
+        return iterator.stream();
+    }
+
     @Override
     public String mkdir(String path) throws IOException {
         checkParameter(path);
@@ -186,6 +221,23 @@ public class HadoopFileSystemClientImpl implements BasicFileSystemClient {
         return inputStream;
     }
 
+    @Override
+    public InputStream download(String source, long offset, long length) throws IOException {
+        checkParameter(source);
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("Invalid Range");
+        }
+        FSDataInputStream inputStream = fileSystem.open(new Path(source));
+        try {
+            inputStream.seek(offset);
+        } catch (IOException ioe) {
+            inputStream.close();
+            throw ioe;
+        }
+        log.debug("Prepare Object Downloading From HDFS [{}] at Offset {} Success", source, offset);
+        return new BoundedInputStream(inputStream, length);
+    }
+
     @Override
     public Boolean download(String source, File localFile, FileOperation... localFileOperation) throws IOException {
         checkParameter(source);
@@ -259,6 +311,42 @@ public class HadoopFileSystemClientImpl implements BasicFileSystemClient {
     }
 
 
+    /**
+     * Delete files with up to deleteParallelism NameNode RPCs in flight; DFSClient is thread safe,
+     * so the deletes overlap instead of paying one round trip after another.
+     */
+    @Override
+    public Map<String, Boolean> deleteAll(Collection<String> paths) throws IOException {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        if (paths == null || paths.isEmpty()) {
+            return results;
+        }
+        if (this.fileSystem == null) {
+            throw new IllegalStateException("HDFS Client Has Not Been Initialized!");
+        }
+        List<String> targets = new ArrayList<>(new LinkedHashSet<>(paths));
+        List<Callable<Boolean>> tasks = targets.stream()
+                .map(path -> (Callable<Boolean>) () -> {
+                    if (StringUtils.isBlank(path)) {
+                        return false;
+                    }
+                    try {
+                        return fileSystem.delete(new Path(path), false);
+                    } catch (IOException ioe) {
+                        log.warn("Delete [{}] on HDFS Failed: {}", path, ioe.getMessage());
+                        return false;
+                    }
+                })
+                .collect(Collectors.toList());
+        List<Boolean> deleted = BatchUtil.invokeAll(tasks, this.deleteParallelism, "hdfs-delete-");
+        for (int i = 0; i < targets.size(); i++) {
+            results.put(targets.get(i), deleted.get(i));
+        }
+        log.debug("Delete {} Path(s) on HDFS, {} Deleted", results.size(),
+                results.values().stream().filter(r -> r).count());
+        return results;
+    }
+
     @Override
     public void close() {
         if (this.fileSystem != null) {
@@ -271,6 +359,12 @@ public class HadoopFileSystemClientImpl implements BasicFileSystemClient {
     }
 
 
+    private static ObjectProperty toObjectProperty(FileStatus status) {
+        ObjectProperty property = new ObjectProperty(status.getPath().getName(), status.isDirectory(), status.getLen());
+        property.setLastModified(status.getModificationTime());
+        return property;
+    }
+
     private void checkParameter(final String path) {
         if (this.fileSystem == null) {
             throw new IllegalStateException("HDFS Client Has Not Been Initialized!");
@@ -282,4 +376,11 @@ public class HadoopFileSystemClientImpl implements BasicFileSystemClient {
     public void setExistenceCheck(boolean existenceCheck) {
         this.existenceCheck = existenceCheck;
     }
+
+    public void setDeleteParallelism(int deleteParallelism) {
+        if (deleteParallelism < 1) {
+            throw new IllegalArgumentException("Invalid Delete Parallelism");
+        }
+        this.deleteParallelism = deleteParallelism;
+    }
 }
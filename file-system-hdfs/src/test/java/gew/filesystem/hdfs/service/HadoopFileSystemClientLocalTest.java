@@ -0,0 +1,64 @@
+package gew.filesystem.hdfs.service;
+
+import gew.filesystem.hdfs.config.HadoopFsClientConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs the Client Against Hadoop's Local File System, No NameNode Needed
+ */
+class HadoopFileSystemClientLocalTest {
+
+    private HadoopFileSystemClientImpl client;
+
+    @TempDir
+    Path tempDir;
+
+
+    @BeforeEach
+    void setUp() {
+        client = new HadoopFileSystemClientImpl();
+        client.init(new HadoopFsClientConfig(URI.create("file:///"), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void deleteAllTest() throws IOException {
+        String first = Files.write(tempDir.resolve("a.txt"), new byte[10]).toString();
+        String second = Files.write(tempDir.resolve("b.txt"), new byte[20]).toString();
+        Path directory = Files.createDirectories(tempDir.resolve("dir"));
+        Files.write(directory.resolve("c.txt"), new byte[30]);
+        String missing = tempDir.resolve("missing.txt").toString();
+        client.setDeleteParallelism(2);
+
+        Map<String, Boolean> expected = new LinkedHashMap<>();
+        expected.put(first, true);
+        expected.put(second, true);
+        expected.put(missing, false);
+        expected.put(directory.toString(), false);
+        expected.put(" ", false);
+        Map<String, Boolean> results = client.deleteAll(Arrays.asList(first, second, missing, directory.toString(),
+                " ", first));
+        Assertions.assertEquals(expected, results);
+        Assertions.assertEquals(Arrays.asList(first, second, missing, directory.toString(), " "),
+                Arrays.asList(results.keySet().toArray()));
+        Assertions.assertFalse(Files.exists(tempDir.resolve("a.txt")));
+        Assertions.assertTrue(Files.exists(directory.resolve("c.txt")));
+        Assertions.assertTrue(client.deleteAll(null).isEmpty());
+    }
+}
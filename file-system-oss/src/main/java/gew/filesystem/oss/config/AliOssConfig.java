@@ -26,6 +26,27 @@ public class AliOssConfig implements FileSystemConfig {
 
     private CredentialsProvider credentialsProvider;
 
+    /**
+     * Files of at Least This Many Bytes Are Transferred with Resumable Multipart Upload / Ranged Download,
+     * Client Default (64 MiB) When Empty, Non-Positive Disables
+     */
+    private Long resumableThreshold;
+
+    /**
+     * Part Size in Bytes of Resumable Transfers, Client Default (8 MiB) When Empty
+     */
+    private Long transferPartSize;
+
+    /**
+     * Concurrent Parts per Resumable Transfer, Client Default (4) When Empty
+     */
+    private Integer transferThreads;
+
+    /**
+     * Directory of Transfer Checkpoint Files, Next to the Local File When Empty
+     */
+    private String checkpointDir;
+
 
     public AliOssConfig() {
         // Default
@@ -7,12 +7,20 @@ import com.aliyun.oss.OSSClient;
 import com.aliyun.oss.OSSClientBuilder;
 import com.aliyun.oss.OSSException;
 import com.aliyun.oss.internal.OSSHeaders;
+import com.aliyun.oss.model.DeleteObjectsRequest;
+import com.aliyun.oss.model.DeleteObjectsResult;
+import com.aliyun.oss.model.DownloadFileRequest;
+import com.aliyun.oss.model.DownloadFileResult;
+import com.aliyun.oss.model.GenericResult;
+import com.aliyun.oss.model.GetObjectRequest;
 import com.aliyun.oss.model.ListObjectsRequest;
 import com.aliyun.oss.model.OSSObject;
 import com.aliyun.oss.model.OSSObjectSummary;
 import com.aliyun.oss.model.ObjectListing;
 import com.aliyun.oss.model.ObjectMetadata;
 import com.aliyun.oss.model.PutObjectResult;
+import com.aliyun.oss.model.UploadFileRequest;
+import com.aliyun.oss.model.UploadFileResult;
 import com.aliyun.oss.model.VoidResult;
 import gew.filesystem.common.config.FileSystemConfig;
 import gew.filesystem.common.model.FileOperation;
@@ -21,22 +29,35 @@ import gew.filesystem.common.model.MetaDataPair;
 import gew.filesystem.common.model.ObjectMetaInfo;
 import gew.filesystem.common.model.ObjectProperty;
 import gew.filesystem.common.service.CloudFileSystemClient;
+import gew.filesystem.common.util.BatchUtil;
+import gew.filesystem.common.util.PagedIterator;
 import gew.filesystem.oss.config.AliOssConfig;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * AliYun OSS File System Client
@@ -62,6 +83,33 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
      */
     private int maxListObjects = 1000;
 
+    /**
+     * Max Concurrent DeleteObjects Requests in deleteAll
+     */
+    private int deleteParallelism = 4;
+
+    /**
+     * OSS DeleteObjects Accepts at Most 1000 Keys per Request
+     */
+    public static final int MAX_DELETE_KEYS = 1000;
+
+    /**
+     * Files at Least This Large Use Resumable Transfers, Non-Positive Disables
+     */
+    private long resumableThreshold = 64 * 1024 * 1024;
+
+    /**
+     * OSS Multipart Parts Must Be at Least 100 KiB, Except the Last
+     */
+    private long transferPartSize = 8 * 1024 * 1024;
+
+    private int transferThreads = 4;
+
+    /**
+     * Checkpoint Files Directory, Null Keeps the SDK Default Next to the Local File
+     */
+    private String checkpointDir;
+
 
     public AliOssFileSystemClientImpl() {
         // Default Constructor
@@ -81,6 +129,18 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
             return;
         }
         AliOssConfig ossConfig = (AliOssConfig) config;
+        if (ossConfig.getResumableThreshold() != null) {
+            setResumableThreshold(ossConfig.getResumableThreshold());
+        }
+        if (ossConfig.getTransferPartSize() != null) {
+            setTransferPartSize(ossConfig.getTransferPartSize());
+        }
+        if (ossConfig.getTransferThreads() != null) {
+            setTransferThreads(ossConfig.getTransferThreads());
+        }
+        if (StringUtils.isNotBlank(ossConfig.getCheckpointDir())) {
+            setCheckpointDir(ossConfig.getCheckpointDir());
+        }
         if (StringUtils.isBlank(ossConfig.getEndpoint())
                 && !ossConfig.getEndpoint().toLowerCase(Locale.ROOT).contains("http")) {
             throw new IllegalArgumentException("Invalid OSS EndPoint Config");
@@ -160,7 +220,7 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
                 return new ArrayList<>(0);
             }
             return summaries.stream()
-                    .map(s -> new ObjectProperty(s.getKey(), s.getKey().endsWith("/"), s.getSize()))
+                    .map(AliOssFileSystemClientImpl::toObjectProperty)
                     .collect(Collectors.toList());
 
         } catch (OSSException | ClientException re) {
@@ -170,6 +230,60 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
     }
 
 
+    @Override
+    public Stream<ObjectProperty> listStream(String path) throws IOException {
+        return listStream(this.defaultBucket, path);
+    }
+
+    /**
+     * Lazily list path following OSS markers. Same "/" delimited view as {@link #list(String, String)},
+     * plus sub directories reported as common prefixes, which a delimited listing never returns as objects.
+     */
+    @Override
+    public Stream<ObjectProperty> listStream(String bucket, String path) throws IOException {
+        checkParameter(bucket, path);
+        PagedIterator<ObjectProperty> iterator = new PagedIterator<ObjectProperty>() {
+
+            private String marker;
+
+            private boolean truncated = true;
+
+            @Override
+            protected List<ObjectProperty> nextPage() throws IOException {
+                if (!this.truncated) {
+                    return null;
+                }
+                ListObjectsRequest request = new ListObjectsRequest(bucket);
+                request.setPrefix(path);
+                request.setMaxKeys(maxListObjects);
+                request.setDelimiter("/");
+                request.setMarker(this.marker);
+                try {
+                    ObjectListing listing = ossClient.listObjects(request);
+                    this.marker = listing.getNextMarker();
+                    this.truncated = listing.isTruncated() && this.marker != null;
+                    List<ObjectProperty> objects = new ArrayList<>();
+                    if (listing.getCommonPrefixes() != null) {
+                        listing.getCommonPrefixes().stream()
+                                .filter(p -> !p.equals(path))
+                                .forEach(p -> objects.add(new ObjectProperty(p, true)));
+                    }
+                    if (listing.getObjectSummaries() != null) {
+                        listing.getObjectSummaries()
+                                .forEach(o -> objects.add(toObjectProperty(o)));
+                    }
+                    return objects;
+
+                } catch (OSSException | ClientException re) {
+                    log.error("List Objects for Bucket={}, Path={} Failed: {}", bucket, path, re.getMessage());
+                    throw new IOException(re.getMessage(), re.getCause());
+                }
+            }
+        };
+        return iterator.stream();
+    }
+
+
     @Override
     public String mkdir(String path) throws IOException {
         return mkdir(this.defaultBucket, path);
@@ -210,6 +324,33 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
         return download(this.defaultBucket, source);
     }
 
+    @Override
+    public InputStream download(String source, long offset, long length) throws IOException {
+        return download(this.defaultBucket, source, offset, length);
+    }
+
+    /**
+     * Ranged GET of [offset, offset + length), an Empty Range Returns an Empty Stream Without a Request. A range
+     * whose last byte does not fit in a long (e.g. length Long.MAX_VALUE) is sent open-ended, to the end of the object
+     */
+    public InputStream download(String bucket, String source, long offset, long length) throws IOException {
+        checkParameter(bucket, source);
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("Invalid Range");
+        } else if (length == 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        GetObjectRequest request = new GetObjectRequest(bucket, source);
+        request.setRange(offset, length - 1 > Long.MAX_VALUE - offset ? -1 : offset + length - 1);
+        try {
+            return this.ossClient.getObject(request).getObjectContent();
+
+        } catch (OSSException | ClientException re) {
+            log.error("Download Range of Object Key={} From Bucket={} Failed: {}", source, bucket, re.getMessage());
+            throw new IOException(re.getMessage(), re.getCause());
+        }
+    }
+
     @Override
     public Boolean download(String source, File localFile, FileOperation... localFileOperation) throws IOException {
         return download(this.defaultBucket, source, localFile, localFileOperation);
@@ -223,6 +364,18 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
         }
         boolean append = operations != null && operations.length > 0
                 && FileOperation.APPEND.equals(operations[0]);
+        if (!append && this.resumableThreshold > 0) {
+            long size;
+            try {
+                size = this.ossClient.getObjectMetadata(bucket, source).getContentLength();
+            } catch (OSSException | ClientException re) {
+                log.error("Download Object Key={} From Bucket={} Failed: {}", source, bucket, re.getMessage());
+                throw new IOException(re.getMessage(), re.getCause());
+            }
+            if (size >= this.resumableThreshold) {
+                return downloadResumable(bucket, source, localFile);
+            }
+        }
         try (InputStream in = download(bucket, source);
              FileOutputStream fos = FileUtils.openOutputStream(localFile, append)) {
             long bytes = IOUtils.copyLarge(in, fos);
@@ -278,7 +431,7 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
             long end = System.currentTimeMillis();
             log.debug("Finish Uploading File to Bucket={} Path={}, Time Utilized: {}ms", bucket, destination,
                     (end - start));
-            if (result.getResponse().isSuccessful()) {
+            if (isSuccessful(result)) {
                 log.debug("Upload Stream File to Bucket={} Key={} Success", bucket, destination);
                 return true;
             } else {
@@ -303,6 +456,9 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
         if (localFile == null) {
             throw new IllegalArgumentException("Invalid Local File");
         }
+        if (this.resumableThreshold > 0 && localFile.length() >= this.resumableThreshold) {
+            return uploadResumable(bucket, destination, localFile, metaDataPairs) ? destination : null;
+        }
         try {
             PutObjectResult result;
             long start = System.currentTimeMillis();
@@ -321,7 +477,7 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
             log.debug("Finish Uploading File to Bucket={} Path={}, Time Utilized: {}ms", bucket, destination,
                     (end - start));
             log.info("UploadFile={} to Bucket={}, Key={}, {}", localFile.getPath(), bucket,
-                    destination, result.getResponse().isSuccessful() ? "Success" : "Failed");
+                    destination, isSuccessful(result) ? "Success" : "Failed");
             return destination;
 
         } catch (OSSException | ClientException re) {
@@ -332,6 +488,70 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
     }
 
 
+    /**
+     * Multipart upload with transferThreads concurrent parts and a checkpoint file:
+     * an interrupted upload of the same file to the same key resumes from the parts already uploaded.
+     * The checkpoint is removed by the SDK once the upload completes.
+     */
+    public Boolean uploadResumable(String bucket, String destination, File localFile, MetaDataPair... metaDataPairs)
+            throws IOException {
+        checkParameter(bucket, destination);
+        if (localFile == null || !localFile.isFile()) {
+            throw new IllegalArgumentException("Invalid Local File");
+        }
+        UploadFileRequest request = new UploadFileRequest(bucket, destination, localFile.getAbsolutePath(),
+                this.transferPartSize, this.transferThreads, true,
+                checkpointFile("upload", bucket, destination, localFile, ".ucp"));
+        if (metaDataPairs != null && metaDataPairs.length > 0) {
+            ObjectMetadata metadata = new ObjectMetadata();
+            Arrays.stream(metaDataPairs)
+                    .filter(m -> !StringUtils.isAnyEmpty(m.getKey(), m.getValue()))
+                    .forEach(m -> metadata.addUserMetadata(m.getKey(), m.getValue()));
+            request.setObjectMetadata(metadata);
+        }
+        try {
+            long start = System.currentTimeMillis();
+            UploadFileResult result = this.ossClient.uploadFile(request);
+            log.info("Resumable Upload File={} ({} Bytes) to Bucket={}, Key={} Success in {}ms", localFile.getPath(),
+                    localFile.length(), bucket, destination, System.currentTimeMillis() - start);
+            return result != null;
+
+        } catch (Throwable err) {
+            log.error("Resumable Upload File={} to Bucket={}, Key={} Failed: {}", localFile.getPath(), bucket,
+                    destination, err.getMessage());
+            throw toIOException(err);
+        }
+    }
+
+    /**
+     * Ranged download with transferThreads concurrent parts and a checkpoint file: parts go to a temporary file
+     * next to the target, which replaces the target once complete, and an interrupted download resumes
+     * as long as the object's ETag has not changed.
+     */
+    public Boolean downloadResumable(String bucket, String source, File localFile) throws IOException {
+        checkParameter(bucket, source);
+        if (localFile == null) {
+            throw new IllegalArgumentException("Invalid Local File");
+        }
+        FileUtils.forceMkdirParent(localFile);
+        DownloadFileRequest request = new DownloadFileRequest(bucket, source, localFile.getAbsolutePath(),
+                this.transferPartSize, this.transferThreads, true,
+                checkpointFile("download", bucket, source, localFile, ".dcp"));
+        try {
+            long start = System.currentTimeMillis();
+            DownloadFileResult result = this.ossClient.downloadFile(request);
+            log.info("Resumable Download Object Key={} From Bucket={} to File={} Success in {}ms", source, bucket,
+                    localFile.getName(), System.currentTimeMillis() - start);
+            return result != null;
+
+        } catch (Throwable err) {
+            log.error("Resumable Download Object Key={} From Bucket={} to File={} Failed: {}", source, bucket,
+                    localFile.getName(), err.getMessage());
+            throw toIOException(err);
+        }
+    }
+
+
     @Override
     public Boolean delete(String path, FileOperation... deleteFileOperation) throws IOException {
         return delete(this.defaultBucket, path, deleteFileOperation);
@@ -344,7 +564,7 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
         }
         try {
             VoidResult result = this.ossClient.deleteObject(bucket, path);
-            return result.getResponse().isSuccessful();
+            return isSuccessful(result);
 
         } catch (OSSException | ClientException re) {
             log.error("Delete Object Key={} From Bucket={} Failed: {}", path, bucket, re.getMessage());
@@ -353,6 +573,63 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
     }
 
 
+    @Override
+    public Map<String, Boolean> deleteAll(Collection<String> paths) throws IOException {
+        return deleteAll(this.defaultBucket, paths);
+    }
+
+    /**
+     * Delete keys with DeleteObjects, {@link #MAX_DELETE_KEYS} keys per request and up to deleteParallelism
+     * requests in flight. Verbose mode is used because OSS only reports per-key outcome as the deleted list.
+     */
+    @Override
+    public Map<String, Boolean> deleteAll(String bucket, Collection<String> paths) throws IOException {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        if (paths == null || paths.isEmpty()) {
+            return results;
+        }
+        if (StringUtils.isBlank(bucket)) {
+            throw new IllegalArgumentException("Invalid Bucket Name");
+        } else if (this.ossClient == null) {
+            throw new IllegalStateException("Client Has Not Been Initialized");
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (String path : paths) {
+            results.put(path, false);
+            if (StringUtils.isNotBlank(path)) {
+                keys.add(path);
+            }
+        }
+        List<Callable<List<String>>> tasks = BatchUtil.partition(new ArrayList<>(keys), MAX_DELETE_KEYS).stream()
+                .map(batch -> (Callable<List<String>>) () -> deleteBatch(bucket, batch))
+                .collect(Collectors.toList());
+        List<List<String>> deleted = BatchUtil.invokeAll(tasks, this.deleteParallelism, "oss-delete-");
+        deleted.forEach(batch -> batch.stream().filter(results::containsKey).forEach(key -> results.put(key, true)));
+        log.info("Delete {} Object(s) From Bucket={} with {} Request(s), {} Failed", results.size(), bucket,
+                tasks.size(), results.values().stream().filter(r -> !r).count());
+        return results;
+    }
+
+    /**
+     * Issue One DeleteObjects Request, a Failed Request Fails Every Key in It
+     *
+     * @return Keys Deleted
+     */
+    private List<String> deleteBatch(String bucket, List<String> keys) {
+        DeleteObjectsRequest request = new DeleteObjectsRequest(bucket);
+        request.setKeys(new ArrayList<>(keys));
+        request.setQuiet(false);
+        try {
+            DeleteObjectsResult result = this.ossClient.deleteObjects(request);
+            return result.getDeletedObjects() == null ? new ArrayList<>(0) : result.getDeletedObjects();
+
+        } catch (OSSException | ClientException re) {
+            log.error("Delete {} Object(s) From Bucket={} Failed: {}", keys.size(), bucket, re.getMessage());
+            return new ArrayList<>(0);
+        }
+    }
+
+
     @Override
     public void close() {
         if (this.ossClient != null) {
@@ -370,6 +647,58 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
         }
     }
 
+    /**
+     * Checkpoint Path Stable Across Runs for the Same Bucket, Key and Local File, so a Retry Finds It
+     *
+     * @return Checkpoint File in checkpointDir, or Null for the SDK Default (Local File + Suffix)
+     */
+    private String checkpointFile(String direction, String bucket, String key, File localFile, String suffix)
+            throws IOException {
+        if (StringUtils.isBlank(this.checkpointDir)) {
+            return null;
+        }
+        File dir = new File(this.checkpointDir);
+        FileUtils.forceMkdir(dir);
+        String identity = direction + ":" + bucket + "/" + key + ":" + localFile.getAbsolutePath();
+        UUID id = UUID.nameUUIDFromBytes(identity.getBytes(StandardCharsets.UTF_8));
+        return new File(dir, direction + "-" + id + suffix).getAbsolutePath();
+    }
+
+    private static ObjectProperty toObjectProperty(OSSObjectSummary summary) {
+        ObjectProperty property = new ObjectProperty(summary.getKey(), summary.getKey().endsWith("/"),
+                summary.getSize());
+        if (summary.getLastModified() != null) {
+            property.setLastModified(summary.getLastModified().getTime());
+        }
+        property.setETag(summary.getETag());
+        return property;
+    }
+
+    /**
+     * Resumable Transfers Throw Throwable; an Interruption Restores the Thread's Interrupt Flag Before Wrapping
+     */
+    private static IOException toIOException(Throwable err) {
+        if (err instanceof IOException) {
+            return (IOException) err;
+        } else if (err instanceof Error) {
+            throw (Error) err;
+        } else if (err instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("Resumable Transfer Interrupted");
+            interrupted.initCause(err);
+            return interrupted;
+        }
+        return new IOException(err.getMessage(), err);
+    }
+
+    /**
+     * SDK only attaches the raw response for some operations (e.g. not for plain PutObject),
+     * failed requests are raised as OSSException anyway.
+     */
+    private boolean isSuccessful(GenericResult result) {
+        return result.getResponse() == null || result.getResponse().isSuccessful();
+    }
+
     public void setOssClient(OSSClient ossClient) {
         this.ossClient = ossClient;
     }
@@ -378,6 +707,35 @@ public class AliOssFileSystemClientImpl implements CloudFileSystemClient {
         this.defaultBucket = defaultBucket;
     }
 
+    public void setDeleteParallelism(int deleteParallelism) {
+        if (deleteParallelism < 1) {
+            throw new IllegalArgumentException("Invalid Delete Parallelism");
+        }
+        this.deleteParallelism = deleteParallelism;
+    }
+
+    public void setResumableThreshold(long resumableThreshold) {
+        this.resumableThreshold = resumableThreshold;
+    }
+
+    public void setTransferPartSize(long transferPartSize) {
+        if (transferPartSize < 100 * 1024) {
+            throw new IllegalArgumentException("OSS Transfer Part Size Must Be at Least 100 KiB");
+        }
+        this.transferPartSize = transferPartSize;
+    }
+
+    public void setTransferThreads(int transferThreads) {
+        if (transferThreads < 1) {
+            throw new IllegalArgumentException("Invalid Transfer Threads");
+        }
+        this.transferThreads = transferThreads;
+    }
+
+    public void setCheckpointDir(String checkpointDir) {
+        this.checkpointDir = checkpointDir;
+    }
+
     public void setMaxListObjects(int maxListObjects) {
         if (maxListObjects < 1 || maxListObjects > 1000) {
             throw new IllegalArgumentException("OSS Max List Object Keys [1, 1000]");
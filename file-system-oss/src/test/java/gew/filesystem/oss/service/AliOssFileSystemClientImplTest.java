@@ -5,11 +5,18 @@ import com.aliyun.oss.OSSException;
 import com.aliyun.oss.common.comm.ResponseMessage;
 import com.aliyun.oss.common.comm.ServiceClient;
 import com.aliyun.oss.internal.OSSHeaders;
+import com.aliyun.oss.model.DeleteObjectsRequest;
+import com.aliyun.oss.model.DeleteObjectsResult;
+import com.aliyun.oss.model.DownloadFileRequest;
+import com.aliyun.oss.model.DownloadFileResult;
+import com.aliyun.oss.model.GetObjectRequest;
 import com.aliyun.oss.model.ListObjectsRequest;
 import com.aliyun.oss.model.OSSObject;
 import com.aliyun.oss.model.OSSObjectSummary;
 import com.aliyun.oss.model.ObjectListing;
 import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.UploadFileRequest;
+import com.aliyun.oss.model.UploadFileResult;
 import com.aliyun.oss.model.VoidResult;
 import gew.filesystem.common.model.FileOperation;
 import gew.filesystem.common.model.FileSystemType;
@@ -21,14 +28,25 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 
 class AliOssFileSystemClientImplTest extends DefaultMock {
@@ -80,6 +98,40 @@ class AliOssFileSystemClientImplTest extends DefaultMock {
     }
 
 
+    @Test
+    void listStreamTest() throws IOException {
+        ObjectListing page1 = new ObjectListing();
+        page1.addCommonPrefix("folder/sub/");
+        OSSObjectSummary summary1 = new OSSObjectSummary();
+        summary1.setSize(1L);
+        summary1.setKey("folder/a.csv");
+        page1.getObjectSummaries().add(summary1);
+        page1.setTruncated(true);
+        page1.setNextMarker("folder/a.csv");
+
+        ObjectListing page2 = new ObjectListing();
+        OSSObjectSummary summary2 = new OSSObjectSummary();
+        summary2.setSize(2L);
+        summary2.setKey("folder/b.csv");
+        page2.getObjectSummaries().add(summary2);
+        page2.setTruncated(false);
+
+        Mockito.when(ossClient.listObjects(Mockito.any(ListObjectsRequest.class))).thenReturn(page1, page2);
+        try (Stream<ObjectProperty> stream = this.cloudFileSystemClient.listStream("folder/")) {
+            List<String> names = stream.map(ObjectProperty::getName).collect(Collectors.toList());
+            Assertions.assertEquals(Arrays.asList("folder/sub/", "folder/a.csv", "folder/b.csv"), names);
+        }
+        ArgumentCaptor<ListObjectsRequest> requests = ArgumentCaptor.forClass(ListObjectsRequest.class);
+        Mockito.verify(ossClient, Mockito.times(2)).listObjects(requests.capture());
+        Assertions.assertNull(requests.getAllValues().get(0).getMarker());
+        Assertions.assertEquals("folder/a.csv", requests.getAllValues().get(1).getMarker());
+
+        Mockito.when(ossClient.listObjects(Mockito.any(ListObjectsRequest.class)))
+                .thenThrow(new OSSException("Access Denied"));
+        Assertions.assertThrows(IOException.class, () -> this.cloudFileSystemClient.listStream("folder/"));
+    }
+
+
     @Test
     void getMetaInfoTest() {
         Assertions.assertFalse(cloudFileSystemClient.getObjectMetaInfo("  ").isPresent());
@@ -121,6 +173,26 @@ class AliOssFileSystemClientImplTest extends DefaultMock {
     }
 
 
+    @Test
+    void deleteAllTest() throws IOException {
+        List<String> keys = IntStream.range(0, 2500).mapToObj(i -> "files/" + i).collect(Collectors.toList());
+        Mockito.when(this.ossClient.deleteObjects(Mockito.any(DeleteObjectsRequest.class))).thenAnswer(invocation -> {
+            DeleteObjectsRequest request = invocation.getArgument(0);
+            DeleteObjectsResult result = new DeleteObjectsResult();
+            request.getKeys().stream().filter(k -> !k.equals("files/7")).forEach(k -> result.getDeletedObjects().add(k));
+            return result;
+        });
+        Map<String, Boolean> results = cloudFileSystemClient.deleteAll(keys);
+
+        Assertions.assertEquals(keys, new ArrayList<>(results.keySet()));
+        Assertions.assertFalse(results.get("files/7"));
+        Assertions.assertEquals(2499, results.values().stream().filter(r -> r).count());
+        ArgumentCaptor<DeleteObjectsRequest> requests = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        Mockito.verify(this.ossClient, Mockito.times(3)).deleteObjects(requests.capture());
+        Assertions.assertEquals(2500, requests.getAllValues().stream().mapToInt(r -> r.getKeys().size()).sum());
+    }
+
+
     @Test
     void existTest() throws IOException {
         Assertions.assertFalse(cloudFileSystemClient.exist("  "));
@@ -138,6 +210,21 @@ class AliOssFileSystemClientImplTest extends DefaultMock {
                 "files/test.txt", null, FileOperation.READ));
     }
 
+    @Test
+    void rangeDownloadTest() throws IOException {
+        ArgumentCaptor<GetObjectRequest> requests = ArgumentCaptor.forClass(GetObjectRequest.class);
+        Mockito.when(this.ossClient.getObject(requests.capture())).thenReturn(new OSSObject());
+
+        cloudFileSystemClient.download("test", "files/test.txt", 10, 5);
+        Assertions.assertArrayEquals(new long[]{10, 14}, requests.getValue().getRange());
+
+        cloudFileSystemClient.download("test", "files/test.txt", 10, Long.MAX_VALUE);
+        Assertions.assertArrayEquals(new long[]{10, -1}, requests.getValue().getRange());
+
+        cloudFileSystemClient.download("test", "files/test.txt", 0, Long.MAX_VALUE);
+        Assertions.assertArrayEquals(new long[]{0, Long.MAX_VALUE - 1}, requests.getValue().getRange());
+    }
+
     @Test
     void uploadTest() {
         Mockito.when(this.ossClient.putObject(Mockito.anyString(), Mockito.anyString(), Mockito.any(File.class)))
@@ -152,6 +239,48 @@ class AliOssFileSystemClientImplTest extends DefaultMock {
         }
     }
 
+    @Test
+    void resumableTransferTest(@TempDir Path tempDir) throws Throwable {
+        File large = tempDir.resolve("large.bin").toFile();
+        Files.write(large.toPath(), new byte[4096]);
+        File checkpoints = tempDir.resolve("checkpoints").toFile();
+        cloudFileSystemClient.setResumableThreshold(1024);
+        cloudFileSystemClient.setTransferPartSize(256 * 1024);
+        cloudFileSystemClient.setTransferThreads(3);
+        cloudFileSystemClient.setCheckpointDir(checkpoints.getPath());
+        Mockito.when(this.ossClient.uploadFile(Mockito.any(UploadFileRequest.class)))
+                .thenReturn(new UploadFileResult());
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(4096);
+        Mockito.when(this.ossClient.getObjectMetadata(bucket, "files/large.bin")).thenReturn(metadata);
+        Mockito.when(this.ossClient.downloadFile(Mockito.any(DownloadFileRequest.class)))
+                .thenReturn(new DownloadFileResult());
+
+        Assertions.assertEquals("files/large.bin", cloudFileSystemClient.upload("files/large.bin", large));
+        ArgumentCaptor<UploadFileRequest> upload = ArgumentCaptor.forClass(UploadFileRequest.class);
+        Mockito.verify(this.ossClient).uploadFile(upload.capture());
+        Assertions.assertTrue(upload.getValue().isEnableCheckpoint());
+        Assertions.assertEquals(3, upload.getValue().getTaskNum());
+        Assertions.assertEquals(256 * 1024, upload.getValue().getPartSize());
+        Assertions.assertTrue(upload.getValue().getCheckpointFile().startsWith(checkpoints.getAbsolutePath()));
+        Mockito.verify(this.ossClient, Mockito.never()).putObject(Mockito.anyString(), Mockito.anyString(),
+                Mockito.any(File.class));
+
+        File target = tempDir.resolve("restore/large.bin").toFile();
+        Assertions.assertTrue(cloudFileSystemClient.download("files/large.bin", target));
+        ArgumentCaptor<DownloadFileRequest> download = ArgumentCaptor.forClass(DownloadFileRequest.class);
+        Mockito.verify(this.ossClient).downloadFile(download.capture());
+        Assertions.assertEquals(target.getAbsolutePath(), download.getValue().getDownloadFile());
+        Assertions.assertNotEquals(upload.getValue().getCheckpointFile(), download.getValue().getCheckpointFile());
+
+        Mockito.when(this.ossClient.downloadFile(Mockito.any(DownloadFileRequest.class)))
+                .thenThrow(new InterruptedException("Interrupted"));
+        Assertions.assertThrows(InterruptedIOException.class,
+                () -> cloudFileSystemClient.download("files/large.bin", target));
+        // The interrupt flag is restored, Thread.interrupted() also clears it for the next test
+        Assertions.assertTrue(Thread.interrupted());
+    }
+
     @Test
     void otherTest() {
         Assertions.assertThrows(IllegalArgumentException.class,
@@ -29,6 +29,42 @@ public class AwsS3ClientConfig implements FileSystemConfig, Serializable {
 
     private AwsCredentialsProvider credentialsProvider;
 
+    /**
+     * Max Concurrent Requests of the Async Client's Netty Transport, SDK Default (50) When Empty
+     */
+    private Integer asyncMaxConcurrency;
+
+    /**
+     * Streams Longer Than This Many Bytes Are Uploaded as Multipart, Client Default (16 MiB) When Empty
+     */
+    private Long multipartThreshold;
+
+    /**
+     * Multipart Part Size in Bytes, at Least 5 MiB, Client Default (8 MiB) When Empty
+     */
+    private Integer multipartPartSize;
+
+    /**
+     * Max Parts Uploaded Concurrently per Stream, Client Default (4) When Empty
+     */
+    private Integer multipartParallelism;
+
+    /**
+     * Objects of at Least This Many Bytes Are Downloaded to File with Parallel Ranged GETs,
+     * Client Default (64 MiB) When Empty, Non-Positive Disables
+     */
+    private Long rangeDownloadThreshold;
+
+    /**
+     * Bytes per Ranged GET, Client Default (16 MiB) When Empty
+     */
+    private Long rangeDownloadPartSize;
+
+    /**
+     * Max Ranged GETs in Flight per Download, Client Default (8) When Empty
+     */
+    private Integer rangeDownloadParallelism;
+
 
     public AwsS3ClientConfig() {
 
@@ -0,0 +1,612 @@
+package gew.filesystem.s3.service;
+
+import gew.filesystem.common.config.FileSystemConfig;
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.common.model.FileSystemType;
+import gew.filesystem.common.model.MetaDataPair;
+import gew.filesystem.common.model.ObjectMetaInfo;
+import gew.filesystem.common.model.ObjectProperty;
+import gew.filesystem.common.service.AsyncCloudFileSystemClient;
+import gew.filesystem.s3.config.AwsS3ClientConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.FileTransformerConfiguration;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AWS S3 Async File System Client Implementation based on AWS SDK v2 {@link S3AsyncClient}.
+ * Requests are multiplexed over the non-blocking Netty transport, so in-flight calls hold a connection slot
+ * rather than a thread; only draining a caller supplied InputStream runs on a small internal pool.
+ * Bodies are streamed: downloads are written to the file or handed to the reader chunk by chunk, and upload
+ * streams above a few MiB are spooled to a temp file rather than the heap.
+ *
+ * @author Jason/GeW
+ * @since 2024-03-08
+ */
+@Slf4j
+public class AwsS3AsyncFileSystemClientImpl implements AsyncCloudFileSystemClient {
+
+    /**
+     * Largest Upload Stream Held on the Heap, Longer Streams Are Spooled to a Temp File
+     */
+    private static final int SPOOL_THRESHOLD = 8 * 1024 * 1024;
+
+    /**
+     * First Heap Buffer of a Spool, Doubled as the Stream Proves Longer, so Small Uploads Stay Small
+     */
+    private static final int SPOOL_INITIAL_BUFFER = 64 * 1024;
+
+    /**
+     * AWS S3 Specific Service Region
+     */
+    private String region;
+
+    /**
+     * Default Bucket for Single Bucket System
+     */
+    private String defaultBucket;
+
+    /**
+     * AWS S3 Async Client
+     */
+    private S3AsyncClient s3AsyncClient;
+
+    /**
+     * When list object, the max number | Default Max = 1000
+     */
+    private int maxListObjects = 1000;
+
+    /**
+     * Drains Upload InputStreams, Which Are Blocking by Nature
+     */
+    private final ExecutorService streamExecutor;
+
+
+
+    public AwsS3AsyncFileSystemClientImpl() {
+        AtomicInteger sequence = new AtomicInteger();
+        this.streamExecutor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fs-async-s3-stream-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public AwsS3AsyncFileSystemClientImpl(String defaultBucket) {
+        this();
+        this.defaultBucket = defaultBucket;
+    }
+
+    public AwsS3AsyncFileSystemClientImpl(String defaultBucket, String region) {
+        this();
+        this.region = region;
+        this.defaultBucket = defaultBucket;
+    }
+
+
+    @Override
+    public void init(final FileSystemConfig config) {
+        if (!(config instanceof AwsS3ClientConfig)) {
+            throw new IllegalArgumentException("Invalid AWS S3 Client Config");
+        }
+        if (this.s3AsyncClient != null) {
+            log.info("AWS S3 Async Client Has Been Initialized");
+            return;
+        }
+        AwsS3ClientConfig awsS3ClientConfig = (AwsS3ClientConfig) config;
+        if (StringUtils.isBlank(this.region)) {
+            this.region = awsS3ClientConfig.getRegion();
+        }
+        S3AsyncClientBuilder builder = S3AsyncClient.builder();
+        if (awsS3ClientConfig.getAsyncMaxConcurrency() != null && awsS3ClientConfig.getAsyncMaxConcurrency() > 0) {
+            builder.httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                    .maxConcurrency(awsS3ClientConfig.getAsyncMaxConcurrency()));
+        }
+        AwsCredentialsProvider credentialsProvider = awsS3ClientConfig.getCredentialsProvider();
+        if (credentialsProvider != null) {
+            builder.credentialsProvider(credentialsProvider);
+        } else if (!StringUtils.isAnyBlank(awsS3ClientConfig.getAccessKeyId(), awsS3ClientConfig.getAccessKeySecret())) {
+            if (StringUtils.isBlank(this.region)) {
+                throw new IllegalArgumentException("Empty AWS S3 Service Region!");
+            }
+            builder.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(
+                    awsS3ClientConfig.getAccessKeyId(), awsS3ClientConfig.getAccessKeySecret())));
+        }
+        if (StringUtils.isNotBlank(this.region)) {
+            builder.region(Region.of(this.region));
+        }
+        this.s3AsyncClient = builder.build();
+        log.debug("AWS S3 Async Client Initialized");
+    }
+
+    @Override
+    public FileSystemType getFileSystemType() {
+        return FileSystemType.S3;
+    }
+
+    @Override
+    public CompletableFuture<Optional<ObjectMetaInfo>> getObjectMetaInfo(String path) {
+        return getObjectMetaInfo(this.defaultBucket, path);
+    }
+
+    @Override
+    public CompletableFuture<Optional<ObjectMetaInfo>> getObjectMetaInfo(String bucket, String path) {
+        Optional<CompletableFuture<Optional<ObjectMetaInfo>>> invalid = checkParameter(bucket, path);
+        if (invalid.isPresent()) {
+            return invalid.get();
+        }
+        HeadObjectRequest request = HeadObjectRequest.builder()
+                .bucket(bucket)
+                .key(path)
+                .build();
+        return this.s3AsyncClient.headObject(request)
+                .handle((response, err) -> {
+                    if (err == null) {
+                        return Optional.of(toMetaInfo(response));
+                    } else if (isNotFound(err)) {
+                        return Optional.<ObjectMetaInfo>empty();
+                    }
+                    throw translate(err, "Get Meta Info of Object [{}] in Bucket [{}] Failed: {}", path, bucket);
+                });
+    }
+
+
+    @Override
+    public CompletableFuture<List<ObjectProperty>> list(String path) {
+        return list(this.defaultBucket, path);
+    }
+
+    @Override
+    public CompletableFuture<List<ObjectProperty>> list(String bucket, String path) {
+        Optional<CompletableFuture<List<ObjectProperty>>> invalid = checkParameter(bucket, path);
+        if (invalid.isPresent()) {
+            return invalid.get();
+        }
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(path)
+                .maxKeys(this.maxListObjects)
+                .build();
+        return this.s3AsyncClient.listObjectsV2(request)
+                .handle((response, err) -> {
+                    if (err != null) {
+                        throw translate(err, "List Object(s) on [{}] in Bucket [{}] Failed: {}", path, bucket);
+                    }
+                    List<ObjectProperty> objects = AwsS3FileSystemClientImpl
+                            .toObjectProperties(response.contents(), path);
+                    log.debug("List Object(s) on Path [{}] in Bucket [{}] Success, Found [{}] Item(s)",
+                            path, bucket, objects.size());
+                    return objects;
+                });
+    }
+
+
+    @Override
+    public CompletableFuture<String> mkdir(String path) {
+        return mkdir(this.defaultBucket, path);
+    }
+
+    @Override
+    public CompletableFuture<String> mkdir(String bucket, String path) {
+        Optional<CompletableFuture<String>> invalid = checkParameter(bucket, path);
+        if (invalid.isPresent()) {
+            return invalid.get();
+        }
+        String directory = path.endsWith("/") ? path : path + '/';
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(directory)
+                .tagging("Directory")
+                .build();
+        return this.s3AsyncClient.putObject(request, AsyncRequestBody.empty())
+                .handle((response, err) -> {
+                    if (err != null) {
+                        throw translate(err, "Create Directory [{}] in Bucket [{}] Failed: {}", path, bucket);
+                    }
+                    return StringUtils.isNotBlank(response.eTag()) ? path : null;
+                });
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> exist(String path) {
+        return exist(this.defaultBucket, path);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exist(String bucket, String path) {
+        Optional<CompletableFuture<Boolean>> invalid = checkParameter(bucket, path);
+        if (invalid.isPresent()) {
+            return invalid.get();
+        }
+        HeadObjectRequest request = HeadObjectRequest.builder()
+                .bucket(bucket)
+                .key(path)
+                .build();
+        return this.s3AsyncClient.headObject(request)
+                .handle((response, err) -> {
+                    if (err == null) {
+                        return response != null;
+                    } else if (isNotFound(err)) {
+                        return false;
+                    }
+                    throw translate(err, "Check Object [{}] Existence in Bucket [{}] Failed: {}", path, bucket);
+                });
+    }
+
+
+    @Override
+    public CompletableFuture<InputStream> download(String source) {
+        return download(this.defaultBucket, source);
+    }
+
+    /**
+     * The Future Completes Once the Response Headers Arrive, the Body Is Then Streamed as It Is Read,
+     * See {@link PublisherInputStream}; Close the Stream to Abort a Partial Read.
+     */
+    @Override
+    public CompletableFuture<InputStream> download(String bucket, String source) {
+        Optional<CompletableFuture<InputStream>> invalid = checkParameter(bucket, source);
+        if (invalid.isPresent()) {
+            return invalid.get();
+        }
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(source)
+                .build();
+        return this.s3AsyncClient.getObject(request, AsyncResponseTransformer.<GetObjectResponse>toPublisher())
+                .handle((response, err) -> {
+                    if (err != null) {
+                        throw translate(err, "Download Object [{}] From Bucket [{}] Failed: {}", source, bucket);
+                    }
+                    return new PublisherInputStream(response);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> download(String source, File localFile, FileOperation... localFileOperation) {
+        return download(this.defaultBucket, source, localFile, localFileOperation);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> download(String bucket, String source, File localFile,
+                                               FileOperation... operations) {
+        Optional<CompletableFuture<Boolean>> invalid = checkParameter(bucket, source);
+        if (invalid.isPresent()) {
+            return invalid.get();
+        } else if (localFile == null) {
+            return failed(new IllegalArgumentException("Invalid Local File"));
+        }
+        boolean append = operations != null && operations.length > 0
+                && FileOperation.APPEND.equals(operations[0]);
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(source)
+                .build();
+        Path target = localFile.toPath();
+        try {
+            createParent(target);
+        } catch (IOException ioe) {
+            return failed(ioe);
+        }
+        // The Body Is Written to the File as It Arrives, in Both Modes
+        FileTransformerConfiguration configuration = FileTransformerConfiguration.builder()
+                .fileWriteOption(append ? FileTransformerConfiguration.FileWriteOption.CREATE_OR_APPEND_TO_EXISTING
+                        : FileTransformerConfiguration.FileWriteOption.CREATE_OR_REPLACE_EXISTING)
+                .failureBehavior(append ? FileTransformerConfiguration.FailureBehavior.LEAVE
+                        : FileTransformerConfiguration.FailureBehavior.DELETE)
+                .build();
+        CompletableFuture<Long> transfer = this.s3AsyncClient
+                .getObject(request, AsyncResponseTransformer.<GetObjectResponse>toFile(target, configuration))
+                .thenApply(GetObjectResponse::contentLength);
+        return transfer.handle((bytes, err) -> {
+            if (err != null) {
+                throw translate(err, "Download Object [{}] From Bucket [{}] to File Failed: {}", source, bucket);
+            }
+            log.debug("Download Object [{}] From Bucket [{}] to File [{}], {} Bytes", source, bucket,
+                    localFile.getName(), bytes);
+            return true;
+        });
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> upload(String destination, InputStream in, FileOperation... destFileOperation) {
+        return upload(this.defaultBucket, destination, in);
+    }
+
+    /**
+     * PutObject Needs the Content Length Up Front: a Stream of at Most SPOOL_THRESHOLD Bytes Is Sent From the Heap,
+     * a Longer One Is Spooled to a Temp File First (Deleted Afterwards), so Heap Use Stays Bounded by SPOOL_THRESHOLD
+     * Whatever the Stream Size. Use the File Upload to Skip the Spool.
+     */
+    @Override
+    public CompletableFuture<Boolean> upload(String bucket, String destination, InputStream in,
+                                             MetaDataPair... metaDataPairs) {
+        Optional<CompletableFuture<Boolean>> invalid = checkParameter(bucket, destination);
+        if (invalid.isPresent()) {
+            return invalid.get();
+        } else if (in == null) {
+            return failed(new IllegalArgumentException("Invalid InputStream"));
+        }
+        PutObjectRequest request = genPutObjectRequest(bucket, destination, metaDataPairs);
+        return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return spool(in);
+                    } catch (IOException ioe) {
+                        throw new CompletionException(ioe);
+                    }
+                }, this.streamExecutor)
+                .thenCompose(spooled -> {
+                    if (spooled instanceof Path) {
+                        Path file = (Path) spooled;
+                        return this.s3AsyncClient.putObject(request, AsyncRequestBody.fromFile(file))
+                                .whenComplete((response, err) -> deleteQuietly(file));
+                    }
+                    return this.s3AsyncClient.putObject(request, new ByteBufferRequestBody((ByteBuffer) spooled));
+                })
+                .handle((response, err) -> {
+                    if (err != null) {
+                        throw translate(err, "Upload Streaming File to Bucket [{}] Path={} Failed: {}",
+                                bucket, destination);
+                    }
+                    log.debug("Finish Uploading Streaming File to Bucket [{}] Path={}", bucket, destination);
+                    return StringUtils.isNotEmpty(response.eTag());
+                });
+    }
+
+    @Override
+    public CompletableFuture<String> upload(String destination, File localFile) {
+        return upload(this.defaultBucket, destination, localFile);
+    }
+
+    @Override
+    public CompletableFuture<String> upload(String bucket, String destination, File localFile,
+                                            MetaDataPair... metaDataPairs) {
+        Optional<CompletableFuture<String>> invalid = checkParameter(bucket, destination);
+        if (invalid.isPresent()) {
+            return invalid.get();
+        } else if (localFile == null) {
+            return failed(new IllegalArgumentException("Invalid Local File"));
+        }
+        PutObjectRequest request = genPutObjectRequest(bucket, destination, metaDataPairs);
+        return this.s3AsyncClient.putObject(request, AsyncRequestBody.fromFile(localFile))
+                .handle((response, err) -> {
+                    if (err != null) {
+                        throw translate(err, "Upload File to Bucket [{}] as [{}] Failed: {}", bucket, destination);
+                    }
+                    log.debug("Finish Uploading File [{}] to Bucket [{}] Path={}",
+                            localFile.getName(), bucket, destination);
+                    return StringUtils.isEmpty(response.eTag()) ? null : destination;
+                });
+    }
+
+
+    @Override
+    public CompletableFuture<Boolean> delete(String path, FileOperation... deleteFileOperation) {
+        return delete(this.defaultBucket, path, deleteFileOperation);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(String bucket, String path, FileOperation... fileOperations) {
+        Optional<CompletableFuture<Boolean>> invalid = checkParameter(bucket, path);
+        if (invalid.isPresent()) {
+            return invalid.get();
+        }
+        DeleteObjectRequest request = DeleteObjectRequest.builder()
+                .bucket(bucket)
+                .key(path)
+                .build();
+        return this.s3AsyncClient.deleteObject(request)
+                .handle((response, err) -> {
+                    if (err != null) {
+                        throw translate(err, "Delete Object [{}] in Bucket [{}] Failed: {}", path, bucket);
+                    }
+                    log.info("Delete Object [{}] in Bucket [{}]: {}", path, bucket, response.deleteMarker());
+                    return true;
+                });
+    }
+
+
+    @Override
+    public void close() {
+        this.streamExecutor.shutdown();
+        if (this.s3AsyncClient != null) {
+            this.s3AsyncClient.close();
+            log.debug("AWS S3 Async Client Has Been Closed");
+        }
+    }
+
+    private <T> Optional<CompletableFuture<T>> checkParameter(final String bucket, final String path) {
+        if (StringUtils.isBlank(bucket)) {
+            return Optional.of(failed(new IllegalArgumentException("Invalid Bucket Name")));
+        } else if (StringUtils.isBlank(path)) {
+            return Optional.of(failed(new IllegalArgumentException("Invalid Remote Path")));
+        } else if (this.s3AsyncClient == null) {
+            return Optional.of(failed(new IllegalStateException("Client Has Not Been Initialized")));
+        }
+        return Optional.empty();
+    }
+
+    private static ObjectMetaInfo toMetaInfo(HeadObjectResponse response) {
+        ObjectMetaInfo metaInfo = new ObjectMetaInfo(response.metadata());
+        metaInfo.setLastModified(response.lastModified());
+        metaInfo.setContentType(response.contentType());
+        metaInfo.setSize(response.contentLength());
+
+        metaInfo.getMetaData().put("versionId", response.versionId());
+        metaInfo.getMetaDataValueType().put("versionId", String.class);
+        metaInfo.getMetaData().put("expires", response.expires());
+        metaInfo.getMetaDataValueType().put("expires", Instant.class);
+        metaInfo.getMetaData().put("expiration", response.expiration());
+        metaInfo.getMetaDataValueType().put("expiration", String.class);
+        metaInfo.getMetaData().put("eTag", response.eTag());
+        metaInfo.getMetaDataValueType().put("eTag", String.class);
+        return metaInfo;
+    }
+
+    private static Throwable unwrap(Throwable err) {
+        Throwable cause = err;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static boolean isNotFound(Throwable err) {
+        Throwable cause = unwrap(err);
+        return cause instanceof NoSuchKeyException
+                || (cause instanceof SdkServiceException && ((SdkServiceException) cause).statusCode() == 404);
+    }
+
+    /**
+     * Log and Map an SDK Failure the Way the Blocking Client Does: Service Errors Become IOException
+     */
+    private static CompletionException translate(Throwable err, String message, String path, String bucket) {
+        Throwable cause = unwrap(err);
+        log.error(message, path, bucket, cause.getMessage());
+        if (cause instanceof SdkServiceException) {
+            return new CompletionException(new IOException(cause.getMessage(), cause));
+        }
+        return err instanceof CompletionException ? (CompletionException) err : new CompletionException(cause);
+    }
+
+    /**
+     * The heap buffer grows with the data read, from SPOOL_INITIAL_BUFFER up to SPOOL_THRESHOLD, and is handed
+     * over as is, so a small upload allocates little and nothing is copied once the stream has ended.
+     *
+     * @return The Whole Stream as a ByteBuffer When It Fits in SPOOL_THRESHOLD, Otherwise the Path of a Temp File
+     *         Holding It
+     */
+    private static Object spool(InputStream in) throws IOException {
+        byte[] head = new byte[SPOOL_INITIAL_BUFFER];
+        int count = 0;
+        while (true) {
+            if (count == head.length) {
+                if (count == SPOOL_THRESHOLD) {
+                    break;
+                }
+                head = Arrays.copyOf(head, (int) Math.min(2L * count, SPOOL_THRESHOLD));
+            }
+            int read = in.read(head, count, head.length - count);
+            if (read < 0) {
+                return ByteBuffer.wrap(head, 0, count);
+            }
+            count += read;
+        }
+        int probe = in.read();
+        if (probe < 0) {
+            return ByteBuffer.wrap(head);
+        }
+        Path file = Files.createTempFile("fs-async-s3-upload-", ".tmp");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(head);
+            out.write(probe);
+            IOUtils.copyLarge(in, out);
+        } catch (IOException | RuntimeException err) {
+            deleteQuietly(file);
+            throw err;
+        }
+        return file;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ioe) {
+            log.warn("Delete Spooled Upload [{}] Failed: {}", file, ioe.getMessage());
+        }
+    }
+
+    private static void createParent(Path target) throws IOException {
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable err) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(new CompletionException(err));
+        return future;
+    }
+
+    private PutObjectRequest genPutObjectRequest(String bucket, String key, MetaDataPair... pairs) {
+        if (pairs != null && pairs.length > 0) {
+            Map<String, String> metadata = new HashMap<>();
+            Arrays.stream(pairs)
+                    .filter(m -> !StringUtils.isAnyEmpty(m.getKey(), m.getValue()))
+                    .forEach(m -> metadata.put(m.getKey(), m.getValue()));
+            return PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .metadata(metadata)
+                    .build();
+        } else {
+            return PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build();
+        }
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public void setDefaultBucket(String defaultBucket) {
+        if (StringUtils.isBlank(defaultBucket)) {
+            throw new IllegalArgumentException("Invalid Default Bucket Name");
+        }
+        this.defaultBucket = defaultBucket;
+    }
+
+    public void setMaxListObjects(int maxListObjects) {
+        if (maxListObjects < 1 || maxListObjects > 1000) {
+            throw new IllegalArgumentException("S3 Max List Object Keys [1, 1000]");
+        }
+        this.maxListObjects = maxListObjects;
+    }
+
+    public void setS3AsyncClient(S3AsyncClient s3AsyncClient) {
+        this.s3AsyncClient = s3AsyncClient;
+    }
+
+}
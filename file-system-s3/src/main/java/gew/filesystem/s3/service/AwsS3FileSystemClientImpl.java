@@ -7,6 +7,8 @@ import gew.filesystem.common.model.MetaDataPair;
 import gew.filesystem.common.model.ObjectMetaInfo;
 import gew.filesystem.common.model.ObjectProperty;
 import gew.filesystem.common.service.CloudFileSystemClient;
+import gew.filesystem.common.util.BatchUtil;
+import gew.filesystem.common.util.PagedIterator;
 import gew.filesystem.s3.config.AwsS3ClientConfig;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
@@ -14,37 +16,48 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.exception.SdkServiceException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.core.sync.ResponseTransformer;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.BufferedInputStream;
-import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * AWS S3 File System Client Implementation based on AWS SDK v2
@@ -76,6 +89,39 @@ public class AwsS3FileSystemClientImpl implements CloudFileSystemClient {
 
     private boolean useTempFile;
 
+    /**
+     * Max Concurrent DeleteObjects Requests in deleteAll
+     */
+    private int deleteParallelism = 4;
+
+    /**
+     * S3 DeleteObjects Accepts at Most 1000 Keys per Request
+     */
+    public static final int MAX_DELETE_KEYS = 1000;
+
+    /**
+     * S3 Minimum Size of Every Part Except the Last
+     */
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    /**
+     * Stream Uploads Longer Than This Switch to Multipart
+     */
+    private long multipartThreshold = 16 * 1024 * 1024;
+
+    private int multipartPartSize = 8 * 1024 * 1024;
+
+    private int multipartParallelism = 4;
+
+    /**
+     * Downloads to File of Objects at Least This Large Use Parallel Ranged GETs, Non-Positive Disables
+     */
+    private long rangeDownloadThreshold = 64 * 1024 * 1024;
+
+    private long rangeDownloadPartSize = 16 * 1024 * 1024;
+
+    private int rangeDownloadParallelism = 8;
+
 
 
     public AwsS3FileSystemClientImpl() {
@@ -102,6 +148,24 @@ public class AwsS3FileSystemClientImpl implements CloudFileSystemClient {
             return;
         }
         AwsS3ClientConfig awsS3ClientConfig = (AwsS3ClientConfig) config;
+        if (awsS3ClientConfig.getMultipartThreshold() != null) {
+            setMultipartThreshold(awsS3ClientConfig.getMultipartThreshold());
+        }
+        if (awsS3ClientConfig.getMultipartPartSize() != null) {
+            setMultipartPartSize(awsS3ClientConfig.getMultipartPartSize());
+        }
+        if (awsS3ClientConfig.getMultipartParallelism() != null) {
+            setMultipartParallelism(awsS3ClientConfig.getMultipartParallelism());
+        }
+        if (awsS3ClientConfig.getRangeDownloadThreshold() != null) {
+            setRangeDownloadThreshold(awsS3ClientConfig.getRangeDownloadThreshold());
+        }
+        if (awsS3ClientConfig.getRangeDownloadPartSize() != null) {
+            setRangeDownloadPartSize(awsS3ClientConfig.getRangeDownloadPartSize());
+        }
+        if (awsS3ClientConfig.getRangeDownloadParallelism() != null) {
+            setRangeDownloadParallelism(awsS3ClientConfig.getRangeDownloadParallelism());
+        }
         if (StringUtils.isBlank(this.region)) {
             this.region = awsS3ClientConfig.getRegion();
         }
@@ -202,12 +266,7 @@ public class AwsS3FileSystemClientImpl implements CloudFileSystemClient {
                 .build();
         try {
             ListObjectsV2Response response = s3Client.listObjectsV2(request);
-            List<S3Object> s3Objects = response.contents();
-            List<ObjectProperty> objects = s3Objects.stream()
-                    .filter(o -> !o.key().equals(path))
-                    .map(o -> o.key().endsWith("/") ? new ObjectProperty(o.key(), true)
-                            : new ObjectProperty(o.key(), false, o.size()))
-                    .collect(Collectors.toList());
+            List<ObjectProperty> objects = toObjectProperties(response.contents(), path);
             log.debug("List Object(s) on Path [{}] in Bucket [{}] Success, Found [{}] Item(s)",
                     path, bucket, objects.size());
             return objects;
@@ -225,6 +284,49 @@ public class AwsS3FileSystemClientImpl implements CloudFileSystemClient {
     }
 
 
+    @Override
+    public Stream<ObjectProperty> listStream(String path) throws IOException {
+        return listStream(this.defaultBucket, path);
+    }
+
+    @Override
+    public Stream<ObjectProperty> listStream(String bucket, String path) throws IOException {
+        checkParameter(bucket, path);
+        PagedIterator<ObjectProperty> iterator = new PagedIterator<ObjectProperty>() {
+
+            private String continuationToken;
+
+            private boolean truncated = true;
+
+            @Override
+            protected List<ObjectProperty> nextPage() throws IOException {
+                if (!this.truncated) {
+                    return null;
+                }
+                ListObjectsV2Request request = ListObjectsV2Request.builder()
+                        .bucket(bucket)
+                        .prefix(path)
+                        .maxKeys(maxListObjects)
+                        .continuationToken(this.continuationToken)
+                        .build();
+                try {
+                    ListObjectsV2Response response = s3Client.listObjectsV2(request);
+                    this.continuationToken = response.nextContinuationToken();
+                    this.truncated = Boolean.TRUE.equals(response.isTruncated()) && this.continuationToken != null;
+                    return toObjectProperties(response.contents(), path);
+
+                } catch (NoSuchKeyException nske) {
+                    return null;
+                } catch (SdkServiceException sse) {
+                    log.error("List Object(s) on [{}] in Bucket [{}] Failed: {}", path, bucket, sse.getMessage());
+                    throw new IOException(sse.getMessage(), sse);
+                }
+            }
+        };
+        return iterator.stream();
+    }
+
+
     @Override
     public String mkdir(String path) throws IOException {
         return mkdir(this.defaultBucket, path);
@@ -316,11 +418,51 @@ public class AwsS3FileSystemClientImpl implements CloudFileSystemClient {
         }
     }
 
+    @Override
+    public InputStream download(String source, long offset, long length) throws IOException {
+        return download(this.defaultBucket, source, offset, length);
+    }
+
+    /**
+     * Ranged GET of [offset, offset + length), an Empty Range Returns an Empty Stream Without a Request. A range
+     * whose last byte does not fit in a long (e.g. length Long.MAX_VALUE) is sent open-ended, to the end of the object
+     */
+    public InputStream download(String bucket, String source, long offset, long length) throws IOException {
+        checkParameter(bucket, source);
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("Invalid Range");
+        } else if (length == 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(source)
+                .range(length - 1 > Long.MAX_VALUE - offset
+                        ? "bytes=" + offset + "-"
+                        : "bytes=" + offset + "-" + (offset + length - 1))
+                .build();
+        try {
+            InputStream response = s3Client.getObject(request, ResponseTransformer.toInputStream());
+            log.debug("Prepare Downloading Range [{}+{}] of Object [{}] From Bucket [{}]",
+                    offset, length, source, bucket);
+            return response;
+
+        } catch (SdkServiceException sse) {
+            log.error("Download Range of Object [{}] From Bucket [{}] Failed: {}", source, bucket, sse.getMessage());
+            throw new IOException(sse.getMessage(), sse);
+        }
+    }
+
     @Override
     public Boolean download(String source, File localFile, FileOperation... localFileOperation) throws IOException {
         return download(this.defaultBucket, source, localFile, localFileOperation);
     }
 
+    /**
+     * Objects of at least rangeDownloadThreshold bytes are fetched with concurrent ranged GETs written in place,
+     * see {@link S3RangedDownloader}; smaller ones, or any object when the threshold is non-positive,
+     * are streamed over one connection.
+     */
     @Override
     public Boolean download(String bucket, String source, File localFile, FileOperation... operations) throws IOException {
         checkParameter(this.defaultBucket, source);
@@ -329,7 +471,22 @@ public class AwsS3FileSystemClientImpl implements CloudFileSystemClient {
         }
         boolean append = operations != null && operations.length > 0
                 && FileOperation.APPEND.equals(operations[0]);
-        try (BufferedInputStream bufferedInputStream = new BufferedInputStream(download(source));
+        if (this.rangeDownloadThreshold > 0) {
+            HeadObjectResponse head;
+            try {
+                head = s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(source).build());
+            } catch (SdkServiceException err) {
+                throw new IOException(err.getMessage(), err.getCause());
+            }
+            if (head.contentLength() != null && head.contentLength() >= this.rangeDownloadThreshold) {
+                long bytes = new S3RangedDownloader(s3Client, this.rangeDownloadPartSize, this.rangeDownloadParallelism)
+                        .download(bucket, source, head.contentLength(), head.eTag(), localFile, append);
+                log.debug("Download Object [{}] From Bucket [{}] to File [{}] with Ranged GETs, {} Bytes",
+                        source, bucket, localFile.getName(), bytes);
+                return true;
+            }
+        }
+        try (BufferedInputStream bufferedInputStream = new BufferedInputStream(download(bucket, source));
              FileOutputStream fos = FileUtils.openOutputStream(localFile, append)) {
             long bytes = IOUtils.copyLarge(bufferedInputStream, fos);
             log.debug("Download Object [{}] From Bucket [{}] to File [{}], {} Bytes", source, bucket, localFile.getName(), bytes);
@@ -352,6 +509,10 @@ public class AwsS3FileSystemClientImpl implements CloudFileSystemClient {
         return upload(this.defaultBucket, destination, in);
     }
 
+    /**
+     * Stream upload with bounded memory: streams ending below the multipart threshold are sent with one PutObject,
+     * longer ones are uploaded as multipart with reusable part buffers, see {@link S3MultipartUploader}.
+     */
     @Override
     public Boolean upload(String bucket, String destination, InputStream in, MetaDataPair... metaDataPairs) throws IOException {
         checkParameter(this.defaultBucket, destination);
@@ -362,12 +523,12 @@ public class AwsS3FileSystemClientImpl implements CloudFileSystemClient {
         try {
             long start = System.currentTimeMillis();
             log.debug("Start Uploading Streaming File to Bucket [{}] Path={}", bucket, destination);
-            PutObjectResponse response = s3Client.putObject(request, RequestBody.fromByteBuffer(
-                    ByteBuffer.wrap(IOUtils.toByteArray(in))));
+            String eTag = new S3MultipartUploader(s3Client, this.multipartPartSize, this.multipartParallelism,
+                    this.multipartThreshold).upload(request, in);
             long end = System.currentTimeMillis();
             log.debug("Finish Uploading Streaming File to Bucket [{}] Path={}, Time Utilized: {}ms", bucket, destination,
                     (end - start));
-            return StringUtils.isNotEmpty(response.eTag());
+            return StringUtils.isNotEmpty(eTag);
 
         } catch (Exception err) {
             if (err instanceof SdkServiceException) {
@@ -441,6 +602,77 @@ public class AwsS3FileSystemClientImpl implements CloudFileSystemClient {
     }
 
 
+    @Override
+    public Map<String, Boolean> deleteAll(Collection<String> paths) throws IOException {
+        return deleteAll(this.defaultBucket, paths);
+    }
+
+    /**
+     * Delete keys with DeleteObjects, {@link #MAX_DELETE_KEYS} keys per request and up to
+     * deleteParallelism requests in flight. Quiet mode is used so a response only carries failed keys.
+     */
+    @Override
+    public Map<String, Boolean> deleteAll(String bucket, Collection<String> paths) throws IOException {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        if (paths == null || paths.isEmpty()) {
+            return results;
+        }
+        if (StringUtils.isBlank(bucket)) {
+            throw new IllegalArgumentException("Invalid Bucket Name");
+        } else if (this.s3Client == null) {
+            throw new IllegalStateException("Client Has Not Been Initialized");
+        }
+        List<String> keys = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            if (StringUtils.isBlank(path)) {
+                results.put(path, false);
+            } else {
+                results.put(path, true);
+                keys.add(path);
+            }
+        }
+        List<Callable<List<String>>> tasks = BatchUtil.partition(new ArrayList<>(new LinkedHashSet<>(keys)),
+                        MAX_DELETE_KEYS).stream()
+                .map(batch -> (Callable<List<String>>) () -> deleteBatch(bucket, batch))
+                .collect(Collectors.toList());
+        List<List<String>> failures = BatchUtil.invokeAll(tasks, this.deleteParallelism, "s3-delete-");
+        failures.forEach(failed -> failed.forEach(key -> results.put(key, false)));
+        log.info("Delete {} Object(s) in Bucket [{}] with {} Request(s), {} Failed", results.size(), bucket,
+                tasks.size(), results.values().stream().filter(r -> !r).count());
+        return results;
+    }
+
+    /**
+     * Issue One DeleteObjects Request, a Failed Request Fails Every Key in It
+     *
+     * @return Keys That Failed to Delete
+     */
+    private List<String> deleteBatch(String bucket, List<String> keys) {
+        DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                .bucket(bucket)
+                .delete(Delete.builder()
+                        .objects(keys.stream()
+                                .map(key -> ObjectIdentifier.builder().key(key).build())
+                                .collect(Collectors.toList()))
+                        .quiet(true)
+                        .build())
+                .build();
+        try {
+            DeleteObjectsResponse response = s3Client.deleteObjects(request);
+            List<String> failed = new ArrayList<>(response.errors().size());
+            for (S3Error error : response.errors()) {
+                log.warn("Delete Object [{}] in Bucket [{}] Failed: {}", error.key(), bucket, error.message());
+                failed.add(error.key());
+            }
+            return failed;
+
+        } catch (SdkException err) {
+            log.error("Delete {} Object(s) in Bucket [{}] Failed: {}", keys.size(), bucket, err.getMessage());
+            return keys;
+        }
+    }
+
+
     @Override
     public void close() {
         if (this.s3Client != null) {
@@ -459,6 +691,23 @@ public class AwsS3FileSystemClientImpl implements CloudFileSystemClient {
         }
     }
 
+    static List<ObjectProperty> toObjectProperties(List<S3Object> s3Objects, String path) {
+        return s3Objects.stream()
+                .filter(o -> !o.key().equals(path))
+                .map(AwsS3FileSystemClientImpl::toObjectProperty)
+                .collect(Collectors.toList());
+    }
+
+    static ObjectProperty toObjectProperty(S3Object s3Object) {
+        ObjectProperty property = s3Object.key().endsWith("/") ? new ObjectProperty(s3Object.key(), true)
+                : new ObjectProperty(s3Object.key(), false, s3Object.size());
+        if (s3Object.lastModified() != null) {
+            property.setLastModified(s3Object.lastModified().toEpochMilli());
+        }
+        property.setETag(s3Object.eTag());
+        return property;
+    }
+
     private PutObjectRequest genPutObjectRequest(String bucket, String key, MetaDataPair... pairs) {
         if (pairs != null && pairs.length > 0) {
             Map<String, String> metadata = new HashMap<>();
@@ -497,6 +746,52 @@ public class AwsS3FileSystemClientImpl implements CloudFileSystemClient {
         this.maxListObjects = maxListObjects;
     }
 
+    public void setDeleteParallelism(int deleteParallelism) {
+        if (deleteParallelism < 1) {
+            throw new IllegalArgumentException("Invalid Delete Parallelism");
+        }
+        this.deleteParallelism = deleteParallelism;
+    }
+
+    public void setMultipartThreshold(long multipartThreshold) {
+        if (multipartThreshold < 0) {
+            throw new IllegalArgumentException("Invalid Multipart Threshold");
+        }
+        this.multipartThreshold = multipartThreshold;
+    }
+
+    public void setMultipartPartSize(int multipartPartSize) {
+        if (multipartPartSize < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("Multipart Part Size Must Be at Least 5 MiB");
+        }
+        this.multipartPartSize = multipartPartSize;
+    }
+
+    public void setMultipartParallelism(int multipartParallelism) {
+        if (multipartParallelism < 1) {
+            throw new IllegalArgumentException("Invalid Multipart Parallelism");
+        }
+        this.multipartParallelism = multipartParallelism;
+    }
+
+    public void setRangeDownloadThreshold(long rangeDownloadThreshold) {
+        this.rangeDownloadThreshold = rangeDownloadThreshold;
+    }
+
+    public void setRangeDownloadPartSize(long rangeDownloadPartSize) {
+        if (rangeDownloadPartSize < 1) {
+            throw new IllegalArgumentException("Invalid Range Download Part Size");
+        }
+        this.rangeDownloadPartSize = rangeDownloadPartSize;
+    }
+
+    public void setRangeDownloadParallelism(int rangeDownloadParallelism) {
+        if (rangeDownloadParallelism < 1) {
+            throw new IllegalArgumentException("Invalid Range Download Parallelism");
+        }
+        this.rangeDownloadParallelism = rangeDownloadParallelism;
+    }
+
     public void setS3Client(S3Client s3Client) {
         this.s3Client = s3Client;
     }
@@ -0,0 +1,63 @@
+package gew.filesystem.s3.service;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Request Body Over a Heap Buffer Without Copying It.
+ * <p>
+ * AsyncRequestBody.fromBytes and fromByteBuffer both copy their argument, which doubles the heap of every spooled
+ * upload. This body emits a read-only view of the buffer as its single chunk instead; each subscription (a retry
+ * subscribes again) gets its own view, so the buffer must not be modified until the request has completed.
+ *
+ * @author Jason/GeW
+ * @since  2024-04-03
+ */
+final class ByteBufferRequestBody implements AsyncRequestBody {
+
+    private final ByteBuffer content;
+
+    /**
+     * @param content Bytes Between Position and Limit Are Sent
+     */
+    ByteBufferRequestBody(ByteBuffer content) {
+        this.content = content.asReadOnlyBuffer();
+    }
+
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.of((long) this.content.remaining());
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        ByteBuffer view = this.content.duplicate();
+        AtomicBoolean done = new AtomicBoolean();
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    if (done.compareAndSet(false, true)) {
+                        subscriber.onError(new IllegalArgumentException("Non-Positive Request " + n));
+                    }
+                } else if (done.compareAndSet(false, true)) {
+                    if (view.hasRemaining()) {
+                        subscriber.onNext(view);
+                    }
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                done.set(true);
+            }
+        });
+    }
+}
@@ -0,0 +1,127 @@
+package gew.filesystem.s3.service;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Blocking InputStream over a Response Body {@link Publisher}.
+ * <p>
+ * At most BUFFERS chunks are requested ahead of the reader, one more each time a chunk has been consumed, so a
+ * slow reader applies back pressure to the transport instead of the body piling up on the heap. Closing the
+ * stream before the end cancels the subscription.
+ *
+ * @author Jason/GeW
+ * @since  2024-04-02
+ */
+final class PublisherInputStream extends InputStream implements Subscriber<ByteBuffer> {
+
+    private static final int BUFFERS = 4;
+
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final BlockingQueue<ByteBuffer> chunks = new LinkedBlockingQueue<>();
+
+    private volatile Subscription subscription;
+
+    private volatile Throwable error;
+
+    private ByteBuffer current;
+
+    private boolean done;
+
+
+    PublisherInputStream(Publisher<ByteBuffer> publisher) {
+        publisher.subscribe(this);
+    }
+
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(BUFFERS);
+    }
+
+    @Override
+    public void onNext(ByteBuffer chunk) {
+        this.chunks.add(chunk);
+    }
+
+    @Override
+    public void onError(Throwable err) {
+        this.error = err;
+        this.chunks.add(END);
+    }
+
+    @Override
+    public void onComplete() {
+        this.chunks.add(END);
+    }
+
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        ByteBuffer chunk = next();
+        if (chunk == null) {
+            return -1;
+        }
+        int n = Math.min(length, chunk.remaining());
+        chunk.get(buffer, offset, n);
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return this.current == null ? 0 : this.current.remaining();
+    }
+
+    @Override
+    public void close() {
+        if (!this.done && this.subscription != null) {
+            this.subscription.cancel();
+        }
+        this.done = true;
+        this.chunks.clear();
+    }
+
+    /**
+     * @return Chunk With Bytes Remaining, Null at the End of the Body
+     */
+    private ByteBuffer next() throws IOException {
+        while (!this.done && (this.current == null || !this.current.hasRemaining())) {
+            if (this.current != null) {
+                this.subscription.request(1);
+            }
+            try {
+                this.current = this.chunks.take();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Read Response Body Interrupted");
+            }
+            if (this.current == END) {
+                this.done = true;
+                this.current = null;
+                if (this.error != null) {
+                    throw new IOException("Read Response Body Failed: " + this.error.getMessage(), this.error);
+                }
+            }
+        }
+        return this.done ? null : this.current;
+    }
+}
@@ -0,0 +1,273 @@
+package gew.filesystem.s3.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an InputStream of Unknown Length to S3 with Bounded Memory.
+ * <p>
+ * The stream is read into fixed size part buffers. If it ends before the threshold, or within the first part, it
+ * is sent as one PutObject, otherwise a multipart upload is started and up to parallelism parts are uploaded concurrently
+ * while the caller thread keeps reading. Part buffers are recycled once their part is sent, the reader blocks
+ * for a free one, so at most max(parallelism + 1, threshold / partSize) buffers are ever allocated.
+ * A failed part aborts the multipart upload.
+ *
+ * @author Jason/GeW
+ * @since  2024-03-20
+ */
+@Slf4j
+final class S3MultipartUploader {
+
+    /**
+     * S3 Accepts at Most 10000 Parts per Upload
+     */
+    static final int MAX_PARTS = 10000;
+
+    private static final String CONTENT_TYPE = "application/octet-stream";
+
+    private final S3Client s3Client;
+
+    private final int partSize;
+
+    private final int parallelism;
+
+    private final long threshold;
+
+    private final int maxBuffers;
+
+    private final BlockingQueue<byte[]> freeBuffers = new LinkedBlockingQueue<>();
+
+    private int allocatedBuffers;
+
+
+    S3MultipartUploader(S3Client s3Client, int partSize, int parallelism, long threshold) {
+        this.s3Client = s3Client;
+        this.partSize = partSize;
+        this.parallelism = parallelism;
+        this.threshold = threshold;
+        this.maxBuffers = (int) Math.max(parallelism + 1L, (threshold + partSize - 1) / partSize);
+    }
+
+
+    /**
+     * @param request Bucket, Key and Metadata of the Object
+     * @param in      Content, Not Closed
+     * @return ETag of the Uploaded Object
+     * @throws IOException Read Failure, Part Upload Failure or Interrupted; Service Errors of a Single
+     *                     PutObject Propagate as Thrown by the SDK
+     */
+    String upload(PutObjectRequest request, InputStream in) throws IOException {
+        List<Part> buffered = new ArrayList<>();
+        long total = 0;
+        boolean eof = false;
+        // At Least One Part Is Read Even With a Zero Threshold, an Empty Stream Must Not Start a Multipart Upload
+        while (!eof && (total < this.threshold || buffered.isEmpty())) {
+            Part part = readPart(in, buffered.size() + 1);
+            if (part == null) {
+                eof = true;
+            } else {
+                buffered.add(part);
+                total += part.length;
+                eof = part.length < this.partSize;
+            }
+        }
+        if (eof) {
+            return putObject(request, buffered, total);
+        }
+        return multipartUpload(request, in, buffered);
+    }
+
+    int getAllocatedBuffers() {
+        return allocatedBuffers;
+    }
+
+
+    private String putObject(PutObjectRequest request, List<Part> parts, long total) {
+        log.debug("Stream Ended at {} Bytes Below Threshold, Upload [{}] with PutObject", total, request.key());
+        RequestBody body = RequestBody.fromContentProvider(() -> new SequenceInputStream(Collections.enumeration(
+                parts.stream().map(Part::stream).collect(Collectors.toList()))), total, CONTENT_TYPE);
+        return this.s3Client.putObject(request, body).eTag();
+    }
+
+    private String multipartUpload(PutObjectRequest request, InputStream in, List<Part> buffered)
+            throws IOException {
+        String uploadId = this.s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(request.bucket())
+                .key(request.key())
+                .metadata(request.metadata())
+                .build()).uploadId();
+        log.debug("Start Multipart Upload [{}] of [{}], Part Size {} Bytes, Parallelism {}",
+                uploadId, request.key(), this.partSize, this.parallelism);
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "s3-multipart-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<CompletedPart>> futures = new ArrayList<>();
+        try {
+            for (Part part : buffered) {
+                futures.add(executor.submit(() -> uploadPart(request, uploadId, part, failed)));
+            }
+            while (!failed.get()) {
+                Part part = readPart(in, futures.size() + 1);
+                if (part == null) {
+                    break;
+                } else if (part.number > MAX_PARTS) {
+                    throw new IOException("Stream Exceeds " + MAX_PARTS + " Parts, Increase the Part Size");
+                }
+                futures.add(executor.submit(() -> uploadPart(request, uploadId, part, failed)));
+                if (part.length < this.partSize) {
+                    break;
+                }
+            }
+            List<CompletedPart> completed = new ArrayList<>(futures.size());
+            for (Future<CompletedPart> future : futures) {
+                completed.add(future.get());
+            }
+            String eTag = this.s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(request.bucket())
+                    .key(request.key())
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                    .build()).eTag();
+            log.debug("Complete Multipart Upload [{}] of [{}] with {} Part(s)", uploadId, request.key(),
+                    completed.size());
+            return eTag;
+
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            abort(request, uploadId);
+            throw new IOException("Multipart Upload Interrupted", ie);
+
+        } catch (ExecutionException ee) {
+            abort(request, uploadId);
+            Throwable cause = ee.getCause();
+            throw cause instanceof IOException ? (IOException) cause
+                    : new IOException("Upload Part Failed: " + cause.getMessage(), cause);
+
+        } catch (SdkException err) {
+            abort(request, uploadId);
+            throw new IOException(err.getMessage(), err);
+
+        } catch (IOException | RuntimeException err) {
+            abort(request, uploadId);
+            throw err;
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompletedPart uploadPart(PutObjectRequest request, String uploadId, Part part, AtomicBoolean failed) {
+        try {
+            String eTag = this.s3Client.uploadPart(UploadPartRequest.builder()
+                    .bucket(request.bucket())
+                    .key(request.key())
+                    .uploadId(uploadId)
+                    .partNumber(part.number)
+                    .contentLength((long) part.length)
+                    .build(), RequestBody.fromContentProvider(part::stream, part.length, CONTENT_TYPE)).eTag();
+            return CompletedPart.builder().partNumber(part.number).eTag(eTag).build();
+
+        } catch (RuntimeException err) {
+            failed.set(true);
+            throw err;
+
+        } finally {
+            this.freeBuffers.offer(part.buffer);
+        }
+    }
+
+    private void abort(PutObjectRequest request, String uploadId) {
+        try {
+            this.s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(request.bucket())
+                    .key(request.key())
+                    .uploadId(uploadId)
+                    .build());
+            log.warn("Aborted Multipart Upload [{}] of [{}]", uploadId, request.key());
+        } catch (SdkException err) {
+            log.error("Abort Multipart Upload [{}] of [{}] Failed: {}", uploadId, request.key(), err.getMessage());
+        }
+    }
+
+    /**
+     * Fill a Free Buffer From the Stream
+     *
+     * @return Part, or Null at End of Stream
+     */
+    private Part readPart(InputStream in, int number) throws IOException {
+        byte[] buffer = acquireBuffer();
+        int length = IOUtils.read(in, buffer);
+        if (length == 0) {
+            this.freeBuffers.offer(buffer);
+            return null;
+        }
+        return new Part(number, buffer, length);
+    }
+
+    private byte[] acquireBuffer() throws IOException {
+        byte[] buffer = this.freeBuffers.poll();
+        if (buffer != null) {
+            return buffer;
+        } else if (this.allocatedBuffers < this.maxBuffers) {
+            this.allocatedBuffers++;
+            return new byte[this.partSize];
+        }
+        try {
+            return this.freeBuffers.take();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Multipart Upload Interrupted", ie);
+        }
+    }
+
+
+    private static final class Part {
+
+        private final int number;
+
+        private final byte[] buffer;
+
+        private final int length;
+
+        private Part(int number, byte[] buffer, int length) {
+            this.number = number;
+            this.buffer = buffer;
+            this.length = length;
+        }
+
+        private InputStream stream() {
+            return new ByteArrayInputStream(this.buffer, 0, this.length);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package gew.filesystem.s3.service;
+
+import gew.filesystem.common.model.ObjectMetaInfo;
+import gew.filesystem.common.model.ObjectProperty;
+import gew.filesystem.s3.DefaultMock;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+
+class AwsS3AsyncFileSystemClientImplTest extends DefaultMock {
+
+    private AwsS3AsyncFileSystemClientImpl client;
+
+    @Mock
+    private S3AsyncClient s3;
+
+
+    @BeforeEach
+    void setUp() {
+        this.client = new AwsS3AsyncFileSystemClientImpl("test", "us-east-1");
+        this.client.setS3AsyncClient(this.s3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.client.close();
+    }
+
+    @Test
+    void invalidParameterTest() {
+        CompletionException err = Assertions.assertThrows(CompletionException.class,
+                () -> client.exist("  ").join());
+        Assertions.assertTrue(err.getCause() instanceof IllegalArgumentException);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> client.setMaxListObjects(9999));
+        Mockito.verifyNoInteractions(s3);
+    }
+
+    @Test
+    void existAndMetaInfoTest() {
+        Mockito.when(s3.headObject(Mockito.any(HeadObjectRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(HeadObjectResponse.builder()
+                        .contentLength(12L).eTag("etag").contentType("text/plain").build()))
+                .thenReturn(failedFuture(NoSuchKeyException.builder().statusCode(404).message("missing").build()))
+                .thenReturn(failedFuture(S3Exception.builder().statusCode(403).message("denied").build()));
+
+        Optional<ObjectMetaInfo> metaInfo = client.getObjectMetaInfo("a.txt").join();
+        Assertions.assertTrue(metaInfo.isPresent());
+        Assertions.assertEquals(12L, metaInfo.get().getSize());
+        Assertions.assertEquals("etag", metaInfo.get().getMetaData().get("eTag"));
+
+        Assertions.assertFalse(client.exist("missing.txt").join());
+
+        CompletionException err = Assertions.assertThrows(CompletionException.class,
+                () -> client.exist("denied.txt").join());
+        Assertions.assertTrue(err.getCause() instanceof IOException);
+    }
+
+    @Test
+    void listTest() {
+        Mockito.when(s3.listObjectsV2(Mockito.any(ListObjectsV2Request.class)))
+                .thenReturn(CompletableFuture.completedFuture(ListObjectsV2Response.builder()
+                        .contents(S3Object.builder().key("dir/").size(0L).build(),
+                                S3Object.builder().key("dir/sub/").size(0L).build(),
+                                S3Object.builder().key("dir/a.txt").size(5L).build())
+                        .build()));
+        List<ObjectProperty> properties = client.list("dir/").join();
+        Assertions.assertEquals(2, properties.size());
+        Assertions.assertTrue(properties.get(0).getDirectory());
+        Assertions.assertFalse(properties.get(1).getDirectory());
+    }
+
+    @Test
+    void uploadStreamTest() {
+        Mockito.when(s3.putObject(Mockito.any(PutObjectRequest.class), Mockito.any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().eTag("etag").build()));
+        Assertions.assertTrue(client.upload("b.txt", new ByteArrayInputStream("hello".getBytes())).join());
+
+        ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+        ArgumentCaptor<AsyncRequestBody> body = ArgumentCaptor.forClass(AsyncRequestBody.class);
+        Mockito.verify(s3).putObject(request.capture(), body.capture());
+        Assertions.assertEquals("test", request.getValue().bucket());
+        Assertions.assertEquals("b.txt", request.getValue().key());
+        Assertions.assertEquals(Optional.of(5L), body.getValue().contentLength());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamedDownloadTest() throws IOException {
+        byte[] data = new byte[100_000];
+        new Random(2L).nextBytes(data);
+        Mockito.when(s3.getObject(Mockito.any(GetObjectRequest.class), Mockito.any(AsyncResponseTransformer.class)))
+                .thenAnswer(inv -> {
+                    AsyncResponseTransformer<GetObjectResponse, Object> transformer = inv.getArgument(1);
+                    CompletableFuture<Object> future = transformer.prepare();
+                    transformer.onResponse(GetObjectResponse.builder().contentLength((long) data.length).build());
+                    transformer.onStream(AsyncRequestBody.fromBytes(data));
+                    return future;
+                });
+        try (InputStream in = client.download("big.bin").join()) {
+            Assertions.assertArrayEquals(data, IOUtils.toByteArray(in));
+        }
+    }
+
+    @Test
+    void spooledUploadTest() throws IOException {
+        List<Long> lengths = new ArrayList<>();
+        Mockito.when(s3.putObject(Mockito.any(PutObjectRequest.class), Mockito.any(AsyncRequestBody.class)))
+                .thenAnswer(inv -> {
+                    lengths.add(inv.getArgument(1, AsyncRequestBody.class).contentLength().orElse(-1L));
+                    return CompletableFuture.completedFuture(PutObjectResponse.builder().eTag("etag").build());
+                });
+        // One Byte Past the Heap Limit Goes Through a Temp File, Which Is Removed Afterwards
+        int size = 8 * 1024 * 1024 + 1;
+        Assertions.assertTrue(client.upload("large.bin", new ByteArrayInputStream(new byte[size])).join());
+        Assertions.assertTrue(client.upload("exact.bin", new ByteArrayInputStream(new byte[size - 1])).join());
+        Assertions.assertEquals(Arrays.asList((long) size, (long) size - 1), lengths);
+        try (Stream<Path> spooled = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            Assertions.assertFalse(spooled.anyMatch(p -> p.getFileName().toString()
+                    .startsWith("fs-async-s3-upload-")));
+        }
+    }
+
+    @Test
+    void heapUploadTest() throws IOException {
+        List<AsyncRequestBody> bodies = new ArrayList<>();
+        Mockito.when(s3.putObject(Mockito.any(PutObjectRequest.class), Mockito.any(AsyncRequestBody.class)))
+                .thenAnswer(inv -> {
+                    bodies.add(inv.getArgument(1, AsyncRequestBody.class));
+                    return CompletableFuture.completedFuture(PutObjectResponse.builder().eTag("etag").build());
+                });
+        byte[] content = new byte[1000 * 1000];
+        new Random(2L).nextBytes(content);
+        Assertions.assertTrue(client.upload("small.bin", new ByteArrayInputStream(content, 0, 1024)).join());
+        Assertions.assertTrue(client.upload("grown.bin", new ByteArrayInputStream(content)).join());
+        Assertions.assertTrue(client.upload("empty.bin", new ByteArrayInputStream(new byte[0])).join());
+
+        Assertions.assertEquals(1024L, bodies.get(0).contentLength().orElse(-1L));
+        Assertions.assertArrayEquals(Arrays.copyOf(content, 1024), read(bodies.get(0)));
+        // A Retry Subscribes Again and Must See the Same Bytes
+        Assertions.assertArrayEquals(content, read(bodies.get(1)));
+        Assertions.assertArrayEquals(content, read(bodies.get(1)));
+        Assertions.assertEquals(0, read(bodies.get(2)).length);
+    }
+
+    private static byte[] read(AsyncRequestBody body) throws IOException {
+        try (InputStream in = new PublisherInputStream(body)) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable err) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(err);
+        return future;
+    }
+}
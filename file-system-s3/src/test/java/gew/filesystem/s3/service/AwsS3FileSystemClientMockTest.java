@@ -0,0 +1,92 @@
+package gew.filesystem.s3.service;
+
+import gew.filesystem.s3.DefaultMock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+
+class AwsS3FileSystemClientMockTest extends DefaultMock {
+
+    private AwsS3FileSystemClientImpl cloudFileSystemClient;
+
+    @Mock
+    private S3Client s3;
+
+
+    @BeforeEach
+    void setUp() {
+        this.cloudFileSystemClient = new AwsS3FileSystemClientImpl("test");
+        this.cloudFileSystemClient.setS3Client(this.s3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rangeDownloadTest() throws IOException {
+        ArgumentCaptor<GetObjectRequest> requests = ArgumentCaptor.forClass(GetObjectRequest.class);
+        Mockito.when(this.s3.getObject(requests.capture(), Mockito.any(ResponseTransformer.class))).thenReturn(null);
+
+        cloudFileSystemClient.download("test", "model.bin", 10, 5);
+        Assertions.assertEquals("bytes=10-14", requests.getValue().range());
+
+        cloudFileSystemClient.download("test", "model.bin", 10, Long.MAX_VALUE);
+        Assertions.assertEquals("bytes=10-", requests.getValue().range());
+
+        cloudFileSystemClient.download("test", "model.bin", 0, Long.MAX_VALUE);
+        Assertions.assertEquals("bytes=0-" + (Long.MAX_VALUE - 1), requests.getValue().range());
+
+        Assertions.assertEquals(0, cloudFileSystemClient.download("test", "model.bin", 10, 0).available());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> cloudFileSystemClient.download("test", "model.bin", -1, 5));
+    }
+
+    @Test
+    void deleteAllTest() throws IOException {
+        List<String> keys = IntStream.range(0, 2500).mapToObj(i -> "logs/" + i).collect(Collectors.toList());
+        ArgumentCaptor<DeleteObjectsRequest> requests = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        Mockito.when(this.s3.deleteObjects(requests.capture())).thenAnswer(inv -> {
+            DeleteObjectsRequest request = inv.getArgument(0);
+            List<String> batch = request.delete().objects().stream().map(ObjectIdentifier::key)
+                    .collect(Collectors.toList());
+            if (batch.contains("logs/2400")) {
+                throw S3Exception.builder().message("Slow Down").statusCode(503).build();
+            }
+            return DeleteObjectsResponse.builder().errors(batch.contains("logs/7")
+                    ? Arrays.asList(S3Error.builder().key("logs/7").message("Access Denied").build())
+                    : new ArrayList<>()).build();
+        });
+        cloudFileSystemClient.setDeleteParallelism(2);
+
+        List<String> paths = new ArrayList<>(keys);
+        paths.add(" ");
+        paths.add("logs/0");
+        Map<String, Boolean> results = cloudFileSystemClient.deleteAll(paths);
+        Assertions.assertEquals(2501, results.size());
+        Assertions.assertEquals(3, requests.getAllValues().size());
+        requests.getAllValues().forEach(request -> Assertions.assertTrue(request.delete().quiet()));
+        Assertions.assertTrue(results.get("logs/0"));
+        Assertions.assertFalse(results.get("logs/7"));
+        Assertions.assertFalse(results.get(" "));
+        Assertions.assertEquals(keys.size() - 500 - 1, results.values().stream().filter(r -> r).count());
+        Assertions.assertTrue(cloudFileSystemClient.deleteAll(null).isEmpty());
+    }
+}
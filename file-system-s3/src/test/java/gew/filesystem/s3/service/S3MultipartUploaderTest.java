@@ -0,0 +1,138 @@
+package gew.filesystem.s3.service;
+
+import gew.filesystem.s3.DefaultMock;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+
+class S3MultipartUploaderTest extends DefaultMock {
+
+    @Mock
+    private S3Client s3;
+
+    private final PutObjectRequest request = PutObjectRequest.builder().bucket("test").key("big.bin").build();
+
+    private final Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(s3.createMultipartUpload(Mockito.any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        Mockito.when(s3.uploadPart(Mockito.any(UploadPartRequest.class), Mockito.any(RequestBody.class)))
+                .thenAnswer(inv -> {
+                    UploadPartRequest part = inv.getArgument(0);
+                    parts.put(part.partNumber(), readBody(inv.getArgument(1)));
+                    return UploadPartResponse.builder().eTag("etag-" + part.partNumber()).build();
+                });
+        Mockito.when(s3.completeMultipartUpload(Mockito.any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(CompleteMultipartUploadResponse.builder().eTag("final").build());
+        Mockito.when(s3.putObject(Mockito.any(PutObjectRequest.class), Mockito.any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().eTag("single").build());
+    }
+
+    @Test
+    void smallStreamTest() throws IOException {
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, 1024, 4, 4096);
+        Assertions.assertEquals("single", uploader.upload(request, new ByteArrayInputStream(content(3000))));
+
+        ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+        Mockito.verify(s3).putObject(Mockito.eq(request), body.capture());
+        Assertions.assertArrayEquals(content(3000), readBody(body.getValue()));
+        Mockito.verify(s3, Mockito.never()).createMultipartUpload(Mockito.any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void zeroThresholdTest() throws IOException {
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, 1024, 2, 0);
+        Assertions.assertEquals("single", uploader.upload(request, new ByteArrayInputStream(new byte[0])));
+        Assertions.assertEquals("single", uploader.upload(request, new ByteArrayInputStream(content(100))));
+        Mockito.verify(s3, Mockito.times(2)).putObject(Mockito.eq(request), Mockito.any(RequestBody.class));
+        Mockito.verify(s3, Mockito.never()).createMultipartUpload(Mockito.any(CreateMultipartUploadRequest.class));
+
+        Assertions.assertEquals("final", uploader.upload(request, new ByteArrayInputStream(content(1024))));
+        Assertions.assertEquals(1, parts.size());
+        Assertions.assertArrayEquals(content(1024), parts.get(1));
+    }
+
+    @Test
+    void multipartTest() throws IOException {
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, 1024, 2, 2048);
+        byte[] content = content(10 * 1024 + 100);
+        Assertions.assertEquals("final", uploader.upload(request, new ByteArrayInputStream(content)));
+
+        Assertions.assertEquals(11, parts.size());
+        byte[] joined = new byte[0];
+        for (int i = 1; i <= parts.size(); i++) {
+            byte[] part = parts.get(i);
+            byte[] next = Arrays.copyOf(joined, joined.length + part.length);
+            System.arraycopy(part, 0, next, joined.length, part.length);
+            joined = next;
+        }
+        Assertions.assertArrayEquals(content, joined);
+        Assertions.assertTrue(uploader.getAllocatedBuffers() <= 3);
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        Mockito.verify(s3).completeMultipartUpload(complete.capture());
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11),
+                complete.getValue().multipartUpload().parts().stream()
+                        .map(CompletedPart::partNumber).collect(Collectors.toList()));
+    }
+
+    @Test
+    void abortTest() {
+        Mockito.when(s3.uploadPart(Mockito.any(UploadPartRequest.class), Mockito.any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().message("Slow Down").statusCode(503).build());
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, 1024, 2, 1024);
+
+        Assertions.assertThrows(IOException.class,
+                () -> uploader.upload(request, new ByteArrayInputStream(content(8192))));
+        Mockito.verify(s3).abortMultipartUpload(Mockito.any(AbortMultipartUploadRequest.class));
+        Mockito.verify(s3, Mockito.never()).completeMultipartUpload(Mockito.any(CompleteMultipartUploadRequest.class));
+    }
+
+
+    private static byte[] content(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i % 251);
+        }
+        return bytes;
+    }
+
+    private static byte[] readBody(RequestBody body) {
+        try (InputStream in = body.contentStreamProvider().newStream()) {
+            return IOUtils.toByteArray(in);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package gew.filesystem.s3.service;
+
+import gew.filesystem.common.model.FileOperation;
+import gew.filesystem.s3.DefaultMock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+class S3RangedDownloaderTest extends DefaultMock {
+
+    @Mock
+    private S3Client s3;
+
+    @TempDir
+    Path tempDir;
+
+    private final byte[] content = new byte[10 * 1024 + 7];
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i % 253);
+        }
+        Mockito.when(s3.getObject(Mockito.any(GetObjectRequest.class))).thenAnswer(inv -> {
+            GetObjectRequest request = inv.getArgument(0);
+            Assertions.assertEquals("\"etag\"", request.ifMatch());
+            String[] range = request.range().substring("bytes=".length()).split("-");
+            int start = Integer.parseInt(range[0]);
+            int end = Integer.parseInt(range[1]);
+            requests.incrementAndGet();
+            return new ResponseInputStream<>(GetObjectResponse.builder().build(), AbortableInputStream.create(
+                    new ByteArrayInputStream(content, start, end - start + 1)));
+        });
+    }
+
+    @Test
+    void rangedDownloadTest() throws IOException {
+        File target = tempDir.resolve("sub/model.bin").toFile();
+        S3RangedDownloader downloader = new S3RangedDownloader(s3, 1024, 4);
+
+        Assertions.assertEquals(content.length,
+                downloader.download("test", "model.bin", content.length, "\"etag\"", target, false));
+        Assertions.assertEquals(11, requests.get());
+        Assertions.assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+
+        Assertions.assertEquals(content.length,
+                downloader.download("test", "model.bin", content.length, "\"etag\"", target, true));
+        byte[] appended = Files.readAllBytes(target.toPath());
+        Assertions.assertEquals(2 * content.length, appended.length);
+        Assertions.assertArrayEquals(content, Arrays.copyOfRange(appended, content.length, appended.length));
+    }
+
+    @Test
+    void failedRangeRollbackTest() throws IOException {
+        Mockito.when(s3.getObject(Mockito.any(GetObjectRequest.class)))
+                .thenThrow(S3Exception.builder().message("Precondition Failed").statusCode(412).build());
+        File created = tempDir.resolve("created.bin").toFile();
+        File existing = tempDir.resolve("existing.bin").toFile();
+        Files.write(existing.toPath(), new byte[] {1, 2, 3});
+        S3RangedDownloader downloader = new S3RangedDownloader(s3, 1024, 4);
+
+        Assertions.assertThrows(IOException.class,
+                () -> downloader.download("test", "model.bin", content.length, "\"etag\"", created, false));
+        Assertions.assertFalse(created.exists());
+        Assertions.assertThrows(IOException.class,
+                () -> downloader.download("test", "model.bin", content.length, "\"etag\"", existing, true));
+        Assertions.assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(existing.toPath()));
+    }
+
+    @Test
+    void clientThresholdTest() throws IOException {
+        Mockito.when(s3.headObject(Mockito.any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .contentLength((long) content.length).eTag("\"etag\"").build());
+        AwsS3FileSystemClientImpl client = new AwsS3FileSystemClientImpl("test", "us-east-1");
+        client.setS3Client(s3);
+        client.setRangeDownloadThreshold(4096);
+        client.setRangeDownloadPartSize(4096);
+
+        File target = tempDir.resolve("client.bin").toFile();
+        Assertions.assertTrue(client.download("model.bin", target, FileOperation.OVERWRITE));
+        Assertions.assertEquals(3, requests.get());
+        Assertions.assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+    }
+}